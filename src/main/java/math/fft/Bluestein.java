@@ -32,6 +32,19 @@ package math.fft;
 final class Bluestein {
 
     static ComplexArray forwardDFT(double[] data, double[] imag) {
+        return transform(data, imag, false);
+    }
+
+    /**
+     * The inverse chirp-z transform uses the conjugated chirp and has the
+     * {@code 1/n} normalization folded into the chirp filter, so it costs
+     * exactly the same as the forward transform.
+     */
+    static ComplexArray inverseDFT(ComplexArray freqs) {
+        return transform(freqs.re(), freqs.im(), true);
+    }
+
+    private static ComplexArray transform(double[] data, double[] imag, boolean inverse) {
         // find a power of 2 convolution length m such that m >= n * 2 + 1
         int n = data.length;
         if (n >= 0x20000000) {
@@ -44,10 +57,11 @@ final class Bluestein {
             int j = (int) ((long) i * i % (n * 2));
             double angle = Math.PI * j / n;
             cos[i] = Math.cos(angle);
-            sin[i] = Math.sin(angle);
+            sin[i] = inverse ? -Math.sin(angle) : Math.sin(angle);
         }
 
         int m = Integer.highestOneBit(n) * 4;
+        double scale = inverse ? (1.0 / n) : 1.0;
 
         // temporary arrays
         double[] a_re = new double[m];
@@ -55,8 +69,8 @@ final class Bluestein {
         double[] b_re = new double[m];
         double[] b_im = new double[m];
 
-        b_re[0] = cos[0];
-        b_im[0] = sin[0];
+        b_re[0] = cos[0] * scale;
+        b_im[0] = sin[0] * scale;
 
         for (int i = 0; i < n; ++i) {
             double sin_i = sin[i];
@@ -66,8 +80,8 @@ final class Bluestein {
             a_re[i] = re_i * cos_i + im_i * sin_i;
             a_im[i] = -re_i * sin_i + im_i * cos_i;
             if (i != 0) {
-                b_re[i] = b_re[m - i] = cos_i;
-                b_im[i] = b_im[m - i] = sin_i;
+                b_re[i] = b_re[m - i] = cos_i * scale;
+                b_im[i] = b_im[m - i] = sin_i * scale;
             }
         }
 
@@ -95,38 +109,16 @@ final class Bluestein {
         return new ComplexArray(re, im, false);
     }
 
-    static ComplexArray inverseDFT(ComplexArray freqs) {
-        ComplexArray inv = forwardDFT(freqs.re(), freqs.im());
-        double[] re = inv.re();
-        double[] im = inv.im();
-        final int n = re.length;
-        for (int i = 0; i < n; ++i) {
-            double re_i = re[i] / n;
-            double im_i = im[i] / n;
-            re[i] = (Math.abs(re_i) <= ComplexArray.TOL) ? 0.0 : re_i;
-            im[i] = (Math.abs(im_i) <= ComplexArray.TOL) ? 0.0 : im_i;
-        }
-        for (int i = 1; i <= n / 2; ++i) {
-            double re_tmp = re[n - i];
-            double im_tmp = im[n - i];
-            re[n - i] = re[i];
-            re[i] = re_tmp;
-            im[n - i] = im[i];
-            im[i] = im_tmp;
-        }
-        return inv;
-    }
-
     private static ComplexArray convolve(ComplexArray x, ComplexArray y) {
-
-        x = Fourier.forwardDFT(x.re(), x.im());
-        y = Fourier.forwardDFT(y.re(), y.im());
-
+        // both operands are temporaries and can be transformed in place
         double[] x_re = x.re();
         double[] x_im = x.im();
         double[] y_re = y.re();
         double[] y_im = y.im();
 
+        Fourier.inPlace(x_re, x_im, false);
+        Fourier.inPlace(y_re, y_im, false);
+
         for (int i = 0; i < x_re.length; ++i) {
             double x_re_i = x_re[i];
             double y_re_i = y_re[i];
@@ -136,7 +128,8 @@ final class Bluestein {
             x_im[i] = x_im_i * y_re_i + x_re_i * y_im_i;
         }
 
-        return Fourier.inverseDFT(new ComplexArray(x_re, x_im, false));
+        Fourier.inPlace(x_re, x_im, true);
+        return new ComplexArray(x_re, x_im, false);
     }
 
     private Bluestein() {
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Transforms a raw file of little-endian mono PCM samples frame by frame
+ * into a {@link SpectrumFile}. Frames of {@code frameLength} samples start
+ * {@code hop} samples apart, are windowed and transformed with a real FFT;
+ * the {@code frameLength / 2 + 1} bins of each frame are stored as complex
+ * values ({@link SpectrumFile.Layout#COMPLEX}) or as squared magnitudes
+ * ({@link SpectrumFile.Layout#REAL}).
+ * <p>
+ * The file is processed in blocks of frames with three stages running
+ * concurrently: a reader thread reads the next block through a
+ * {@link FileChannel} into one of two direct buffers (read-ahead double
+ * buffering), the frames of the current block are spread over a pool of
+ * transform workers which decode the samples directly from the buffer and
+ * encode their spectra into one of two direct output buffers, and the
+ * previous block is written with an {@link AsynchronousFileChannel} at its
+ * final position in the output file. Blocks are therefore written in
+ * order, and disk and cores are kept busy at the same time.
+ * <p>
+ * Instances only hold the configuration and are thread-safe, every
+ * {@link #run(Path, long, Path, double) run} uses its own threads and
+ * buffers.
+ */
+public final class BulkTransform {
+
+    // target size of the input of a block
+    private static final int BLOCK_BYTES = 1 << 22;
+
+    private final int frameLength;
+    private final int hop;
+    private final PcmFourier.Format format;
+    private final double[] window;
+    private final SpectrumFile.Layout layout;
+    private final SpectrumFile.Precision precision;
+    private final int threads;
+    private final int framesPerBlock;
+    private final int bins;
+    private final int frameBytes;
+
+    public BulkTransform(int frameLength, int hop, PcmFourier.Format format, Window window,
+            SpectrumFile.Layout layout, SpectrumFile.Precision precision, int threads) {
+        this(frameLength, hop, format, window, layout, precision, threads,
+                Math.max(4 * threads, BLOCK_BYTES / (Math.max(hop, 1) * format.bytes())));
+    }
+
+    /**
+     * @param frameLength
+     *            the (even) length of a frame and of the FFT
+     * @param hop
+     *            the number of samples between the starts of consecutive
+     *            frames
+     * @param format
+     *            the sample format of the input
+     * @param window
+     *            the window applied to each frame
+     * @param layout
+     *            {@code COMPLEX} for the spectra, {@code REAL} for the
+     *            squared magnitudes
+     * @param precision
+     *            the precision of the output
+     * @param threads
+     *            the number of transform workers
+     * @param framesPerBlock
+     *            the number of frames read, transformed and written at once
+     */
+    public BulkTransform(int frameLength, int hop, PcmFourier.Format format, Window window,
+            SpectrumFile.Layout layout, SpectrumFile.Precision precision, int threads, int framesPerBlock) {
+        if (frameLength < 2 || (frameLength & 1) != 0) {
+            throw new IllegalArgumentException("frameLength must be even and >= 2 : " + frameLength);
+        }
+        if (hop < 1 || threads < 1 || framesPerBlock < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid hop " + hop + " / threads " + threads + " / framesPerBlock " + framesPerBlock);
+        }
+        this.frameLength = frameLength;
+        this.hop = hop;
+        this.format = format;
+        this.window = window.coefficients(frameLength);
+        this.layout = layout;
+        this.precision = precision;
+        this.threads = threads;
+        this.framesPerBlock = framesPerBlock;
+        this.bins = frameLength / 2 + 1;
+        this.frameBytes = SpectrumFile.frameBytes(bins, layout, precision);
+        if (inputBlockBytes() > Integer.MAX_VALUE || (long) framesPerBlock * frameBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Blocks too large: framesPerBlock = " + framesPerBlock);
+        }
+    }
+
+    /**
+     * Returns the number of frames in a file of {@code samples} samples.
+     */
+    public long frames(long samples) {
+        return (samples < frameLength) ? 0L : 1L + (samples - frameLength) / hop;
+    }
+
+    /**
+     * Transforms the samples of {@code input} (after skipping
+     * {@code inputOffset} bytes, e.g. a file header) into the spectrum file
+     * {@code output} and returns the number of frames written. Trailing
+     * samples that don't fill a frame are ignored.
+     */
+    public long run(Path input, long inputOffset, Path output, double sampleRate) throws IOException {
+        ExecutorService reader = Executors.newSingleThreadExecutor(daemon("BulkTransform-reader"));
+        ExecutorService pool = Executors.newFixedThreadPool(threads, daemon("BulkTransform-worker"));
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+                AsynchronousFileChannel out = AsynchronousFileChannel.open(output, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final long frames = frames(Math.max(in.size() - inputOffset, 0L) / format.bytes());
+            ByteBuffer header = SpectrumFile.header(layout, precision, bins, frames, hop, sampleRate);
+            awaitWrite(out, out.write(header, 0L), header, 0L);
+            final long blocks = (frames + framesPerBlock - 1) / framesPerBlock;
+            Slot[] slots = new Slot[2];
+            for (int i = 0; i < 2; ++i) {
+                slots[i] = new Slot(i < blocks);
+            }
+            Worker[] workers = new Worker[threads];
+            for (int w = 0; w < threads; ++w) {
+                workers[w] = new Worker();
+            }
+            Future<?> read = (blocks > 0) ? submitRead(reader, in, inputOffset, 0L, frames, slots[0].in) : null;
+            for (long b = 0; b < blocks; ++b) {
+                final int slot = (int) (b & 1);
+                final int count = (int) Math.min(framesPerBlock, frames - b * framesPerBlock);
+                await(read);
+                if (b + 1 < blocks) {
+                    read = submitRead(reader, in, inputOffset, b + 1, frames, slots[1 - slot].in);
+                }
+                Slot s = slots[slot];
+                // the output buffer of block b - 2 must have been written
+                awaitWrite(out, s.write, s.out, s.position);
+                transformBlock(pool, workers, s.in, count, s.out);
+                s.out.clear().limit(count * frameBytes);
+                s.position = SpectrumFile.HEADER_SIZE + b * framesPerBlock * frameBytes;
+                s.write = out.write(s.out, s.position);
+            }
+            for (Slot s : slots) {
+                awaitWrite(out, s.write, s.out, s.position);
+            }
+            out.force(false);
+            return frames;
+        } finally {
+            reader.shutdownNow();
+            pool.shutdownNow();
+        }
+    }
+
+    public int frameLength() {
+        return frameLength;
+    }
+
+    public int hop() {
+        return hop;
+    }
+
+    /**
+     * Returns the number of values per output frame.
+     */
+    public int bins() {
+        return bins;
+    }
+
+    private long inputBlockBytes() {
+        return ((long) (framesPerBlock - 1) * hop + frameLength) * format.bytes();
+    }
+
+    private Future<?> submitRead(ExecutorService reader, FileChannel in, long inputOffset, long block, long frames,
+            ByteBuffer dst) {
+        final long first = block * framesPerBlock;
+        final int count = (int) Math.min(framesPerBlock, frames - first);
+        final long position = inputOffset + first * hop * format.bytes();
+        final int bytes = ((count - 1) * hop + frameLength) * format.bytes();
+        return reader.submit(() -> {
+            dst.clear().limit(bytes);
+            long pos = position;
+            while (dst.hasRemaining()) {
+                int n = in.read(dst, pos);
+                if (n < 0) {
+                    throw new IOException("Unexpected end of file at " + pos);
+                }
+                pos += n;
+            }
+            return null;
+        });
+    }
+
+    private void transformBlock(ExecutorService pool, Worker[] workers, ByteBuffer src, int count, ByteBuffer dst)
+            throws IOException {
+        final int slices = Math.min(workers.length, count);
+        Future<?>[] tasks = new Future<?>[slices];
+        for (int s = 0; s < slices; ++s) {
+            final Worker worker = workers[s];
+            final int from = (int) ((long) count * s / slices);
+            final int to = (int) ((long) count * (s + 1) / slices);
+            tasks[s] = pool.submit(() -> worker.transform(src, dst, from, to));
+        }
+        for (Future<?> task : tasks) {
+            await(task);
+        }
+    }
+
+    // waits for a pending write of src and finishes it if it was partial
+    private static void awaitWrite(AsynchronousFileChannel out, Future<Integer> write, ByteBuffer src,
+            long position) throws IOException {
+        while (write != null) {
+            int written = await(write);
+            if (!src.hasRemaining()) {
+                return;
+            }
+            position += written;
+            write = out.write(src, position);
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    // input and output buffer of one of the two blocks in flight and the
+    // pending write of the output buffer
+    private final class Slot {
+        final ByteBuffer in;
+        final ByteBuffer out;
+        Future<Integer> write;
+        long position;
+
+        Slot(boolean used) {
+            in = used ? ByteBuffer.allocateDirect((int) inputBlockBytes()).order(ByteOrder.LITTLE_ENDIAN) : null;
+            out = used ? ByteBuffer.allocateDirect(framesPerBlock * frameBytes).order(ByteOrder.LITTLE_ENDIAN) : null;
+        }
+    }
+
+    // per worker plan and scratch buffers
+    private final class Worker {
+        final RealFFT fft = new RealFFT(frameLength);
+        final double[] frame = new double[frameLength];
+        final double[] re = new double[bins];
+        final double[] im = new double[bins];
+
+        void transform(ByteBuffer src, ByteBuffer dst, int from, int to) {
+            final double scale = format.fullScale();
+            final int sampleBytes = format.bytes();
+            // absolute reads from src are safe to share, dst needs its own position
+            ByteBuffer out = dst.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            double[] frame = this.frame;
+            double[] re = this.re;
+            double[] im = this.im;
+            for (int f = from; f < to; ++f) {
+                PcmFourier.decode(src, format, f * hop * sampleBytes, frameLength, scale, frame);
+                for (int j = 0; j < frameLength; ++j) {
+                    frame[j] *= window[j];
+                }
+                fft.forward(frame, 0, re, im);
+                out.position(f * frameBytes);
+                if (layout == SpectrumFile.Layout.REAL) {
+                    for (int k = 0; k < bins; ++k) {
+                        re[k] = re[k] * re[k] + im[k] * im[k];
+                    }
+                    SpectrumFile.encode(re, null, 0, bins, precision, out);
+                } else {
+                    SpectrumFile.encode(re, im, 0, bins, precision, out);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import java.util.Arrays;
+
+/**
+ * Polyphase analysis filter bank that splits a (complex or real) stream into
+ * {@code M} channels centered at the frequencies {@code 2 pi k / M} and
+ * decimates each by {@code D}. {@code D = M} gives a critically sampled, and
+ * {@code D = M / 2} (or any other divisor of {@code M}) an oversampled
+ * channelizer. Channel {@code k} of output block {@code n} is the
+ * down-converted, low-pass filtered and decimated input:
+ * 
+ * <pre>
+ * y_k[n] = sum_l h[l] x[t - l] exp(-2 pi i k (t - l) / M),  t = (n + 1) D - 1
+ * </pre>
+ * 
+ * where {@code h} is the prototype low-pass filter of length {@code M P}.
+ * The filter is split into {@code M} polyphase branches of {@code P} taps,
+ * so a block costs {@code M P} multiply-adds plus a single inverse FFT of
+ * length {@code M} for all channels. For {@code D < M} the branch outputs
+ * are circularly rotated by {@code t mod M} before the FFT to keep every
+ * channel at baseband.
+ * <p>
+ * The input is streamed in chunks of arbitrary length. Outputs are written
+ * into caller-supplied arrays indexed by {@code [channel][block]}.
+ * <p>
+ * Instances hold the filter state and scratch buffers and are not safe for
+ * concurrent use.
+ */
+public final class Channelizer {
+
+    private final int channels;
+    private final int decimation;
+    private final int taps;
+    // polyphase branch q holds h[p M + q] at q * P + p
+    private final double[] branches;
+    private final int tapsPerChannel;
+    // input history, the newest sample is at fill - 1
+    private final double[] bufRe;
+    private final double[] bufIm;
+    private int fill;
+    // samples since the last output block
+    private int phase;
+    // t mod M of the next block
+    private int rotation;
+    // FFT scratch
+    private final double[] vRe;
+    private final double[] vIm;
+
+    /**
+     * @param channels
+     *            the number {@code M} of channels
+     * @param decimation
+     *            the decimation factor {@code D}, a divisor of {@code M}
+     * @param prototype
+     *            the prototype low-pass filter, its length must be a multiple
+     *            of {@code M}
+     */
+    public Channelizer(int channels, int decimation, double[] prototype) {
+        if (channels < 1) {
+            throw new IllegalArgumentException("channels < 1 : " + channels);
+        }
+        if (decimation < 1 || channels % decimation != 0) {
+            throw new IllegalArgumentException("decimation " + decimation + " must divide channels " + channels);
+        }
+        if (prototype.length == 0 || prototype.length % channels != 0) {
+            throw new IllegalArgumentException("prototype length " + prototype.length
+                    + " must be a positive multiple of " + channels);
+        }
+        this.channels = channels;
+        this.decimation = decimation;
+        this.taps = prototype.length;
+        this.tapsPerChannel = taps / channels;
+        branches = new double[taps];
+        for (int q = 0; q < channels; ++q) {
+            for (int p = 0; p < tapsPerChannel; ++p) {
+                branches[q * tapsPerChannel + p] = prototype[p * channels + q];
+            }
+        }
+        int capacity = taps - 1 + Math.max(16 * decimation, 4096);
+        bufRe = new double[capacity];
+        bufIm = new double[capacity];
+        vRe = new double[channels];
+        vIm = new double[channels];
+        reset();
+        Metrics.recordPlan(Metrics.arrayBytes(taps) + 2 * Metrics.arrayBytes(capacity) + 2 * Metrics.arrayBytes(channels));
+    }
+
+    /**
+     * Returns a prototype filter with {@code channels * tapsPerChannel} taps
+     * for a channel spacing of {@code 1 / channels}: a Blackman windowed sinc
+     * with its cutoff at half the channel spacing, normalized to unit gain at
+     * DC.
+     */
+    public static double[] prototype(int channels, int tapsPerChannel) {
+        if (channels < 1 || tapsPerChannel < 1) {
+            throw new IllegalArgumentException("Invalid channels " + channels + " / taps " + tapsPerChannel);
+        }
+        final int length = channels * tapsPerChannel;
+        double[] h = new double[length];
+        double center = 0.5 * (length - 1);
+        double cutoff = 0.5 / channels;
+        double sum = 0.0;
+        for (int l = 0; l < length; ++l) {
+            double t = l - center;
+            double sinc = (t == 0.0) ? 1.0 : Math.sin(2.0 * Math.PI * cutoff * t) / (2.0 * Math.PI * cutoff * t);
+            // symmetric window of the full filter length
+            double w = (length == 1) ? 1.0 : Window.BLACKMAN.value(l, length - 1);
+            h[l] = sinc * w;
+            sum += h[l];
+        }
+        for (int l = 0; l < length; ++l) {
+            h[l] /= sum;
+        }
+        return h;
+    }
+
+    public int channels() {
+        return channels;
+    }
+
+    public int decimation() {
+        return decimation;
+    }
+
+    /**
+     * Returns the number of output blocks that feeding {@code len} more
+     * samples will produce.
+     */
+    public int blocks(int len) {
+        return (phase + len) / decimation;
+    }
+
+    /**
+     * Feeds {@code len} complex samples ({@code im} may be {@code null} for a
+     * real stream) and writes channel {@code k} of every completed block
+     * {@code b} to {@code outRe[k][outOff + b]} and
+     * {@code outIm[k][outOff + b]}. Returns the number of blocks written (see
+     * {@link #blocks(int)}).
+     */
+    public int process(double[] re, double[] im, int off, int len, double[][] outRe, double[][] outIm,
+            int outOff) {
+        if (outRe.length != channels || outIm.length != channels) {
+            throw new IllegalArgumentException("Unequal dimensions: " + outRe.length + " / " + outIm.length + " != "
+                    + channels);
+        }
+        final int decimation = this.decimation;
+        double[] bufRe = this.bufRe;
+        double[] bufIm = this.bufIm;
+        int blocks = 0;
+        while (len > 0) {
+            if (fill == bufRe.length) {
+                // keep the history that the filter still needs
+                int keep = taps - 1;
+                System.arraycopy(bufRe, fill - keep, bufRe, 0, keep);
+                System.arraycopy(bufIm, fill - keep, bufIm, 0, keep);
+                fill = keep;
+            }
+            int chunk = Math.min(Math.min(len, decimation - phase), bufRe.length - fill);
+            System.arraycopy(re, off, bufRe, fill, chunk);
+            if (im == null) {
+                Arrays.fill(bufIm, fill, fill + chunk, 0.0);
+            } else {
+                System.arraycopy(im, off, bufIm, fill, chunk);
+            }
+            fill += chunk;
+            phase += chunk;
+            off += chunk;
+            len -= chunk;
+            if (phase == decimation) {
+                block(outRe, outIm, outOff + blocks);
+                ++blocks;
+                phase = 0;
+            }
+        }
+        return blocks;
+    }
+
+    /**
+     * Clears the filter history.
+     */
+    public void reset() {
+        Arrays.fill(bufRe, 0.0);
+        Arrays.fill(bufIm, 0.0);
+        fill = taps - 1;
+        phase = 0;
+        rotation = (decimation - 1) % channels;
+    }
+
+    private void block(double[][] outRe, double[][] outIm, int col) {
+        final int channels = this.channels;
+        final int perChannel = tapsPerChannel;
+        final int newest = fill - 1;
+        final int r = rotation;
+        double[] branches = this.branches;
+        double[] bufRe = this.bufRe;
+        double[] bufIm = this.bufIm;
+        double[] vRe = this.vRe;
+        double[] vIm = this.vIm;
+        for (int q = 0; q < channels; ++q) {
+            // u[q] = sum_p h[p M + q] x[t - p M - q]
+            double sumRe = 0.0;
+            double sumIm = 0.0;
+            int h = q * perChannel;
+            for (int p = 0, x = newest - q; p < perChannel; ++p, x -= channels) {
+                double c = branches[h + p];
+                sumRe += c * bufRe[x];
+                sumIm += c * bufIm[x];
+            }
+            // v[q'] = u[(q' + r) mod M]
+            int dst = q - r;
+            if (dst < 0) {
+                dst += channels;
+            }
+            vRe[dst] = sumRe;
+            vIm[dst] = sumIm;
+        }
+        // y_k = sum_q v[q] exp(2 pi i k q / M): unnormalized inverse DFT
+        // via the forward transform of the swapped parts
+        Fourier.transform(vIm, vRe, false);
+        for (int k = 0; k < channels; ++k) {
+            outRe[k][col] = vRe[k];
+            outIm[k][col] = vIm[k];
+        }
+        rotation = (r + decimation) % channels;
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+/**
+ * Plan for the chirp-z transform (CZT) of {@code n} input samples onto
+ * {@code m} points {@code z_k = A * V^k} ({@code 0 <= k < m}) that lie on a
+ * spiral (or circular) contour in the complex plane:
+ * 
+ * <pre>
+ * X[k] = sum_{j=0}^{n-1} x[j] z_k^(-j)
+ * </pre>
+ * 
+ * where {@code A = startRadius * exp(i startAngle)} is the start point and
+ * {@code V = stepRadius * exp(i stepAngle)} the step between consecutive
+ * points. With {@code A = 1}, {@code V = exp(2 pi i / n)} and {@code m = n}
+ * this is the ordinary DFT.
+ * <p>
+ * The transform is computed as a convolution via Bluestein's identity
+ * {@code kj = (k^2 + j^2 - (k-j)^2) / 2} with power-of-two FFTs of length
+ * {@code L >= n + m - 1}. The chirp sequences and the spectrum of the chirp
+ * filter are computed once per plan and reused across calls, so each call
+ * costs two FFTs of length {@code L}.
+ * <p>
+ * Note that {@code stepRadius^(j^2/2)} quickly over- or underflows for
+ * {@code stepRadius != 1} and large {@code n} or {@code m}. Instances hold
+ * scratch buffers and are not safe for concurrent use.
+ */
+public final class ChirpZ {
+
+    private final int n;
+    private final int m;
+    private final double startAngle;
+    private final double stepAngle;
+    // A^(-j) V^(-j^2/2), 0 <= j < n
+    private final double[] preRe;
+    private final double[] preIm;
+    // V^(-k^2/2), 0 <= k < m
+    private final double[] postRe;
+    private final double[] postIm;
+    // spectrum of the chirp filter V^(l^2/2), -n < l < m
+    private final double[] filterRe;
+    private final double[] filterIm;
+    // scratch
+    private final double[] ar;
+    private final double[] ai;
+
+    public ChirpZ(int n, int m, double startRadius, double startAngle, double stepRadius, double stepAngle) {
+        if (n < 1 || m < 1) {
+            throw new IllegalArgumentException("n and m must be >= 1 : " + n + ", " + m);
+        }
+        if (!(startRadius > 0.0) || !(stepRadius > 0.0)) {
+            throw new IllegalArgumentException("radius must be > 0 : " + startRadius + ", " + stepRadius);
+        }
+        if ((long) n + m - 1 > 0x40000000L) {
+            throw new IllegalArgumentException("array too large: " + n + " + " + m);
+        }
+        this.n = n;
+        this.m = m;
+        this.startAngle = startAngle;
+        this.stepAngle = stepAngle;
+        int L = Integer.highestOneBit(n + m - 1);
+        if (L < n + m - 1) {
+            L <<= 1;
+        }
+        L = Math.max(L, 4);
+        double logStartRadius = Math.log(startRadius);
+        double logStepRadius = Math.log(stepRadius);
+
+        preRe = new double[n];
+        preIm = new double[n];
+        for (int j = 0; j < n; ++j) {
+            double half = 0.5 * ((double) j * j);
+            double mag = Math.exp(-j * logStartRadius - half * logStepRadius);
+            double angle = -(j * startAngle + half * stepAngle);
+            preRe[j] = mag * Math.cos(angle);
+            preIm[j] = mag * Math.sin(angle);
+        }
+        postRe = new double[m];
+        postIm = new double[m];
+        for (int k = 0; k < m; ++k) {
+            double half = 0.5 * ((double) k * k);
+            double mag = Math.exp(-half * logStepRadius);
+            double angle = -half * stepAngle;
+            postRe[k] = mag * Math.cos(angle);
+            postIm[k] = mag * Math.sin(angle);
+        }
+        filterRe = new double[L];
+        filterIm = new double[L];
+        int max = Math.max(n, m);
+        for (int l = 0; l < max; ++l) {
+            double half = 0.5 * ((double) l * l);
+            double mag = Math.exp(half * logStepRadius);
+            double angle = half * stepAngle;
+            double re = mag * Math.cos(angle);
+            double im = mag * Math.sin(angle);
+            if (l < m) {
+                filterRe[l] = re;
+                filterIm[l] = im;
+            }
+            if (l != 0 && l < n) {
+                filterRe[L - l] = re;
+                filterIm[L - l] = im;
+            }
+        }
+        Fourier.transform(filterRe, filterIm, false);
+        ar = new double[L];
+        ai = new double[L];
+        Metrics.recordPlan(2 * Metrics.arrayBytes(n) + 2 * Metrics.arrayBytes(m) + 4 * Metrics.arrayBytes(L));
+    }
+
+    /**
+     * Creates a plan for a zoom FFT that evaluates the spectrum of {@code n}
+     * samples (taken at {@code sampleRate}) at {@code m} equidistant
+     * frequencies {@code fStart + k (fEnd - fStart) / m}, {@code 0 <= k < m},
+     * i.e., {@code fEnd} itself is excluded. For {@code fStart = 0},
+     * {@code fEnd = sampleRate} and {@code m = n} the result is the DFT.
+     */
+    public static ChirpZ zoom(int n, int m, double fStart, double fEnd, double sampleRate) {
+        if (!(sampleRate > 0.0)) {
+            throw new IllegalArgumentException("sampleRate must be > 0 : " + sampleRate);
+        }
+        double startAngle = 2.0 * Math.PI * fStart / sampleRate;
+        double stepAngle = 2.0 * Math.PI * (fEnd - fStart) / (m * sampleRate);
+        return new ChirpZ(n, m, 1.0, startAngle, 1.0, stepAngle);
+    }
+
+    public ComplexArray transform(double[] data) {
+        ComplexArray dest = new ComplexArray(m);
+        transform(data, null, dest);
+        return dest;
+    }
+
+    public ComplexArray transform(ComplexArray data) {
+        ComplexArray dest = new ComplexArray(m);
+        transform(data.re(), data.im(), dest);
+        return dest;
+    }
+
+    /**
+     * Transforms the {@code n} samples {@code (re, im)} ({@code im} may be
+     * {@code null} for real data) into {@code dest} which must have length
+     * {@code m}.
+     */
+    public void transform(double[] re, double[] im, ComplexArray dest) {
+        if (re.length != n || (im != null && im.length != n)) {
+            throw new IllegalArgumentException("Unequal dimensions: " + re.length + " != " + n);
+        }
+        if (dest.length() != m) {
+            throw new IllegalArgumentException("Unequal dimensions: " + dest.length() + " != " + m);
+        }
+        double[] ar = this.ar;
+        double[] ai = this.ai;
+        for (int j = 0; j < n; ++j) {
+            double re_j = re[j];
+            double im_j = (im != null) ? im[j] : 0.0;
+            double c = preRe[j];
+            double s = preIm[j];
+            ar[j] = re_j * c - im_j * s;
+            ai[j] = re_j * s + im_j * c;
+        }
+        for (int j = n; j < ar.length; ++j) {
+            ar[j] = 0.0;
+            ai[j] = 0.0;
+        }
+        Fourier.transform(ar, ai, false);
+        double[] filterRe = this.filterRe;
+        double[] filterIm = this.filterIm;
+        for (int i = 0; i < ar.length; ++i) {
+            double a_re = ar[i];
+            double a_im = ai[i];
+            double b_re = filterRe[i];
+            double b_im = filterIm[i];
+            ar[i] = a_re * b_re - a_im * b_im;
+            ai[i] = a_re * b_im + a_im * b_re;
+        }
+        Fourier.transform(ar, ai, true);
+        double[] dest_re = dest.re();
+        double[] dest_im = dest.im();
+        for (int k = 0; k < m; ++k) {
+            double c_re = ar[k];
+            double c_im = ai[k];
+            double c = postRe[k];
+            double s = postIm[k];
+            double re_k = c_re * c - c_im * s;
+            double im_k = c_re * s + c_im * c;
+            dest_re[k] = (Math.abs(re_k) <= ComplexArray.TOL) ? 0.0 : re_k;
+            dest_im[k] = (Math.abs(im_k) <= ComplexArray.TOL) ? 0.0 : im_k;
+        }
+    }
+
+    /**
+     * Returns the frequencies of the {@code m} output points for the given
+     * sample rate (only meaningful for points on the unit circle).
+     */
+    public double[] frequencies(double sampleRate) {
+        double[] freqs = new double[m];
+        for (int k = 0; k < m; ++k) {
+            freqs[k] = (startAngle + k * stepAngle) * sampleRate / (2.0 * Math.PI);
+        }
+        return freqs;
+    }
+
+    public int inputLength() {
+        return n;
+    }
+
+    public int outputLength() {
+        return m;
+    }
+}
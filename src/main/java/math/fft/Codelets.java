@@ -0,0 +1,2732 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+/**
+ * Straight-line (fully unrolled) DFT kernels for small sizes. This file is
+ * generated by {@code tools/codelets.py} (run {@code python3 tools/codelets.py}
+ * from the project root) and must not be edited by hand. The generator
+ * expands the Cooley-Tukey (radix-4, 2, 3, 5) and, for prime sizes, the
+ * symmetric real/imaginary pair decomposition symbolically, with all
+ * trivial twiddle factor multiplications eliminated. Each kernel loads its
+ * inputs once, works in local variables only and stores its outputs once.
+ * <p>
+ * All kernels compute the unnormalized forward DFT in place. The inverse
+ * (unnormalized) DFT is obtained by calling a kernel with {@code re} and
+ * {@code im} swapped.
+ * <p>
+ * {@link #leaf16(double[], double[], int)},
+ * {@link #combine32(double[], double[], int)} and
+ * {@link #combine64(double[], double[], int)} are the leaf stages of the
+ * power-of-two transforms in {@link Fourier}. Sizes 32 and 64 are built from
+ * them instead of being unrolled completely to keep every kernel well below
+ * the JIT's size limit for compiled methods.
+ */
+final class Codelets {
+
+    static final int MIN_SIZE = 3;
+    static final int MAX_SIZE = 16;
+
+    //@formatter:off
+    private static final double KP098017140 = 0.0980171403295606;
+    private static final double KP104528463 = 0.10452846326765347;
+    private static final double KP120536680 = 0.12053668025532305;
+    private static final double KP142314838 = 0.14231483827328514;
+    private static final double KP173648178 = 0.17364817766693036;
+    private static final double KP195090322 = 0.19509032201612828;
+    private static final double KP207911691 = 0.20791169081775934;
+    private static final double KP222520934 = 0.2225209339563144;
+    private static final double KP239315664 = 0.23931566428755777;
+    private static final double KP281732557 = 0.28173255684142967;
+    private static final double KP290284677 = 0.2902846772544624;
+    private static final double KP309016994 = 0.30901699437494745;
+    private static final double KP342020143 = 0.3420201433256687;
+    private static final double KP354604887 = 0.3546048870425356;
+    private static final double KP382683432 = 0.3826834323650898;
+    private static final double KP406736643 = 0.4067366430758002;
+    private static final double KP415415013 = 0.41541501300188644;
+    private static final double KP433883739 = 0.4338837391175581;
+    private static final double KP464723172 = 0.46472317204376856;
+    private static final double KP471396737 = 0.47139673682599764;
+    private static final double KP500000000 = 0.5;
+    private static final double KP540640817 = 0.5406408174555976;
+    private static final double KP555570233 = 0.5555702330196022;
+    private static final double KP568064747 = 0.5680647467311558;
+    private static final double KP587785252 = 0.5877852522924731;
+    private static final double KP623489802 = 0.6234898018587335;
+    private static final double KP634393284 = 0.6343932841636455;
+    private static final double KP642787610 = 0.6427876096865394;
+    private static final double KP654860734 = 0.6548607339452851;
+    private static final double KP663122658 = 0.6631226582407952;
+    private static final double KP669130606 = 0.6691306063588582;
+    private static final double KP707106781 = 0.7071067811865476;
+    private static final double KP743144825 = 0.7431448254773942;
+    private static final double KP748510748 = 0.7485107481711011;
+    private static final double KP755749574 = 0.7557495743542583;
+    private static final double KP766044443 = 0.766044443118978;
+    private static final double KP773010453 = 0.773010453362737;
+    private static final double KP781831482 = 0.7818314824680298;
+    private static final double KP809016994 = 0.8090169943749475;
+    private static final double KP822983866 = 0.8229838658936564;
+    private static final double KP831469612 = 0.8314696123025452;
+    private static final double KP841253533 = 0.8412535328311812;
+    private static final double KP866025404 = 0.8660254037844386;
+    private static final double KP881921264 = 0.881921264348355;
+    private static final double KP885456026 = 0.8854560256532099;
+    private static final double KP900968868 = 0.9009688679024191;
+    private static final double KP909631995 = 0.9096319953545183;
+    private static final double KP913545458 = 0.9135454576426009;
+    private static final double KP923879533 = 0.9238795325112867;
+    private static final double KP935016243 = 0.9350162426854148;
+    private static final double KP939692621 = 0.9396926207859084;
+    private static final double KP951056516 = 0.9510565162951535;
+    private static final double KP956940336 = 0.9569403357322088;
+    private static final double KP959492974 = 0.9594929736144974;
+    private static final double KP970941817 = 0.970941817426052;
+    private static final double KP974927912 = 0.9749279121818236;
+    private static final double KP978147601 = 0.9781476007338057;
+    private static final double KP980785280 = 0.9807852804032304;
+    private static final double KP984807753 = 0.984807753012208;
+    private static final double KP989821442 = 0.9898214418809327;
+    private static final double KP992708874 = 0.992708874098054;
+    private static final double KP994521895 = 0.9945218953682733;
+    private static final double KP995184727 = 0.9951847266721969;
+    //@formatter:on
+
+    static boolean supports(int n) {
+        return n >= MIN_SIZE && n <= MAX_SIZE;
+    }
+
+    /**
+     * In-place forward DFT of {@code re} and {@code im}, whose length
+     * {@code n} must satisfy {@link #supports(int)}.
+     */
+    static void forward(double[] re, double[] im, int n) {
+        //@formatter:off
+        switch (n) {
+        case 3: dft3(re, im, 0); break;
+        case 4: dft4(re, im, 0); break;
+        case 5: dft5(re, im, 0); break;
+        case 6: dft6(re, im, 0); break;
+        case 7: dft7(re, im, 0); break;
+        case 8: dft8(re, im, 0); break;
+        case 9: dft9(re, im, 0); break;
+        case 10: dft10(re, im, 0); break;
+        case 11: dft11(re, im, 0); break;
+        case 12: dft12(re, im, 0); break;
+        case 13: dft13(re, im, 0); break;
+        case 14: dft14(re, im, 0); break;
+        case 15: dft15(re, im, 0); break;
+        case 16: dft16(re, im, 0); break;
+        default:
+            throw new IllegalArgumentException("no codelet for size " + n);
+        }
+        //@formatter:on
+    }
+
+    /**
+     * In-place forward DFT of length 3 at {@code off}.
+     * (12 additions, 4 multiplications)
+     */
+    static void dft3(double[] re, double[] im, int off) {
+        double xr0 = re[off];
+        double xi0 = im[off];
+        double xr1 = re[off + 1];
+        double xi1 = im[off + 1];
+        double xr2 = re[off + 2];
+        double xi2 = im[off + 2];
+        double t0 = xr1 + xr2;
+        double t1 = xi1 + xi2;
+        double t2 = xr1 - xr2;
+        double t3 = xi1 - xi2;
+        double t4 = xr0 + t0;
+        double t5 = xi0 + t1;
+        double t6 = xr0 - KP500000000 * t0;
+        double t7 = xi0 - KP500000000 * t1;
+        double t8 = KP866025404 * t2;
+        double t9 = KP866025404 * t3;
+        double t10 = t6 + t9;
+        double t11 = t7 - t8;
+        double t12 = t6 - t9;
+        double t13 = t7 + t8;
+        re[off] = t4;
+        im[off] = t5;
+        re[off + 1] = t10;
+        im[off + 1] = t11;
+        re[off + 2] = t12;
+        im[off + 2] = t13;
+    }
+
+    /**
+     * In-place forward DFT of length 4 at {@code off}.
+     * (16 additions, 0 multiplications)
+     */
+    static void dft4(double[] re, double[] im, int off) {
+        double xr0 = re[off];
+        double xi0 = im[off];
+        double xr1 = re[off + 1];
+        double xi1 = im[off + 1];
+        double xr2 = re[off + 2];
+        double xi2 = im[off + 2];
+        double xr3 = re[off + 3];
+        double xi3 = im[off + 3];
+        double t0 = xr0 + xr2;
+        double t1 = xi0 + xi2;
+        double t2 = xr0 - xr2;
+        double t3 = xi0 - xi2;
+        double t4 = xr1 + xr3;
+        double t5 = xi1 + xi3;
+        double t6 = xr1 - xr3;
+        double t7 = xi1 - xi3;
+        double t8 = t0 + t4;
+        double t9 = t1 + t5;
+        double t10 = t2 + t7;
+        double t11 = t3 - t6;
+        double t12 = t0 - t4;
+        double t13 = t1 - t5;
+        double t14 = t2 - t7;
+        double t15 = t3 + t6;
+        re[off] = t8;
+        im[off] = t9;
+        re[off + 1] = t10;
+        im[off + 1] = t11;
+        re[off + 2] = t12;
+        im[off + 2] = t13;
+        re[off + 3] = t14;
+        im[off + 3] = t15;
+    }
+
+    /**
+     * In-place forward DFT of length 5 at {@code off}.
+     * (32 additions, 16 multiplications)
+     */
+    static void dft5(double[] re, double[] im, int off) {
+        double xr0 = re[off];
+        double xi0 = im[off];
+        double xr1 = re[off + 1];
+        double xi1 = im[off + 1];
+        double xr2 = re[off + 2];
+        double xi2 = im[off + 2];
+        double xr3 = re[off + 3];
+        double xi3 = im[off + 3];
+        double xr4 = re[off + 4];
+        double xi4 = im[off + 4];
+        double t0 = xr1 + xr4;
+        double t1 = xi1 + xi4;
+        double t2 = xr2 + xr3;
+        double t3 = xi2 + xi3;
+        double t4 = xr1 - xr4;
+        double t5 = xi1 - xi4;
+        double t6 = xr2 - xr3;
+        double t7 = xi2 - xi3;
+        double t8 = xr0 + t0 + t2;
+        double t9 = xi0 + t1 + t3;
+        double t10 = xr0 + KP309016994 * t0 - KP809016994 * t2;
+        double t11 = xi0 + KP309016994 * t1 - KP809016994 * t3;
+        double t12 = KP951056516 * t4 + KP587785252 * t6;
+        double t13 = KP951056516 * t5 + KP587785252 * t7;
+        double t14 = t10 + t13;
+        double t15 = t11 - t12;
+        double t16 = t10 - t13;
+        double t17 = t11 + t12;
+        double t18 = xr0 + KP309016994 * t2 - KP809016994 * t0;
+        double t19 = xi0 + KP309016994 * t3 - KP809016994 * t1;
+        double t20 = KP587785252 * t4 - KP951056516 * t6;
+        double t21 = KP587785252 * t5 - KP951056516 * t7;
+        double t22 = t18 + t21;
+        double t23 = t19 - t20;
+        double t24 = t18 - t21;
+        double t25 = t19 + t20;
+        re[off] = t8;
+        im[off] = t9;
+        re[off + 1] = t14;
+        im[off + 1] = t15;
+        re[off + 2] = t22;
+        im[off + 2] = t23;
+        re[off + 3] = t24;
+        im[off + 3] = t25;
+        re[off + 4] = t16;
+        im[off + 4] = t17;
+    }
+
+    /**
+     * In-place forward DFT of length 6 at {@code off}.
+     * (40 additions, 16 multiplications)
+     */
+    static void dft6(double[] re, double[] im, int off) {
+        double xr0 = re[off];
+        double xi0 = im[off];
+        double xr1 = re[off + 1];
+        double xi1 = im[off + 1];
+        double xr2 = re[off + 2];
+        double xi2 = im[off + 2];
+        double xr3 = re[off + 3];
+        double xi3 = im[off + 3];
+        double xr4 = re[off + 4];
+        double xi4 = im[off + 4];
+        double xr5 = re[off + 5];
+        double xi5 = im[off + 5];
+        double t0 = xr2 + xr4;
+        double t1 = xi2 + xi4;
+        double t2 = xr2 - xr4;
+        double t3 = xi2 - xi4;
+        double t4 = xr0 + t0;
+        double t5 = xi0 + t1;
+        double t6 = xr0 - KP500000000 * t0;
+        double t7 = xi0 - KP500000000 * t1;
+        double t8 = KP866025404 * t2;
+        double t9 = KP866025404 * t3;
+        double t10 = t6 + t9;
+        double t11 = t7 - t8;
+        double t12 = t6 - t9;
+        double t13 = t7 + t8;
+        double t14 = xr3 + xr5;
+        double t15 = xi3 + xi5;
+        double t16 = xr3 - xr5;
+        double t17 = xi3 - xi5;
+        double t18 = xr1 + t14;
+        double t19 = xi1 + t15;
+        double t20 = xr1 - KP500000000 * t14;
+        double t21 = xi1 - KP500000000 * t15;
+        double t22 = KP866025404 * t16;
+        double t23 = KP866025404 * t17;
+        double t24 = t20 + t23;
+        double t25 = t21 - t22;
+        double t26 = t20 - t23;
+        double t27 = t21 + t22;
+        double t28 = t4 + t18;
+        double t29 = t5 + t19;
+        double t30 = t4 - t18;
+        double t31 = t5 - t19;
+        double t32 = KP500000000 * t24 + KP866025404 * t25;
+        double t33 = KP500000000 * t25 - KP866025404 * t24;
+        double t34 = t10 + t32;
+        double t35 = t11 + t33;
+        double t36 = t10 - t32;
+        double t37 = t11 - t33;
+        double t38 = KP866025404 * t27 - KP500000000 * t26;
+        double t39 = KP500000000 * t27 + KP866025404 * t26;
+        double t40 = t12 + t38;
+        double t41 = t13 - t39;
+        double t42 = t12 - t38;
+        double t43 = t13 + t39;
+        re[off] = t28;
+        im[off] = t29;
+        re[off + 1] = t34;
+        im[off + 1] = t35;
+        re[off + 2] = t40;
+        im[off + 2] = t41;
+        re[off + 3] = t30;
+        im[off + 3] = t31;
+        re[off + 4] = t36;
+        im[off + 4] = t37;
+        re[off + 5] = t42;
+        im[off + 5] = t43;
+    }
+
+    /**
+     * In-place forward DFT of length 7 at {@code off}.
+     * (60 additions, 36 multiplications)
+     */
+    static void dft7(double[] re, double[] im, int off) {
+        double xr0 = re[off];
+        double xi0 = im[off];
+        double xr1 = re[off + 1];
+        double xi1 = im[off + 1];
+        double xr2 = re[off + 2];
+        double xi2 = im[off + 2];
+        double xr3 = re[off + 3];
+        double xi3 = im[off + 3];
+        double xr4 = re[off + 4];
+        double xi4 = im[off + 4];
+        double xr5 = re[off + 5];
+        double xi5 = im[off + 5];
+        double xr6 = re[off + 6];
+        double xi6 = im[off + 6];
+        double t0 = xr1 + xr6;
+        double t1 = xi1 + xi6;
+        double t2 = xr2 + xr5;
+        double t3 = xi2 + xi5;
+        double t4 = xr3 + xr4;
+        double t5 = xi3 + xi4;
+        double t6 = xr1 - xr6;
+        double t7 = xi1 - xi6;
+        double t8 = xr2 - xr5;
+        double t9 = xi2 - xi5;
+        double t10 = xr3 - xr4;
+        double t11 = xi3 - xi4;
+        double t12 = xr0 + t0 + t2 + t4;
+        double t13 = xi0 + t1 + t3 + t5;
+        double t14 = xr0 + KP623489802 * t0 - KP222520934 * t2 - KP900968868 * t4;
+        double t15 = xi0 + KP623489802 * t1 - KP222520934 * t3 - KP900968868 * t5;
+        double t16 = KP781831482 * t6 + KP974927912 * t8 + KP433883739 * t10;
+        double t17 = KP781831482 * t7 + KP974927912 * t9 + KP433883739 * t11;
+        double t18 = t14 + t17;
+        double t19 = t15 - t16;
+        double t20 = t14 - t17;
+        double t21 = t15 + t16;
+        double t22 = xr0 + KP623489802 * t4 - KP222520934 * t0 - KP900968868 * t2;
+        double t23 = xi0 + KP623489802 * t5 - KP222520934 * t1 - KP900968868 * t3;
+        double t24 = KP974927912 * t6 - KP433883739 * t8 - KP781831482 * t10;
+        double t25 = KP974927912 * t7 - KP433883739 * t9 - KP781831482 * t11;
+        double t26 = t22 + t25;
+        double t27 = t23 - t24;
+        double t28 = t22 - t25;
+        double t29 = t23 + t24;
+        double t30 = xr0 + KP623489802 * t2 - KP900968868 * t0 - KP222520934 * t4;
+        double t31 = xi0 + KP623489802 * t3 - KP900968868 * t1 - KP222520934 * t5;
+        double t32 = KP433883739 * t6 + KP974927912 * t10 - KP781831482 * t8;
+        double t33 = KP433883739 * t7 + KP974927912 * t11 - KP781831482 * t9;
+        double t34 = t30 + t33;
+        double t35 = t31 - t32;
+        double t36 = t30 - t33;
+        double t37 = t31 + t32;
+        re[off] = t12;
+        im[off] = t13;
+        re[off + 1] = t18;
+        im[off + 1] = t19;
+        re[off + 2] = t26;
+        im[off + 2] = t27;
+        re[off + 3] = t34;
+        im[off + 3] = t35;
+        re[off + 4] = t36;
+        im[off + 4] = t37;
+        re[off + 5] = t28;
+        im[off + 5] = t29;
+        re[off + 6] = t20;
+        im[off + 6] = t21;
+    }
+
+    /**
+     * In-place forward DFT of length 8 at {@code off}.
+     * (52 additions, 4 multiplications)
+     */
+    static void dft8(double[] re, double[] im, int off) {
+        double xr0 = re[off];
+        double xi0 = im[off];
+        double xr1 = re[off + 1];
+        double xi1 = im[off + 1];
+        double xr2 = re[off + 2];
+        double xi2 = im[off + 2];
+        double xr3 = re[off + 3];
+        double xi3 = im[off + 3];
+        double xr4 = re[off + 4];
+        double xi4 = im[off + 4];
+        double xr5 = re[off + 5];
+        double xi5 = im[off + 5];
+        double xr6 = re[off + 6];
+        double xi6 = im[off + 6];
+        double xr7 = re[off + 7];
+        double xi7 = im[off + 7];
+        double t0 = xr0 + xr4;
+        double t1 = xi0 + xi4;
+        double t2 = xr0 - xr4;
+        double t3 = xi0 - xi4;
+        double t4 = xr1 + xr5;
+        double t5 = xi1 + xi5;
+        double t6 = xr1 - xr5;
+        double t7 = xi1 - xi5;
+        double t8 = xr2 + xr6;
+        double t9 = xi2 + xi6;
+        double t10 = xr2 - xr6;
+        double t11 = xi2 - xi6;
+        double t12 = xr3 + xr7;
+        double t13 = xi3 + xi7;
+        double t14 = xr3 - xr7;
+        double t15 = xi3 - xi7;
+        double t16 = t0 + t8;
+        double t17 = t1 + t9;
+        double t18 = t0 - t8;
+        double t19 = t1 - t9;
+        double t20 = t4 + t12;
+        double t21 = t5 + t13;
+        double t22 = t4 - t12;
+        double t23 = t5 - t13;
+        double t24 = t16 + t20;
+        double t25 = t17 + t21;
+        double t26 = t18 + t23;
+        double t27 = t19 - t22;
+        double t28 = t16 - t20;
+        double t29 = t17 - t21;
+        double t30 = t18 - t23;
+        double t31 = t19 + t22;
+        double t32 = t6 + t7;
+        double t33 = t7 - t6;
+        double t34 = KP707106781 * t32;
+        double t35 = KP707106781 * t33;
+        double t36 = t14 - t15;
+        double t37 = t15 + t14;
+        double t38 = KP707106781 * t36;
+        double t39 = KP707106781 * t37;
+        double t40 = t2 + t11;
+        double t41 = t3 - t10;
+        double t42 = t2 - t11;
+        double t43 = t3 + t10;
+        double t44 = t34 - t38;
+        double t45 = t35 - t39;
+        double t46 = t34 + t38;
+        double t47 = t35 + t39;
+        double t48 = t40 + t44;
+        double t49 = t41 + t45;
+        double t50 = t42 + t47;
+        double t51 = t43 - t46;
+        double t52 = t40 - t44;
+        double t53 = t41 - t45;
+        double t54 = t42 - t47;
+        double t55 = t43 + t46;
+        re[off] = t24;
+        im[off] = t25;
+        re[off + 1] = t48;
+        im[off + 1] = t49;
+        re[off + 2] = t26;
+        im[off + 2] = t27;
+        re[off + 3] = t50;
+        im[off + 3] = t51;
+        re[off + 4] = t28;
+        im[off + 4] = t29;
+        re[off + 5] = t52;
+        im[off + 5] = t53;
+        re[off + 6] = t30;
+        im[off + 6] = t31;
+        re[off + 7] = t54;
+        im[off + 7] = t55;
+    }
+
+    /**
+     * In-place forward DFT of length 9 at {@code off}.
+     * (80 additions, 40 multiplications)
+     */
+    static void dft9(double[] re, double[] im, int off) {
+        double xr0 = re[off];
+        double xi0 = im[off];
+        double xr1 = re[off + 1];
+        double xi1 = im[off + 1];
+        double xr2 = re[off + 2];
+        double xi2 = im[off + 2];
+        double xr3 = re[off + 3];
+        double xi3 = im[off + 3];
+        double xr4 = re[off + 4];
+        double xi4 = im[off + 4];
+        double xr5 = re[off + 5];
+        double xi5 = im[off + 5];
+        double xr6 = re[off + 6];
+        double xi6 = im[off + 6];
+        double xr7 = re[off + 7];
+        double xi7 = im[off + 7];
+        double xr8 = re[off + 8];
+        double xi8 = im[off + 8];
+        double t0 = xr3 + xr6;
+        double t1 = xi3 + xi6;
+        double t2 = xr3 - xr6;
+        double t3 = xi3 - xi6;
+        double t4 = xr0 + t0;
+        double t5 = xi0 + t1;
+        double t6 = xr0 - KP500000000 * t0;
+        double t7 = xi0 - KP500000000 * t1;
+        double t8 = KP866025404 * t2;
+        double t9 = KP866025404 * t3;
+        double t10 = t6 + t9;
+        double t11 = t7 - t8;
+        double t12 = t6 - t9;
+        double t13 = t7 + t8;
+        double t14 = xr4 + xr7;
+        double t15 = xi4 + xi7;
+        double t16 = xr4 - xr7;
+        double t17 = xi4 - xi7;
+        double t18 = xr1 + t14;
+        double t19 = xi1 + t15;
+        double t20 = xr1 - KP500000000 * t14;
+        double t21 = xi1 - KP500000000 * t15;
+        double t22 = KP866025404 * t16;
+        double t23 = KP866025404 * t17;
+        double t24 = t20 + t23;
+        double t25 = t21 - t22;
+        double t26 = t20 - t23;
+        double t27 = t21 + t22;
+        double t28 = xr5 + xr8;
+        double t29 = xi5 + xi8;
+        double t30 = xr5 - xr8;
+        double t31 = xi5 - xi8;
+        double t32 = xr2 + t28;
+        double t33 = xi2 + t29;
+        double t34 = xr2 - KP500000000 * t28;
+        double t35 = xi2 - KP500000000 * t29;
+        double t36 = KP866025404 * t30;
+        double t37 = KP866025404 * t31;
+        double t38 = t34 + t37;
+        double t39 = t35 - t36;
+        double t40 = t34 - t37;
+        double t41 = t35 + t36;
+        double t42 = t18 + t32;
+        double t43 = t19 + t33;
+        double t44 = t18 - t32;
+        double t45 = t19 - t33;
+        double t46 = t4 + t42;
+        double t47 = t5 + t43;
+        double t48 = t4 - KP500000000 * t42;
+        double t49 = t5 - KP500000000 * t43;
+        double t50 = KP866025404 * t44;
+        double t51 = KP866025404 * t45;
+        double t52 = t48 + t51;
+        double t53 = t49 - t50;
+        double t54 = t48 - t51;
+        double t55 = t49 + t50;
+        double t56 = KP766044443 * t24 + KP642787610 * t25;
+        double t57 = KP766044443 * t25 - KP642787610 * t24;
+        double t58 = KP173648178 * t38 + KP984807753 * t39;
+        double t59 = KP173648178 * t39 - KP984807753 * t38;
+        double t60 = t56 + t58;
+        double t61 = t57 + t59;
+        double t62 = t56 - t58;
+        double t63 = t57 - t59;
+        double t64 = t10 + t60;
+        double t65 = t11 + t61;
+        double t66 = t10 - KP500000000 * t60;
+        double t67 = t11 - KP500000000 * t61;
+        double t68 = KP866025404 * t62;
+        double t69 = KP866025404 * t63;
+        double t70 = t66 + t69;
+        double t71 = t67 - t68;
+        double t72 = t66 - t69;
+        double t73 = t67 + t68;
+        double t74 = KP173648178 * t26 + KP984807753 * t27;
+        double t75 = KP173648178 * t27 - KP984807753 * t26;
+        double t76 = KP342020143 * t41 - KP939692621 * t40;
+        double t77 = KP939692621 * t41 + KP342020143 * t40;
+        double t78 = t74 + t76;
+        double t79 = t75 - t77;
+        double t80 = t74 - t76;
+        double t81 = t75 + t77;
+        double t82 = t12 + t78;
+        double t83 = t13 + t79;
+        double t84 = t12 - KP500000000 * t78;
+        double t85 = t13 - KP500000000 * t79;
+        double t86 = KP866025404 * t80;
+        double t87 = KP866025404 * t81;
+        double t88 = t84 + t87;
+        double t89 = t85 - t86;
+        double t90 = t84 - t87;
+        double t91 = t85 + t86;
+        re[off] = t46;
+        im[off] = t47;
+        re[off + 1] = t64;
+        im[off + 1] = t65;
+        re[off + 2] = t82;
+        im[off + 2] = t83;
+        re[off + 3] = t52;
+        im[off + 3] = t53;
+        re[off + 4] = t70;
+        im[off + 4] = t71;
+        re[off + 5] = t88;
+        im[off + 5] = t89;
+        re[off + 6] = t54;
+        im[off + 6] = t55;
+        re[off + 7] = t72;
+        im[off + 7] = t73;
+        re[off + 8] = t90;
+        im[off + 8] = t91;
+    }
+
+    /**
+     * In-place forward DFT of length 10 at {@code off}.
+     * (92 additions, 48 multiplications)
+     */
+    static void dft10(double[] re, double[] im, int off) {
+        double xr0 = re[off];
+        double xi0 = im[off];
+        double xr1 = re[off + 1];
+        double xi1 = im[off + 1];
+        double xr2 = re[off + 2];
+        double xi2 = im[off + 2];
+        double xr3 = re[off + 3];
+        double xi3 = im[off + 3];
+        double xr4 = re[off + 4];
+        double xi4 = im[off + 4];
+        double xr5 = re[off + 5];
+        double xi5 = im[off + 5];
+        double xr6 = re[off + 6];
+        double xi6 = im[off + 6];
+        double xr7 = re[off + 7];
+        double xi7 = im[off + 7];
+        double xr8 = re[off + 8];
+        double xi8 = im[off + 8];
+        double xr9 = re[off + 9];
+        double xi9 = im[off + 9];
+        double t0 = xr2 + xr8;
+        double t1 = xi2 + xi8;
+        double t2 = xr4 + xr6;
+        double t3 = xi4 + xi6;
+        double t4 = xr2 - xr8;
+        double t5 = xi2 - xi8;
+        double t6 = xr4 - xr6;
+        double t7 = xi4 - xi6;
+        double t8 = xr0 + t0 + t2;
+        double t9 = xi0 + t1 + t3;
+        double t10 = xr0 + KP309016994 * t0 - KP809016994 * t2;
+        double t11 = xi0 + KP309016994 * t1 - KP809016994 * t3;
+        double t12 = KP951056516 * t4 + KP587785252 * t6;
+        double t13 = KP951056516 * t5 + KP587785252 * t7;
+        double t14 = t10 + t13;
+        double t15 = t11 - t12;
+        double t16 = t10 - t13;
+        double t17 = t11 + t12;
+        double t18 = xr0 + KP309016994 * t2 - KP809016994 * t0;
+        double t19 = xi0 + KP309016994 * t3 - KP809016994 * t1;
+        double t20 = KP587785252 * t4 - KP951056516 * t6;
+        double t21 = KP587785252 * t5 - KP951056516 * t7;
+        double t22 = t18 + t21;
+        double t23 = t19 - t20;
+        double t24 = t18 - t21;
+        double t25 = t19 + t20;
+        double t26 = xr3 + xr9;
+        double t27 = xi3 + xi9;
+        double t28 = xr5 + xr7;
+        double t29 = xi5 + xi7;
+        double t30 = xr3 - xr9;
+        double t31 = xi3 - xi9;
+        double t32 = xr5 - xr7;
+        double t33 = xi5 - xi7;
+        double t34 = xr1 + t26 + t28;
+        double t35 = xi1 + t27 + t29;
+        double t36 = xr1 + KP309016994 * t26 - KP809016994 * t28;
+        double t37 = xi1 + KP309016994 * t27 - KP809016994 * t29;
+        double t38 = KP951056516 * t30 + KP587785252 * t32;
+        double t39 = KP951056516 * t31 + KP587785252 * t33;
+        double t40 = t36 + t39;
+        double t41 = t37 - t38;
+        double t42 = t36 - t39;
+        double t43 = t37 + t38;
+        double t44 = xr1 + KP309016994 * t28 - KP809016994 * t26;
+        double t45 = xi1 + KP309016994 * t29 - KP809016994 * t27;
+        double t46 = KP587785252 * t30 - KP951056516 * t32;
+        double t47 = KP587785252 * t31 - KP951056516 * t33;
+        double t48 = t44 + t47;
+        double t49 = t45 - t46;
+        double t50 = t44 - t47;
+        double t51 = t45 + t46;
+        double t52 = t8 + t34;
+        double t53 = t9 + t35;
+        double t54 = t8 - t34;
+        double t55 = t9 - t35;
+        double t56 = KP809016994 * t40 + KP587785252 * t41;
+        double t57 = KP809016994 * t41 - KP587785252 * t40;
+        double t58 = t14 + t56;
+        double t59 = t15 + t57;
+        double t60 = t14 - t56;
+        double t61 = t15 - t57;
+        double t62 = KP309016994 * t48 + KP951056516 * t49;
+        double t63 = KP309016994 * t49 - KP951056516 * t48;
+        double t64 = t22 + t62;
+        double t65 = t23 + t63;
+        double t66 = t22 - t62;
+        double t67 = t23 - t63;
+        double t68 = KP951056516 * t51 - KP309016994 * t50;
+        double t69 = KP309016994 * t51 + KP951056516 * t50;
+        double t70 = t24 + t68;
+        double t71 = t25 - t69;
+        double t72 = t24 - t68;
+        double t73 = t25 + t69;
+        double t74 = KP587785252 * t43 - KP809016994 * t42;
+        double t75 = KP809016994 * t43 + KP587785252 * t42;
+        double t76 = t16 + t74;
+        double t77 = t17 - t75;
+        double t78 = t16 - t74;
+        double t79 = t17 + t75;
+        re[off] = t52;
+        im[off] = t53;
+        re[off + 1] = t58;
+        im[off + 1] = t59;
+        re[off + 2] = t64;
+        im[off + 2] = t65;
+        re[off + 3] = t70;
+        im[off + 3] = t71;
+        re[off + 4] = t76;
+        im[off + 4] = t77;
+        re[off + 5] = t54;
+        im[off + 5] = t55;
+        re[off + 6] = t60;
+        im[off + 6] = t61;
+        re[off + 7] = t66;
+        im[off + 7] = t67;
+        re[off + 8] = t72;
+        im[off + 8] = t73;
+        re[off + 9] = t78;
+        im[off + 9] = t79;
+    }
+
+    /**
+     * In-place forward DFT of length 11 at {@code off}.
+     * (140 additions, 100 multiplications)
+     */
+    static void dft11(double[] re, double[] im, int off) {
+        double xr0 = re[off];
+        double xi0 = im[off];
+        double xr1 = re[off + 1];
+        double xi1 = im[off + 1];
+        double xr2 = re[off + 2];
+        double xi2 = im[off + 2];
+        double xr3 = re[off + 3];
+        double xi3 = im[off + 3];
+        double xr4 = re[off + 4];
+        double xi4 = im[off + 4];
+        double xr5 = re[off + 5];
+        double xi5 = im[off + 5];
+        double xr6 = re[off + 6];
+        double xi6 = im[off + 6];
+        double xr7 = re[off + 7];
+        double xi7 = im[off + 7];
+        double xr8 = re[off + 8];
+        double xi8 = im[off + 8];
+        double xr9 = re[off + 9];
+        double xi9 = im[off + 9];
+        double xr10 = re[off + 10];
+        double xi10 = im[off + 10];
+        double t0 = xr1 + xr10;
+        double t1 = xi1 + xi10;
+        double t2 = xr2 + xr9;
+        double t3 = xi2 + xi9;
+        double t4 = xr3 + xr8;
+        double t5 = xi3 + xi8;
+        double t6 = xr4 + xr7;
+        double t7 = xi4 + xi7;
+        double t8 = xr5 + xr6;
+        double t9 = xi5 + xi6;
+        double t10 = xr1 - xr10;
+        double t11 = xi1 - xi10;
+        double t12 = xr2 - xr9;
+        double t13 = xi2 - xi9;
+        double t14 = xr3 - xr8;
+        double t15 = xi3 - xi8;
+        double t16 = xr4 - xr7;
+        double t17 = xi4 - xi7;
+        double t18 = xr5 - xr6;
+        double t19 = xi5 - xi6;
+        double t20 = xr0 + t0 + t2 + t4 + t6 + t8;
+        double t21 = xi0 + t1 + t3 + t5 + t7 + t9;
+        double t22 = xr0 + KP841253533 * t0 + KP415415013 * t2 - KP142314838 * t4 - KP654860734 * t6 - KP959492974 * t8;
+        double t23 = xi0 + KP841253533 * t1 + KP415415013 * t3 - KP142314838 * t5 - KP654860734 * t7 - KP959492974 * t9;
+        double t24 = KP540640817 * t10 + KP909631995 * t12 + KP989821442 * t14 + KP755749574 * t16 + KP281732557 * t18;
+        double t25 = KP540640817 * t11 + KP909631995 * t13 + KP989821442 * t15 + KP755749574 * t17 + KP281732557 * t19;
+        double t26 = t22 + t25;
+        double t27 = t23 - t24;
+        double t28 = t22 - t25;
+        double t29 = t23 + t24;
+        double t30 = xr0 + KP415415013 * t0 + KP841253533 * t8 - KP654860734 * t2 - KP959492974 * t4 - KP142314838 * t6;
+        double t31 = xi0 + KP415415013 * t1 + KP841253533 * t9 - KP654860734 * t3 - KP959492974 * t5 - KP142314838 * t7;
+        double t32 = KP909631995 * t10 + KP755749574 * t12 - KP281732557 * t14 - KP989821442 * t16 - KP540640817 * t18;
+        double t33 = KP909631995 * t11 + KP755749574 * t13 - KP281732557 * t15 - KP989821442 * t17 - KP540640817 * t19;
+        double t34 = t30 + t33;
+        double t35 = t31 - t32;
+        double t36 = t30 - t33;
+        double t37 = t31 + t32;
+        double t38 = xr0 + KP415415013 * t4 + KP841253533 * t6 - KP142314838 * t0 - KP959492974 * t2 - KP654860734 * t8;
+        double t39 = xi0 + KP415415013 * t5 + KP841253533 * t7 - KP142314838 * t1 - KP959492974 * t3 - KP654860734 * t9;
+        double t40 = KP989821442 * t10 + KP540640817 * t16 + KP755749574 * t18 - KP281732557 * t12 - KP909631995 * t14;
+        double t41 = KP989821442 * t11 + KP540640817 * t17 + KP755749574 * t19 - KP281732557 * t13 - KP909631995 * t15;
+        double t42 = t38 + t41;
+        double t43 = t39 - t40;
+        double t44 = t38 - t41;
+        double t45 = t39 + t40;
+        double t46 = xr0 + KP841253533 * t4 + KP415415013 * t8 - KP654860734 * t0 - KP142314838 * t2 - KP959492974 * t6;
+        double t47 = xi0 + KP841253533 * t5 + KP415415013 * t9 - KP654860734 * t1 - KP142314838 * t3 - KP959492974 * t7;
+        double t48 = KP755749574 * t10 + KP540640817 * t14 + KP281732557 * t16 - KP989821442 * t12 - KP909631995 * t18;
+        double t49 = KP755749574 * t11 + KP540640817 * t15 + KP281732557 * t17 - KP989821442 * t13 - KP909631995 * t19;
+        double t50 = t46 + t49;
+        double t51 = t47 - t48;
+        double t52 = t46 - t49;
+        double t53 = t47 + t48;
+        double t54 = xr0 + KP841253533 * t2 + KP415415013 * t6 - KP959492974 * t0 - KP654860734 * t4 - KP142314838 * t8;
+        double t55 = xi0 + KP841253533 * t3 + KP415415013 * t7 - KP959492974 * t1 - KP654860734 * t5 - KP142314838 * t9;
+        double t56 = KP281732557 * t10 + KP755749574 * t14 + KP989821442 * t18 - KP540640817 * t12 - KP909631995 * t16;
+        double t57 = KP281732557 * t11 + KP755749574 * t15 + KP989821442 * t19 - KP540640817 * t13 - KP909631995 * t17;
+        double t58 = t54 + t57;
+        double t59 = t55 - t56;
+        double t60 = t54 - t57;
+        double t61 = t55 + t56;
+        re[off] = t20;
+        im[off] = t21;
+        re[off + 1] = t26;
+        im[off + 1] = t27;
+        re[off + 2] = t34;
+        im[off + 2] = t35;
+        re[off + 3] = t42;
+        im[off + 3] = t43;
+        re[off + 4] = t50;
+        im[off + 4] = t51;
+        re[off + 5] = t58;
+        im[off + 5] = t59;
+        re[off + 6] = t60;
+        im[off + 6] = t61;
+        re[off + 7] = t52;
+        im[off + 7] = t53;
+        re[off + 8] = t44;
+        im[off + 8] = t45;
+        re[off + 9] = t36;
+        im[off + 9] = t37;
+        re[off + 10] = t28;
+        im[off + 10] = t29;
+    }
+
+    /**
+     * In-place forward DFT of length 12 at {@code off}.
+     * (104 additions, 32 multiplications)
+     */
+    static void dft12(double[] re, double[] im, int off) {
+        double xr0 = re[off];
+        double xi0 = im[off];
+        double xr1 = re[off + 1];
+        double xi1 = im[off + 1];
+        double xr2 = re[off + 2];
+        double xi2 = im[off + 2];
+        double xr3 = re[off + 3];
+        double xi3 = im[off + 3];
+        double xr4 = re[off + 4];
+        double xi4 = im[off + 4];
+        double xr5 = re[off + 5];
+        double xi5 = im[off + 5];
+        double xr6 = re[off + 6];
+        double xi6 = im[off + 6];
+        double xr7 = re[off + 7];
+        double xi7 = im[off + 7];
+        double xr8 = re[off + 8];
+        double xi8 = im[off + 8];
+        double xr9 = re[off + 9];
+        double xi9 = im[off + 9];
+        double xr10 = re[off + 10];
+        double xi10 = im[off + 10];
+        double xr11 = re[off + 11];
+        double xi11 = im[off + 11];
+        double t0 = xr4 + xr8;
+        double t1 = xi4 + xi8;
+        double t2 = xr4 - xr8;
+        double t3 = xi4 - xi8;
+        double t4 = xr0 + t0;
+        double t5 = xi0 + t1;
+        double t6 = xr0 - KP500000000 * t0;
+        double t7 = xi0 - KP500000000 * t1;
+        double t8 = KP866025404 * t2;
+        double t9 = KP866025404 * t3;
+        double t10 = t6 + t9;
+        double t11 = t7 - t8;
+        double t12 = t6 - t9;
+        double t13 = t7 + t8;
+        double t14 = xr5 + xr9;
+        double t15 = xi5 + xi9;
+        double t16 = xr5 - xr9;
+        double t17 = xi5 - xi9;
+        double t18 = xr1 + t14;
+        double t19 = xi1 + t15;
+        double t20 = xr1 - KP500000000 * t14;
+        double t21 = xi1 - KP500000000 * t15;
+        double t22 = KP866025404 * t16;
+        double t23 = KP866025404 * t17;
+        double t24 = t20 + t23;
+        double t25 = t21 - t22;
+        double t26 = t20 - t23;
+        double t27 = t21 + t22;
+        double t28 = xr6 + xr10;
+        double t29 = xi6 + xi10;
+        double t30 = xr6 - xr10;
+        double t31 = xi6 - xi10;
+        double t32 = xr2 + t28;
+        double t33 = xi2 + t29;
+        double t34 = xr2 - KP500000000 * t28;
+        double t35 = xi2 - KP500000000 * t29;
+        double t36 = KP866025404 * t30;
+        double t37 = KP866025404 * t31;
+        double t38 = t34 + t37;
+        double t39 = t35 - t36;
+        double t40 = t34 - t37;
+        double t41 = t35 + t36;
+        double t42 = xr7 + xr11;
+        double t43 = xi7 + xi11;
+        double t44 = xr7 - xr11;
+        double t45 = xi7 - xi11;
+        double t46 = xr3 + t42;
+        double t47 = xi3 + t43;
+        double t48 = xr3 - KP500000000 * t42;
+        double t49 = xi3 - KP500000000 * t43;
+        double t50 = KP866025404 * t44;
+        double t51 = KP866025404 * t45;
+        double t52 = t48 + t51;
+        double t53 = t49 - t50;
+        double t54 = t48 - t51;
+        double t55 = t49 + t50;
+        double t56 = t4 + t32;
+        double t57 = t5 + t33;
+        double t58 = t4 - t32;
+        double t59 = t5 - t33;
+        double t60 = t18 + t46;
+        double t61 = t19 + t47;
+        double t62 = t18 - t46;
+        double t63 = t19 - t47;
+        double t64 = t56 + t60;
+        double t65 = t57 + t61;
+        double t66 = t58 + t63;
+        double t67 = t59 - t62;
+        double t68 = t56 - t60;
+        double t69 = t57 - t61;
+        double t70 = t58 - t63;
+        double t71 = t59 + t62;
+        double t72 = KP866025404 * t24 + KP500000000 * t25;
+        double t73 = KP866025404 * t25 - KP500000000 * t24;
+        double t74 = KP500000000 * t38 + KP866025404 * t39;
+        double t75 = KP500000000 * t39 - KP866025404 * t38;
+        double t76 = t10 + t74;
+        double t77 = t11 + t75;
+        double t78 = t10 - t74;
+        double t79 = t11 - t75;
+        double t80 = t72 + t53;
+        double t81 = t73 - t52;
+        double t82 = t72 - t53;
+        double t83 = t73 + t52;
+        double t84 = t76 + t80;
+        double t85 = t77 + t81;
+        double t86 = t78 + t83;
+        double t87 = t79 - t82;
+        double t88 = t76 - t80;
+        double t89 = t77 - t81;
+        double t90 = t78 - t83;
+        double t91 = t79 + t82;
+        double t92 = KP500000000 * t26 + KP866025404 * t27;
+        double t93 = KP500000000 * t27 - KP866025404 * t26;
+        double t94 = KP866025404 * t41 - KP500000000 * t40;
+        double t95 = KP500000000 * t41 + KP866025404 * t40;
+        double t96 = t12 + t94;
+        double t97 = t13 - t95;
+        double t98 = t12 - t94;
+        double t99 = t13 + t95;
+        double t100 = t92 - t54;
+        double t101 = t93 - t55;
+        double t102 = t92 + t54;
+        double t103 = t93 + t55;
+        double t104 = t96 + t100;
+        double t105 = t97 + t101;
+        double t106 = t98 + t103;
+        double t107 = t99 - t102;
+        double t108 = t96 - t100;
+        double t109 = t97 - t101;
+        double t110 = t98 - t103;
+        double t111 = t99 + t102;
+        re[off] = t64;
+        im[off] = t65;
+        re[off + 1] = t84;
+        im[off + 1] = t85;
+        re[off + 2] = t104;
+        im[off + 2] = t105;
+        re[off + 3] = t66;
+        im[off + 3] = t67;
+        re[off + 4] = t86;
+        im[off + 4] = t87;
+        re[off + 5] = t106;
+        im[off + 5] = t107;
+        re[off + 6] = t68;
+        im[off + 6] = t69;
+        re[off + 7] = t88;
+        im[off + 7] = t89;
+        re[off + 8] = t108;
+        im[off + 8] = t109;
+        re[off + 9] = t70;
+        im[off + 9] = t71;
+        re[off + 10] = t90;
+        im[off + 10] = t91;
+        re[off + 11] = t110;
+        im[off + 11] = t111;
+    }
+
+    /**
+     * In-place forward DFT of length 13 at {@code off}.
+     * (192 additions, 144 multiplications)
+     */
+    static void dft13(double[] re, double[] im, int off) {
+        double xr0 = re[off];
+        double xi0 = im[off];
+        double xr1 = re[off + 1];
+        double xi1 = im[off + 1];
+        double xr2 = re[off + 2];
+        double xi2 = im[off + 2];
+        double xr3 = re[off + 3];
+        double xi3 = im[off + 3];
+        double xr4 = re[off + 4];
+        double xi4 = im[off + 4];
+        double xr5 = re[off + 5];
+        double xi5 = im[off + 5];
+        double xr6 = re[off + 6];
+        double xi6 = im[off + 6];
+        double xr7 = re[off + 7];
+        double xi7 = im[off + 7];
+        double xr8 = re[off + 8];
+        double xi8 = im[off + 8];
+        double xr9 = re[off + 9];
+        double xi9 = im[off + 9];
+        double xr10 = re[off + 10];
+        double xi10 = im[off + 10];
+        double xr11 = re[off + 11];
+        double xi11 = im[off + 11];
+        double xr12 = re[off + 12];
+        double xi12 = im[off + 12];
+        double t0 = xr1 + xr12;
+        double t1 = xi1 + xi12;
+        double t2 = xr2 + xr11;
+        double t3 = xi2 + xi11;
+        double t4 = xr3 + xr10;
+        double t5 = xi3 + xi10;
+        double t6 = xr4 + xr9;
+        double t7 = xi4 + xi9;
+        double t8 = xr5 + xr8;
+        double t9 = xi5 + xi8;
+        double t10 = xr6 + xr7;
+        double t11 = xi6 + xi7;
+        double t12 = xr1 - xr12;
+        double t13 = xi1 - xi12;
+        double t14 = xr2 - xr11;
+        double t15 = xi2 - xi11;
+        double t16 = xr3 - xr10;
+        double t17 = xi3 - xi10;
+        double t18 = xr4 - xr9;
+        double t19 = xi4 - xi9;
+        double t20 = xr5 - xr8;
+        double t21 = xi5 - xi8;
+        double t22 = xr6 - xr7;
+        double t23 = xi6 - xi7;
+        double t24 = xr0 + t0 + t2 + t4 + t6 + t8 + t10;
+        double t25 = xi0 + t1 + t3 + t5 + t7 + t9 + t11;
+        double t26 = xr0 + KP885456026 * t0 + KP568064747 * t2 + KP120536680 * t4 - KP354604887 * t6 - KP748510748 * t8 - KP970941817 * t10;
+        double t27 = xi0 + KP885456026 * t1 + KP568064747 * t3 + KP120536680 * t5 - KP354604887 * t7 - KP748510748 * t9 - KP970941817 * t11;
+        double t28 = KP464723172 * t12 + KP822983866 * t14 + KP992708874 * t16 + KP935016243 * t18 + KP663122658 * t20 + KP239315664 * t22;
+        double t29 = KP464723172 * t13 + KP822983866 * t15 + KP992708874 * t17 + KP935016243 * t19 + KP663122658 * t21 + KP239315664 * t23;
+        double t30 = t26 + t29;
+        double t31 = t27 - t28;
+        double t32 = t26 - t29;
+        double t33 = t27 + t28;
+        double t34 = xr0 + KP568064747 * t0 + KP120536680 * t8 + KP885456026 * t10 - KP354604887 * t2 - KP970941817 * t4 - KP748510748 * t6;
+        double t35 = xi0 + KP568064747 * t1 + KP120536680 * t9 + KP885456026 * t11 - KP354604887 * t3 - KP970941817 * t5 - KP748510748 * t7;
+        double t36 = KP822983866 * t12 + KP935016243 * t14 + KP239315664 * t16 - KP663122658 * t18 - KP992708874 * t20 - KP464723172 * t22;
+        double t37 = KP822983866 * t13 + KP935016243 * t15 + KP239315664 * t17 - KP663122658 * t19 - KP992708874 * t21 - KP464723172 * t23;
+        double t38 = t34 + t37;
+        double t39 = t35 - t36;
+        double t40 = t34 - t37;
+        double t41 = t35 + t36;
+        double t42 = xr0 + KP120536680 * t0 + KP885456026 * t6 + KP568064747 * t8 - KP970941817 * t2 - KP354604887 * t4 - KP748510748 * t10;
+        double t43 = xi0 + KP120536680 * t1 + KP885456026 * t7 + KP568064747 * t9 - KP970941817 * t3 - KP354604887 * t5 - KP748510748 * t11;
+        double t44 = KP992708874 * t12 + KP239315664 * t14 + KP822983866 * t20 + KP663122658 * t22 - KP935016243 * t16 - KP464723172 * t18;
+        double t45 = KP992708874 * t13 + KP239315664 * t15 + KP822983866 * t21 + KP663122658 * t23 - KP935016243 * t17 - KP464723172 * t19;
+        double t46 = t42 + t45;
+        double t47 = t43 - t44;
+        double t48 = t42 - t45;
+        double t49 = t43 + t44;
+        double t50 = xr0 + KP885456026 * t4 + KP120536680 * t6 + KP568064747 * t10 - KP354604887 * t0 - KP748510748 * t2 - KP970941817 * t8;
+        double t51 = xi0 + KP885456026 * t5 + KP120536680 * t7 + KP568064747 * t11 - KP354604887 * t1 - KP748510748 * t3 - KP970941817 * t9;
+        double t52 = KP935016243 * t12 + KP992708874 * t18 - KP663122658 * t14 - KP464723172 * t16 - KP239315664 * t20 - KP822983866 * t22;
+        double t53 = KP935016243 * t13 + KP992708874 * t19 - KP663122658 * t15 - KP464723172 * t17 - KP239315664 * t21 - KP822983866 * t23;
+        double t54 = t50 + t53;
+        double t55 = t51 - t52;
+        double t56 = t50 - t53;
+        double t57 = t51 + t52;
+        double t58 = xr0 + KP120536680 * t2 + KP568064747 * t4 + KP885456026 * t8 - KP748510748 * t0 - KP970941817 * t6 - KP354604887 * t10;
+        double t59 = xi0 + KP120536680 * t3 + KP568064747 * t5 + KP885456026 * t9 - KP748510748 * t1 - KP970941817 * t7 - KP354604887 * t11;
+        double t60 = KP663122658 * t12 + KP822983866 * t16 + KP935016243 * t22 - KP992708874 * t14 - KP239315664 * t18 - KP464723172 * t20;
+        double t61 = KP663122658 * t13 + KP822983866 * t17 + KP935016243 * t23 - KP992708874 * t15 - KP239315664 * t19 - KP464723172 * t21;
+        double t62 = t58 + t61;
+        double t63 = t59 - t60;
+        double t64 = t58 - t61;
+        double t65 = t59 + t60;
+        double t66 = xr0 + KP885456026 * t2 + KP568064747 * t6 + KP120536680 * t10 - KP970941817 * t0 - KP748510748 * t4 - KP354604887 * t8;
+        double t67 = xi0 + KP885456026 * t3 + KP568064747 * t7 + KP120536680 * t11 - KP970941817 * t1 - KP748510748 * t5 - KP354604887 * t9;
+        double t68 = KP239315664 * t12 + KP663122658 * t16 + KP935016243 * t20 - KP464723172 * t14 - KP822983866 * t18 - KP992708874 * t22;
+        double t69 = KP239315664 * t13 + KP663122658 * t17 + KP935016243 * t21 - KP464723172 * t15 - KP822983866 * t19 - KP992708874 * t23;
+        double t70 = t66 + t69;
+        double t71 = t67 - t68;
+        double t72 = t66 - t69;
+        double t73 = t67 + t68;
+        re[off] = t24;
+        im[off] = t25;
+        re[off + 1] = t30;
+        im[off + 1] = t31;
+        re[off + 2] = t38;
+        im[off + 2] = t39;
+        re[off + 3] = t46;
+        im[off + 3] = t47;
+        re[off + 4] = t54;
+        im[off + 4] = t55;
+        re[off + 5] = t62;
+        im[off + 5] = t63;
+        re[off + 6] = t70;
+        im[off + 6] = t71;
+        re[off + 7] = t72;
+        im[off + 7] = t73;
+        re[off + 8] = t64;
+        im[off + 8] = t65;
+        re[off + 9] = t56;
+        im[off + 9] = t57;
+        re[off + 10] = t48;
+        im[off + 10] = t49;
+        re[off + 11] = t40;
+        im[off + 11] = t41;
+        re[off + 12] = t32;
+        im[off + 12] = t33;
+    }
+
+    /**
+     * In-place forward DFT of length 14 at {@code off}.
+     * (160 additions, 96 multiplications)
+     */
+    static void dft14(double[] re, double[] im, int off) {
+        double xr0 = re[off];
+        double xi0 = im[off];
+        double xr1 = re[off + 1];
+        double xi1 = im[off + 1];
+        double xr2 = re[off + 2];
+        double xi2 = im[off + 2];
+        double xr3 = re[off + 3];
+        double xi3 = im[off + 3];
+        double xr4 = re[off + 4];
+        double xi4 = im[off + 4];
+        double xr5 = re[off + 5];
+        double xi5 = im[off + 5];
+        double xr6 = re[off + 6];
+        double xi6 = im[off + 6];
+        double xr7 = re[off + 7];
+        double xi7 = im[off + 7];
+        double xr8 = re[off + 8];
+        double xi8 = im[off + 8];
+        double xr9 = re[off + 9];
+        double xi9 = im[off + 9];
+        double xr10 = re[off + 10];
+        double xi10 = im[off + 10];
+        double xr11 = re[off + 11];
+        double xi11 = im[off + 11];
+        double xr12 = re[off + 12];
+        double xi12 = im[off + 12];
+        double xr13 = re[off + 13];
+        double xi13 = im[off + 13];
+        double t0 = xr2 + xr12;
+        double t1 = xi2 + xi12;
+        double t2 = xr4 + xr10;
+        double t3 = xi4 + xi10;
+        double t4 = xr6 + xr8;
+        double t5 = xi6 + xi8;
+        double t6 = xr2 - xr12;
+        double t7 = xi2 - xi12;
+        double t8 = xr4 - xr10;
+        double t9 = xi4 - xi10;
+        double t10 = xr6 - xr8;
+        double t11 = xi6 - xi8;
+        double t12 = xr0 + t0 + t2 + t4;
+        double t13 = xi0 + t1 + t3 + t5;
+        double t14 = xr0 + KP623489802 * t0 - KP222520934 * t2 - KP900968868 * t4;
+        double t15 = xi0 + KP623489802 * t1 - KP222520934 * t3 - KP900968868 * t5;
+        double t16 = KP781831482 * t6 + KP974927912 * t8 + KP433883739 * t10;
+        double t17 = KP781831482 * t7 + KP974927912 * t9 + KP433883739 * t11;
+        double t18 = t14 + t17;
+        double t19 = t15 - t16;
+        double t20 = t14 - t17;
+        double t21 = t15 + t16;
+        double t22 = xr0 + KP623489802 * t4 - KP222520934 * t0 - KP900968868 * t2;
+        double t23 = xi0 + KP623489802 * t5 - KP222520934 * t1 - KP900968868 * t3;
+        double t24 = KP974927912 * t6 - KP433883739 * t8 - KP781831482 * t10;
+        double t25 = KP974927912 * t7 - KP433883739 * t9 - KP781831482 * t11;
+        double t26 = t22 + t25;
+        double t27 = t23 - t24;
+        double t28 = t22 - t25;
+        double t29 = t23 + t24;
+        double t30 = xr0 + KP623489802 * t2 - KP900968868 * t0 - KP222520934 * t4;
+        double t31 = xi0 + KP623489802 * t3 - KP900968868 * t1 - KP222520934 * t5;
+        double t32 = KP433883739 * t6 + KP974927912 * t10 - KP781831482 * t8;
+        double t33 = KP433883739 * t7 + KP974927912 * t11 - KP781831482 * t9;
+        double t34 = t30 + t33;
+        double t35 = t31 - t32;
+        double t36 = t30 - t33;
+        double t37 = t31 + t32;
+        double t38 = xr3 + xr13;
+        double t39 = xi3 + xi13;
+        double t40 = xr5 + xr11;
+        double t41 = xi5 + xi11;
+        double t42 = xr7 + xr9;
+        double t43 = xi7 + xi9;
+        double t44 = xr3 - xr13;
+        double t45 = xi3 - xi13;
+        double t46 = xr5 - xr11;
+        double t47 = xi5 - xi11;
+        double t48 = xr7 - xr9;
+        double t49 = xi7 - xi9;
+        double t50 = xr1 + t38 + t40 + t42;
+        double t51 = xi1 + t39 + t41 + t43;
+        double t52 = xr1 + KP623489802 * t38 - KP222520934 * t40 - KP900968868 * t42;
+        double t53 = xi1 + KP623489802 * t39 - KP222520934 * t41 - KP900968868 * t43;
+        double t54 = KP781831482 * t44 + KP974927912 * t46 + KP433883739 * t48;
+        double t55 = KP781831482 * t45 + KP974927912 * t47 + KP433883739 * t49;
+        double t56 = t52 + t55;
+        double t57 = t53 - t54;
+        double t58 = t52 - t55;
+        double t59 = t53 + t54;
+        double t60 = xr1 + KP623489802 * t42 - KP222520934 * t38 - KP900968868 * t40;
+        double t61 = xi1 + KP623489802 * t43 - KP222520934 * t39 - KP900968868 * t41;
+        double t62 = KP974927912 * t44 - KP433883739 * t46 - KP781831482 * t48;
+        double t63 = KP974927912 * t45 - KP433883739 * t47 - KP781831482 * t49;
+        double t64 = t60 + t63;
+        double t65 = t61 - t62;
+        double t66 = t60 - t63;
+        double t67 = t61 + t62;
+        double t68 = xr1 + KP623489802 * t40 - KP900968868 * t38 - KP222520934 * t42;
+        double t69 = xi1 + KP623489802 * t41 - KP900968868 * t39 - KP222520934 * t43;
+        double t70 = KP433883739 * t44 + KP974927912 * t48 - KP781831482 * t46;
+        double t71 = KP433883739 * t45 + KP974927912 * t49 - KP781831482 * t47;
+        double t72 = t68 + t71;
+        double t73 = t69 - t70;
+        double t74 = t68 - t71;
+        double t75 = t69 + t70;
+        double t76 = t12 + t50;
+        double t77 = t13 + t51;
+        double t78 = t12 - t50;
+        double t79 = t13 - t51;
+        double t80 = KP900968868 * t56 + KP433883739 * t57;
+        double t81 = KP900968868 * t57 - KP433883739 * t56;
+        double t82 = t18 + t80;
+        double t83 = t19 + t81;
+        double t84 = t18 - t80;
+        double t85 = t19 - t81;
+        double t86 = KP623489802 * t64 + KP781831482 * t65;
+        double t87 = KP623489802 * t65 - KP781831482 * t64;
+        double t88 = t26 + t86;
+        double t89 = t27 + t87;
+        double t90 = t26 - t86;
+        double t91 = t27 - t87;
+        double t92 = KP222520934 * t72 + KP974927912 * t73;
+        double t93 = KP222520934 * t73 - KP974927912 * t72;
+        double t94 = t34 + t92;
+        double t95 = t35 + t93;
+        double t96 = t34 - t92;
+        double t97 = t35 - t93;
+        double t98 = KP974927912 * t75 - KP222520934 * t74;
+        double t99 = KP222520934 * t75 + KP974927912 * t74;
+        double t100 = t36 + t98;
+        double t101 = t37 - t99;
+        double t102 = t36 - t98;
+        double t103 = t37 + t99;
+        double t104 = KP781831482 * t67 - KP623489802 * t66;
+        double t105 = KP623489802 * t67 + KP781831482 * t66;
+        double t106 = t28 + t104;
+        double t107 = t29 - t105;
+        double t108 = t28 - t104;
+        double t109 = t29 + t105;
+        double t110 = KP433883739 * t59 - KP900968868 * t58;
+        double t111 = KP900968868 * t59 + KP433883739 * t58;
+        double t112 = t20 + t110;
+        double t113 = t21 - t111;
+        double t114 = t20 - t110;
+        double t115 = t21 + t111;
+        re[off] = t76;
+        im[off] = t77;
+        re[off + 1] = t82;
+        im[off + 1] = t83;
+        re[off + 2] = t88;
+        im[off + 2] = t89;
+        re[off + 3] = t94;
+        im[off + 3] = t95;
+        re[off + 4] = t100;
+        im[off + 4] = t101;
+        re[off + 5] = t106;
+        im[off + 5] = t107;
+        re[off + 6] = t112;
+        im[off + 6] = t113;
+        re[off + 7] = t78;
+        im[off + 7] = t79;
+        re[off + 8] = t84;
+        im[off + 8] = t85;
+        re[off + 9] = t90;
+        im[off + 9] = t91;
+        re[off + 10] = t96;
+        im[off + 10] = t97;
+        re[off + 11] = t102;
+        im[off + 11] = t103;
+        re[off + 12] = t108;
+        im[off + 12] = t109;
+        re[off + 13] = t114;
+        im[off + 13] = t115;
+    }
+
+    /**
+     * In-place forward DFT of length 15 at {@code off}.
+     * (172 additions, 100 multiplications)
+     */
+    static void dft15(double[] re, double[] im, int off) {
+        double xr0 = re[off];
+        double xi0 = im[off];
+        double xr1 = re[off + 1];
+        double xi1 = im[off + 1];
+        double xr2 = re[off + 2];
+        double xi2 = im[off + 2];
+        double xr3 = re[off + 3];
+        double xi3 = im[off + 3];
+        double xr4 = re[off + 4];
+        double xi4 = im[off + 4];
+        double xr5 = re[off + 5];
+        double xi5 = im[off + 5];
+        double xr6 = re[off + 6];
+        double xi6 = im[off + 6];
+        double xr7 = re[off + 7];
+        double xi7 = im[off + 7];
+        double xr8 = re[off + 8];
+        double xi8 = im[off + 8];
+        double xr9 = re[off + 9];
+        double xi9 = im[off + 9];
+        double xr10 = re[off + 10];
+        double xi10 = im[off + 10];
+        double xr11 = re[off + 11];
+        double xi11 = im[off + 11];
+        double xr12 = re[off + 12];
+        double xi12 = im[off + 12];
+        double xr13 = re[off + 13];
+        double xi13 = im[off + 13];
+        double xr14 = re[off + 14];
+        double xi14 = im[off + 14];
+        double t0 = xr3 + xr12;
+        double t1 = xi3 + xi12;
+        double t2 = xr6 + xr9;
+        double t3 = xi6 + xi9;
+        double t4 = xr3 - xr12;
+        double t5 = xi3 - xi12;
+        double t6 = xr6 - xr9;
+        double t7 = xi6 - xi9;
+        double t8 = xr0 + t0 + t2;
+        double t9 = xi0 + t1 + t3;
+        double t10 = xr0 + KP309016994 * t0 - KP809016994 * t2;
+        double t11 = xi0 + KP309016994 * t1 - KP809016994 * t3;
+        double t12 = KP951056516 * t4 + KP587785252 * t6;
+        double t13 = KP951056516 * t5 + KP587785252 * t7;
+        double t14 = t10 + t13;
+        double t15 = t11 - t12;
+        double t16 = t10 - t13;
+        double t17 = t11 + t12;
+        double t18 = xr0 + KP309016994 * t2 - KP809016994 * t0;
+        double t19 = xi0 + KP309016994 * t3 - KP809016994 * t1;
+        double t20 = KP587785252 * t4 - KP951056516 * t6;
+        double t21 = KP587785252 * t5 - KP951056516 * t7;
+        double t22 = t18 + t21;
+        double t23 = t19 - t20;
+        double t24 = t18 - t21;
+        double t25 = t19 + t20;
+        double t26 = xr4 + xr13;
+        double t27 = xi4 + xi13;
+        double t28 = xr7 + xr10;
+        double t29 = xi7 + xi10;
+        double t30 = xr4 - xr13;
+        double t31 = xi4 - xi13;
+        double t32 = xr7 - xr10;
+        double t33 = xi7 - xi10;
+        double t34 = xr1 + t26 + t28;
+        double t35 = xi1 + t27 + t29;
+        double t36 = xr1 + KP309016994 * t26 - KP809016994 * t28;
+        double t37 = xi1 + KP309016994 * t27 - KP809016994 * t29;
+        double t38 = KP951056516 * t30 + KP587785252 * t32;
+        double t39 = KP951056516 * t31 + KP587785252 * t33;
+        double t40 = t36 + t39;
+        double t41 = t37 - t38;
+        double t42 = t36 - t39;
+        double t43 = t37 + t38;
+        double t44 = xr1 + KP309016994 * t28 - KP809016994 * t26;
+        double t45 = xi1 + KP309016994 * t29 - KP809016994 * t27;
+        double t46 = KP587785252 * t30 - KP951056516 * t32;
+        double t47 = KP587785252 * t31 - KP951056516 * t33;
+        double t48 = t44 + t47;
+        double t49 = t45 - t46;
+        double t50 = t44 - t47;
+        double t51 = t45 + t46;
+        double t52 = xr5 + xr14;
+        double t53 = xi5 + xi14;
+        double t54 = xr8 + xr11;
+        double t55 = xi8 + xi11;
+        double t56 = xr5 - xr14;
+        double t57 = xi5 - xi14;
+        double t58 = xr8 - xr11;
+        double t59 = xi8 - xi11;
+        double t60 = xr2 + t52 + t54;
+        double t61 = xi2 + t53 + t55;
+        double t62 = xr2 + KP309016994 * t52 - KP809016994 * t54;
+        double t63 = xi2 + KP309016994 * t53 - KP809016994 * t55;
+        double t64 = KP951056516 * t56 + KP587785252 * t58;
+        double t65 = KP951056516 * t57 + KP587785252 * t59;
+        double t66 = t62 + t65;
+        double t67 = t63 - t64;
+        double t68 = t62 - t65;
+        double t69 = t63 + t64;
+        double t70 = xr2 + KP309016994 * t54 - KP809016994 * t52;
+        double t71 = xi2 + KP309016994 * t55 - KP809016994 * t53;
+        double t72 = KP587785252 * t56 - KP951056516 * t58;
+        double t73 = KP587785252 * t57 - KP951056516 * t59;
+        double t74 = t70 + t73;
+        double t75 = t71 - t72;
+        double t76 = t70 - t73;
+        double t77 = t71 + t72;
+        double t78 = t34 + t60;
+        double t79 = t35 + t61;
+        double t80 = t34 - t60;
+        double t81 = t35 - t61;
+        double t82 = t8 + t78;
+        double t83 = t9 + t79;
+        double t84 = t8 - KP500000000 * t78;
+        double t85 = t9 - KP500000000 * t79;
+        double t86 = KP866025404 * t80;
+        double t87 = KP866025404 * t81;
+        double t88 = t84 + t87;
+        double t89 = t85 - t86;
+        double t90 = t84 - t87;
+        double t91 = t85 + t86;
+        double t92 = KP913545458 * t40 + KP406736643 * t41;
+        double t93 = KP913545458 * t41 - KP406736643 * t40;
+        double t94 = KP669130606 * t66 + KP743144825 * t67;
+        double t95 = KP669130606 * t67 - KP743144825 * t66;
+        double t96 = t92 + t94;
+        double t97 = t93 + t95;
+        double t98 = t92 - t94;
+        double t99 = t93 - t95;
+        double t100 = t14 + t96;
+        double t101 = t15 + t97;
+        double t102 = t14 - KP500000000 * t96;
+        double t103 = t15 - KP500000000 * t97;
+        double t104 = KP866025404 * t98;
+        double t105 = KP866025404 * t99;
+        double t106 = t102 + t105;
+        double t107 = t103 - t104;
+        double t108 = t102 - t105;
+        double t109 = t103 + t104;
+        double t110 = KP669130606 * t48 + KP743144825 * t49;
+        double t111 = KP669130606 * t49 - KP743144825 * t48;
+        double t112 = KP994521895 * t75 - KP104528463 * t74;
+        double t113 = KP104528463 * t75 + KP994521895 * t74;
+        double t114 = t110 + t112;
+        double t115 = t111 - t113;
+        double t116 = t110 - t112;
+        double t117 = t111 + t113;
+        double t118 = t22 + t114;
+        double t119 = t23 + t115;
+        double t120 = t22 - KP500000000 * t114;
+        double t121 = t23 - KP500000000 * t115;
+        double t122 = KP866025404 * t116;
+        double t123 = KP866025404 * t117;
+        double t124 = t120 + t123;
+        double t125 = t121 - t122;
+        double t126 = t120 - t123;
+        double t127 = t121 + t122;
+        double t128 = KP309016994 * t50 + KP951056516 * t51;
+        double t129 = KP309016994 * t51 - KP951056516 * t50;
+        double t130 = KP587785252 * t77 - KP809016994 * t76;
+        double t131 = KP809016994 * t77 + KP587785252 * t76;
+        double t132 = t128 + t130;
+        double t133 = t129 - t131;
+        double t134 = t128 - t130;
+        double t135 = t129 + t131;
+        double t136 = t24 + t132;
+        double t137 = t25 + t133;
+        double t138 = t24 - KP500000000 * t132;
+        double t139 = t25 - KP500000000 * t133;
+        double t140 = KP866025404 * t134;
+        double t141 = KP866025404 * t135;
+        double t142 = t138 + t141;
+        double t143 = t139 - t140;
+        double t144 = t138 - t141;
+        double t145 = t139 + t140;
+        double t146 = KP994521895 * t43 - KP104528463 * t42;
+        double t147 = KP104528463 * t43 + KP994521895 * t42;
+        double t148 = KP978147601 * t68 + KP207911691 * t69;
+        double t149 = KP207911691 * t68 - KP978147601 * t69;
+        double t150 = t146 - t148;
+        double t151 = t149 - t147;
+        double t152 = t146 + t148;
+        double t153 = t147 + t149;
+        double t154 = t16 + t150;
+        double t155 = t17 + t151;
+        double t156 = t16 - KP500000000 * t150;
+        double t157 = t17 - KP500000000 * t151;
+        double t158 = KP866025404 * t152;
+        double t159 = KP866025404 * t153;
+        double t160 = t156 - t159;
+        double t161 = t157 - t158;
+        double t162 = t156 + t159;
+        double t163 = t157 + t158;
+        re[off] = t82;
+        im[off] = t83;
+        re[off + 1] = t100;
+        im[off + 1] = t101;
+        re[off + 2] = t118;
+        im[off + 2] = t119;
+        re[off + 3] = t136;
+        im[off + 3] = t137;
+        re[off + 4] = t154;
+        im[off + 4] = t155;
+        re[off + 5] = t88;
+        im[off + 5] = t89;
+        re[off + 6] = t106;
+        im[off + 6] = t107;
+        re[off + 7] = t124;
+        im[off + 7] = t125;
+        re[off + 8] = t142;
+        im[off + 8] = t143;
+        re[off + 9] = t160;
+        im[off + 9] = t161;
+        re[off + 10] = t90;
+        im[off + 10] = t91;
+        re[off + 11] = t108;
+        im[off + 11] = t109;
+        re[off + 12] = t126;
+        im[off + 12] = t127;
+        re[off + 13] = t144;
+        im[off + 13] = t145;
+        re[off + 14] = t162;
+        im[off + 14] = t163;
+    }
+
+    /**
+     * In-place forward DFT of length 16 at {@code off}.
+     * (144 additions, 24 multiplications)
+     */
+    static void dft16(double[] re, double[] im, int off) {
+        double xr0 = re[off];
+        double xi0 = im[off];
+        double xr1 = re[off + 1];
+        double xi1 = im[off + 1];
+        double xr2 = re[off + 2];
+        double xi2 = im[off + 2];
+        double xr3 = re[off + 3];
+        double xi3 = im[off + 3];
+        double xr4 = re[off + 4];
+        double xi4 = im[off + 4];
+        double xr5 = re[off + 5];
+        double xi5 = im[off + 5];
+        double xr6 = re[off + 6];
+        double xi6 = im[off + 6];
+        double xr7 = re[off + 7];
+        double xi7 = im[off + 7];
+        double xr8 = re[off + 8];
+        double xi8 = im[off + 8];
+        double xr9 = re[off + 9];
+        double xi9 = im[off + 9];
+        double xr10 = re[off + 10];
+        double xi10 = im[off + 10];
+        double xr11 = re[off + 11];
+        double xi11 = im[off + 11];
+        double xr12 = re[off + 12];
+        double xi12 = im[off + 12];
+        double xr13 = re[off + 13];
+        double xi13 = im[off + 13];
+        double xr14 = re[off + 14];
+        double xi14 = im[off + 14];
+        double xr15 = re[off + 15];
+        double xi15 = im[off + 15];
+        double t0 = xr0 + xr8;
+        double t1 = xi0 + xi8;
+        double t2 = xr0 - xr8;
+        double t3 = xi0 - xi8;
+        double t4 = xr4 + xr12;
+        double t5 = xi4 + xi12;
+        double t6 = xr4 - xr12;
+        double t7 = xi4 - xi12;
+        double t8 = t0 + t4;
+        double t9 = t1 + t5;
+        double t10 = t2 + t7;
+        double t11 = t3 - t6;
+        double t12 = t0 - t4;
+        double t13 = t1 - t5;
+        double t14 = t2 - t7;
+        double t15 = t3 + t6;
+        double t16 = xr1 + xr9;
+        double t17 = xi1 + xi9;
+        double t18 = xr1 - xr9;
+        double t19 = xi1 - xi9;
+        double t20 = xr5 + xr13;
+        double t21 = xi5 + xi13;
+        double t22 = xr5 - xr13;
+        double t23 = xi5 - xi13;
+        double t24 = t16 + t20;
+        double t25 = t17 + t21;
+        double t26 = t18 + t23;
+        double t27 = t19 - t22;
+        double t28 = t16 - t20;
+        double t29 = t17 - t21;
+        double t30 = t18 - t23;
+        double t31 = t19 + t22;
+        double t32 = xr2 + xr10;
+        double t33 = xi2 + xi10;
+        double t34 = xr2 - xr10;
+        double t35 = xi2 - xi10;
+        double t36 = xr6 + xr14;
+        double t37 = xi6 + xi14;
+        double t38 = xr6 - xr14;
+        double t39 = xi6 - xi14;
+        double t40 = t32 + t36;
+        double t41 = t33 + t37;
+        double t42 = t34 + t39;
+        double t43 = t35 - t38;
+        double t44 = t32 - t36;
+        double t45 = t33 - t37;
+        double t46 = t34 - t39;
+        double t47 = t35 + t38;
+        double t48 = xr3 + xr11;
+        double t49 = xi3 + xi11;
+        double t50 = xr3 - xr11;
+        double t51 = xi3 - xi11;
+        double t52 = xr7 + xr15;
+        double t53 = xi7 + xi15;
+        double t54 = xr7 - xr15;
+        double t55 = xi7 - xi15;
+        double t56 = t48 + t52;
+        double t57 = t49 + t53;
+        double t58 = t50 + t55;
+        double t59 = t51 - t54;
+        double t60 = t48 - t52;
+        double t61 = t49 - t53;
+        double t62 = t50 - t55;
+        double t63 = t51 + t54;
+        double t64 = t8 + t40;
+        double t65 = t9 + t41;
+        double t66 = t8 - t40;
+        double t67 = t9 - t41;
+        double t68 = t24 + t56;
+        double t69 = t25 + t57;
+        double t70 = t24 - t56;
+        double t71 = t25 - t57;
+        double t72 = t64 + t68;
+        double t73 = t65 + t69;
+        double t74 = t66 + t71;
+        double t75 = t67 - t70;
+        double t76 = t64 - t68;
+        double t77 = t65 - t69;
+        double t78 = t66 - t71;
+        double t79 = t67 + t70;
+        double t80 = KP923879533 * t26 + KP382683432 * t27;
+        double t81 = KP923879533 * t27 - KP382683432 * t26;
+        double t82 = t42 + t43;
+        double t83 = t43 - t42;
+        double t84 = KP707106781 * t82;
+        double t85 = KP707106781 * t83;
+        double t86 = KP382683432 * t58 + KP923879533 * t59;
+        double t87 = KP382683432 * t59 - KP923879533 * t58;
+        double t88 = t10 + t84;
+        double t89 = t11 + t85;
+        double t90 = t10 - t84;
+        double t91 = t11 - t85;
+        double t92 = t80 + t86;
+        double t93 = t81 + t87;
+        double t94 = t80 - t86;
+        double t95 = t81 - t87;
+        double t96 = t88 + t92;
+        double t97 = t89 + t93;
+        double t98 = t90 + t95;
+        double t99 = t91 - t94;
+        double t100 = t88 - t92;
+        double t101 = t89 - t93;
+        double t102 = t90 - t95;
+        double t103 = t91 + t94;
+        double t104 = t28 + t29;
+        double t105 = t29 - t28;
+        double t106 = KP707106781 * t104;
+        double t107 = KP707106781 * t105;
+        double t108 = t60 - t61;
+        double t109 = t61 + t60;
+        double t110 = KP707106781 * t108;
+        double t111 = KP707106781 * t109;
+        double t112 = t12 + t45;
+        double t113 = t13 - t44;
+        double t114 = t12 - t45;
+        double t115 = t13 + t44;
+        double t116 = t106 - t110;
+        double t117 = t107 - t111;
+        double t118 = t106 + t110;
+        double t119 = t107 + t111;
+        double t120 = t112 + t116;
+        double t121 = t113 + t117;
+        double t122 = t114 + t119;
+        double t123 = t115 - t118;
+        double t124 = t112 - t116;
+        double t125 = t113 - t117;
+        double t126 = t114 - t119;
+        double t127 = t115 + t118;
+        double t128 = KP382683432 * t30 + KP923879533 * t31;
+        double t129 = KP382683432 * t31 - KP923879533 * t30;
+        double t130 = t46 - t47;
+        double t131 = t47 + t46;
+        double t132 = KP707106781 * t130;
+        double t133 = KP707106781 * t131;
+        double t134 = KP923879533 * t62 + KP382683432 * t63;
+        double t135 = KP382683432 * t62 - KP923879533 * t63;
+        double t136 = t14 - t132;
+        double t137 = t15 - t133;
+        double t138 = t14 + t132;
+        double t139 = t15 + t133;
+        double t140 = t128 - t134;
+        double t141 = t129 + t135;
+        double t142 = t128 + t134;
+        double t143 = t129 - t135;
+        double t144 = t136 + t140;
+        double t145 = t137 + t141;
+        double t146 = t138 + t143;
+        double t147 = t139 - t142;
+        double t148 = t136 - t140;
+        double t149 = t137 - t141;
+        double t150 = t138 - t143;
+        double t151 = t139 + t142;
+        re[off] = t72;
+        im[off] = t73;
+        re[off + 1] = t96;
+        im[off + 1] = t97;
+        re[off + 2] = t120;
+        im[off + 2] = t121;
+        re[off + 3] = t144;
+        im[off + 3] = t145;
+        re[off + 4] = t74;
+        im[off + 4] = t75;
+        re[off + 5] = t98;
+        im[off + 5] = t99;
+        re[off + 6] = t122;
+        im[off + 6] = t123;
+        re[off + 7] = t146;
+        im[off + 7] = t147;
+        re[off + 8] = t76;
+        im[off + 8] = t77;
+        re[off + 9] = t100;
+        im[off + 9] = t101;
+        re[off + 10] = t124;
+        im[off + 10] = t125;
+        re[off + 11] = t148;
+        im[off + 11] = t149;
+        re[off + 12] = t78;
+        im[off + 12] = t79;
+        re[off + 13] = t102;
+        im[off + 13] = t103;
+        re[off + 14] = t126;
+        im[off + 14] = t127;
+        re[off + 15] = t150;
+        im[off + 15] = t151;
+    }
+
+    /**
+     * In-place forward DFT of length 16 at {@code off} whose input is in
+     * bit-reversed order (as left behind by a bit-reversal shuffle of the
+     * enclosing power-of-two transform) and whose output is in natural order.
+     * (144 additions, 24 multiplications)
+     */
+    static void leaf16(double[] re, double[] im, int off) {
+        double xr0 = re[off];
+        double xi0 = im[off];
+        double xr1 = re[off + 8];
+        double xi1 = im[off + 8];
+        double xr2 = re[off + 4];
+        double xi2 = im[off + 4];
+        double xr3 = re[off + 12];
+        double xi3 = im[off + 12];
+        double xr4 = re[off + 2];
+        double xi4 = im[off + 2];
+        double xr5 = re[off + 10];
+        double xi5 = im[off + 10];
+        double xr6 = re[off + 6];
+        double xi6 = im[off + 6];
+        double xr7 = re[off + 14];
+        double xi7 = im[off + 14];
+        double xr8 = re[off + 1];
+        double xi8 = im[off + 1];
+        double xr9 = re[off + 9];
+        double xi9 = im[off + 9];
+        double xr10 = re[off + 5];
+        double xi10 = im[off + 5];
+        double xr11 = re[off + 13];
+        double xi11 = im[off + 13];
+        double xr12 = re[off + 3];
+        double xi12 = im[off + 3];
+        double xr13 = re[off + 11];
+        double xi13 = im[off + 11];
+        double xr14 = re[off + 7];
+        double xi14 = im[off + 7];
+        double xr15 = re[off + 15];
+        double xi15 = im[off + 15];
+        double t0 = xr0 + xr8;
+        double t1 = xi0 + xi8;
+        double t2 = xr0 - xr8;
+        double t3 = xi0 - xi8;
+        double t4 = xr4 + xr12;
+        double t5 = xi4 + xi12;
+        double t6 = xr4 - xr12;
+        double t7 = xi4 - xi12;
+        double t8 = t0 + t4;
+        double t9 = t1 + t5;
+        double t10 = t2 + t7;
+        double t11 = t3 - t6;
+        double t12 = t0 - t4;
+        double t13 = t1 - t5;
+        double t14 = t2 - t7;
+        double t15 = t3 + t6;
+        double t16 = xr1 + xr9;
+        double t17 = xi1 + xi9;
+        double t18 = xr1 - xr9;
+        double t19 = xi1 - xi9;
+        double t20 = xr5 + xr13;
+        double t21 = xi5 + xi13;
+        double t22 = xr5 - xr13;
+        double t23 = xi5 - xi13;
+        double t24 = t16 + t20;
+        double t25 = t17 + t21;
+        double t26 = t18 + t23;
+        double t27 = t19 - t22;
+        double t28 = t16 - t20;
+        double t29 = t17 - t21;
+        double t30 = t18 - t23;
+        double t31 = t19 + t22;
+        double t32 = xr2 + xr10;
+        double t33 = xi2 + xi10;
+        double t34 = xr2 - xr10;
+        double t35 = xi2 - xi10;
+        double t36 = xr6 + xr14;
+        double t37 = xi6 + xi14;
+        double t38 = xr6 - xr14;
+        double t39 = xi6 - xi14;
+        double t40 = t32 + t36;
+        double t41 = t33 + t37;
+        double t42 = t34 + t39;
+        double t43 = t35 - t38;
+        double t44 = t32 - t36;
+        double t45 = t33 - t37;
+        double t46 = t34 - t39;
+        double t47 = t35 + t38;
+        double t48 = xr3 + xr11;
+        double t49 = xi3 + xi11;
+        double t50 = xr3 - xr11;
+        double t51 = xi3 - xi11;
+        double t52 = xr7 + xr15;
+        double t53 = xi7 + xi15;
+        double t54 = xr7 - xr15;
+        double t55 = xi7 - xi15;
+        double t56 = t48 + t52;
+        double t57 = t49 + t53;
+        double t58 = t50 + t55;
+        double t59 = t51 - t54;
+        double t60 = t48 - t52;
+        double t61 = t49 - t53;
+        double t62 = t50 - t55;
+        double t63 = t51 + t54;
+        double t64 = t8 + t40;
+        double t65 = t9 + t41;
+        double t66 = t8 - t40;
+        double t67 = t9 - t41;
+        double t68 = t24 + t56;
+        double t69 = t25 + t57;
+        double t70 = t24 - t56;
+        double t71 = t25 - t57;
+        double t72 = t64 + t68;
+        double t73 = t65 + t69;
+        double t74 = t66 + t71;
+        double t75 = t67 - t70;
+        double t76 = t64 - t68;
+        double t77 = t65 - t69;
+        double t78 = t66 - t71;
+        double t79 = t67 + t70;
+        double t80 = KP923879533 * t26 + KP382683432 * t27;
+        double t81 = KP923879533 * t27 - KP382683432 * t26;
+        double t82 = t42 + t43;
+        double t83 = t43 - t42;
+        double t84 = KP707106781 * t82;
+        double t85 = KP707106781 * t83;
+        double t86 = KP382683432 * t58 + KP923879533 * t59;
+        double t87 = KP382683432 * t59 - KP923879533 * t58;
+        double t88 = t10 + t84;
+        double t89 = t11 + t85;
+        double t90 = t10 - t84;
+        double t91 = t11 - t85;
+        double t92 = t80 + t86;
+        double t93 = t81 + t87;
+        double t94 = t80 - t86;
+        double t95 = t81 - t87;
+        double t96 = t88 + t92;
+        double t97 = t89 + t93;
+        double t98 = t90 + t95;
+        double t99 = t91 - t94;
+        double t100 = t88 - t92;
+        double t101 = t89 - t93;
+        double t102 = t90 - t95;
+        double t103 = t91 + t94;
+        double t104 = t28 + t29;
+        double t105 = t29 - t28;
+        double t106 = KP707106781 * t104;
+        double t107 = KP707106781 * t105;
+        double t108 = t60 - t61;
+        double t109 = t61 + t60;
+        double t110 = KP707106781 * t108;
+        double t111 = KP707106781 * t109;
+        double t112 = t12 + t45;
+        double t113 = t13 - t44;
+        double t114 = t12 - t45;
+        double t115 = t13 + t44;
+        double t116 = t106 - t110;
+        double t117 = t107 - t111;
+        double t118 = t106 + t110;
+        double t119 = t107 + t111;
+        double t120 = t112 + t116;
+        double t121 = t113 + t117;
+        double t122 = t114 + t119;
+        double t123 = t115 - t118;
+        double t124 = t112 - t116;
+        double t125 = t113 - t117;
+        double t126 = t114 - t119;
+        double t127 = t115 + t118;
+        double t128 = KP382683432 * t30 + KP923879533 * t31;
+        double t129 = KP382683432 * t31 - KP923879533 * t30;
+        double t130 = t46 - t47;
+        double t131 = t47 + t46;
+        double t132 = KP707106781 * t130;
+        double t133 = KP707106781 * t131;
+        double t134 = KP923879533 * t62 + KP382683432 * t63;
+        double t135 = KP382683432 * t62 - KP923879533 * t63;
+        double t136 = t14 - t132;
+        double t137 = t15 - t133;
+        double t138 = t14 + t132;
+        double t139 = t15 + t133;
+        double t140 = t128 - t134;
+        double t141 = t129 + t135;
+        double t142 = t128 + t134;
+        double t143 = t129 - t135;
+        double t144 = t136 + t140;
+        double t145 = t137 + t141;
+        double t146 = t138 + t143;
+        double t147 = t139 - t142;
+        double t148 = t136 - t140;
+        double t149 = t137 - t141;
+        double t150 = t138 - t143;
+        double t151 = t139 + t142;
+        re[off] = t72;
+        im[off] = t73;
+        re[off + 1] = t96;
+        im[off + 1] = t97;
+        re[off + 2] = t120;
+        im[off + 2] = t121;
+        re[off + 3] = t144;
+        im[off + 3] = t145;
+        re[off + 4] = t74;
+        im[off + 4] = t75;
+        re[off + 5] = t98;
+        im[off + 5] = t99;
+        re[off + 6] = t122;
+        im[off + 6] = t123;
+        re[off + 7] = t146;
+        im[off + 7] = t147;
+        re[off + 8] = t76;
+        im[off + 8] = t77;
+        re[off + 9] = t100;
+        im[off + 9] = t101;
+        re[off + 10] = t124;
+        im[off + 10] = t125;
+        re[off + 11] = t148;
+        im[off + 11] = t149;
+        re[off + 12] = t78;
+        im[off + 12] = t79;
+        re[off + 13] = t102;
+        im[off + 13] = t103;
+        re[off + 14] = t126;
+        im[off + 14] = t127;
+        re[off + 15] = t150;
+        im[off + 15] = t151;
+    }
+
+    /**
+     * Combines the two natural-order DFTs of length 16 at {@code off} and
+     * {@code off + 16} (even and odd samples) into a DFT of length 32.
+     * (92 additions, 52 multiplications)
+     */
+    static void combine32(double[] re, double[] im, int off) {
+        double gr0 = re[off];
+        double gi0 = im[off];
+        double hr0 = re[off + 16];
+        double hi0 = im[off + 16];
+        double gr1 = re[off + 1];
+        double gi1 = im[off + 1];
+        double hr1 = re[off + 17];
+        double hi1 = im[off + 17];
+        double gr2 = re[off + 2];
+        double gi2 = im[off + 2];
+        double hr2 = re[off + 18];
+        double hi2 = im[off + 18];
+        double gr3 = re[off + 3];
+        double gi3 = im[off + 3];
+        double hr3 = re[off + 19];
+        double hi3 = im[off + 19];
+        double gr4 = re[off + 4];
+        double gi4 = im[off + 4];
+        double hr4 = re[off + 20];
+        double hi4 = im[off + 20];
+        double gr5 = re[off + 5];
+        double gi5 = im[off + 5];
+        double hr5 = re[off + 21];
+        double hi5 = im[off + 21];
+        double gr6 = re[off + 6];
+        double gi6 = im[off + 6];
+        double hr6 = re[off + 22];
+        double hi6 = im[off + 22];
+        double gr7 = re[off + 7];
+        double gi7 = im[off + 7];
+        double hr7 = re[off + 23];
+        double hi7 = im[off + 23];
+        double gr8 = re[off + 8];
+        double gi8 = im[off + 8];
+        double hr8 = re[off + 24];
+        double hi8 = im[off + 24];
+        double gr9 = re[off + 9];
+        double gi9 = im[off + 9];
+        double hr9 = re[off + 25];
+        double hi9 = im[off + 25];
+        double gr10 = re[off + 10];
+        double gi10 = im[off + 10];
+        double hr10 = re[off + 26];
+        double hi10 = im[off + 26];
+        double gr11 = re[off + 11];
+        double gi11 = im[off + 11];
+        double hr11 = re[off + 27];
+        double hi11 = im[off + 27];
+        double gr12 = re[off + 12];
+        double gi12 = im[off + 12];
+        double hr12 = re[off + 28];
+        double hi12 = im[off + 28];
+        double gr13 = re[off + 13];
+        double gi13 = im[off + 13];
+        double hr13 = re[off + 29];
+        double hi13 = im[off + 29];
+        double gr14 = re[off + 14];
+        double gi14 = im[off + 14];
+        double hr14 = re[off + 30];
+        double hi14 = im[off + 30];
+        double gr15 = re[off + 15];
+        double gi15 = im[off + 15];
+        double hr15 = re[off + 31];
+        double hi15 = im[off + 31];
+        double t0 = gr0 + hr0;
+        double t1 = gi0 + hi0;
+        double t2 = gr0 - hr0;
+        double t3 = gi0 - hi0;
+        double t4 = KP980785280 * hr1 + KP195090322 * hi1;
+        double t5 = KP980785280 * hi1 - KP195090322 * hr1;
+        double t6 = gr1 + t4;
+        double t7 = gi1 + t5;
+        double t8 = gr1 - t4;
+        double t9 = gi1 - t5;
+        double t10 = KP923879533 * hr2 + KP382683432 * hi2;
+        double t11 = KP923879533 * hi2 - KP382683432 * hr2;
+        double t12 = gr2 + t10;
+        double t13 = gi2 + t11;
+        double t14 = gr2 - t10;
+        double t15 = gi2 - t11;
+        double t16 = KP831469612 * hr3 + KP555570233 * hi3;
+        double t17 = KP831469612 * hi3 - KP555570233 * hr3;
+        double t18 = gr3 + t16;
+        double t19 = gi3 + t17;
+        double t20 = gr3 - t16;
+        double t21 = gi3 - t17;
+        double t22 = hr4 + hi4;
+        double t23 = hi4 - hr4;
+        double t24 = KP707106781 * t22;
+        double t25 = KP707106781 * t23;
+        double t26 = gr4 + t24;
+        double t27 = gi4 + t25;
+        double t28 = gr4 - t24;
+        double t29 = gi4 - t25;
+        double t30 = KP555570233 * hr5 + KP831469612 * hi5;
+        double t31 = KP555570233 * hi5 - KP831469612 * hr5;
+        double t32 = gr5 + t30;
+        double t33 = gi5 + t31;
+        double t34 = gr5 - t30;
+        double t35 = gi5 - t31;
+        double t36 = KP382683432 * hr6 + KP923879533 * hi6;
+        double t37 = KP382683432 * hi6 - KP923879533 * hr6;
+        double t38 = gr6 + t36;
+        double t39 = gi6 + t37;
+        double t40 = gr6 - t36;
+        double t41 = gi6 - t37;
+        double t42 = KP195090322 * hr7 + KP980785280 * hi7;
+        double t43 = KP195090322 * hi7 - KP980785280 * hr7;
+        double t44 = gr7 + t42;
+        double t45 = gi7 + t43;
+        double t46 = gr7 - t42;
+        double t47 = gi7 - t43;
+        double t48 = gr8 + hi8;
+        double t49 = gi8 - hr8;
+        double t50 = gr8 - hi8;
+        double t51 = gi8 + hr8;
+        double t52 = KP980785280 * hi9 - KP195090322 * hr9;
+        double t53 = KP195090322 * hi9 + KP980785280 * hr9;
+        double t54 = gr9 + t52;
+        double t55 = gi9 - t53;
+        double t56 = gr9 - t52;
+        double t57 = gi9 + t53;
+        double t58 = KP923879533 * hi10 - KP382683432 * hr10;
+        double t59 = KP382683432 * hi10 + KP923879533 * hr10;
+        double t60 = gr10 + t58;
+        double t61 = gi10 - t59;
+        double t62 = gr10 - t58;
+        double t63 = gi10 + t59;
+        double t64 = KP831469612 * hi11 - KP555570233 * hr11;
+        double t65 = KP555570233 * hi11 + KP831469612 * hr11;
+        double t66 = gr11 + t64;
+        double t67 = gi11 - t65;
+        double t68 = gr11 - t64;
+        double t69 = gi11 + t65;
+        double t70 = hr12 - hi12;
+        double t71 = hi12 + hr12;
+        double t72 = KP707106781 * t70;
+        double t73 = KP707106781 * t71;
+        double t74 = gr12 - t72;
+        double t75 = gi12 - t73;
+        double t76 = gr12 + t72;
+        double t77 = gi12 + t73;
+        double t78 = KP555570233 * hi13 - KP831469612 * hr13;
+        double t79 = KP831469612 * hi13 + KP555570233 * hr13;
+        double t80 = gr13 + t78;
+        double t81 = gi13 - t79;
+        double t82 = gr13 - t78;
+        double t83 = gi13 + t79;
+        double t84 = KP382683432 * hi14 - KP923879533 * hr14;
+        double t85 = KP923879533 * hi14 + KP382683432 * hr14;
+        double t86 = gr14 + t84;
+        double t87 = gi14 - t85;
+        double t88 = gr14 - t84;
+        double t89 = gi14 + t85;
+        double t90 = KP195090322 * hi15 - KP980785280 * hr15;
+        double t91 = KP980785280 * hi15 + KP195090322 * hr15;
+        double t92 = gr15 + t90;
+        double t93 = gi15 - t91;
+        double t94 = gr15 - t90;
+        double t95 = gi15 + t91;
+        re[off] = t0;
+        im[off] = t1;
+        re[off + 16] = t2;
+        im[off + 16] = t3;
+        re[off + 1] = t6;
+        im[off + 1] = t7;
+        re[off + 17] = t8;
+        im[off + 17] = t9;
+        re[off + 2] = t12;
+        im[off + 2] = t13;
+        re[off + 18] = t14;
+        im[off + 18] = t15;
+        re[off + 3] = t18;
+        im[off + 3] = t19;
+        re[off + 19] = t20;
+        im[off + 19] = t21;
+        re[off + 4] = t26;
+        im[off + 4] = t27;
+        re[off + 20] = t28;
+        im[off + 20] = t29;
+        re[off + 5] = t32;
+        im[off + 5] = t33;
+        re[off + 21] = t34;
+        im[off + 21] = t35;
+        re[off + 6] = t38;
+        im[off + 6] = t39;
+        re[off + 22] = t40;
+        im[off + 22] = t41;
+        re[off + 7] = t44;
+        im[off + 7] = t45;
+        re[off + 23] = t46;
+        im[off + 23] = t47;
+        re[off + 8] = t48;
+        im[off + 8] = t49;
+        re[off + 24] = t50;
+        im[off + 24] = t51;
+        re[off + 9] = t54;
+        im[off + 9] = t55;
+        re[off + 25] = t56;
+        im[off + 25] = t57;
+        re[off + 10] = t60;
+        im[off + 10] = t61;
+        re[off + 26] = t62;
+        im[off + 26] = t63;
+        re[off + 11] = t66;
+        im[off + 11] = t67;
+        re[off + 27] = t68;
+        im[off + 27] = t69;
+        re[off + 12] = t74;
+        im[off + 12] = t75;
+        re[off + 28] = t76;
+        im[off + 28] = t77;
+        re[off + 13] = t80;
+        im[off + 13] = t81;
+        re[off + 29] = t82;
+        im[off + 29] = t83;
+        re[off + 14] = t86;
+        im[off + 14] = t87;
+        re[off + 30] = t88;
+        im[off + 30] = t89;
+        re[off + 15] = t92;
+        im[off + 15] = t93;
+        re[off + 31] = t94;
+        im[off + 31] = t95;
+    }
+
+    /**
+     * Combines the two natural-order DFTs of length 32 at {@code off} and
+     * {@code off + 32} (even and odd samples) into a DFT of length 64.
+     * (188 additions, 116 multiplications)
+     */
+    static void combine64(double[] re, double[] im, int off) {
+        double gr0 = re[off];
+        double gi0 = im[off];
+        double hr0 = re[off + 32];
+        double hi0 = im[off + 32];
+        double gr1 = re[off + 1];
+        double gi1 = im[off + 1];
+        double hr1 = re[off + 33];
+        double hi1 = im[off + 33];
+        double gr2 = re[off + 2];
+        double gi2 = im[off + 2];
+        double hr2 = re[off + 34];
+        double hi2 = im[off + 34];
+        double gr3 = re[off + 3];
+        double gi3 = im[off + 3];
+        double hr3 = re[off + 35];
+        double hi3 = im[off + 35];
+        double gr4 = re[off + 4];
+        double gi4 = im[off + 4];
+        double hr4 = re[off + 36];
+        double hi4 = im[off + 36];
+        double gr5 = re[off + 5];
+        double gi5 = im[off + 5];
+        double hr5 = re[off + 37];
+        double hi5 = im[off + 37];
+        double gr6 = re[off + 6];
+        double gi6 = im[off + 6];
+        double hr6 = re[off + 38];
+        double hi6 = im[off + 38];
+        double gr7 = re[off + 7];
+        double gi7 = im[off + 7];
+        double hr7 = re[off + 39];
+        double hi7 = im[off + 39];
+        double gr8 = re[off + 8];
+        double gi8 = im[off + 8];
+        double hr8 = re[off + 40];
+        double hi8 = im[off + 40];
+        double gr9 = re[off + 9];
+        double gi9 = im[off + 9];
+        double hr9 = re[off + 41];
+        double hi9 = im[off + 41];
+        double gr10 = re[off + 10];
+        double gi10 = im[off + 10];
+        double hr10 = re[off + 42];
+        double hi10 = im[off + 42];
+        double gr11 = re[off + 11];
+        double gi11 = im[off + 11];
+        double hr11 = re[off + 43];
+        double hi11 = im[off + 43];
+        double gr12 = re[off + 12];
+        double gi12 = im[off + 12];
+        double hr12 = re[off + 44];
+        double hi12 = im[off + 44];
+        double gr13 = re[off + 13];
+        double gi13 = im[off + 13];
+        double hr13 = re[off + 45];
+        double hi13 = im[off + 45];
+        double gr14 = re[off + 14];
+        double gi14 = im[off + 14];
+        double hr14 = re[off + 46];
+        double hi14 = im[off + 46];
+        double gr15 = re[off + 15];
+        double gi15 = im[off + 15];
+        double hr15 = re[off + 47];
+        double hi15 = im[off + 47];
+        double gr16 = re[off + 16];
+        double gi16 = im[off + 16];
+        double hr16 = re[off + 48];
+        double hi16 = im[off + 48];
+        double gr17 = re[off + 17];
+        double gi17 = im[off + 17];
+        double hr17 = re[off + 49];
+        double hi17 = im[off + 49];
+        double gr18 = re[off + 18];
+        double gi18 = im[off + 18];
+        double hr18 = re[off + 50];
+        double hi18 = im[off + 50];
+        double gr19 = re[off + 19];
+        double gi19 = im[off + 19];
+        double hr19 = re[off + 51];
+        double hi19 = im[off + 51];
+        double gr20 = re[off + 20];
+        double gi20 = im[off + 20];
+        double hr20 = re[off + 52];
+        double hi20 = im[off + 52];
+        double gr21 = re[off + 21];
+        double gi21 = im[off + 21];
+        double hr21 = re[off + 53];
+        double hi21 = im[off + 53];
+        double gr22 = re[off + 22];
+        double gi22 = im[off + 22];
+        double hr22 = re[off + 54];
+        double hi22 = im[off + 54];
+        double gr23 = re[off + 23];
+        double gi23 = im[off + 23];
+        double hr23 = re[off + 55];
+        double hi23 = im[off + 55];
+        double gr24 = re[off + 24];
+        double gi24 = im[off + 24];
+        double hr24 = re[off + 56];
+        double hi24 = im[off + 56];
+        double gr25 = re[off + 25];
+        double gi25 = im[off + 25];
+        double hr25 = re[off + 57];
+        double hi25 = im[off + 57];
+        double gr26 = re[off + 26];
+        double gi26 = im[off + 26];
+        double hr26 = re[off + 58];
+        double hi26 = im[off + 58];
+        double gr27 = re[off + 27];
+        double gi27 = im[off + 27];
+        double hr27 = re[off + 59];
+        double hi27 = im[off + 59];
+        double gr28 = re[off + 28];
+        double gi28 = im[off + 28];
+        double hr28 = re[off + 60];
+        double hi28 = im[off + 60];
+        double gr29 = re[off + 29];
+        double gi29 = im[off + 29];
+        double hr29 = re[off + 61];
+        double hi29 = im[off + 61];
+        double gr30 = re[off + 30];
+        double gi30 = im[off + 30];
+        double hr30 = re[off + 62];
+        double hi30 = im[off + 62];
+        double gr31 = re[off + 31];
+        double gi31 = im[off + 31];
+        double hr31 = re[off + 63];
+        double hi31 = im[off + 63];
+        double t0 = gr0 + hr0;
+        double t1 = gi0 + hi0;
+        double t2 = gr0 - hr0;
+        double t3 = gi0 - hi0;
+        double t4 = KP995184727 * hr1 + KP098017140 * hi1;
+        double t5 = KP995184727 * hi1 - KP098017140 * hr1;
+        double t6 = gr1 + t4;
+        double t7 = gi1 + t5;
+        double t8 = gr1 - t4;
+        double t9 = gi1 - t5;
+        double t10 = KP980785280 * hr2 + KP195090322 * hi2;
+        double t11 = KP980785280 * hi2 - KP195090322 * hr2;
+        double t12 = gr2 + t10;
+        double t13 = gi2 + t11;
+        double t14 = gr2 - t10;
+        double t15 = gi2 - t11;
+        double t16 = KP956940336 * hr3 + KP290284677 * hi3;
+        double t17 = KP956940336 * hi3 - KP290284677 * hr3;
+        double t18 = gr3 + t16;
+        double t19 = gi3 + t17;
+        double t20 = gr3 - t16;
+        double t21 = gi3 - t17;
+        double t22 = KP923879533 * hr4 + KP382683432 * hi4;
+        double t23 = KP923879533 * hi4 - KP382683432 * hr4;
+        double t24 = gr4 + t22;
+        double t25 = gi4 + t23;
+        double t26 = gr4 - t22;
+        double t27 = gi4 - t23;
+        double t28 = KP881921264 * hr5 + KP471396737 * hi5;
+        double t29 = KP881921264 * hi5 - KP471396737 * hr5;
+        double t30 = gr5 + t28;
+        double t31 = gi5 + t29;
+        double t32 = gr5 - t28;
+        double t33 = gi5 - t29;
+        double t34 = KP831469612 * hr6 + KP555570233 * hi6;
+        double t35 = KP831469612 * hi6 - KP555570233 * hr6;
+        double t36 = gr6 + t34;
+        double t37 = gi6 + t35;
+        double t38 = gr6 - t34;
+        double t39 = gi6 - t35;
+        double t40 = KP773010453 * hr7 + KP634393284 * hi7;
+        double t41 = KP773010453 * hi7 - KP634393284 * hr7;
+        double t42 = gr7 + t40;
+        double t43 = gi7 + t41;
+        double t44 = gr7 - t40;
+        double t45 = gi7 - t41;
+        double t46 = hr8 + hi8;
+        double t47 = hi8 - hr8;
+        double t48 = KP707106781 * t46;
+        double t49 = KP707106781 * t47;
+        double t50 = gr8 + t48;
+        double t51 = gi8 + t49;
+        double t52 = gr8 - t48;
+        double t53 = gi8 - t49;
+        double t54 = KP634393284 * hr9 + KP773010453 * hi9;
+        double t55 = KP634393284 * hi9 - KP773010453 * hr9;
+        double t56 = gr9 + t54;
+        double t57 = gi9 + t55;
+        double t58 = gr9 - t54;
+        double t59 = gi9 - t55;
+        double t60 = KP555570233 * hr10 + KP831469612 * hi10;
+        double t61 = KP555570233 * hi10 - KP831469612 * hr10;
+        double t62 = gr10 + t60;
+        double t63 = gi10 + t61;
+        double t64 = gr10 - t60;
+        double t65 = gi10 - t61;
+        double t66 = KP471396737 * hr11 + KP881921264 * hi11;
+        double t67 = KP471396737 * hi11 - KP881921264 * hr11;
+        double t68 = gr11 + t66;
+        double t69 = gi11 + t67;
+        double t70 = gr11 - t66;
+        double t71 = gi11 - t67;
+        double t72 = KP382683432 * hr12 + KP923879533 * hi12;
+        double t73 = KP382683432 * hi12 - KP923879533 * hr12;
+        double t74 = gr12 + t72;
+        double t75 = gi12 + t73;
+        double t76 = gr12 - t72;
+        double t77 = gi12 - t73;
+        double t78 = KP290284677 * hr13 + KP956940336 * hi13;
+        double t79 = KP290284677 * hi13 - KP956940336 * hr13;
+        double t80 = gr13 + t78;
+        double t81 = gi13 + t79;
+        double t82 = gr13 - t78;
+        double t83 = gi13 - t79;
+        double t84 = KP195090322 * hr14 + KP980785280 * hi14;
+        double t85 = KP195090322 * hi14 - KP980785280 * hr14;
+        double t86 = gr14 + t84;
+        double t87 = gi14 + t85;
+        double t88 = gr14 - t84;
+        double t89 = gi14 - t85;
+        double t90 = KP098017140 * hr15 + KP995184727 * hi15;
+        double t91 = KP098017140 * hi15 - KP995184727 * hr15;
+        double t92 = gr15 + t90;
+        double t93 = gi15 + t91;
+        double t94 = gr15 - t90;
+        double t95 = gi15 - t91;
+        double t96 = gr16 + hi16;
+        double t97 = gi16 - hr16;
+        double t98 = gr16 - hi16;
+        double t99 = gi16 + hr16;
+        double t100 = KP995184727 * hi17 - KP098017140 * hr17;
+        double t101 = KP098017140 * hi17 + KP995184727 * hr17;
+        double t102 = gr17 + t100;
+        double t103 = gi17 - t101;
+        double t104 = gr17 - t100;
+        double t105 = gi17 + t101;
+        double t106 = KP980785280 * hi18 - KP195090322 * hr18;
+        double t107 = KP195090322 * hi18 + KP980785280 * hr18;
+        double t108 = gr18 + t106;
+        double t109 = gi18 - t107;
+        double t110 = gr18 - t106;
+        double t111 = gi18 + t107;
+        double t112 = KP956940336 * hi19 - KP290284677 * hr19;
+        double t113 = KP290284677 * hi19 + KP956940336 * hr19;
+        double t114 = gr19 + t112;
+        double t115 = gi19 - t113;
+        double t116 = gr19 - t112;
+        double t117 = gi19 + t113;
+        double t118 = KP923879533 * hi20 - KP382683432 * hr20;
+        double t119 = KP382683432 * hi20 + KP923879533 * hr20;
+        double t120 = gr20 + t118;
+        double t121 = gi20 - t119;
+        double t122 = gr20 - t118;
+        double t123 = gi20 + t119;
+        double t124 = KP881921264 * hi21 - KP471396737 * hr21;
+        double t125 = KP471396737 * hi21 + KP881921264 * hr21;
+        double t126 = gr21 + t124;
+        double t127 = gi21 - t125;
+        double t128 = gr21 - t124;
+        double t129 = gi21 + t125;
+        double t130 = KP831469612 * hi22 - KP555570233 * hr22;
+        double t131 = KP555570233 * hi22 + KP831469612 * hr22;
+        double t132 = gr22 + t130;
+        double t133 = gi22 - t131;
+        double t134 = gr22 - t130;
+        double t135 = gi22 + t131;
+        double t136 = KP773010453 * hi23 - KP634393284 * hr23;
+        double t137 = KP634393284 * hi23 + KP773010453 * hr23;
+        double t138 = gr23 + t136;
+        double t139 = gi23 - t137;
+        double t140 = gr23 - t136;
+        double t141 = gi23 + t137;
+        double t142 = hr24 - hi24;
+        double t143 = hi24 + hr24;
+        double t144 = KP707106781 * t142;
+        double t145 = KP707106781 * t143;
+        double t146 = gr24 - t144;
+        double t147 = gi24 - t145;
+        double t148 = gr24 + t144;
+        double t149 = gi24 + t145;
+        double t150 = KP634393284 * hi25 - KP773010453 * hr25;
+        double t151 = KP773010453 * hi25 + KP634393284 * hr25;
+        double t152 = gr25 + t150;
+        double t153 = gi25 - t151;
+        double t154 = gr25 - t150;
+        double t155 = gi25 + t151;
+        double t156 = KP555570233 * hi26 - KP831469612 * hr26;
+        double t157 = KP831469612 * hi26 + KP555570233 * hr26;
+        double t158 = gr26 + t156;
+        double t159 = gi26 - t157;
+        double t160 = gr26 - t156;
+        double t161 = gi26 + t157;
+        double t162 = KP471396737 * hi27 - KP881921264 * hr27;
+        double t163 = KP881921264 * hi27 + KP471396737 * hr27;
+        double t164 = gr27 + t162;
+        double t165 = gi27 - t163;
+        double t166 = gr27 - t162;
+        double t167 = gi27 + t163;
+        double t168 = KP382683432 * hi28 - KP923879533 * hr28;
+        double t169 = KP923879533 * hi28 + KP382683432 * hr28;
+        double t170 = gr28 + t168;
+        double t171 = gi28 - t169;
+        double t172 = gr28 - t168;
+        double t173 = gi28 + t169;
+        double t174 = KP290284677 * hi29 - KP956940336 * hr29;
+        double t175 = KP956940336 * hi29 + KP290284677 * hr29;
+        double t176 = gr29 + t174;
+        double t177 = gi29 - t175;
+        double t178 = gr29 - t174;
+        double t179 = gi29 + t175;
+        double t180 = KP195090322 * hi30 - KP980785280 * hr30;
+        double t181 = KP980785280 * hi30 + KP195090322 * hr30;
+        double t182 = gr30 + t180;
+        double t183 = gi30 - t181;
+        double t184 = gr30 - t180;
+        double t185 = gi30 + t181;
+        double t186 = KP098017140 * hi31 - KP995184727 * hr31;
+        double t187 = KP995184727 * hi31 + KP098017140 * hr31;
+        double t188 = gr31 + t186;
+        double t189 = gi31 - t187;
+        double t190 = gr31 - t186;
+        double t191 = gi31 + t187;
+        re[off] = t0;
+        im[off] = t1;
+        re[off + 32] = t2;
+        im[off + 32] = t3;
+        re[off + 1] = t6;
+        im[off + 1] = t7;
+        re[off + 33] = t8;
+        im[off + 33] = t9;
+        re[off + 2] = t12;
+        im[off + 2] = t13;
+        re[off + 34] = t14;
+        im[off + 34] = t15;
+        re[off + 3] = t18;
+        im[off + 3] = t19;
+        re[off + 35] = t20;
+        im[off + 35] = t21;
+        re[off + 4] = t24;
+        im[off + 4] = t25;
+        re[off + 36] = t26;
+        im[off + 36] = t27;
+        re[off + 5] = t30;
+        im[off + 5] = t31;
+        re[off + 37] = t32;
+        im[off + 37] = t33;
+        re[off + 6] = t36;
+        im[off + 6] = t37;
+        re[off + 38] = t38;
+        im[off + 38] = t39;
+        re[off + 7] = t42;
+        im[off + 7] = t43;
+        re[off + 39] = t44;
+        im[off + 39] = t45;
+        re[off + 8] = t50;
+        im[off + 8] = t51;
+        re[off + 40] = t52;
+        im[off + 40] = t53;
+        re[off + 9] = t56;
+        im[off + 9] = t57;
+        re[off + 41] = t58;
+        im[off + 41] = t59;
+        re[off + 10] = t62;
+        im[off + 10] = t63;
+        re[off + 42] = t64;
+        im[off + 42] = t65;
+        re[off + 11] = t68;
+        im[off + 11] = t69;
+        re[off + 43] = t70;
+        im[off + 43] = t71;
+        re[off + 12] = t74;
+        im[off + 12] = t75;
+        re[off + 44] = t76;
+        im[off + 44] = t77;
+        re[off + 13] = t80;
+        im[off + 13] = t81;
+        re[off + 45] = t82;
+        im[off + 45] = t83;
+        re[off + 14] = t86;
+        im[off + 14] = t87;
+        re[off + 46] = t88;
+        im[off + 46] = t89;
+        re[off + 15] = t92;
+        im[off + 15] = t93;
+        re[off + 47] = t94;
+        im[off + 47] = t95;
+        re[off + 16] = t96;
+        im[off + 16] = t97;
+        re[off + 48] = t98;
+        im[off + 48] = t99;
+        re[off + 17] = t102;
+        im[off + 17] = t103;
+        re[off + 49] = t104;
+        im[off + 49] = t105;
+        re[off + 18] = t108;
+        im[off + 18] = t109;
+        re[off + 50] = t110;
+        im[off + 50] = t111;
+        re[off + 19] = t114;
+        im[off + 19] = t115;
+        re[off + 51] = t116;
+        im[off + 51] = t117;
+        re[off + 20] = t120;
+        im[off + 20] = t121;
+        re[off + 52] = t122;
+        im[off + 52] = t123;
+        re[off + 21] = t126;
+        im[off + 21] = t127;
+        re[off + 53] = t128;
+        im[off + 53] = t129;
+        re[off + 22] = t132;
+        im[off + 22] = t133;
+        re[off + 54] = t134;
+        im[off + 54] = t135;
+        re[off + 23] = t138;
+        im[off + 23] = t139;
+        re[off + 55] = t140;
+        im[off + 55] = t141;
+        re[off + 24] = t146;
+        im[off + 24] = t147;
+        re[off + 56] = t148;
+        im[off + 56] = t149;
+        re[off + 25] = t152;
+        im[off + 25] = t153;
+        re[off + 57] = t154;
+        im[off + 57] = t155;
+        re[off + 26] = t158;
+        im[off + 26] = t159;
+        re[off + 58] = t160;
+        im[off + 58] = t161;
+        re[off + 27] = t164;
+        im[off + 27] = t165;
+        re[off + 59] = t166;
+        im[off + 59] = t167;
+        re[off + 28] = t170;
+        im[off + 28] = t171;
+        re[off + 60] = t172;
+        im[off + 60] = t173;
+        re[off + 29] = t176;
+        im[off + 29] = t177;
+        re[off + 61] = t178;
+        im[off + 61] = t179;
+        re[off + 30] = t182;
+        im[off + 30] = t183;
+        re[off + 62] = t184;
+        im[off + 62] = t185;
+        re[off + 31] = t188;
+        im[off + 31] = t189;
+        re[off + 63] = t190;
+        im[off + 63] = t191;
+    }
+
+    private Codelets() {
+        throw new AssertionError();
+    }
+}
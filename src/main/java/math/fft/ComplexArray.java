@@ -128,20 +128,8 @@ public final class ComplexArray {
     }
 
     private double[] absSquaredScaled(boolean withScaling) {
-        double[] real = re;
-        double[] imag = im;
-        int N = real.length;
-        double[] res = new double[N];
-        double scale = withScaling ? N : 1.0;
-        for (int i = 0; i < N; ++i) {
-            double rX = real[i];
-            double iY = imag[i];
-            double square = (rX * rX + iY * iY) / scale;
-            if (square <= TOL) {
-                square = 0.0;
-            }
-            res[i] = square;
-        }
+        double[] res = new double[re.length];
+        absSquaredScaled(res, withScaling ? re.length : 1.0);
         return res;
     }
 
@@ -214,28 +202,238 @@ public final class ComplexArray {
     }
 
     public static ComplexArray elementwiseProduct(ComplexArray a, ComplexArray b) {
-        if (a.length() != b.length()) {
-            throw new IllegalArgumentException("Unequal dimensions: " + a.length() + " != " + b.length());
-        }
-        double[] real = new double[a.length()];
-        double[] imag = new double[a.length()];
+        checkDims(a, b);
+        ComplexArray res = new ComplexArray(a.length());
+        multiply(a, b, res);
+        return res;
+    }
+
+    /**
+     * Stores the elementwise product {@code a * b} into {@code dest}.
+     * {@code dest} may be the same object as {@code a} or {@code b}.
+     */
+    public static void multiply(ComplexArray a, ComplexArray b, ComplexArray dest) {
+        product(a, b, dest, 1.0);
+    }
+
+    /**
+     * Stores the elementwise product {@code a * conj(b)} into {@code dest}
+     * (e.g., for cross-correlation). {@code dest} may be the same object as
+     * {@code a} or {@code b}.
+     */
+    public static void multiplyConjugate(ComplexArray a, ComplexArray b, ComplexArray dest) {
+        product(a, b, dest, -1.0);
+    }
+
+    private static void product(ComplexArray a, ComplexArray b, ComplexArray dest, double conj) {
+        checkDims(a, b);
+        checkDims(a, dest);
         double[] a_re_ = a.re;
         double[] b_re_ = b.re;
         double[] a_im_ = a.im;
         double[] b_im_ = b.im;
+        double[] d_re_ = dest.re;
+        double[] d_im_ = dest.im;
         for (int i = 0; i < a_re_.length; ++i) {
             double a_re = a_re_[i];
             double b_re = b_re_[i];
             double a_im = a_im_[i];
-            double b_im = b_im_[i];
+            double b_im = conj * b_im_[i];
             double re_i = a_re * b_re - a_im * b_im;
             double im_i = a_re * b_im + a_im * b_re;
-            re_i = (Math.abs(re_i) <= TOL) ? 0.0 : re_i;
-            im_i = (Math.abs(im_i) <= TOL) ? 0.0 : im_i;
-            real[i] = re_i;
-            imag[i] = im_i;
+            d_re_[i] = (Math.abs(re_i) <= TOL) ? 0.0 : re_i;
+            d_im_[i] = (Math.abs(im_i) <= TOL) ? 0.0 : im_i;
         }
-        return new ComplexArray(real, imag, false);
+    }
+
+    /**
+     * Stores the elementwise sum {@code a + b} into {@code dest}. {@code dest}
+     * may be the same object as {@code a} or {@code b}.
+     */
+    public static void add(ComplexArray a, ComplexArray b, ComplexArray dest) {
+        checkDims(a, b);
+        checkDims(a, dest);
+        double[] a_re_ = a.re;
+        double[] b_re_ = b.re;
+        double[] a_im_ = a.im;
+        double[] b_im_ = b.im;
+        double[] d_re_ = dest.re;
+        double[] d_im_ = dest.im;
+        for (int i = 0; i < a_re_.length; ++i) {
+            d_re_[i] = a_re_[i] + b_re_[i];
+            d_im_[i] = a_im_[i] + b_im_[i];
+        }
+    }
+
+    /**
+     * Stores {@code factor * a} into {@code dest}. {@code dest} may be the
+     * same object as {@code a}.
+     */
+    public static void scale(ComplexArray a, double factor, ComplexArray dest) {
+        checkDims(a, dest);
+        double[] a_re_ = a.re;
+        double[] a_im_ = a.im;
+        double[] d_re_ = dest.re;
+        double[] d_im_ = dest.im;
+        for (int i = 0; i < a_re_.length; ++i) {
+            d_re_[i] = factor * a_re_[i];
+            d_im_[i] = factor * a_im_[i];
+        }
+    }
+
+    /**
+     * Multiplies this array by {@code factor} in place.
+     */
+    public void scaleInPlace(double factor) {
+        scale(this, factor, this);
+    }
+
+    /**
+     * Stores the magnitudes into {@code dest}.
+     */
+    public void abs(double[] dest) {
+        checkLength(dest);
+        double[] real = re;
+        double[] imag = im;
+        for (int i = 0; i < real.length; ++i) {
+            double abs = Math.hypot(real[i], imag[i]);
+            dest[i] = (abs <= TOL) ? 0.0 : abs;
+        }
+    }
+
+    /**
+     * Stores the phase angles (in radians, in {@code [-pi, pi]}) into
+     * {@code dest}.
+     */
+    public void arg(double[] dest) {
+        checkLength(dest);
+        double[] real = re;
+        double[] imag = im;
+        for (int i = 0; i < real.length; ++i) {
+            dest[i] = Math.atan2(imag[i], real[i]);
+        }
+    }
+
+    /**
+     * Stores the squared magnitudes into {@code dest}.
+     */
+    public void absSquared(double[] dest) {
+        absSquaredScaled(dest, 1.0);
+    }
+
+    /**
+     * Stores the squared magnitudes divided by the length (the power density
+     * spectrum of {@link #absSquaredScaled()}) into {@code dest}.
+     */
+    public void absSquaredScaled(double[] dest) {
+        absSquaredScaled(dest, re.length);
+    }
+
+    private void absSquaredScaled(double[] dest, double scale) {
+        checkLength(dest);
+        double[] real = re;
+        double[] imag = im;
+        for (int i = 0; i < real.length; ++i) {
+            double rX = real[i];
+            double iY = imag[i];
+            double square = (rX * rX + iY * iY) / scale;
+            dest[i] = (square <= TOL) ? 0.0 : square;
+        }
+    }
+
+    /**
+     * Stores the magnitudes in decibels, {@code 20 log10(|z|)}, into
+     * {@code dest}. Values below {@code floorDb} (including those of zero
+     * magnitude) are clamped to {@code floorDb}.
+     */
+    public void magnitudeDb(double[] dest, double floorDb) {
+        checkLength(dest);
+        double[] real = re;
+        double[] imag = im;
+        for (int i = 0; i < real.length; ++i) {
+            double rX = real[i];
+            double iY = imag[i];
+            // 10 log10(|z|^2) avoids the square root
+            double db = 10.0 * Math.log10(rX * rX + iY * iY);
+            dest[i] = (db > floorDb) ? db : floorDb;
+        }
+    }
+
+    /**
+     * In-place variant of {@link #fftshift()}.
+     */
+    public void fftshiftInPlace() {
+        rotateInPlace(re.length / 2);
+    }
+
+    /**
+     * In-place variant of {@link #ifftshift()}.
+     */
+    public void ifftshiftInPlace() {
+        rotateInPlace(re.length - re.length / 2);
+    }
+
+    /**
+     * Cyclically shifts the elements by {@code k} positions to the right
+     * (to the left for negative {@code k}) without allocating, i.e., element
+     * {@code i} moves to position {@code (i + k) mod length}.
+     */
+    public void rotateInPlace(int k) {
+        final int n = re.length;
+        if (n <= 1) {
+            return;
+        }
+        k %= n;
+        if (k < 0) {
+            k += n;
+        }
+        if (k == 0) {
+            return;
+        }
+        // rotate right by k == reverse all, then reverse [0, k) and [k, n)
+        rotate(re, k);
+        rotate(im, k);
+    }
+
+    private static void rotate(double[] x, int k) {
+        reverse(x, 0, x.length - 1);
+        reverse(x, 0, k - 1);
+        reverse(x, k, x.length - 1);
+    }
+
+    private static void reverse(double[] x, int i, int j) {
+        for (; i < j; ++i, --j) {
+            double tmp = x[i];
+            x[i] = x[j];
+            x[j] = tmp;
+        }
+    }
+
+    private static void checkDims(ComplexArray a, ComplexArray b) {
+        if (a.length() != b.length()) {
+            throw new IllegalArgumentException("Unequal dimensions: " + a.length() + " != " + b.length());
+        }
+    }
+
+    private void checkLength(double[] dest) {
+        if (dest.length != re.length) {
+            throw new IllegalArgumentException("Unequal dimensions: " + dest.length + " != " + re.length);
+        }
+    }
+
+    /**
+     * Returns a view of all elements of this array.
+     */
+    public ComplexView view() {
+        return new ComplexView(re, im, 0, re.length, 1, false, 1.0);
+    }
+
+    /**
+     * Returns a view of elements {@code from} (inclusive) to {@code to}
+     * (exclusive) of this array (no copy is made).
+     */
+    public ComplexView slice(int from, int to) {
+        return view().slice(from, to);
     }
 
     public double[] re() {
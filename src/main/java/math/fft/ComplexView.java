@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+/**
+ * A lightweight, read-only view of (a part of) the elements of a
+ * {@link ComplexArray} without copying them. Element {@code i} of a view is
+ * {@code scale * z[offset + i * stride]}, conjugated if the view is
+ * conjugated, where {@code z} is the viewed array. Slicing, decimating,
+ * conjugating and scaling a view create a new view over the same arrays in
+ * constant time; the conjugation and the scale factor are applied lazily
+ * whenever an element is read.
+ * <p>
+ * Views reflect later changes of the viewed array. They can be passed to
+ * {@link Fourier#forwardDFT(ComplexView)},
+ * {@link Fourier#inverseDFT(ComplexView)} and the elementwise operations of
+ * this class, which read the elements directly from the viewed array.
+ */
+public final class ComplexView {
+
+    private final double[] re;
+    private final double[] im;
+    private final int offset;
+    private final int length;
+    private final int stride;
+    private final boolean conjugate;
+    private final double scale;
+
+    ComplexView(double[] re, double[] im, int offset, int length, int stride, boolean conjugate, double scale) {
+        this.re = re;
+        this.im = im;
+        this.offset = offset;
+        this.length = length;
+        this.stride = stride;
+        this.conjugate = conjugate;
+        this.scale = scale;
+    }
+
+    /**
+     * Returns the view of elements {@code from} (inclusive) to {@code to}
+     * (exclusive) of this view.
+     */
+    public ComplexView slice(int from, int to) {
+        if (from < 0 || to > length || from > to) {
+            throw new IllegalArgumentException("Invalid range [" + from + ", " + to + ") for length " + length);
+        }
+        return new ComplexView(re, im, offset + from * stride, to - from, stride, conjugate, scale);
+    }
+
+    /**
+     * Returns the view of every {@code step}-th element of this view,
+     * starting with the first.
+     */
+    public ComplexView decimate(int step) {
+        if (step < 1) {
+            throw new IllegalArgumentException("step must be >= 1 : " + step);
+        }
+        int len = (length == 0) ? 0 : 1 + (length - 1) / step;
+        return new ComplexView(re, im, offset, len, stride * step, conjugate, scale);
+    }
+
+    /**
+     * Returns the elementwise complex conjugate of this view.
+     */
+    public ComplexView conjugate() {
+        return new ComplexView(re, im, offset, length, stride, !conjugate, scale);
+    }
+
+    /**
+     * Returns this view multiplied by {@code factor}.
+     */
+    public ComplexView scale(double factor) {
+        return new ComplexView(re, im, offset, length, stride, conjugate, scale * factor);
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public double re(int i) {
+        return scale * re[index(i)];
+    }
+
+    public double im(int i) {
+        double v = scale * im[index(i)];
+        return conjugate ? -v : v;
+    }
+
+    /**
+     * Copies the elements of this view into {@code re[off..off+length)} and
+     * {@code im[off..off+length)}.
+     */
+    public void copyTo(double[] re, double[] im, int off) {
+        if (off < 0 || off > re.length - length || off > im.length - length) {
+            throw new IllegalArgumentException("Invalid offset " + off + " for view of length " + length);
+        }
+        final double[] src_re = this.re;
+        final double[] src_im = this.im;
+        final double s = scale;
+        final double si = conjugate ? -scale : scale;
+        for (int i = 0, j = offset; i < length; ++i, j += stride) {
+            re[off + i] = s * src_re[j];
+            im[off + i] = si * src_im[j];
+        }
+    }
+
+    /**
+     * Returns a new {@link ComplexArray} holding a copy of the elements of
+     * this view.
+     */
+    public ComplexArray toComplexArray() {
+        double[] re = new double[length];
+        double[] im = new double[length];
+        copyTo(re, im, 0);
+        return new ComplexArray(re, im, false);
+    }
+
+    /**
+     * Stores the elementwise product {@code a * b} into {@code dest}.
+     * {@code dest} may be the array viewed by {@code a} or {@code b}.
+     */
+    public static void multiply(ComplexView a, ComplexView b, ComplexArray dest) {
+        product(a, b, dest, 1.0);
+    }
+
+    /**
+     * Stores the elementwise product {@code a * conj(b)} into {@code dest}.
+     * The same aliasing rules as for
+     * {@link #multiply(ComplexView, ComplexView, ComplexArray)} apply.
+     */
+    public static void multiplyConjugate(ComplexView a, ComplexView b, ComplexArray dest) {
+        product(a, b, dest, -1.0);
+    }
+
+    private static void product(ComplexView a, ComplexView b, ComplexArray dest, double conj) {
+        checkDims(a, b);
+        checkDims(a, dest.length());
+        final double[] a_re_ = a.re;
+        final double[] a_im_ = a.im;
+        final double[] b_re_ = b.re;
+        final double[] b_im_ = b.im;
+        final double[] d_re_ = dest.re();
+        final double[] d_im_ = dest.im();
+        final double s = a.scale * b.scale;
+        final double ca = a.conjugate ? -1.0 : 1.0;
+        final double cb = b.conjugate ? -conj : conj;
+        for (int i = 0, j = a.offset, k = b.offset; i < a.length; ++i, j += a.stride, k += b.stride) {
+            double a_re = a_re_[j];
+            double a_im = ca * a_im_[j];
+            double b_re = b_re_[k];
+            double b_im = cb * b_im_[k];
+            double re_i = s * (a_re * b_re - a_im * b_im);
+            double im_i = s * (a_re * b_im + a_im * b_re);
+            d_re_[i] = (Math.abs(re_i) <= ComplexArray.TOL) ? 0.0 : re_i;
+            d_im_[i] = (Math.abs(im_i) <= ComplexArray.TOL) ? 0.0 : im_i;
+        }
+    }
+
+    /**
+     * Stores the elementwise sum {@code a + b} into {@code dest}. The same
+     * aliasing rules as for
+     * {@link #multiply(ComplexView, ComplexView, ComplexArray)} apply.
+     */
+    public static void add(ComplexView a, ComplexView b, ComplexArray dest) {
+        checkDims(a, b);
+        checkDims(a, dest.length());
+        final double[] d_re_ = dest.re();
+        final double[] d_im_ = dest.im();
+        final double sa = a.scale;
+        final double sb = b.scale;
+        final double sai = a.conjugate ? -sa : sa;
+        final double sbi = b.conjugate ? -sb : sb;
+        for (int i = 0, j = a.offset, k = b.offset; i < a.length; ++i, j += a.stride, k += b.stride) {
+            d_re_[i] = sa * a.re[j] + sb * b.re[k];
+            d_im_[i] = sai * a.im[j] + sbi * b.im[k];
+        }
+    }
+
+    /**
+     * Stores the squared magnitudes of the elements into {@code dest}.
+     */
+    public void absSquared(double[] dest) {
+        checkDims(this, dest.length);
+        final double s2 = scale * scale;
+        for (int i = 0, j = offset; i < length; ++i, j += stride) {
+            double r = re[j];
+            double m = im[j];
+            double square = s2 * (r * r + m * m);
+            dest[i] = (square <= ComplexArray.TOL) ? 0.0 : square;
+        }
+    }
+
+    /**
+     * Returns the sum of the squared magnitudes of the elements.
+     */
+    public double energy() {
+        double sum = 0.0;
+        for (int i = 0, j = offset; i < length; ++i, j += stride) {
+            double r = re[j];
+            double m = im[j];
+            sum += r * r + m * m;
+        }
+        return scale * scale * sum;
+    }
+
+    private int index(int i) {
+        if (i < 0 || i >= length) {
+            throw new IndexOutOfBoundsException("Invalid index " + i + " for view of length " + length);
+        }
+        return offset + i * stride;
+    }
+
+    private static void checkDims(ComplexView a, ComplexView b) {
+        checkDims(a, b.length);
+    }
+
+    private static void checkDims(ComplexView a, int length) {
+        if (a.length != length) {
+            throw new IllegalArgumentException("Unequal dimensions: " + a.length + " != " + length);
+        }
+    }
+
+    public String toString() {
+        return toComplexArray().toString();
+    }
+}
@@ -0,0 +1,461 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Constant-Q transform of real signals with the sparse spectral kernel of
+ * Brown and Puckette. Bin {@code k} has the center frequency
+ * {@code f_k = minFrequency * 2^(k / binsPerOctave)} and is the correlation
+ * of the frame with a windowed complex exponential of frequency {@code f_k}
+ * whose length {@code N_k = ceil(Q fs / f_k)} shrinks with the frequency
+ * ({@code Q = 1 / (2^(1 / binsPerOctave) - 1)}). All temporal kernels are
+ * centered in a frame of length {@code N}, the power of two
+ * {@code >= N_0}. By Parseval's theorem the correlation equals
+ * {@code (1/N) sum_j X[j] conj(K_k[j])} where {@code X} and {@code K_k} are
+ * the DFTs of the frame and of the kernel. The spectral kernels are
+ * concentrated around {@code f_k}; values below {@code threshold} times the
+ * largest value of a kernel (and the negligible negative frequency parts)
+ * are dropped and the rest is stored as a sparse matrix over the
+ * {@code N/2 + 1} bins of a real FFT. A frame then costs one real FFT of
+ * length {@code N} plus one multiply-add per stored kernel value.
+ * <p>
+ * The kernels are normalized by the sum of their window, so a sinusoid of
+ * amplitude {@code A} at {@code f_k} yields {@code |X_cq[k]| ~ A / 2}. They
+ * are computed once per configuration and shared through a cache of the
+ * {@value #MAX_CACHED_KERNELS} most recently used configurations, so creating
+ * further instances with the same parameters is cheap while a long-running
+ * process that sees many different configurations (a kernel for a low
+ * {@code minFrequency} can take megabytes) doesn't grow without bound.
+ * Evicted kernels stay alive as long as instances use them,
+ * {@link #clearCache()} empties the cache.
+ * <p>
+ * Instances hold scratch buffers and are not safe for concurrent use.
+ */
+public final class ConstantQ {
+
+    /** The kernel threshold suggested by Brown and Puckette. */
+    public static final double DEFAULT_THRESHOLD = 0.0054;
+
+    /** The maximum number of kernels kept in the cache. */
+    public static final int MAX_CACHED_KERNELS = 16;
+
+    // access-ordered LRU cache, guarded by itself
+    private static final LinkedHashMap<Config, Kernel> KERNELS = new LinkedHashMap<Config, Kernel>(32, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Config, Kernel> eldest) {
+            return size() > MAX_CACHED_KERNELS;
+        }
+    };
+
+    private final Config config;
+    private final Kernel kernel;
+    private final RealFFT fft;
+    private final double[] frame;
+    private final double[] re;
+    private final double[] im;
+
+    public ConstantQ(double sampleRate, double minFrequency, int bins, int binsPerOctave) {
+        this(sampleRate, minFrequency, bins, binsPerOctave, Window.HAMMING, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param sampleRate
+     *            the sample rate in Hz
+     * @param minFrequency
+     *            the center frequency of bin {@code 0}
+     * @param bins
+     *            the number of bins, the highest center frequency must be
+     *            below {@code sampleRate / 2}
+     * @param binsPerOctave
+     *            the number of bins per octave
+     * @param window
+     *            the window of the temporal kernels
+     * @param threshold
+     *            the relative magnitude below which spectral kernel values
+     *            are dropped, {@code 0 <= threshold < 1}
+     */
+    public ConstantQ(double sampleRate, double minFrequency, int bins, int binsPerOctave, Window window,
+            double threshold) {
+        if (!(sampleRate > 0.0) || !(minFrequency > 0.0)) {
+            throw new IllegalArgumentException("Invalid sampleRate " + sampleRate + " / minFrequency " + minFrequency);
+        }
+        if (bins < 1 || binsPerOctave < 1) {
+            throw new IllegalArgumentException("Invalid bins " + bins + " / binsPerOctave " + binsPerOctave);
+        }
+        if (!(threshold >= 0.0 && threshold < 1.0)) {
+            throw new IllegalArgumentException("threshold must be in [0, 1) : " + threshold);
+        }
+        double maxFrequency = minFrequency * Math.pow(2.0, (bins - 1) / (double) binsPerOctave);
+        if (maxFrequency >= 0.5 * sampleRate) {
+            throw new IllegalArgumentException("Highest bin " + maxFrequency + " Hz is above the Nyquist frequency");
+        }
+        config = new Config(sampleRate, minFrequency, bins, binsPerOctave, Objects.requireNonNull(window),
+                threshold);
+        kernel = kernel(config);
+        int n = kernel.fftLength;
+        fft = new RealFFT(n);
+        frame = new double[n];
+        re = new double[n / 2 + 1];
+        im = new double[n / 2 + 1];
+    }
+
+    /**
+     * Computes the constant-Q transform of the frame
+     * {@code x[off..off+fftLength)} into {@code re[destOff..destOff+bins)}
+     * and {@code im[destOff..destOff+bins)}.
+     */
+    public void transform(double[] x, int off, double[] re, double[] im, int destOff) {
+        final int n = kernel.fftLength;
+        final int bins = config.bins;
+        checkRange(x.length, off, n);
+        checkRange(re.length, destOff, bins);
+        checkRange(im.length, destOff, bins);
+        fft.forward(x, off, this.re, this.im);
+        apply(re, im, destOff);
+    }
+
+    // multiplies the sparse kernel with the spectrum in this.re / this.im
+    private void apply(double[] re, double[] im, int destOff) {
+        final double[] xr = this.re;
+        final double[] xi = this.im;
+        final int[] start = kernel.start;
+        final int[] column = kernel.column;
+        final double[] kr = kernel.re;
+        final double[] ki = kernel.im;
+        for (int k = 0; k < config.bins; ++k) {
+            double sr = 0.0;
+            double si = 0.0;
+            for (int p = start[k]; p < start[k + 1]; ++p) {
+                int j = column[p];
+                double a = xr[j];
+                double b = xi[j];
+                double c = kr[p];
+                double d = ki[p];
+                sr += a * c - b * d;
+                si += a * d + b * c;
+            }
+            re[destOff + k] = (Math.abs(sr) <= ComplexArray.TOL) ? 0.0 : sr;
+            im[destOff + k] = (Math.abs(si) <= ComplexArray.TOL) ? 0.0 : si;
+        }
+    }
+
+    /**
+     * Returns the number of frames that fit into a signal of the given length
+     * when consecutive frames start {@code hop} samples apart.
+     */
+    public int frames(int signalLength, int hop) {
+        if (hop < 1) {
+            throw new IllegalArgumentException("hop must be >= 1 : " + hop);
+        }
+        final int n = kernel.fftLength;
+        return (signalLength < n) ? 0 : 1 + (signalLength - n) / hop;
+    }
+
+    /**
+     * Transforms all frames of {@code signal} (frame {@code f} starts at
+     * {@code f * hop}) into the rows of {@code re} and {@code im} and returns
+     * the number of frames.
+     */
+    public int process(double[] signal, int hop, double[][] re, double[][] im) {
+        final int frames = frames(signal.length, hop);
+        if (re.length < frames || im.length < frames) {
+            throw new IllegalArgumentException("dest has " + Math.min(re.length, im.length) + " rows, need " + frames);
+        }
+        for (int f = 0; f < frames; ++f) {
+            transform(signal, f * hop, re[f], im[f], 0);
+        }
+        return frames;
+    }
+
+    /**
+     * Returns the center frequencies (in Hz) of the bins.
+     */
+    public double[] frequencies() {
+        double[] freqs = new double[config.bins];
+        for (int k = 0; k < freqs.length; ++k) {
+            freqs[k] = config.frequency(k);
+        }
+        return freqs;
+    }
+
+    /**
+     * Returns the frame length {@code N} (the FFT length).
+     */
+    public int fftLength() {
+        return kernel.fftLength;
+    }
+
+    public int bins() {
+        return config.bins;
+    }
+
+    public double q() {
+        return config.q();
+    }
+
+    /**
+     * Returns the number of values stored in the sparse kernel.
+     */
+    public int nonZeros() {
+        return kernel.column.length;
+    }
+
+    private static void checkRange(int length, int off, int count) {
+        if (off < 0 || off > length - count) {
+            throw new IllegalArgumentException("Invalid range [" + off + ", " + (off + count) + ") for length " + length);
+        }
+    }
+
+    /**
+     * Removes all kernels from the cache. Existing instances keep theirs.
+     */
+    public static void clearCache() {
+        synchronized (KERNELS) {
+            KERNELS.clear();
+        }
+    }
+
+    static int cachedKernels() {
+        synchronized (KERNELS) {
+            return KERNELS.size();
+        }
+    }
+
+    private static Kernel kernel(Config config) {
+        synchronized (KERNELS) {
+            Kernel kernel = KERNELS.get(config);
+            if (kernel != null) {
+                return kernel;
+            }
+        }
+        // computed without holding the lock, a concurrent duplicate is harmless
+        Kernel kernel = new Kernel(config);
+        synchronized (KERNELS) {
+            Kernel cached = KERNELS.putIfAbsent(config, kernel);
+            return (cached != null) ? cached : kernel;
+        }
+    }
+
+    /**
+     * Constant-Q transform of a signal that arrives in pieces. A frame is
+     * emitted as soon as {@code fftLength} samples are available and then
+     * every {@code hop} samples, frame {@code m} covering input samples
+     * {@code [m * hop, m * hop + fftLength)} just like
+     * {@link ConstantQ#process(double[], int, double[][], double[][])}.
+     * <p>
+     * Instances are not safe for concurrent use and use the scratch buffers
+     * of their {@code ConstantQ}.
+     */
+    public static final class Streaming {
+
+        private final ConstantQ cq;
+        private final int hop;
+        // the last fftLength samples, oldest at position pos
+        private final double[] ring;
+        private int pos;
+        private long received;
+
+        public Streaming(ConstantQ cq, int hop) {
+            if (hop < 1 || hop > cq.fftLength()) {
+                throw new IllegalArgumentException("hop must be in [1, " + cq.fftLength() + "] : " + hop);
+            }
+            this.cq = cq;
+            this.hop = hop;
+            this.ring = new double[cq.fftLength()];
+        }
+
+        /**
+         * Feeds {@code in[off..off+len)} and stores the frames that become
+         * complete into the rows {@code destRow, destRow + 1, ...} of
+         * {@code re} and {@code im}. Returns the number of frames emitted
+         * (at most {@code len / hop + 1}).
+         */
+        public int process(double[] in, int off, int len, double[][] re, double[][] im, int destRow) {
+            checkRange(in.length, off, len);
+            final int n = ring.length;
+            int emitted = 0;
+            for (int i = 0; i < len; ++i) {
+                ring[pos] = in[off + i];
+                if (++pos == n) {
+                    pos = 0;
+                }
+                ++received;
+                if (received >= n && (received - n) % hop == 0) {
+                    // unroll the ring into the frame buffer
+                    double[] frame = cq.frame;
+                    System.arraycopy(ring, pos, frame, 0, n - pos);
+                    System.arraycopy(ring, 0, frame, n - pos, pos);
+                    int row = destRow + emitted++;
+                    cq.transform(frame, 0, re[row], im[row], 0);
+                }
+            }
+            return emitted;
+        }
+
+        public int hop() {
+            return hop;
+        }
+
+        /**
+         * Returns the number of samples fed since construction or the last
+         * {@link #reset()}.
+         */
+        public long samples() {
+            return received;
+        }
+
+        public void reset() {
+            Arrays.fill(ring, 0.0);
+            pos = 0;
+            received = 0L;
+        }
+    }
+
+    private static final class Config {
+        final double sampleRate;
+        final double minFrequency;
+        final int bins;
+        final int binsPerOctave;
+        final Window window;
+        final double threshold;
+
+        Config(double sampleRate, double minFrequency, int bins, int binsPerOctave, Window window,
+                double threshold) {
+            this.sampleRate = sampleRate;
+            this.minFrequency = minFrequency;
+            this.bins = bins;
+            this.binsPerOctave = binsPerOctave;
+            this.window = window;
+            this.threshold = threshold;
+        }
+
+        double q() {
+            return 1.0 / (Math.pow(2.0, 1.0 / binsPerOctave) - 1.0);
+        }
+
+        double frequency(int k) {
+            return minFrequency * Math.pow(2.0, k / (double) binsPerOctave);
+        }
+
+        int kernelLength(int k) {
+            return (int) Math.ceil(q() * sampleRate / frequency(k));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Config)) {
+                return false;
+            }
+            Config c = (Config) o;
+            return Double.compare(sampleRate, c.sampleRate) == 0 && Double.compare(minFrequency, c.minFrequency) == 0
+                    && bins == c.bins && binsPerOctave == c.binsPerOctave && window == c.window
+                    && Double.compare(threshold, c.threshold) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sampleRate, minFrequency, bins, binsPerOctave, window, threshold);
+        }
+    }
+
+    // sparse spectral kernel in compressed row form, conjugated and scaled by 1/N
+    private static final class Kernel {
+        final int fftLength;
+        final int[] start;
+        final int[] column;
+        final double[] re;
+        final double[] im;
+
+        Kernel(Config config) {
+            int longest = config.kernelLength(0);
+            if (longest > (1 << 30)) {
+                throw new IllegalArgumentException("Kernel too long: " + longest);
+            }
+            final int n = Math.max(Integer.highestOneBit(Math.max(longest - 1, 1)) << 1, 2);
+            final int half = n / 2;
+            fftLength = n;
+            start = new int[config.bins + 1];
+            int[][] cols = new int[config.bins][];
+            double[][] vre = new double[config.bins][];
+            double[][] vim = new double[config.bins][];
+            double[] tr = new double[n];
+            double[] ti = new double[n];
+            double[] mag = new double[half + 1];
+            for (int k = 0; k < config.bins; ++k) {
+                final int len = Math.min(config.kernelLength(k), n);
+                final int offset = (n - len) / 2;
+                final double omega = 2.0 * Math.PI * config.frequency(k) / config.sampleRate;
+                Arrays.fill(tr, 0.0);
+                Arrays.fill(ti, 0.0);
+                double sum = 0.0;
+                for (int l = 0; l < len; ++l) {
+                    sum += config.window.value(l, len);
+                }
+                for (int l = 0; l < len; ++l) {
+                    double w = config.window.value(l, len) / sum;
+                    // phase relative to the frame center
+                    double phase = omega * (offset + l - half);
+                    tr[offset + l] = w * Math.cos(phase);
+                    ti[offset + l] = w * Math.sin(phase);
+                }
+                Fourier.transform(tr, ti, false);
+                double max = 0.0;
+                for (int j = 0; j <= half; ++j) {
+                    mag[j] = Math.hypot(tr[j], ti[j]);
+                    max = Math.max(max, mag[j]);
+                }
+                double limit = config.threshold * max;
+                int count = 0;
+                for (int j = 0; j <= half; ++j) {
+                    if (mag[j] > limit) {
+                        ++count;
+                    }
+                }
+                cols[k] = new int[count];
+                vre[k] = new double[count];
+                vim[k] = new double[count];
+                for (int j = 0, p = 0; j <= half; ++j) {
+                    if (mag[j] > limit) {
+                        cols[k][p] = j;
+                        // conj(K[j]) / N
+                        vre[k][p] = tr[j] / n;
+                        vim[k][p] = -ti[j] / n;
+                        ++p;
+                    }
+                }
+                start[k + 1] = start[k] + count;
+            }
+            column = new int[start[config.bins]];
+            re = new double[column.length];
+            im = new double[column.length];
+            for (int k = 0; k < config.bins; ++k) {
+                System.arraycopy(cols[k], 0, column, start[k], cols[k].length);
+                System.arraycopy(vre[k], 0, re, start[k], vre[k].length);
+                System.arraycopy(vim[k], 0, im, start[k], vim[k].length);
+            }
+            // the int arrays count half
+            Metrics.recordPlan(Metrics.arrayBytes((start.length + column.length) / 2)
+                    + 2 * Metrics.arrayBytes(re.length));
+        }
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Cross-spectral density matrix of {@code M} real channels estimated with
+ * Welch's method: every channel is split into overlapping segments which are
+ * windowed and transformed with a real FFT once, and the products
+ * {@code X_i[k] conj(X_j[k])} are accumulated for bins {@code 0..n/2}.
+ * Since the matrix is Hermitian only its upper triangle ({@code i <= j},
+ * {@code M (M + 1) / 2} entries per bin) is computed and stored.
+ * <p>
+ * Segments are processed in batches: first all channels of a batch are
+ * transformed (in parallel, if requested), then the products are added in
+ * place to the accumulator, bin by bin, with the bins optionally split
+ * among parallel tasks. Both the spectra of a batch and the accumulator are
+ * laid out bin-major, so the work for one bin touches contiguous memory.
+ * <p>
+ * The estimates are scaled like {@link Welch}: entry {@code (i, j)} of bin
+ * {@code k} is {@code c_k / (fs * sum(w^2) * segments)} times the
+ * accumulated products with {@code c_k = 1} for DC and Nyquist and
+ * {@code c_k = 2} otherwise. Accumulation continues across calls of
+ * {@code accumulate} until {@link #reset()}, segments don't span calls.
+ * <p>
+ * Instances are not safe for concurrent use (the parallel path uses the
+ * common fork-join pool internally).
+ */
+public final class CrossSpectralMatrix {
+
+    private static final int BATCH = 32;
+    private static final int MIN_BINS_PER_TASK = 64;
+
+    private final int channels;
+    private final int pairs;
+    private final int segmentLength;
+    private final int step;
+    private final int bins;
+    private final double[] window;
+    private final double sampleRate;
+    private final double scale;
+    // upper triangle sums, acc[k * pairs + p(i, j)]
+    private final double[] accRe;
+    private final double[] accIm;
+    // spectra of a batch, batchRe[f][k * channels + c]
+    private final double[][] batchRe;
+    private final double[][] batchIm;
+    // one plan per task of the parallel path, slot 0 serves the sequential path
+    private Transformer[] transformers = new Transformer[0];
+    private long segments;
+
+    /**
+     * @param channels
+     *            the number of channels {@code M}
+     * @param segmentLength
+     *            the (even) length of the segments and of the FFT
+     * @param overlap
+     *            the number of samples shared by consecutive segments,
+     *            {@code 0 <= overlap < segmentLength}
+     * @param window
+     *            the window applied to each segment
+     * @param sampleRate
+     *            the sample rate in Hz
+     */
+    public CrossSpectralMatrix(int channels, int segmentLength, int overlap, Window window, double sampleRate) {
+        if (channels < 1) {
+            throw new IllegalArgumentException("channels must be >= 1 : " + channels);
+        }
+        if (segmentLength < 2 || (segmentLength & 1) != 0) {
+            throw new IllegalArgumentException("segmentLength must be even and >= 2 : " + segmentLength);
+        }
+        if (overlap < 0 || overlap >= segmentLength) {
+            throw new IllegalArgumentException("Invalid overlap " + overlap + " for segment length " + segmentLength);
+        }
+        if (!(sampleRate > 0.0)) {
+            throw new IllegalArgumentException("sampleRate must be > 0 : " + sampleRate);
+        }
+        this.channels = channels;
+        this.pairs = channels * (channels + 1) / 2;
+        this.segmentLength = segmentLength;
+        this.step = segmentLength - overlap;
+        this.bins = segmentLength / 2 + 1;
+        this.window = window.coefficients(segmentLength);
+        this.sampleRate = sampleRate;
+        double energy = 0.0;
+        for (double w : this.window) {
+            energy += w * w;
+        }
+        this.scale = 1.0 / (sampleRate * energy);
+        accRe = new double[bins * pairs];
+        accIm = new double[bins * pairs];
+        batchRe = new double[BATCH][bins * channels];
+        batchIm = new double[BATCH][bins * channels];
+        Metrics.recordPlan(2 * Metrics.arrayBytes(bins * pairs) + 2L * BATCH * Metrics.arrayBytes(bins * channels));
+    }
+
+    /**
+     * Returns the number of segments that fit into signals of the given
+     * length (trailing samples that don't fill a segment are ignored).
+     */
+    public int segments(int signalLength) {
+        return (signalLength < segmentLength) ? 0 : 1 + (signalLength - segmentLength) / step;
+    }
+
+    public void accumulate(double[][] signals) {
+        accumulate(signals, false);
+    }
+
+    /**
+     * Adds the segments of {@code signals} (one equally long signal per
+     * channel) to the estimate, optionally transforming the channels and
+     * accumulating the bins in parallel.
+     */
+    public void accumulate(double[][] signals, boolean parallel) {
+        if (signals.length != channels) {
+            throw new IllegalArgumentException("Unequal dimensions: " + signals.length + " != " + channels);
+        }
+        final int length = signals[0].length;
+        for (double[] signal : signals) {
+            if (signal.length != length) {
+                throw new IllegalArgumentException("Unequal dimensions: " + signal.length + " != " + length);
+            }
+        }
+        final int total = segments(length);
+        for (int first = 0; first < total; first += BATCH) {
+            final int start = first;
+            final int count = Math.min(BATCH, total - first);
+            if (parallel) {
+                final int jobs = count * channels;
+                final int workers = Math.min(jobs, Runtime.getRuntime().availableProcessors());
+                final Transformer[] pool = transformers(workers);
+                IntStream.range(0, workers).parallel().forEach(w -> {
+                    Transformer transformer = pool[w];
+                    int to = (int) ((long) jobs * (w + 1) / workers);
+                    for (int t = (int) ((long) jobs * w / workers); t < to; ++t) {
+                        transform(transformer, signals, start, t / channels, t % channels);
+                    }
+                });
+                final int tasks = Math.max(1, Math.min(bins / MIN_BINS_PER_TASK,
+                        4 * Runtime.getRuntime().availableProcessors()));
+                IntStream.range(0, tasks).parallel().forEach(
+                        t -> add(count, (int) ((long) bins * t / tasks), (int) ((long) bins * (t + 1) / tasks)));
+            } else {
+                Transformer transformer = transformers(1)[0];
+                for (int f = 0; f < count; ++f) {
+                    for (int c = 0; c < channels; ++c) {
+                        transform(transformer, signals, start, f, c);
+                    }
+                }
+                add(count, 0, bins);
+            }
+            segments += count;
+        }
+    }
+
+    // returns at least n plans, creating missing ones on demand
+    private Transformer[] transformers(int n) {
+        Transformer[] pool = transformers;
+        if (pool.length < n) {
+            Transformer[] grown = Arrays.copyOf(pool, n);
+            for (int i = pool.length; i < n; ++i) {
+                grown[i] = new Transformer(segmentLength, bins);
+            }
+            transformers = pool = grown;
+        }
+        return pool;
+    }
+
+    // transforms segment first + f of channel c into batch slot f
+    private void transform(Transformer transformer, double[][] signals, int first, int f, int c) {
+        transformer.forward(signals[c], (first + f) * step, window);
+        double[] re = transformer.re;
+        double[] im = transformer.im;
+        double[] br = batchRe[f];
+        double[] bi = batchIm[f];
+        final int M = channels;
+        for (int k = 0, idx = c; k < bins; ++k, idx += M) {
+            br[idx] = re[k];
+            bi[idx] = im[k];
+        }
+    }
+
+    // adds the upper triangle products of the first count batch spectra for bins [from, to)
+    private void add(int count, int from, int to) {
+        final int M = channels;
+        final double[] accRe = this.accRe;
+        final double[] accIm = this.accIm;
+        for (int f = 0; f < count; ++f) {
+            final double[] xr = batchRe[f];
+            final double[] xi = batchIm[f];
+            for (int k = from; k < to; ++k) {
+                final int base = k * M;
+                int out = k * pairs;
+                for (int i = 0; i < M; ++i) {
+                    double ar = xr[base + i];
+                    double ai = xi[base + i];
+                    for (int j = i; j < M; ++j, ++out) {
+                        double br = xr[base + j];
+                        double bi = xi[base + j];
+                        // X_i conj(X_j)
+                        accRe[out] += ar * br + ai * bi;
+                        accIm[out] += ai * br - ar * bi;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores the cross-spectral density of channels {@code i} and {@code j}
+     * (bins {@code 0..n/2}) into {@code dest}. Entries below the diagonal
+     * are the conjugates of the stored ones.
+     */
+    public void csd(int i, int j, ComplexArray dest) {
+        checkDest(dest.length());
+        final boolean conj = i > j;
+        final int p = pair(Math.min(i, j), Math.max(i, j));
+        double[] re = dest.re();
+        double[] im = dest.im();
+        for (int k = 0; k < bins; ++k) {
+            double norm = norm(k);
+            double r = norm * accRe[k * pairs + p];
+            double m = norm * accIm[k * pairs + p];
+            re[k] = (Math.abs(r) <= ComplexArray.TOL) ? 0.0 : r;
+            m = conj ? -m : m;
+            im[k] = (Math.abs(m) <= ComplexArray.TOL) ? 0.0 : m;
+        }
+    }
+
+    /**
+     * Stores the power spectral density of channel {@code i} into
+     * {@code dest}.
+     */
+    public void psd(int i, double[] dest) {
+        checkDest(dest.length);
+        final int p = pair(i, i);
+        for (int k = 0; k < bins; ++k) {
+            double psd = norm(k) * accRe[k * pairs + p];
+            dest[k] = (psd <= ComplexArray.TOL) ? 0.0 : psd;
+        }
+    }
+
+    /**
+     * Stores the magnitude-squared coherence
+     * {@code |S_ij|^2 / (S_ii S_jj)} of channels {@code i} and {@code j}
+     * into {@code dest} ({@code 0} where a channel has no power).
+     */
+    public void coherence(int i, int j, double[] dest) {
+        checkDest(dest.length);
+        final int pij = pair(Math.min(i, j), Math.max(i, j));
+        final int pii = pair(i, i);
+        final int pjj = pair(j, j);
+        for (int k = 0; k < bins; ++k) {
+            int off = k * pairs;
+            double r = accRe[off + pij];
+            double m = accIm[off + pij];
+            double denom = accRe[off + pii] * accRe[off + pjj];
+            dest[k] = (denom > 0.0) ? Math.min((r * r + m * m) / denom, 1.0) : 0.0;
+        }
+    }
+
+    /**
+     * Stores the full (Hermitian) {@code M x M} cross-spectral density matrix
+     * of bin {@code k} row-major into {@code re} and {@code im} (both of
+     * length {@code M * M}).
+     */
+    public void matrix(int k, double[] re, double[] im) {
+        if (k < 0 || k >= bins) {
+            throw new IllegalArgumentException("Invalid bin " + k + " for " + bins + " bins");
+        }
+        final int M = channels;
+        if (re.length != M * M || im.length != M * M) {
+            throw new IllegalArgumentException("Unequal dimensions: " + re.length + " != " + (M * M));
+        }
+        final double norm = norm(k);
+        for (int i = 0, p = k * pairs; i < M; ++i) {
+            for (int j = i; j < M; ++j, ++p) {
+                double r = norm * accRe[p];
+                double m = norm * accIm[p];
+                re[i * M + j] = r;
+                im[i * M + j] = m;
+                re[j * M + i] = r;
+                im[j * M + i] = (i == j) ? 0.0 : -m;
+            }
+        }
+    }
+
+    /**
+     * Returns the frequencies (in Hz) of the bins.
+     */
+    public double[] frequencies() {
+        double[] freqs = new double[bins];
+        for (int k = 0; k < bins; ++k) {
+            freqs[k] = k * sampleRate / segmentLength;
+        }
+        return freqs;
+    }
+
+    /**
+     * Returns the number of segments accumulated since the last reset.
+     */
+    public long segmentCount() {
+        return segments;
+    }
+
+    public void reset() {
+        Arrays.fill(accRe, 0.0);
+        Arrays.fill(accIm, 0.0);
+        segments = 0L;
+    }
+
+    public int channels() {
+        return channels;
+    }
+
+    public int segmentLength() {
+        return segmentLength;
+    }
+
+    public int bins() {
+        return bins;
+    }
+
+    private double norm(int k) {
+        if (segments == 0L) {
+            throw new IllegalStateException("No segments accumulated");
+        }
+        return ((k == 0 || k == bins - 1) ? 1.0 : 2.0) * scale / segments;
+    }
+
+    // index of (i, j), i <= j, in the packed upper triangle
+    private int pair(int i, int j) {
+        if (i < 0 || j >= channels) {
+            throw new IllegalArgumentException("Invalid channels " + i + ", " + j + " for " + channels + " channels");
+        }
+        return i * channels - i * (i - 1) / 2 + (j - i);
+    }
+
+    private void checkDest(int length) {
+        if (length != bins) {
+            throw new IllegalArgumentException("Unequal dimensions: " + length + " != " + bins);
+        }
+    }
+
+    // plan and scratch buffers of one task
+    private static final class Transformer {
+        final RealFFT fft;
+        final double[] segment;
+        final double[] re;
+        final double[] im;
+
+        Transformer(int segmentLength, int bins) {
+            fft = new RealFFT(segmentLength);
+            segment = new double[segmentLength];
+            re = new double[bins];
+            im = new double[bins];
+        }
+
+        // windows signal[off..off+n) and transforms it into re, im
+        void forward(double[] signal, int off, double[] window) {
+            final double[] segment = this.segment;
+            for (int j = 0; j < segment.length; ++j) {
+                segment[j] = window[j] * signal[off + j];
+            }
+            fft.forward(segment, 0, re, im);
+        }
+    }
+}
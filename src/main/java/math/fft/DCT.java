@@ -0,0 +1,276 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+/**
+ * Plan for the unnormalized discrete cosine and sine transforms of type II,
+ * III and IV of an even length {@code n}. DCT-II / DCT-III use a real FFT of
+ * length {@code n} (i.e., a complex FFT of length {@code n/2}), DCT-IV uses a
+ * complex FFT of length {@code n/2} directly.
+ * <p>
+ * Definitions ({@code 0 <= k < n}):
+ * <ul>
+ * <li>DCT-II: {@code X[k] = sum x[j] cos(pi (2j+1) k / 2n)}</li>
+ * <li>DCT-III: {@code X[k] = x[0]/2 + sum_{j>0} x[j] cos(pi j (2k+1) / 2n)}</li>
+ * <li>DCT-IV: {@code X[k] = sum x[j] cos(pi (2j+1) (2k+1) / 4n)}</li>
+ * <li>DST-II: {@code X[k] = sum x[j] sin(pi (2j+1) (k+1) / 2n)}</li>
+ * <li>DST-III:
+ * {@code X[k] = (-1)^k x[n-1]/2 + sum_{j<n-1} x[j] sin(pi (j+1) (2k+1) / 2n)}</li>
+ * <li>DST-IV: {@code X[k] = sum x[j] sin(pi (2j+1) (2k+1) / 4n)}</li>
+ * </ul>
+ * Types II and III are inverses of each other up to a factor of
+ * {@code n/2}, types IV are their own inverses up to a factor of
+ * {@code n/2}.
+ * <p>
+ * The {@code InPlace} variants overwrite their argument and don't allocate
+ * when {@code n/2} is a power of two. Instances hold scratch buffers and are
+ * not safe for concurrent use.
+ */
+public final class DCT {
+
+    private final int n;
+    private final RealFFT rfft;
+    // exp(-i pi k / 2n) for 0 <= k <= n/2
+    private final double[] cos2;
+    private final double[] sin2;
+    // DCT-IV pre-twiddle exp(-i pi (j + 1/4) / n) and
+    // post-twiddle exp(-i pi j / n) for 0 <= j < n/2
+    private final double[] preCos4;
+    private final double[] preSin4;
+    private final double[] postCos4;
+    private final double[] postSin4;
+    // scratch
+    private final double[] v;
+    private final double[] re;
+    private final double[] im;
+    private final double[] zr;
+    private final double[] zi;
+
+    public DCT(int n) {
+        if (n < 2 || (n & 1) != 0) {
+            throw new IllegalArgumentException("n must be even and >= 2 : " + n);
+        }
+        this.n = n;
+        int m = n / 2;
+        rfft = new RealFFT(n);
+        cos2 = new double[m + 1];
+        sin2 = new double[m + 1];
+        for (int k = 0; k <= m; ++k) {
+            double angle = Math.PI * k / (2.0 * n);
+            cos2[k] = Math.cos(angle);
+            sin2[k] = Math.sin(angle);
+        }
+        preCos4 = new double[m];
+        preSin4 = new double[m];
+        postCos4 = new double[m];
+        postSin4 = new double[m];
+        for (int j = 0; j < m; ++j) {
+            double pre = Math.PI * (j + 0.25) / n;
+            preCos4[j] = Math.cos(pre);
+            preSin4[j] = Math.sin(pre);
+            double post = Math.PI * j / n;
+            postCos4[j] = Math.cos(post);
+            postSin4[j] = Math.sin(post);
+        }
+        v = new double[n];
+        re = new double[m + 1];
+        im = new double[m + 1];
+        zr = new double[m];
+        zi = new double[m];
+        Metrics.recordPlan(4 * Metrics.arrayBytes(m + 1) + 6 * Metrics.arrayBytes(m) + Metrics.arrayBytes(n));
+    }
+
+    public int length() {
+        return n;
+    }
+
+    public double[] dct2(double[] x) {
+        double[] y = copy(x);
+        dct2InPlace(y);
+        return y;
+    }
+
+    public void dct2InPlace(double[] x) {
+        checkLength(x);
+        final int n = this.n;
+        final int m = n / 2;
+        double[] v = this.v;
+        double[] re = this.re;
+        double[] im = this.im;
+        // Makhoul reordering: even samples ascending, odd samples descending
+        for (int j = 0; j < m; ++j) {
+            v[j] = x[2 * j];
+            v[n - 1 - j] = x[2 * j + 1];
+        }
+        rfft.forward(v, 0, re, im);
+        // X[k] = Re(V[k] exp(-i pi k / 2n)), X[n-k] = -Im(V[k] exp(-i pi k / 2n))
+        x[0] = re[0];
+        for (int k = 1; k <= m; ++k) {
+            double cos_k = cos2[k];
+            double sin_k = sin2[k];
+            double re_k = re[k];
+            double im_k = im[k];
+            x[k] = re_k * cos_k + im_k * sin_k;
+            if (k != m) {
+                x[n - k] = re_k * sin_k - im_k * cos_k;
+            }
+        }
+        flush(x);
+    }
+
+    public double[] dct3(double[] x) {
+        double[] y = copy(x);
+        dct3InPlace(y);
+        return y;
+    }
+
+    public void dct3InPlace(double[] x) {
+        checkLength(x);
+        final int n = this.n;
+        final int m = n / 2;
+        double[] v = this.v;
+        double[] re = this.re;
+        double[] im = this.im;
+        // undo the DCT-II post-processing: V[k] = (x[k] - i x[n-k]) exp(i pi k / 2n),
+        // scaled by n/2 so that the result is the DCT-III instead of the inverse DCT-II
+        double scale = 0.5 * n;
+        re[0] = scale * x[0];
+        im[0] = 0.0;
+        for (int k = 1; k <= m; ++k) {
+            double cos_k = cos2[k];
+            double sin_k = sin2[k];
+            double a = x[k];
+            double b = -x[n - k];
+            re[k] = scale * (a * cos_k - b * sin_k);
+            im[k] = scale * (a * sin_k + b * cos_k);
+        }
+        rfft.inverse(re, im, v, 0);
+        for (int j = 0; j < m; ++j) {
+            x[2 * j] = v[j];
+            x[2 * j + 1] = v[n - 1 - j];
+        }
+        flush(x);
+    }
+
+    public double[] dct4(double[] x) {
+        double[] y = copy(x);
+        dct4InPlace(y);
+        return y;
+    }
+
+    public void dct4InPlace(double[] x) {
+        checkLength(x);
+        final int n = this.n;
+        final int m = n / 2;
+        double[] zr = this.zr;
+        double[] zi = this.zi;
+        // z[j] = (x[2j] + i x[n-1-2j]) exp(-i pi (j + 1/4) / n)
+        for (int j = 0; j < m; ++j) {
+            double a = x[2 * j];
+            double b = x[n - 1 - 2 * j];
+            double c = preCos4[j];
+            double s = preSin4[j];
+            zr[j] = a * c + b * s;
+            zi[j] = b * c - a * s;
+        }
+        Fourier.transform(zr, zi, false);
+        // y[k] = Z[k] exp(-i pi k / n), X[2k] = Re(y[k]), X[n-1-2k] = -Im(y[k])
+        for (int k = 0; k < m; ++k) {
+            double a = zr[k];
+            double b = zi[k];
+            double c = postCos4[k];
+            double s = postSin4[k];
+            x[2 * k] = a * c + b * s;
+            x[n - 1 - 2 * k] = a * s - b * c;
+        }
+        flush(x);
+    }
+
+    public double[] dst2(double[] x) {
+        double[] y = copy(x);
+        dst2InPlace(y);
+        return y;
+    }
+
+    public void dst2InPlace(double[] x) {
+        // DST-II(x)[k] = DCT-II((-1)^j x[j])[n-1-k]
+        checkLength(x);
+        alternateSigns(x);
+        dct2InPlace(x);
+        reverse(x);
+    }
+
+    public double[] dst3(double[] x) {
+        double[] y = copy(x);
+        dst3InPlace(y);
+        return y;
+    }
+
+    public void dst3InPlace(double[] x) {
+        // DST-III(x)[k] = (-1)^k DCT-III(reverse(x))[k]
+        checkLength(x);
+        reverse(x);
+        dct3InPlace(x);
+        alternateSigns(x);
+    }
+
+    public double[] dst4(double[] x) {
+        double[] y = copy(x);
+        dst4InPlace(y);
+        return y;
+    }
+
+    public void dst4InPlace(double[] x) {
+        // DST-IV(x)[k] = DCT-IV((-1)^j x[j])[n-1-k]
+        checkLength(x);
+        alternateSigns(x);
+        dct4InPlace(x);
+        reverse(x);
+    }
+
+    private double[] copy(double[] x) {
+        checkLength(x);
+        return x.clone();
+    }
+
+    private void checkLength(double[] x) {
+        if (x.length != n) {
+            throw new IllegalArgumentException("Unequal dimensions: " + x.length + " != " + n);
+        }
+    }
+
+    private static void alternateSigns(double[] x) {
+        for (int j = 1; j < x.length; j += 2) {
+            x[j] = -x[j];
+        }
+    }
+
+    private static void reverse(double[] x) {
+        for (int i = 0, j = x.length - 1; i < j; ++i, --j) {
+            double tmp = x[i];
+            x[i] = x[j];
+            x[j] = tmp;
+        }
+    }
+
+    private static void flush(double[] x) {
+        for (int i = 0; i < x.length; ++i) {
+            if (Math.abs(x[i]) <= ComplexArray.TOL) {
+                x[i] = 0.0;
+            }
+        }
+    }
+}
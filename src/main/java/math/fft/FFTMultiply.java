@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Multiplication of polynomials and of large integers by FFT convolution.
+ * Both operands are transformed with a real FFT (a single one when squaring),
+ * multiplied pointwise and transformed back, which takes
+ * {@code O(n log n)} instead of the {@code O(n^1.465)} of the Toom-Cook
+ * multiplication in {@code BigInteger}.
+ * <p>
+ * {@code BigInteger} magnitudes are split into limbs of {@code 8} to
+ * {@code 16} bits. The limb size is chosen such that an a-priori bound of the
+ * floating-point error of the convolution stays well below {@code 1/2} and
+ * every product coefficient is therefore rounded to the correct integer. As
+ * an additional safeguard the distance of every coefficient from the nearest
+ * integer is checked; if it is suspiciously large the product is recomputed
+ * with smaller limbs (and eventually with {@code BigInteger.multiply}).
+ */
+public final class FFTMultiply {
+
+    /**
+     * Below this bit length (of the shorter operand) {@code BigInteger}'s own
+     * multiplication is faster.
+     */
+    static final int BIG_INTEGER_THRESHOLD = 1 << 18;
+
+    private static final int MAX_LIMB_BITS = 16;
+    private static final int MIN_LIMB_BITS = 8;
+    // direct convolution is used when the shorter operand is that short
+    private static final int DIRECT_THRESHOLD = 32;
+    // largest tolerated distance of a coefficient from the nearest integer
+    private static final double MAX_ROUNDING_ERROR = 0.0625;
+    // empirical constant of the error bound
+    // 2^(2b) * min(len) * log2(N) * 2^-53 * ERROR_FACTOR <= MAX_ROUNDING_ERROR
+    private static final double ERROR_FACTOR = 8.0;
+
+    /**
+     * Returns the coefficients of the product of the polynomials with the
+     * coefficients {@code a} and {@code b} (lowest degree first).
+     */
+    public static double[] multiply(double[] a, double[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return new double[0];
+        }
+        return convolve(a, a.length, b, b.length);
+    }
+
+    /**
+     * Returns the coefficients of the square of the polynomial with the
+     * coefficients {@code a} (lowest degree first).
+     */
+    public static double[] square(double[] a) {
+        if (a.length == 0) {
+            return new double[0];
+        }
+        return convolve(a, a.length, a, a.length);
+    }
+
+    public static BigInteger multiply(BigInteger a, BigInteger b) {
+        int signum = a.signum() * b.signum();
+        if (signum == 0) {
+            return BigInteger.ZERO;
+        }
+        if (Math.min(a.bitLength(), b.bitLength()) < BIG_INTEGER_THRESHOLD) {
+            return a.multiply(b);
+        }
+        return multiply(a, b, a == b);
+    }
+
+    public static BigInteger square(BigInteger a) {
+        if (a.signum() == 0) {
+            return BigInteger.ZERO;
+        }
+        if (a.bitLength() < BIG_INTEGER_THRESHOLD) {
+            return a.multiply(a);
+        }
+        return multiply(a, a, true);
+    }
+
+    // package-private for testing: no threshold
+    static BigInteger multiply(BigInteger a, BigInteger b, boolean square) {
+        int signum = a.signum() * b.signum();
+        byte[] ma = a.abs().toByteArray();
+        byte[] mb = square ? ma : b.abs().toByteArray();
+        int minBits = Math.min(a.bitLength(), b.bitLength());
+        int maxBits = Math.max(a.bitLength(), b.bitLength());
+        for (int bits = limbBits(minBits, maxBits); bits >= MIN_LIMB_BITS; --bits) {
+            double[] la = toLimbs(ma, a.bitLength(), bits);
+            double[] lb = square ? la : toLimbs(mb, b.bitLength(), bits);
+            double[] c = convolve(la, la.length, lb, lb.length);
+            byte[] product = fromCoefficients(c, bits);
+            if (product != null) {
+                return new BigInteger(signum, product);
+            }
+        }
+        return a.multiply(b);
+    }
+
+    /**
+     * Returns the largest limb size for which the error bound holds, or a
+     * value below {@link #MIN_LIMB_BITS} if there is none.
+     */
+    static int limbBits(int minBits, int maxBits) {
+        for (int bits = MAX_LIMB_BITS; bits >= MIN_LIMB_BITS; --bits) {
+            double minLen = Math.ceil((double) minBits / bits);
+            double maxLen = Math.ceil((double) maxBits / bits);
+            double logN = Math.ceil(Math.log(minLen + maxLen) / Math.log(2.0));
+            double bound = Math.pow(2.0, 2 * bits) * minLen * logN * 0x1.0p-53 * ERROR_FACTOR;
+            if (bound <= MAX_ROUNDING_ERROR) {
+                return bits;
+            }
+        }
+        return MIN_LIMB_BITS - 1;
+    }
+
+    // little-endian limbs of the big-endian magnitude
+    private static double[] toLimbs(byte[] magnitude, int bitLength, int bits) {
+        double[] limbs = new double[(bitLength + bits - 1) / bits];
+        final int mask = (1 << bits) - 1;
+        int acc = 0;
+        int accBits = 0;
+        int k = 0;
+        for (int i = magnitude.length - 1; i >= 0 && k < limbs.length; --i) {
+            acc |= (magnitude[i] & 0xff) << accBits;
+            accBits += 8;
+            while (accBits >= bits && k < limbs.length) {
+                limbs[k++] = acc & mask;
+                acc >>>= bits;
+                accBits -= bits;
+            }
+        }
+        if (k < limbs.length) {
+            limbs[k] = acc & mask;
+        }
+        return limbs;
+    }
+
+    /**
+     * Rounds the convolution coefficients, propagates the carries in base
+     * {@code 2^bits} and returns the big-endian magnitude, or {@code null} if
+     * a coefficient is too far from an integer.
+     */
+    private static byte[] fromCoefficients(double[] c, int bits) {
+        // the carry can add at most one limb of 2 * bits + log2(len) bits
+        byte[] le = new byte[(int) (((long) c.length * bits + 64 + 7) / 8)];
+        final long mask = (1L << bits) - 1;
+        long carry = 0L;
+        long acc = 0L;
+        int accBits = 0;
+        int pos = 0;
+        for (double x : c) {
+            double r = Math.rint(x);
+            if (Math.abs(x - r) > MAX_ROUNDING_ERROR) {
+                return null;
+            }
+            carry += (long) r;
+            acc |= (carry & mask) << accBits;
+            accBits += bits;
+            carry >>>= bits;
+            while (accBits >= 8) {
+                le[pos++] = (byte) acc;
+                acc >>>= 8;
+                accBits -= 8;
+            }
+        }
+        while (carry != 0L) {
+            acc |= (carry & 0xffL) << accBits;
+            carry >>>= 8;
+            le[pos++] = (byte) acc;
+            acc >>>= 8;
+        }
+        if (accBits > 0) {
+            le[pos++] = (byte) acc;
+        }
+        byte[] be = new byte[pos];
+        for (int i = 0; i < pos; ++i) {
+            be[i] = le[pos - 1 - i];
+        }
+        return be;
+    }
+
+    private static double[] convolve(double[] a, int aLen, double[] b, int bLen) {
+        final int len = aLen + bLen - 1;
+        if (Math.min(aLen, bLen) <= DIRECT_THRESHOLD) {
+            double[] c = new double[len];
+            for (int i = 0; i < aLen; ++i) {
+                double a_i = a[i];
+                for (int j = 0; j < bLen; ++j) {
+                    c[i + j] += a_i * b[j];
+                }
+            }
+            return c;
+        }
+        final int n = Integer.highestOneBit(len - 1) << 1;
+        final int m = n / 2;
+        RealFFT rfft = new RealFFT(n);
+        double[] x = new double[n];
+        System.arraycopy(a, 0, x, 0, aLen);
+        double[] ar = new double[m + 1];
+        double[] ai = new double[m + 1];
+        rfft.forward(x, 0, ar, ai);
+        if (a == b && aLen == bLen) {
+            // squaring: a single forward transform
+            for (int k = 0; k <= m; ++k) {
+                double re = ar[k];
+                double im = ai[k];
+                ar[k] = re * re - im * im;
+                ai[k] = 2.0 * re * im;
+            }
+        } else {
+            Arrays.fill(x, 0.0);
+            System.arraycopy(b, 0, x, 0, bLen);
+            double[] br = new double[m + 1];
+            double[] bi = new double[m + 1];
+            rfft.forward(x, 0, br, bi);
+            for (int k = 0; k <= m; ++k) {
+                double re = ar[k] * br[k] - ai[k] * bi[k];
+                double im = ar[k] * bi[k] + ai[k] * br[k];
+                ar[k] = re;
+                ai[k] = im;
+            }
+        }
+        rfft.inverse(ar, ai, x, 0);
+        double[] c = new double[len];
+        System.arraycopy(x, 0, c, 0, len);
+        return c;
+    }
+
+    private FFTMultiply() {
+        throw new AssertionError();
+    }
+}
@@ -22,12 +22,27 @@
  */
 package math.fft;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import math.fft.TransformListener.Algorithm;
+
 /**
  * Derived from org.apache.commons.math3.transform.FastFourierTransformer
  */
 public final class Fourier {
 
     public static ComplexArray forwardDFT(double[] data) {
+        if (Metrics.enabled) {
+            long start = System.nanoTime();
+            ComplexArray result = forward(data);
+            Algorithm algorithm = algorithm(data.length);
+            Metrics.recordTransform(algorithm, false, data.length, start, allocatedBytes(algorithm, data.length));
+            return result;
+        }
+        return forward(data);
+    }
+
+    private static ComplexArray forward(double[] data) {
         final int N = data.length;
         if (N == 0) {
             return new ComplexArray(new double[] {}, new double[] {}, false);
@@ -44,19 +59,27 @@ public final class Fourier {
             dataR[1] = srcR0 - dataR[1];
             return new ComplexArray(dataR, new double[2], false);
         }
-        if (!isPowerOfTwo(N)) {
+        if (!isPowerOfTwo(N) && !Codelets.supports(N)) {
             return Bluestein.forwardDFT(data, null);
         }
         double[] dataR = data.clone();
-        bitReversalShuffle(dataR, null);
         double[] dataI = new double[N];
-        fourTermForward(dataR, dataI, N);
-        combineEvenOdd(dataR, dataI, N, false);
-        postProcess(dataR, dataI, N, false);
+        fft(dataR, dataI, false);
         return new ComplexArray(dataR, dataI, false);
     }
 
     static ComplexArray forwardDFT(double[] real, double[] imag) {
+        if (Metrics.enabled) {
+            long start = System.nanoTime();
+            ComplexArray result = forward(real, imag);
+            Algorithm algorithm = algorithm(real.length);
+            Metrics.recordTransform(algorithm, false, real.length, start, allocatedBytes(algorithm, real.length));
+            return result;
+        }
+        return forward(real, imag);
+    }
+
+    private static ComplexArray forward(double[] real, double[] imag) {
         final int N = real.length;
         if (N == 0) {
             return new ComplexArray(new double[] {}, new double[] {}, false);
@@ -75,16 +98,58 @@ public final class Fourier {
             dataI[1] = srcI0 - dataI[1];
             return new ComplexArray(dataR, dataI, false);
         }
+        if (!isPowerOfTwo(N) && !Codelets.supports(N)) {
+            return Bluestein.forwardDFT(real, imag);
+        }
         double[] dataR = real.clone();
         double[] dataI = imag.clone();
-        bitReversalShuffle(dataR, dataI);
-        fourTermForward(dataR, dataI, N);
-        combineEvenOdd(dataR, dataI, N, false);
-        postProcess(dataR, dataI, N, false);
+        fft(dataR, dataI, false);
         return new ComplexArray(dataR, dataI, false);
     }
 
     public static ComplexArray inverseDFT(ComplexArray freqs) {
+        if (Metrics.enabled) {
+            long start = System.nanoTime();
+            ComplexArray result = inverse(freqs);
+            Algorithm algorithm = algorithm(freqs.length());
+            Metrics.recordTransform(algorithm, true, freqs.length(), start, allocatedBytes(algorithm, freqs.length()));
+            return result;
+        }
+        return inverse(freqs);
+    }
+
+    /**
+     * Forward transform of the elements of a {@link ComplexView}. The view
+     * (with its stride, conjugation and scale applied) is gathered directly
+     * into the arrays of the result, there is no intermediate copy.
+     */
+    public static ComplexArray forwardDFT(ComplexView view) {
+        return transform(view, false);
+    }
+
+    /**
+     * Inverse transform of the elements of a {@link ComplexView}, see
+     * {@link #forwardDFT(ComplexView)}.
+     */
+    public static ComplexArray inverseDFT(ComplexView view) {
+        return transform(view, true);
+    }
+
+    private static ComplexArray transform(ComplexView view, boolean inverse) {
+        long start = Metrics.enabled ? System.nanoTime() : 0L;
+        final int N = view.length();
+        double[] re = new double[N];
+        double[] im = new double[N];
+        view.copyTo(re, im, 0);
+        inPlace(re, im, inverse);
+        if (Metrics.enabled) {
+            Algorithm algorithm = algorithm(N);
+            Metrics.recordTransform(algorithm, inverse, N, start, allocatedBytes(algorithm, N));
+        }
+        return new ComplexArray(re, im, false);
+    }
+
+    private static ComplexArray inverse(ComplexArray freqs) {
         final int N = freqs.length();
         if (N <= 1) {
             return new ComplexArray(freqs.re(), freqs.im(), true);
@@ -109,115 +174,170 @@ public final class Fourier {
             dataI[1] *= scaleFactor;
             return new ComplexArray(dataR, dataI, false);
         }
-        if (!isPowerOfTwo(N)) {
+        if (!isPowerOfTwo(N) && !Codelets.supports(N)) {
             return Bluestein.inverseDFT(freqs);
         }
         double[] dataR = freqs.re().clone();
         double[] dataI = freqs.im().clone();
-        bitReversalShuffle(dataR, dataI);
-        fourTermInverse(dataR, dataI, N);
-        combineEvenOdd(dataR, dataI, N, true);
-        postProcess(dataR, dataI, N, true);
+        fft(dataR, dataI, true);
         return new ComplexArray(dataR, dataI, false);
     }
 
-    private static void fourTermForward(double[] dataR, double[] dataI, int n) {
-        for (int i0 = 0; i0 < n; i0 += 4) {
-            int i1 = i0 + 1;
-            int i2 = i0 + 2;
-            int i3 = i0 + 3;
-
-            double srcR0 = dataR[i0];
-            double srcI0 = dataI[i0];
-            double srcR1 = dataR[i2];
-            double srcI1 = dataI[i2];
-            double srcR2 = dataR[i1];
-            double srcI2 = dataI[i1];
-            double srcR3 = dataR[i3];
-            double srcI3 = dataI[i3];
-
-            // 4-term DFT
-            // X_0 = x_0 + x_1 + x_2 + x_3
-            dataR[i0] = srcR0 + srcR1 + srcR2 + srcR3;
-            dataI[i0] = srcI0 + srcI1 + srcI2 + srcI3;
-            // X_1 = x_0 - x_2 + j * (x_3 - x_1)
-            dataR[i1] = srcR0 - srcR2 + (srcI1 - srcI3);
-            dataI[i1] = srcI0 - srcI2 + (srcR3 - srcR1);
-            // X_2 = x_0 - x_1 + x_2 - x_3
-            dataR[i2] = srcR0 - srcR1 + srcR2 - srcR3;
-            dataI[i2] = srcI0 - srcI1 + srcI2 - srcI3;
-            // X_3 = x_0 - x_2 + j * (x_1 - x_3)
-            dataR[i3] = srcR0 - srcR2 + (srcI3 - srcI1);
-            dataI[i3] = srcI0 - srcI2 + (srcR1 - srcR3);
+    /**
+     * Transforms {@code re} and {@code im} in place. The inverse transform is
+     * normalized by {@code 1/N} just like {@link #inverseDFT(ComplexArray)}.
+     * Power-of-two lengths do not allocate, all other lengths go through
+     * {@link Bluestein} and get copied back.
+     */
+    static void transform(double[] re, double[] im, boolean inverse) {
+        if (Metrics.enabled) {
+            long start = System.nanoTime();
+            inPlace(re, im, inverse);
+            final int N = re.length;
+            Algorithm algorithm = algorithm(N);
+            long allocated = (algorithm == Algorithm.BLUESTEIN) ? allocatedBytes(algorithm, N) : 0L;
+            Metrics.recordTransform(algorithm, inverse, N, start, allocated);
+            return;
+        }
+        inPlace(re, im, inverse);
+    }
+
+    /**
+     * {@link #transform(double[], double[], boolean)} without recording
+     * {@link Metrics}, for the sub-transforms of a transform that gets
+     * recorded itself (e.g. the convolution in {@link Bluestein}).
+     */
+    static void inPlace(double[] re, double[] im, boolean inverse) {
+        final int N = re.length;
+        if (N <= 1) {
+            return;
+        }
+        if (N == 2) {
+            double scaleFactor = inverse ? 0.5 : 1.0;
+            double srcR0 = re[0];
+            double srcI0 = im[0];
+            re[0] = (srcR0 + re[1]) * scaleFactor;
+            re[1] = (srcR0 - re[1]) * scaleFactor;
+            im[0] = (srcI0 + im[1]) * scaleFactor;
+            im[1] = (srcI0 - im[1]) * scaleFactor;
+            return;
+        }
+        if (!isPowerOfTwo(N) && !Codelets.supports(N)) {
+            ComplexArray res = inverse ? Bluestein.inverseDFT(new ComplexArray(re, im, false))
+                    : Bluestein.forwardDFT(re, im);
+            System.arraycopy(res.re(), 0, re, 0, N);
+            System.arraycopy(res.im(), 0, im, 0, N);
+            return;
+        }
+        fft(re, im, inverse);
+    }
+
+    /**
+     * In-place transform for lengths {@code N >= 3} that either have a
+     * {@link Codelets codelet} or are a power of two. The inverse runs the
+     * forward kernels on swapped real and imaginary parts.
+     */
+    private static void fft(double[] dataR, double[] dataI, boolean inverse) {
+        fft(dataR, dataI, inverse, true);
+    }
+
+    private static void fft(double[] dataR, double[] dataI, boolean inverse, boolean shuffle) {
+        final int N = dataR.length;
+        double[] re = inverse ? dataI : dataR;
+        double[] im = inverse ? dataR : dataI;
+        if (N <= Codelets.MAX_SIZE) {
+            Codelets.forward(re, im, N);
+        } else {
+            if (shuffle) {
+                bitReversalShuffle(dataR, dataI);
+            }
+            for (int off = 0; off < N; off += 16) {
+                Codelets.leaf16(re, im, off);
+            }
+            for (int off = 0; off < N; off += 32) {
+                Codelets.combine32(re, im, off);
+            }
+            if (N >= 64) {
+                for (int off = 0; off < N; off += 64) {
+                    Codelets.combine64(re, im, off);
+                }
+            }
+            combineEvenOdd(dataR, dataI, N, inverse);
         }
+        postProcess(dataR, dataI, N, inverse);
     }
 
-    private static void fourTermInverse(double[] dataR, double[] dataI, int n) {
-        for (int i0 = 0; i0 < n; i0 += 4) {
-            int i1 = i0 + 1;
-            int i2 = i0 + 2;
-            int i3 = i0 + 3;
-
-            double srcR0 = dataR[i0];
-            double srcI0 = dataI[i0];
-            double srcR1 = dataR[i2];
-            double srcI1 = dataI[i2];
-            double srcR2 = dataR[i1];
-            double srcI2 = dataI[i1];
-            double srcR3 = dataR[i3];
-            double srcI3 = dataI[i3];
-
-            // 4-term DFT
-            // X_0 = x_0 + x_1 + x_2 + x_3
-            dataR[i0] = srcR0 + srcR1 + srcR2 + srcR3;
-            dataI[i0] = srcI0 + srcI1 + srcI2 + srcI3;
-            // X_1 = x_0 - x_2 + j * (x_3 - x_1)
-            dataR[i1] = srcR0 - srcR2 + (srcI3 - srcI1);
-            dataI[i1] = srcI0 - srcI2 + (srcR1 - srcR3);
-            // X_2 = x_0 - x_1 + x_2 - x_3
-            dataR[i2] = srcR0 - srcR1 + srcR2 - srcR3;
-            dataI[i2] = srcI0 - srcI1 + srcI2 - srcI3;
-            // X_3 = x_0 - x_2 + j * (x_1 - x_3)
-            dataR[i3] = srcR0 - srcR2 + (srcI1 - srcI3);
-            dataI[i3] = srcI0 - srcI2 + (srcR3 - srcR1);
+    // the twiddle factor recurrence in combineEvenOdd() is restarted from an
+    // exact value every RESYNC_STEPS steps
+    private static final int RESYNC_STEPS = 64;
+    // cos and -sin of 2 pi RESYNC_STEPS j / n for 0 <= j < n / (2 RESYNC_STEPS),
+    // indexed by log2(n), computed on first use
+    private static final AtomicReferenceArray<double[][]> RESYNC_TWIDDLES = new AtomicReferenceArray<>(32);
+
+    private static double[][] resyncTwiddles(int n) {
+        int logN = Integer.numberOfTrailingZeros(n);
+        double[][] twiddles = RESYNC_TWIDDLES.get(logN);
+        if (twiddles == null) {
+            int count = n / (2 * RESYNC_STEPS);
+            double[] cos = new double[count];
+            double[] sin = new double[count];
+            for (int j = 0; j < count; ++j) {
+                double angle = (2.0 * Math.PI * RESYNC_STEPS * j) / n;
+                cos[j] = Math.cos(angle);
+                sin[j] = -Math.sin(angle);
+            }
+            twiddles = new double[][] { cos, sin };
+            RESYNC_TWIDDLES.compareAndSet(logN, null, twiddles);
         }
+        return twiddles;
     }
 
     private static void combineEvenOdd(double[] dataR, double[] dataI, int n, boolean doInverse) {
-        int lastN0 = 4;
-        int lastLogN0 = 2;
+        // the recurrence for the twiddle factors accumulates a rounding error
+        // proportional to the number of steps, it is therefore restarted from
+        // exact values in chunks of RESYNC_STEPS to keep large transforms accurate
+        double[][] resync = resyncTwiddles(n);
+        double[] resyncR = resync[0];
+        double[] resyncI = resync[1];
+        // the codelets have already produced transforms of size 64
+        int lastN0 = 64;
+        int lastLogN0 = 6;
         while (lastN0 < n) {
             int n0 = lastN0 << 1;
             int logN0 = lastLogN0 + 1;
             double wSubN0R = W_SUB_N_R[logN0];
             double wSubN0I = doInverse ? -W_SUB_N_I[logN0] : W_SUB_N_I[logN0];
+            // index step into the resync tables for this stage
+            int stride = n / n0;
 
             // Combine even/odd transforms of size lastN0 into a transform of
             // size N0 (lastN0 * 2).
             for (int destEvenStartIndex = 0; destEvenStartIndex < n; destEvenStartIndex += n0) {
                 int destOddStartIndex = destEvenStartIndex + lastN0;
 
-                double wSubN0ToRR = 1;
-                double wSubN0ToRI = 0;
-
-                for (int r = 0; r < lastN0; r++) {
-                    double grR = dataR[destEvenStartIndex + r];
-                    double grI = dataI[destEvenStartIndex + r];
-                    double hrR = dataR[destOddStartIndex + r];
-                    double hrI = dataI[destOddStartIndex + r];
-
-                    // dest[destEvenStartIndex + r] = Gr + WsubN0ToR * Hr
-                    dataR[destEvenStartIndex + r] = grR + wSubN0ToRR * hrR - wSubN0ToRI * hrI;
-                    dataI[destEvenStartIndex + r] = grI + wSubN0ToRR * hrI + wSubN0ToRI * hrR;
-                    // dest[destOddStartIndex + r] = Gr - WsubN0ToR * Hr
-                    dataR[destOddStartIndex + r] = grR - (wSubN0ToRR * hrR - wSubN0ToRI * hrI);
-                    dataI[destOddStartIndex + r] = grI - (wSubN0ToRR * hrI + wSubN0ToRI * hrR);
-
-                    // WsubN0ToR *= WsubN0R
-                    double nextWsubN0ToRR = wSubN0ToRR * wSubN0R - wSubN0ToRI * wSubN0I;
-                    double nextWsubN0ToRI = wSubN0ToRR * wSubN0I + wSubN0ToRI * wSubN0R;
-                    wSubN0ToRR = nextWsubN0ToRR;
-                    wSubN0ToRI = nextWsubN0ToRI;
+                for (int r0 = 0, j = 0; r0 < lastN0; r0 += RESYNC_STEPS, j += stride) {
+                    double wSubN0ToRR = resyncR[j];
+                    double wSubN0ToRI = doInverse ? -resyncI[j] : resyncI[j];
+
+                    for (int r = r0; r < r0 + RESYNC_STEPS; r++) {
+                        double grR = dataR[destEvenStartIndex + r];
+                        double grI = dataI[destEvenStartIndex + r];
+                        double hrR = dataR[destOddStartIndex + r];
+                        double hrI = dataI[destOddStartIndex + r];
+
+                        // dest[destEvenStartIndex + r] = Gr + WsubN0ToR * Hr
+                        dataR[destEvenStartIndex + r] = grR + wSubN0ToRR * hrR - wSubN0ToRI * hrI;
+                        dataI[destEvenStartIndex + r] = grI + wSubN0ToRR * hrI + wSubN0ToRI * hrR;
+                        // dest[destOddStartIndex + r] = Gr - WsubN0ToR * Hr
+                        dataR[destOddStartIndex + r] = grR - (wSubN0ToRR * hrR - wSubN0ToRI * hrI);
+                        dataI[destOddStartIndex + r] = grI - (wSubN0ToRR * hrI + wSubN0ToRI * hrR);
+
+                        // WsubN0ToR *= WsubN0R
+                        double nextWsubN0ToRR = wSubN0ToRR * wSubN0R - wSubN0ToRI * wSubN0I;
+                        double nextWsubN0ToRI = wSubN0ToRR * wSubN0I + wSubN0ToRI * wSubN0R;
+                        wSubN0ToRR = nextWsubN0ToRR;
+                        wSubN0ToRI = nextWsubN0ToRI;
+                    }
                 }
             }
 
@@ -278,6 +398,80 @@ public final class Fourier {
         }
     }
 
+    /**
+     * Returns {@code true} if {@link #forwardPrepared(double[])} expects its
+     * input of length {@code n} in bit-reversed order.
+     */
+    static boolean bitReversedInput(int n) {
+        return n > Codelets.MAX_SIZE && isPowerOfTwo(n);
+    }
+
+    /**
+     * Returns the successor of {@code j} in bit-reversed counting, where
+     * {@code halfOfN} is half the (power-of-two) length.
+     */
+    static int nextBitReversed(int j, int halfOfN) {
+        int k = halfOfN;
+        while (k <= j && k > 0) {
+            j -= k;
+            k >>= 1;
+        }
+        return j + k;
+    }
+
+    /**
+     * Forward transform of real data that the caller has written into a
+     * fresh working buffer, in bit-reversed order if
+     * {@link #bitReversedInput(int)} is {@code true}. The buffer becomes the
+     * real part of the result, so there is no defensive copy.
+     */
+    static ComplexArray forwardPrepared(double[] re) {
+        long start = Metrics.enabled ? System.nanoTime() : 0L;
+        final int N = re.length;
+        ComplexArray result;
+        if (bitReversedInput(N)) {
+            double[] im = new double[N];
+            fft(re, im, false, false);
+            result = new ComplexArray(re, im, false);
+        } else if (N <= 2 || Codelets.supports(N)) {
+            double[] im = new double[N];
+            inPlace(re, im, false);
+            result = new ComplexArray(re, im, false);
+        } else {
+            result = Bluestein.forwardDFT(re, null);
+        }
+        if (Metrics.enabled) {
+            Algorithm algorithm = algorithm(N);
+            Metrics.recordTransform(algorithm, false, N, start, allocatedBytes(algorithm, N));
+        }
+        return result;
+    }
+
+    static Algorithm algorithm(int n) {
+        if (n <= 1) {
+            return Algorithm.TRIVIAL;
+        }
+        if (n == 2) {
+            return Algorithm.SIZE_2;
+        }
+        if (Codelets.supports(n)) {
+            return Algorithm.CODELET;
+        }
+        return isPowerOfTwo(n) ? Algorithm.RADIX_2 : Algorithm.BLUESTEIN;
+    }
+
+    // estimated heap allocation of a transform of length n including its result
+    private static long allocatedBytes(Algorithm algorithm, int n) {
+        // result arrays + ComplexArray
+        long bytes = 2 * Metrics.arrayBytes(n) + 24L;
+        if (algorithm == Algorithm.BLUESTEIN) {
+            long m = Integer.highestOneBit(n) * 4L;
+            // chirp (2n), convolution operands (4m) and 3 ComplexArray wrappers
+            bytes += 2 * Metrics.arrayBytes(n) + 4 * Metrics.arrayBytes(m) + 3 * 24L;
+        }
+        return bytes;
+    }
+
     private static boolean isPowerOfTwo(int n) {
         return (n > 0) && ((n & (n - 1)) == 0);
     }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+/**
+ * Goertzel algorithm for evaluating the DFT of a block of data at a few,
+ * arbitrary (i.e., also non-integer) frequency bins. The cost is O(n) per
+ * requested bin, which beats a full transform whenever the number of bins
+ * is small compared to {@code log2(n)} (and for non-power-of-two lengths
+ * even far beyond that).
+ * <p>
+ * A bin {@code k} refers to the angular frequency {@code 2 pi k / n} where
+ * {@code n} is the length of the data block; a frequency {@code f} in Hz at
+ * sample rate {@code fs} corresponds to {@code k = f n / fs}. For integer
+ * {@code k} the result is identical to bin {@code k} of
+ * {@link Fourier#forwardDFT(double[])}.
+ */
+public final class Goertzel {
+
+    public static ComplexArray forwardDFT(double[] data, double[] bins) {
+        ComplexArray dest = new ComplexArray(bins.length);
+        forwardDFT(data, 0, data.length, bins, dest);
+        return dest;
+    }
+
+    /**
+     * Evaluates the DFT of {@code data[off..off+len)} at the given bins and
+     * writes the results into {@code dest} which must have the same length as
+     * {@code bins}. All bins are processed in a single pass over the data.
+     * An empty block has no DFT and is rejected with an
+     * {@code IllegalArgumentException}.
+     */
+    public static void forwardDFT(double[] data, int off, int len, double[] bins, ComplexArray dest) {
+        if (dest.length() != bins.length) {
+            throw new IllegalArgumentException("Unequal dimensions: " + dest.length() + " != " + bins.length);
+        }
+        final int count = bins.length;
+        double[] coeff = new double[count];
+        double[] s1 = new double[count];
+        double[] s2 = new double[count];
+        run(data, off, len, bins, coeff, s1, s2);
+        double[] re = dest.re();
+        double[] im = dest.im();
+        for (int i = 0; i < count; ++i) {
+            double omega = 2.0 * Math.PI * bins[i] / len;
+            // y = s1 - exp(-i omega) s2
+            double yr = s1[i] - Math.cos(omega) * s2[i];
+            double yi = Math.sin(omega) * s2[i];
+            // X = exp(-i omega (len - 1)) y
+            double phase = omega * (len - 1);
+            double c = Math.cos(phase);
+            double s = Math.sin(phase);
+            double re_i = yr * c + yi * s;
+            double im_i = yi * c - yr * s;
+            re[i] = (Math.abs(re_i) <= ComplexArray.TOL) ? 0.0 : re_i;
+            im[i] = (Math.abs(im_i) <= ComplexArray.TOL) ? 0.0 : im_i;
+        }
+    }
+
+    /**
+     * Returns the squared magnitudes of the DFT of {@code data} at the given
+     * bins. This skips the phase correction and is therefore cheaper than
+     * {@link #forwardDFT(double[], double[])}.
+     */
+    public static double[] absSquared(double[] data, double[] bins) {
+        final int count = bins.length;
+        final int len = data.length;
+        double[] coeff = new double[count];
+        double[] s1 = new double[count];
+        double[] s2 = new double[count];
+        run(data, 0, len, bins, coeff, s1, s2);
+        double[] power = new double[count];
+        for (int i = 0; i < count; ++i) {
+            double s1_i = s1[i];
+            double s2_i = s2[i];
+            double square = s1_i * s1_i + s2_i * s2_i - coeff[i] * s1_i * s2_i;
+            power[i] = (square <= ComplexArray.TOL) ? 0.0 : square;
+        }
+        return power;
+    }
+
+    private static void run(double[] data, int off, int len, double[] bins, double[] coeff, double[] s1,
+            double[] s2) {
+        if (len < 1) {
+            throw new IllegalArgumentException("len < 1 : " + len);
+        }
+        final int count = bins.length;
+        for (int i = 0; i < count; ++i) {
+            coeff[i] = 2.0 * Math.cos(2.0 * Math.PI * bins[i] / len);
+        }
+        // s[j] = x[j] + 2 cos(omega) s[j-1] - s[j-2]
+        for (int j = off; j < off + len; ++j) {
+            double x = data[j];
+            for (int i = 0; i < count; ++i) {
+                double s = x + coeff[i] * s1[i] - s2[i];
+                s2[i] = s1[i];
+                s1[i] = s;
+            }
+        }
+    }
+
+    private Goertzel() {
+        throw new AssertionError();
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import java.util.Arrays;
+
+/**
+ * Plan for the analytic signal {@code z = x + i H(x)} of a real signal
+ * {@code x} of even length {@code n}, where {@code H} is the (discrete)
+ * Hilbert transform. The spectrum of {@code x} is computed with a real FFT,
+ * the negative frequencies are dropped and the positive ones doubled while
+ * the half spectrum is copied into the working buffers, and a single inverse
+ * transform yields {@code z}. Envelope ({@code |z|}), instantaneous phase
+ * and instantaneous frequency are derived from {@code z} without further
+ * allocation.
+ * <p>
+ * For continuous signals {@link Streaming} processes blocks with overlap.
+ * <p>
+ * Instances hold scratch buffers and are not safe for concurrent use.
+ */
+public final class Hilbert {
+
+    private final int n;
+    private final RealFFT rfft;
+    // half spectrum
+    private final double[] hr;
+    private final double[] hi;
+    // analytic signal of the last call
+    private final double[] zr;
+    private final double[] zi;
+
+    public Hilbert(int n) {
+        if (n < 2 || (n & 1) != 0) {
+            throw new IllegalArgumentException("n must be even and >= 2 : " + n);
+        }
+        this.n = n;
+        rfft = new RealFFT(n);
+        hr = new double[n / 2 + 1];
+        hi = new double[n / 2 + 1];
+        zr = new double[n];
+        zi = new double[n];
+        Metrics.recordPlan(2 * Metrics.arrayBytes(n / 2 + 1) + 2 * Metrics.arrayBytes(n));
+    }
+
+    public int length() {
+        return n;
+    }
+
+    /**
+     * Returns the analytic signal of {@code x}.
+     */
+    public ComplexArray analytic(double[] x) {
+        ComplexArray z = new ComplexArray(n);
+        analytic(x, z);
+        return z;
+    }
+
+    /**
+     * Stores the analytic signal of {@code x} into {@code dest}.
+     */
+    public void analytic(double[] x, ComplexArray dest) {
+        checkLength(x.length);
+        checkLength(dest.length());
+        compute(x, 0);
+        System.arraycopy(zr, 0, dest.re(), 0, n);
+        System.arraycopy(zi, 0, dest.im(), 0, n);
+    }
+
+    /**
+     * Stores the Hilbert transform of {@code x} (the imaginary part of the
+     * analytic signal) into {@code dest}.
+     */
+    public void hilbert(double[] x, double[] dest) {
+        checkLength(x.length);
+        checkLength(dest.length);
+        compute(x, 0);
+        System.arraycopy(zi, 0, dest, 0, n);
+    }
+
+    /**
+     * Stores the envelope {@code |z|} of {@code x} into {@code dest}.
+     */
+    public void envelope(double[] x, double[] dest) {
+        checkLength(x.length);
+        checkLength(dest.length);
+        compute(x, 0);
+        for (int j = 0; j < n; ++j) {
+            dest[j] = Math.hypot(zr[j], zi[j]);
+        }
+    }
+
+    /**
+     * Stores the (wrapped) instantaneous phase {@code arg(z)} of {@code x}
+     * into {@code dest}.
+     */
+    public void instantaneousPhase(double[] x, double[] dest) {
+        checkLength(x.length);
+        checkLength(dest.length);
+        compute(x, 0);
+        for (int j = 0; j < n; ++j) {
+            dest[j] = Math.atan2(zi[j], zr[j]);
+        }
+    }
+
+    /**
+     * Stores the {@code n - 1} instantaneous frequencies (in Hz) between
+     * consecutive samples of {@code x} into {@code dest}. They are computed
+     * from the phase increments {@code arg(z[j+1] conj(z[j]))}, which needs
+     * no phase unwrapping.
+     */
+    public void instantaneousFrequency(double[] x, double sampleRate, double[] dest) {
+        checkLength(x.length);
+        if (dest.length != n - 1) {
+            throw new IllegalArgumentException("Unequal dimensions: " + dest.length + " != " + (n - 1));
+        }
+        compute(x, 0);
+        double scale = sampleRate / (2.0 * Math.PI);
+        for (int j = 0; j < n - 1; ++j) {
+            double a = zr[j + 1];
+            double b = zi[j + 1];
+            double c = zr[j];
+            double d = zi[j];
+            dest[j] = scale * Math.atan2(b * c - a * d, a * c + b * d);
+        }
+    }
+
+    private void compute(double[] x, int off) {
+        final int m = n / 2;
+        double[] hr = this.hr;
+        double[] hi = this.hi;
+        double[] zr = this.zr;
+        double[] zi = this.zi;
+        rfft.forward(x, off, hr, hi);
+        // DC and Nyquist are kept, positive frequencies doubled, negative
+        // frequencies zeroed
+        zr[0] = hr[0];
+        zi[0] = hi[0];
+        for (int k = 1; k < m; ++k) {
+            zr[k] = 2.0 * hr[k];
+            zi[k] = 2.0 * hi[k];
+        }
+        zr[m] = hr[m];
+        zi[m] = hi[m];
+        Arrays.fill(zr, m + 1, n, 0.0);
+        Arrays.fill(zi, m + 1, n, 0.0);
+        Fourier.transform(zr, zi, true);
+        for (int j = 0; j < n; ++j) {
+            if (Math.abs(zr[j]) <= ComplexArray.TOL) {
+                zr[j] = 0.0;
+            }
+            if (Math.abs(zi[j]) <= ComplexArray.TOL) {
+                zi[j] = 0.0;
+            }
+        }
+    }
+
+    private void checkLength(int length) {
+        if (length != n) {
+            throw new IllegalArgumentException("Unequal dimensions: " + length + " != " + n);
+        }
+    }
+
+    /**
+     * Block-wise analytic signal of a continuous stream. Every block of
+     * {@code n = hop + 2 * overlap} samples is transformed with a
+     * {@link Hilbert} plan, and only its {@code hop} central samples are
+     * emitted; the {@code overlap} samples at either edge, which are
+     * distorted by the circular wrap-around of the block transform, are
+     * discarded. The output therefore lags the input by
+     * {@link #latency()} samples (it is complete once {@link #flush} has been
+     * called). Larger overlaps reduce the edge error for signals whose
+     * frequencies don't fall on bin centers.
+     * <p>
+     * Instances are not safe for concurrent use.
+     */
+    public static final class Streaming {
+
+        private final Hilbert plan;
+        private final int hop;
+        private final int overlap;
+        private final double[] buffer;
+        private int filled;
+        private long pending;
+
+        /**
+         * @param hop
+         *            the number of output samples per block
+         * @param overlap
+         *            the number of samples discarded at either edge of a
+         *            block, {@code hop + 2 * overlap} must be even
+         */
+        public Streaming(int hop, int overlap) {
+            if (hop < 1 || overlap < 0) {
+                throw new IllegalArgumentException("Invalid hop " + hop + " / overlap " + overlap);
+            }
+            this.plan = new Hilbert(hop + 2 * overlap);
+            this.hop = hop;
+            this.overlap = overlap;
+            this.buffer = new double[plan.n];
+            reset();
+        }
+
+        /**
+         * The number of samples between a sample entering {@link #process}
+         * and its analytic value being emitted at the latest.
+         */
+        public int latency() {
+            return hop + overlap - 1;
+        }
+
+        public int blockLength() {
+            return plan.n;
+        }
+
+        /**
+         * Feeds {@code len} samples and writes the analytic signal of every
+         * completed block to {@code re} and {@code im} starting at
+         * {@code outOff}. Returns the number of samples written, which is a
+         * multiple of {@code hop} and at most
+         * {@code hop * ((len + hop - 1) / hop + 1)}.
+         */
+        public int process(double[] in, int off, int len, double[] re, double[] im, int outOff) {
+            return process(in, off, len, re, im, outOff, false);
+        }
+
+        /**
+         * Like {@link #process(double[], int, int, double[], double[], int)}
+         * but writes the envelope {@code |z|} only.
+         */
+        public int processEnvelope(double[] in, int off, int len, double[] envelope, int outOff) {
+            return process(in, off, len, envelope, null, outOff, true);
+        }
+
+        /**
+         * Pads the stream with zeros until every sample fed so far has been
+         * emitted and writes the analytic signal of the remaining samples
+         * (the stream is reset afterwards). Returns the number of samples
+         * written, which is less than or equal to {@link #latency()}.
+         */
+        public int flush(double[] re, double[] im, int outOff) {
+            return flush(re, im, outOff, false);
+        }
+
+        /**
+         * Like {@link #flush(double[], double[], int)} but writes the envelope
+         * {@code |z|} only.
+         */
+        public int flushEnvelope(double[] envelope, int outOff) {
+            return flush(envelope, null, outOff, true);
+        }
+
+        public void reset() {
+            Arrays.fill(buffer, 0.0);
+            // the first block is preceded by overlap zeros
+            filled = overlap;
+            pending = 0L;
+        }
+
+        private int process(double[] in, int off, int len, double[] re, double[] im, int outOff,
+                boolean envelope) {
+            final int n = plan.n;
+            double[] buffer = this.buffer;
+            int written = 0;
+            pending += len;
+            while (len > 0) {
+                int chunk = Math.min(len, n - filled);
+                System.arraycopy(in, off, buffer, filled, chunk);
+                filled += chunk;
+                off += chunk;
+                len -= chunk;
+                if (filled == n) {
+                    int count = (int) Math.min(hop, pending);
+                    emit(re, im, outOff + written, count, envelope);
+                    written += count;
+                    pending -= count;
+                    // keep the last 2 * overlap samples as the start of the next block
+                    System.arraycopy(buffer, hop, buffer, 0, n - hop);
+                    filled = n - hop;
+                }
+            }
+            return written;
+        }
+
+        private int flush(double[] re, double[] im, int outOff, boolean envelope) {
+            final int n = plan.n;
+            int written = 0;
+            while (pending > 0) {
+                Arrays.fill(buffer, filled, n, 0.0);
+                int count = (int) Math.min(hop, pending);
+                emit(re, im, outOff + written, count, envelope);
+                written += count;
+                pending -= count;
+                System.arraycopy(buffer, hop, buffer, 0, n - hop);
+                filled = Math.max(filled - hop, 0);
+            }
+            reset();
+            return written;
+        }
+
+        private void emit(double[] re, double[] im, int outOff, int count, boolean envelope) {
+            plan.compute(buffer, 0);
+            double[] zr = plan.zr;
+            double[] zi = plan.zi;
+            if (envelope) {
+                for (int j = 0; j < count; ++j) {
+                    re[outOff + j] = Math.hypot(zr[overlap + j], zi[overlap + j]);
+                }
+            } else {
+                System.arraycopy(zr, overlap, re, outOff, count);
+                System.arraycopy(zi, overlap, im, outOff, count);
+            }
+        }
+    }
+}
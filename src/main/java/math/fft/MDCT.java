@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+/**
+ * Plan for the (unwindowed) modified discrete cosine transform that maps
+ * {@code 2n} input samples onto {@code n} coefficients and its inverse. Both
+ * directions fold the data onto a DCT-IV of length {@code n} which, in turn,
+ * uses a complex FFT of length {@code n/2}.
+ * <p>
+ * Definitions ({@code 0 <= k < n}, {@code 0 <= j < 2n}):
+ * <ul>
+ * <li>MDCT: {@code X[k] = sum x[j] cos(pi/n (j + 1/2 + n/2) (k + 1/2))}</li>
+ * <li>IMDCT: {@code y[j] = 1/n sum X[k] cos(pi/n (j + 1/2 + n/2) (k + 1/2))}</li>
+ * </ul>
+ * With this normalization, overlap-adding the IMDCT outputs of consecutive
+ * blocks with hop size {@code n} reconstructs the input (time-domain aliasing
+ * cancellation) once the blocks are windowed before the MDCT and after the
+ * IMDCT with a window that satisfies the Princen-Bradley condition
+ * {@code w[j]^2 + w[j+n]^2 = 2}.
+ * <p>
+ * Instances hold scratch buffers and are not safe for concurrent use.
+ */
+public final class MDCT {
+
+    private final int n;
+    private final DCT dct4;
+    private final double[] u;
+
+    public MDCT(int n) {
+        if (n < 2 || (n & 1) != 0) {
+            throw new IllegalArgumentException("n must be even and >= 2 : " + n);
+        }
+        this.n = n;
+        dct4 = new DCT(n);
+        u = new double[n];
+        Metrics.recordPlan(Metrics.arrayBytes(n));
+    }
+
+    /**
+     * Returns the number of coefficients {@code n} (the input length is
+     * {@code 2n}).
+     */
+    public int length() {
+        return n;
+    }
+
+    public double[] forward(double[] x) {
+        if (x.length != 2 * n) {
+            throw new IllegalArgumentException("Unequal dimensions: " + x.length + " != " + (2 * n));
+        }
+        double[] coeffs = new double[n];
+        forward(x, 0, coeffs);
+        return coeffs;
+    }
+
+    /**
+     * Computes the MDCT of {@code x[off..off+2n)} into {@code dest[0..n)}.
+     */
+    public void forward(double[] x, int off, double[] dest) {
+        final int n = this.n;
+        final int h = n / 2;
+        double[] u = this.u;
+        // with x = (a, b, c, d) fold into (-c_r - d, a - b_r)
+        for (int i = 0; i < h; ++i) {
+            u[i] = -x[off + 3 * h - 1 - i] - x[off + 3 * h + i];
+            u[h + i] = x[off + i] - x[off + n - 1 - i];
+        }
+        dct4.dct4InPlace(u);
+        System.arraycopy(u, 0, dest, 0, n);
+    }
+
+    public double[] inverse(double[] coeffs) {
+        if (coeffs.length != n) {
+            throw new IllegalArgumentException("Unequal dimensions: " + coeffs.length + " != " + n);
+        }
+        double[] y = new double[2 * n];
+        inverse(coeffs, y, 0);
+        return y;
+    }
+
+    /**
+     * Computes the IMDCT of {@code coeffs[0..n)} into {@code dest[off..off+2n)}.
+     */
+    public void inverse(double[] coeffs, double[] dest, int off) {
+        final int n = this.n;
+        final int h = n / 2;
+        double[] u = this.u;
+        System.arraycopy(coeffs, 0, u, 0, n);
+        dct4.dct4InPlace(u);
+        // unfold (u1, u2) into (u2, -u2_r, -u1_r, -u1) and scale by 1/n
+        double scale = 1.0 / n;
+        for (int i = 0; i < h; ++i) {
+            dest[off + i] = scale * u[h + i];
+            dest[off + n - 1 - i] = -scale * u[h + i];
+            dest[off + n + i] = -scale * u[h - 1 - i];
+            dest[off + 2 * n - 1 - i] = -scale * u[h - 1 - i];
+        }
+    }
+}
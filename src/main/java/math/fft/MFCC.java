@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+/**
+ * Plan for mel-frequency cepstral coefficients of real frames of an even
+ * length {@code n}. Each frame is windowed, transformed with a real FFT, and
+ * the power spectrum {@code |X[k]|^2 / n} of bins {@code 0..n/2} is fed
+ * directly into a bank of triangular mel filters without being stored. The
+ * filter weights are kept in sparse form (only the non-zero bins of each
+ * triangle), so the filterbank costs {@code O(n)} instead of
+ * {@code O(n * filters)} per frame. The log filter energies are finally
+ * transformed with an orthonormal DCT-II whose cosine matrix is cached.
+ * <p>
+ * The mel scale is {@code 2595 log10(1 + f / 700)}, the filters have unit
+ * peak and overlap by half their width, the log is the natural log of the
+ * energy clamped to {@code 1e-10}.
+ * <p>
+ * Instances hold scratch buffers and are not safe for concurrent use.
+ */
+public final class MFCC {
+
+    private static final double LOG_FLOOR = 1e-10;
+
+    private final int n;
+    private final int filters;
+    private final int coefficients;
+    private final double[] window;
+    private final RealFFT fft;
+    // filter m covers bins firstBin[m] .. firstBin[m] + (offset[m+1] - offset[m]) - 1
+    private final int[] firstBin;
+    private final int[] offset;
+    private final double[] weights;
+    private final double[] centers;
+    // dct[c * filters + m]
+    private final double[] dct;
+    // scratch
+    private final double[] frame;
+    private final double[] re;
+    private final double[] im;
+    private final double[] energies;
+
+    /**
+     * @param frameLength
+     *            the (even) length of a frame and of the FFT
+     * @param sampleRate
+     *            the sample rate in Hz
+     * @param filters
+     *            the number of mel filters
+     * @param coefficients
+     *            the number of cepstral coefficients,
+     *            {@code 1 <= coefficients <= filters}
+     * @param lowHz
+     *            the lower edge of the first filter
+     * @param highHz
+     *            the upper edge of the last filter,
+     *            {@code lowHz < highHz <= sampleRate / 2}
+     * @param window
+     *            the window applied to each frame
+     */
+    public MFCC(int frameLength, double sampleRate, int filters, int coefficients, double lowHz, double highHz,
+            Window window) {
+        this(frameLength, sampleRate, filters, coefficients, lowHz, highHz, window.coefficients(frameLength));
+    }
+
+    public MFCC(int frameLength, double sampleRate, int filters, int coefficients, double lowHz, double highHz,
+            double[] window) {
+        if (frameLength < 2 || (frameLength & 1) != 0) {
+            throw new IllegalArgumentException("frameLength must be even and >= 2 : " + frameLength);
+        }
+        if (!(sampleRate > 0.0)) {
+            throw new IllegalArgumentException("sampleRate must be > 0 : " + sampleRate);
+        }
+        if (filters < 1 || coefficients < 1 || coefficients > filters) {
+            throw new IllegalArgumentException("Invalid filters " + filters + " / coefficients " + coefficients);
+        }
+        if (!(lowHz >= 0.0 && lowHz < highHz && highHz <= 0.5 * sampleRate)) {
+            throw new IllegalArgumentException("Invalid band [" + lowHz + ", " + highHz + "]");
+        }
+        if (window.length != frameLength) {
+            throw new IllegalArgumentException("Unequal dimensions: " + window.length + " != " + frameLength);
+        }
+        this.n = frameLength;
+        this.filters = filters;
+        this.coefficients = coefficients;
+        this.window = window.clone();
+        fft = new RealFFT(frameLength);
+        final int half = frameLength / 2;
+        // filter edges in Hz
+        double melLow = hzToMel(lowHz);
+        double melHigh = hzToMel(highHz);
+        double[] edges = new double[filters + 2];
+        for (int m = 0; m < edges.length; ++m) {
+            edges[m] = melToHz(melLow + (melHigh - melLow) * m / (filters + 1));
+        }
+        centers = new double[filters];
+        firstBin = new int[filters];
+        offset = new int[filters + 1];
+        double binHz = sampleRate / frameLength;
+        // first pass: bin ranges
+        for (int m = 0; m < filters; ++m) {
+            int lo = (int) Math.floor(edges[m] / binHz) + 1;
+            int hi = Math.min((int) Math.ceil(edges[m + 2] / binHz) - 1, half);
+            lo = Math.max(lo, 0);
+            firstBin[m] = lo;
+            offset[m + 1] = offset[m] + Math.max(hi - lo + 1, 0);
+            centers[m] = edges[m + 1];
+        }
+        weights = new double[offset[filters]];
+        for (int m = 0; m < filters; ++m) {
+            double left = edges[m];
+            double center = edges[m + 1];
+            double right = edges[m + 2];
+            for (int i = offset[m], k = firstBin[m]; i < offset[m + 1]; ++i, ++k) {
+                double f = k * binHz;
+                double w = (f <= center) ? (f - left) / (center - left) : (right - f) / (right - center);
+                weights[i] = Math.max(w, 0.0);
+            }
+        }
+        dct = new double[coefficients * filters];
+        double c0 = Math.sqrt(1.0 / filters);
+        double c1 = Math.sqrt(2.0 / filters);
+        for (int c = 0; c < coefficients; ++c) {
+            double norm = (c == 0) ? c0 : c1;
+            for (int m = 0; m < filters; ++m) {
+                dct[c * filters + m] = norm * Math.cos(Math.PI * c * (2 * m + 1) / (2.0 * filters));
+            }
+        }
+        frame = new double[frameLength];
+        re = new double[half + 1];
+        im = new double[half + 1];
+        energies = new double[filters];
+        Metrics.recordPlan(2 * Metrics.arrayBytes(frameLength) + 2 * Metrics.arrayBytes(half + 1)
+                + Metrics.arrayBytes(weights.length) + Metrics.arrayBytes(dct.length)
+                + 3 * Metrics.arrayBytes(filters));
+    }
+
+    static double hzToMel(double hz) {
+        return 2595.0 * Math.log10(1.0 + hz / 700.0);
+    }
+
+    static double melToHz(double mel) {
+        return 700.0 * (Math.pow(10.0, mel / 2595.0) - 1.0);
+    }
+
+    /**
+     * Returns the number of frames that fit into a signal of the given length
+     * when consecutive frames start {@code hop} samples apart.
+     */
+    public int frames(int signalLength, int hop) {
+        if (hop < 1) {
+            throw new IllegalArgumentException("hop must be >= 1 : " + hop);
+        }
+        return (signalLength < n) ? 0 : 1 + (signalLength - n) / hop;
+    }
+
+    /**
+     * Computes the coefficients of all frames of {@code signal} (frame
+     * {@code f} starts at {@code f * hop}) into the rows of {@code dest} and
+     * returns the number of frames.
+     */
+    public int process(double[] signal, int hop, double[][] dest) {
+        final int frames = frames(signal.length, hop);
+        if (dest.length < frames) {
+            throw new IllegalArgumentException("dest has " + dest.length + " rows, need " + frames);
+        }
+        for (int f = 0; f < frames; ++f) {
+            coefficients(signal, f * hop, dest[f], 0);
+        }
+        return frames;
+    }
+
+    /**
+     * Computes the cepstral coefficients of {@code x[off..off+n)} into
+     * {@code dest[destOff..destOff+coefficients)}.
+     */
+    public void coefficients(double[] x, int off, double[] dest, int destOff) {
+        checkRange(dest.length, destOff, coefficients);
+        double[] energies = this.energies;
+        melEnergies(x, off, energies, 0);
+        for (int m = 0; m < filters; ++m) {
+            energies[m] = Math.log(Math.max(energies[m], LOG_FLOOR));
+        }
+        final int filters = this.filters;
+        double[] dct = this.dct;
+        for (int c = 0, row = 0; c < coefficients; ++c, row += filters) {
+            double sum = 0.0;
+            for (int m = 0; m < filters; ++m) {
+                sum += dct[row + m] * energies[m];
+            }
+            dest[destOff + c] = (Math.abs(sum) <= ComplexArray.TOL) ? 0.0 : sum;
+        }
+    }
+
+    /**
+     * Computes the (linear) mel filter energies of {@code x[off..off+n)} into
+     * {@code dest[destOff..destOff+filters)}.
+     */
+    public void melEnergies(double[] x, int off, double[] dest, int destOff) {
+        checkRange(x.length, off, n);
+        checkRange(dest.length, destOff, filters);
+        double[] frame = this.frame;
+        double[] window = this.window;
+        for (int j = 0; j < frame.length; ++j) {
+            frame[j] = window[j] * x[off + j];
+        }
+        double[] re = this.re;
+        double[] im = this.im;
+        fft.forward(frame, 0, re, im);
+        final double scale = 1.0 / n;
+        double[] weights = this.weights;
+        for (int m = 0; m < filters; ++m) {
+            double sum = 0.0;
+            for (int i = offset[m], k = firstBin[m]; i < offset[m + 1]; ++i, ++k) {
+                double re_k = re[k];
+                double im_k = im[k];
+                sum += weights[i] * (re_k * re_k + im_k * im_k);
+            }
+            dest[destOff + m] = scale * sum;
+        }
+    }
+
+    /**
+     * Returns the center frequencies (in Hz) of the mel filters.
+     */
+    public double[] centerFrequencies() {
+        return centers.clone();
+    }
+
+    public int frameLength() {
+        return n;
+    }
+
+    public int filters() {
+        return filters;
+    }
+
+    public int coefficients() {
+        return coefficients;
+    }
+
+    private static void checkRange(int length, int off, int count) {
+        if (off < 0 || off > length - count) {
+            throw new IllegalArgumentException("Invalid range [" + off + ", " + (off + count) + ") for length " + length);
+        }
+    }
+}
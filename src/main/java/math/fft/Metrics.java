@@ -0,0 +1,326 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import math.fft.TransformListener.Algorithm;
+
+/**
+ * Opt-in instrumentation of the transforms computed by {@link Fourier}. While
+ * disabled (the default) the only cost on the hot path is a single read of a
+ * volatile flag.
+ * <p>
+ * Every call of one of the public {@code forwardDFT} / {@code inverseDFT}
+ * methods and of the package-private in-place transform and
+ * {@code forwardDFT(double[], double[])} that the other classes of this
+ * package ({@link RealFFT}, {@link ChirpZ}, {@link ConstantQ},
+ * {@link PairedRealFFT}, ...) are built on counts as one transform. The
+ * power-of-two convolutions inside a {@link Bluestein} transform are not
+ * counted separately.
+ * <p>
+ * When enabled, transforms are counted per {@link Algorithm} and
+ * power-of-two size class, their latencies are recorded in power-of-two
+ * nanosecond buckets, and an estimate of the bytes they allocate is summed
+ * up. Additionally, the number of plans created (constructions of
+ * {@link DCT}, {@link ChirpZ}, {@link RealFFT}, ... and the kernels computed
+ * by {@link ConstantQ} on a cache miss) and the size of their precomputed
+ * tables is tracked. Plans are not shared, so there are no cache hits to
+ * report.
+ * Registered {@link TransformListener}s get notified of every transform.
+ * The aggregated numbers are exposed through a {@link MetricsMXBean} which
+ * can be registered with {@link #registerMBean()}.
+ */
+public final class Metrics {
+
+    /** The name under which {@link #registerMBean()} registers the MXBean */
+    public static final String OBJECT_NAME = "math.fft:type=Metrics";
+
+    private static final Algorithm[] ALGORITHMS = Algorithm.values();
+    private static final int SIZE_CLASSES = 32;
+    private static final int LATENCY_BUCKETS = 64;
+
+    static volatile boolean enabled;
+
+    private static final CopyOnWriteArrayList<TransformListener> listeners = new CopyOnWriteArrayList<>();
+
+    private static final LongAdder[][] counts = newAdders(ALGORITHMS.length, SIZE_CLASSES);
+    private static final LongAdder[][] latencies = newAdders(ALGORITHMS.length, LATENCY_BUCKETS);
+    private static final LongAdder[] nanos = newAdders(1, ALGORITHMS.length)[0];
+    private static final LongAdder[] bytes = newAdders(1, ALGORITHMS.length)[0];
+    private static final LongAdder plansCreated = new LongAdder();
+    private static final LongAdder planBytes = new LongAdder();
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void addListener(TransformListener listener) {
+        if (listener == null) {
+            throw new NullPointerException("listener");
+        }
+        listeners.addIfAbsent(listener);
+    }
+
+    public static void removeListener(TransformListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the number of transforms recorded for the given algorithm.
+     */
+    public static long count(Algorithm algorithm) {
+        long sum = 0L;
+        for (LongAdder adder : counts[algorithm.ordinal()]) {
+            sum += adder.sum();
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the number of transforms recorded for the given algorithm and
+     * sizes in {@code [2^sizeClass, 2^(sizeClass+1))} (size class {@code 0}
+     * also contains the empty transform).
+     */
+    public static long count(Algorithm algorithm, int sizeClass) {
+        return counts[algorithm.ordinal()][sizeClass].sum();
+    }
+
+    /**
+     * Returns the latency histogram of the given algorithm. Element
+     * {@code i} counts the transforms that took
+     * {@code [2^i, 2^(i+1))} nanoseconds (element {@code 0} also counts
+     * those that took less than a nanosecond).
+     */
+    public static long[] latencyHistogram(Algorithm algorithm) {
+        LongAdder[] buckets = latencies[algorithm.ordinal()];
+        long[] histogram = new long[buckets.length];
+        for (int i = 0; i < buckets.length; ++i) {
+            histogram[i] = buckets[i].sum();
+        }
+        return histogram;
+    }
+
+    public static long totalNanos(Algorithm algorithm) {
+        return nanos[algorithm.ordinal()].sum();
+    }
+
+    public static long allocatedBytes(Algorithm algorithm) {
+        return bytes[algorithm.ordinal()].sum();
+    }
+
+    /**
+     * Returns the number of plans created while enabled, see the class
+     * documentation for what counts as a plan.
+     */
+    public static long plansCreated() {
+        return plansCreated.sum();
+    }
+
+    /**
+     * Returns the estimated bytes of the precomputed tables of all plans
+     * counted by {@link #plansCreated()}.
+     */
+    public static long planBytes() {
+        return planBytes.sum();
+    }
+
+    public static void reset() {
+        for (int i = 0; i < ALGORITHMS.length; ++i) {
+            reset(counts[i]);
+            reset(latencies[i]);
+        }
+        reset(nanos);
+        reset(bytes);
+        plansCreated.reset();
+        planBytes.reset();
+    }
+
+    /**
+     * Registers the {@link MetricsMXBean} with the platform MBean server under
+     * {@link #OBJECT_NAME} (if not already registered).
+     */
+    public static ObjectName registerMBean() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MXBeanImpl(), name);
+            }
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static void unregisterMBean() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static void recordTransform(Algorithm algorithm, boolean inverse, int size, long start, long allocated) {
+        long elapsed = System.nanoTime() - start;
+        int alg = algorithm.ordinal();
+        counts[alg][log2(size)].increment();
+        latencies[alg][log2(elapsed)].increment();
+        nanos[alg].add(elapsed);
+        bytes[alg].add(allocated);
+        for (TransformListener listener : listeners) {
+            listener.transformed(algorithm, inverse, size, elapsed, allocated);
+        }
+    }
+
+    static void recordPlan(long tableBytes) {
+        if (enabled) {
+            plansCreated.increment();
+            planBytes.add(tableBytes);
+        }
+    }
+
+    /**
+     * Rough estimate of the heap footprint of a {@code double[]} of the
+     * given length (16 byte header).
+     */
+    static long arrayBytes(long length) {
+        return 16L + 8L * length;
+    }
+
+    private static int log2(long x) {
+        return (x <= 1L) ? 0 : 63 - Long.numberOfLeadingZeros(x);
+    }
+
+    private static LongAdder[][] newAdders(int rows, int cols) {
+        LongAdder[][] adders = new LongAdder[rows][cols];
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < cols; ++j) {
+                adders[i][j] = new LongAdder();
+            }
+        }
+        return adders;
+    }
+
+    private static void reset(LongAdder[] adders) {
+        for (LongAdder adder : adders) {
+            adder.reset();
+        }
+    }
+
+    private static final class MXBeanImpl implements MetricsMXBean {
+        @Override
+        public boolean isEnabled() {
+            return Metrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            Metrics.enabled = enabled;
+        }
+
+        @Override
+        public Map<String, Long> getCounts() {
+            Map<String, Long> map = new TreeMap<>();
+            for (Algorithm alg : ALGORITHMS) {
+                map.put(alg.name(), count(alg));
+            }
+            return map;
+        }
+
+        @Override
+        public Map<String, Long> getCountsBySize() {
+            return nonZeroBuckets(counts);
+        }
+
+        @Override
+        public Map<String, Long> getLatencyHistogram() {
+            return nonZeroBuckets(latencies);
+        }
+
+        @Override
+        public Map<String, Double> getMeanLatencyNanos() {
+            Map<String, Double> map = new TreeMap<>();
+            for (Algorithm alg : ALGORITHMS) {
+                long count = count(alg);
+                map.put(alg.name(), (count == 0L) ? 0.0 : (double) totalNanos(alg) / count);
+            }
+            return map;
+        }
+
+        @Override
+        public Map<String, Long> getAllocatedBytes() {
+            Map<String, Long> map = new TreeMap<>();
+            for (Algorithm alg : ALGORITHMS) {
+                map.put(alg.name(), allocatedBytes(alg));
+            }
+            return map;
+        }
+
+        @Override
+        public long getPlansCreated() {
+            return plansCreated();
+        }
+
+        @Override
+        public long getPlanBytes() {
+            return planBytes();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+
+        private static Map<String, Long> nonZeroBuckets(LongAdder[][] adders) {
+            Map<String, Long> map = new TreeMap<>();
+            for (Algorithm alg : ALGORITHMS) {
+                LongAdder[] buckets = adders[alg.ordinal()];
+                for (int i = 0; i < buckets.length; ++i) {
+                    long count = buckets[i].sum();
+                    if (count != 0L) {
+                        map.put(alg.name() + '/' + (1L << i), count);
+                    }
+                }
+            }
+            return map;
+        }
+    }
+
+    private Metrics() {
+        throw new AssertionError();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import java.util.Map;
+
+/**
+ * JMX view of the {@link Metrics}. Map keys are the names of the
+ * {@link TransformListener.Algorithm} constants, optionally followed by a
+ * {@code '/'} and the lower bound of the size class or latency bucket.
+ */
+public interface MetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /** number of transforms per algorithm */
+    Map<String, Long> getCounts();
+
+    /** number of transforms per algorithm and power-of-two size class */
+    Map<String, Long> getCountsBySize();
+
+    /** number of transforms per algorithm and power-of-two latency bucket (ns) */
+    Map<String, Long> getLatencyHistogram();
+
+    /** mean latency per algorithm in nanoseconds */
+    Map<String, Double> getMeanLatencyNanos();
+
+    /** estimated allocated bytes per algorithm */
+    Map<String, Long> getAllocatedBytes();
+
+    /** number of plans (DCT, ChirpZ, ConstantQ kernels, ...) created */
+    long getPlansCreated();
+
+    /** estimated bytes retained by the precomputed tables of all plans created */
+    long getPlanBytes();
+
+    void reset();
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import java.util.Arrays;
+
+/**
+ * Plan for the one-dimensional non-uniform FFT of type 1 (non-uniform
+ * points to uniform frequencies) and type 2 (uniform frequencies to
+ * non-uniform points) for {@code M} modes
+ * {@code k = -M/2, ..., M - M/2 - 1}:
+ * <ul>
+ * <li>type 1: {@code F[k] = sum_j c[j] exp(-i k x[j])}</li>
+ * <li>type 2: {@code f[j] = sum_k F[k] exp(i k x[j])}</li>
+ * </ul>
+ * The points {@code x[j]} are arbitrary real numbers (interpreted modulo
+ * {@code 2 pi}). Mode {@code k} is stored at index {@code k + M/2}. For
+ * equispaced points {@code x[j] = 2 pi j / M} type 1 is the DFT of
+ * {@link Fourier#forwardDFT(double[])} in {@code fftshift} order.
+ * <p>
+ * Uses Gaussian gridding (Greengard and Lee, "Accelerating the Nonuniform
+ * Fast Fourier Transform", SIAM Review 46, 2004): the points are spread onto
+ * an oversampled uniform grid of at least {@code 2M} points with a Gaussian
+ * kernel, which is transformed with a standard FFT and deconvolved
+ * (type 2 runs the same steps in reverse order). The spreading weights are
+ * factored into a per-point part and a precomputed per-offset part, so that
+ * spreading costs a few multiplications per grid point. The kernel width is
+ * derived from the requested tolerance. The total cost is
+ * {@code O(M log M + N w)} for {@code N} points and kernel width {@code w}
+ * instead of {@code O(N M)} for the direct sum.
+ * <p>
+ * Instances hold scratch buffers and are not safe for concurrent use.
+ */
+public final class NUFFT {
+
+    private static final double TWO_PI = 2.0 * Math.PI;
+
+    private final int modes;
+    // oversampled grid size
+    private final int gridSize;
+    // kernel half width, the kernel covers 2 * spread grid points
+    private final int spread;
+    // Gaussian kernel exp(-x^2 / (4 tau))
+    private final double tau;
+    // exp(-(pi l / gridSize)^2 / tau) for 0 <= l <= spread
+    private final double[] e3;
+    // deconvolution factors sqrt(pi / tau) exp(k^2 tau) / gridSize per mode
+    private final double[] deconv;
+    private final double[] gridRe;
+    private final double[] gridIm;
+
+    /**
+     * @param modes
+     *            the number {@code M} of uniform frequencies
+     * @param tolerance
+     *            the requested relative accuracy, between {@code 1e-15} and
+     *            {@code 1e-1}
+     */
+    public NUFFT(int modes, double tolerance) {
+        if (modes < 1) {
+            throw new IllegalArgumentException("modes < 1 : " + modes);
+        }
+        if (!(tolerance >= 1e-15 && tolerance <= 1e-1)) {
+            throw new IllegalArgumentException("tolerance must be in [1e-15, 1e-1] : " + tolerance);
+        }
+        this.modes = modes;
+        this.gridSize = Math.max(16, Integer.highestOneBit(2 * modes - 1) << 1);
+        double r = (double) gridSize / modes;
+        // the error decays like exp(-spread * pi * (r - 1) / (r - 1/2))
+        int sp = (int) Math.ceil(-Math.log(tolerance) * (r - 0.5) / (Math.PI * (r - 1.0)));
+        // kernels wider than the grid wrap around, which is the periodization
+        // the method relies on anyway
+        this.spread = Math.max(sp, 2);
+        this.tau = Math.PI * spread / ((double) modes * modes * r * (r - 0.5));
+        e3 = new double[spread + 1];
+        for (int l = 0; l <= spread; ++l) {
+            double t = Math.PI * l / gridSize;
+            e3[l] = Math.exp(-t * t / tau);
+        }
+        deconv = new double[modes];
+        double norm = Math.sqrt(Math.PI / tau) / gridSize;
+        for (int i = 0; i < modes; ++i) {
+            int k = i - modes / 2;
+            deconv[i] = norm * Math.exp(k * (double) k * tau);
+        }
+        gridRe = new double[gridSize];
+        gridIm = new double[gridSize];
+        Metrics.recordPlan(Metrics.arrayBytes(spread + 1) + Metrics.arrayBytes(modes) + 2 * Metrics.arrayBytes(gridSize));
+    }
+
+    public int modes() {
+        return modes;
+    }
+
+    public int gridSize() {
+        return gridSize;
+    }
+
+    /**
+     * Returns the number of grid points each non-uniform point is spread to.
+     */
+    public int kernelWidth() {
+        return 2 * spread;
+    }
+
+    /**
+     * Type 1 transform of the strengths {@code cRe + i cIm} ({@code cIm} may
+     * be {@code null} for real strengths) at the points {@code x}.
+     */
+    public ComplexArray type1(double[] x, double[] cRe, double[] cIm) {
+        ComplexArray dest = new ComplexArray(modes);
+        type1(x, cRe, cIm, dest);
+        return dest;
+    }
+
+    public void type1(double[] x, double[] cRe, double[] cIm, ComplexArray dest) {
+        checkDims(x.length, cRe.length);
+        if (cIm != null) {
+            checkDims(x.length, cIm.length);
+        }
+        checkDims(dest.length(), modes);
+        final int gridSize = this.gridSize;
+        final int spread = this.spread;
+        final int mask = gridSize - 1;
+        double[] gridRe = this.gridRe;
+        double[] gridIm = this.gridIm;
+        double[] e3 = this.e3;
+        Arrays.fill(gridRe, 0.0);
+        Arrays.fill(gridIm, 0.0);
+        // spread onto the oversampled grid
+        for (int j = 0; j < x.length; ++j) {
+            double a = cRe[j];
+            double b = (cIm == null) ? 0.0 : cIm[j];
+            double pos = wrap(x[j]) * gridSize / TWO_PI;
+            int m0 = (int) pos;
+            double d = (pos - m0) * TWO_PI / gridSize;
+            double e1 = Math.exp(-d * d / (4.0 * tau));
+            double e2 = Math.exp(d * Math.PI / (gridSize * tau));
+            double e2inv = 1.0 / e2;
+            // grid offsets 0..spread to the right, 1..spread-1 to the left
+            double w = e1;
+            for (int l = 0; l <= spread; ++l) {
+                double v = w * e3[l];
+                int m = (m0 + l) & mask;
+                gridRe[m] += v * a;
+                gridIm[m] += v * b;
+                w *= e2;
+            }
+            w = e1 * e2inv;
+            for (int l = 1; l < spread; ++l) {
+                double v = w * e3[l];
+                int m = (m0 - l) & mask;
+                gridRe[m] += v * a;
+                gridIm[m] += v * b;
+                w *= e2inv;
+            }
+        }
+        Fourier.transform(gridRe, gridIm, false);
+        // deconvolve and reorder, mode k lives at grid index k mod gridSize
+        double[] re = dest.re();
+        double[] im = dest.im();
+        for (int i = 0; i < modes; ++i) {
+            int m = (i - modes / 2) & mask;
+            double f = deconv[i];
+            re[i] = flush(f * gridRe[m]);
+            im[i] = flush(f * gridIm[m]);
+        }
+    }
+
+    /**
+     * Type 2 transform of the mode coefficients {@code coeffs} evaluated at
+     * the points {@code x}.
+     */
+    public ComplexArray type2(double[] x, ComplexArray coeffs) {
+        ComplexArray dest = new ComplexArray(x.length);
+        type2(x, coeffs, dest);
+        return dest;
+    }
+
+    public void type2(double[] x, ComplexArray coeffs, ComplexArray dest) {
+        checkDims(coeffs.length(), modes);
+        checkDims(dest.length(), x.length);
+        final int gridSize = this.gridSize;
+        final int spread = this.spread;
+        final int mask = gridSize - 1;
+        double[] gridRe = this.gridRe;
+        double[] gridIm = this.gridIm;
+        double[] e3 = this.e3;
+        Arrays.fill(gridRe, 0.0);
+        Arrays.fill(gridIm, 0.0);
+        // pre-deconvolve into the grid spectrum
+        double[] cRe = coeffs.re();
+        double[] cIm = coeffs.im();
+        for (int i = 0; i < modes; ++i) {
+            int m = (i - modes / 2) & mask;
+            double f = deconv[i];
+            gridRe[m] = f * cRe[i];
+            gridIm[m] = f * cIm[i];
+        }
+        // unnormalized inverse: swap real and imaginary parts
+        Fourier.transform(gridIm, gridRe, false);
+        // interpolate from the grid, the 1/gridSize of the quadrature is
+        // already part of the deconvolution factors
+        double[] re = dest.re();
+        double[] im = dest.im();
+        for (int j = 0; j < x.length; ++j) {
+            double pos = wrap(x[j]) * gridSize / TWO_PI;
+            int m0 = (int) pos;
+            double d = (pos - m0) * TWO_PI / gridSize;
+            double e1 = Math.exp(-d * d / (4.0 * tau));
+            double e2 = Math.exp(d * Math.PI / (gridSize * tau));
+            double e2inv = 1.0 / e2;
+            double sumRe = 0.0;
+            double sumIm = 0.0;
+            double w = e1;
+            for (int l = 0; l <= spread; ++l) {
+                double v = w * e3[l];
+                int m = (m0 + l) & mask;
+                sumRe += v * gridRe[m];
+                sumIm += v * gridIm[m];
+                w *= e2;
+            }
+            w = e1 * e2inv;
+            for (int l = 1; l < spread; ++l) {
+                double v = w * e3[l];
+                int m = (m0 - l) & mask;
+                sumRe += v * gridRe[m];
+                sumIm += v * gridIm[m];
+                w *= e2inv;
+            }
+            re[j] = flush(sumRe);
+            im[j] = flush(sumIm);
+        }
+    }
+
+    private static double wrap(double x) {
+        double y = x % TWO_PI;
+        if (y < 0.0) {
+            y += TWO_PI;
+        }
+        // guard against y == 2 pi after rounding
+        return (y >= TWO_PI) ? 0.0 : y;
+    }
+
+    private static double flush(double x) {
+        return (Math.abs(x) <= ComplexArray.TOL) ? 0.0 : x;
+    }
+
+    private static void checkDims(int a, int b) {
+        if (a != b) {
+            throw new IllegalArgumentException("Unequal dimensions: " + a + " != " + b);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+/**
+ * Transforms two real signals of equal length with a single complex FFT.
+ * The signals are packed as the real and imaginary part of one complex
+ * input {@code z = x + i y} and the two spectra are separated afterwards
+ * using their Hermitian symmetry:
+ * 
+ * <pre>
+ * X[k] = (Z[k] + conj(Z[N-k])) / 2
+ * Y[k] = (Z[k] - conj(Z[N-k])) / 2i
+ * </pre>
+ * 
+ * The results are the same as those of two calls to
+ * {@link Fourier#forwardDFT(double[])} resp. the real parts of two calls to
+ * {@link Fourier#inverseDFT(ComplexArray)} at roughly half the cost.
+ */
+public final class PairedRealFFT {
+
+    /**
+     * Returns the spectra {@code {X, Y}} of the real signals {@code x} and
+     * {@code y}.
+     */
+    public static ComplexArray[] forwardDFT(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Unequal dimensions: " + x.length + " != " + y.length);
+        }
+        final int N = x.length;
+        if (N == 0) {
+            return new ComplexArray[] { new ComplexArray(0), new ComplexArray(0) };
+        }
+        ComplexArray z = Fourier.forwardDFT(x, y);
+        double[] zr = z.re();
+        double[] zi = z.im();
+        // X overwrites Z in place, both spectra are computed for the bin
+        // pair (k, N-k) at once since X[N-k] = conj(X[k]), Y[N-k] = conj(Y[k])
+        double[] yr = new double[N];
+        double[] yi = new double[N];
+        for (int k = 0; k <= N / 2; ++k) {
+            int l = (k == 0) ? 0 : N - k;
+            double a = zr[k];
+            double b = zi[k];
+            double c = zr[l];
+            double d = zi[l];
+            double xr_k = flush(0.5 * (a + c));
+            double xi_k = flush(0.5 * (b - d));
+            double yr_k = flush(0.5 * (b + d));
+            double yi_k = flush(0.5 * (c - a));
+            zr[k] = xr_k;
+            zi[k] = xi_k;
+            yr[k] = yr_k;
+            yi[k] = yi_k;
+            if (l != k) {
+                zr[l] = xr_k;
+                zi[l] = -xi_k;
+                yr[l] = yr_k;
+                yi[l] = -yi_k;
+            }
+        }
+        return new ComplexArray[] { z, new ComplexArray(yr, yi, false) };
+    }
+
+    /**
+     * Returns the real signals {@code {x, y}} whose spectra are {@code X} and
+     * {@code Y}. Both spectra are assumed to be Hermitian (i.e., spectra of
+     * real signals), imaginary parts that a non-Hermitian input would produce
+     * are lost.
+     */
+    public static double[][] inverseDFT(ComplexArray X, ComplexArray Y) {
+        if (X.length() != Y.length()) {
+            throw new IllegalArgumentException("Unequal dimensions: " + X.length() + " != " + Y.length());
+        }
+        final int N = X.length();
+        double[] xr = X.re();
+        double[] xi = X.im();
+        double[] yr = Y.re();
+        double[] yi = Y.im();
+        // Z = X + i Y
+        double[] zr = new double[N];
+        double[] zi = new double[N];
+        for (int k = 0; k < N; ++k) {
+            zr[k] = xr[k] - yi[k];
+            zi[k] = xi[k] + yr[k];
+        }
+        Fourier.transform(zr, zi, true);
+        for (int j = 0; j < N; ++j) {
+            zr[j] = flush(zr[j]);
+            zi[j] = flush(zi[j]);
+        }
+        return new double[][] { zr, zi };
+    }
+
+    /**
+     * Returns the spectra of all {@code signals} (which must have equal
+     * length), transforming two signals at a time. An odd signal out is
+     * transformed on its own.
+     */
+    public static ComplexArray[] forwardDFT(double[][] signals) {
+        for (double[] signal : signals) {
+            if (signal.length != signals[0].length) {
+                throw new IllegalArgumentException("Unequal dimensions: " + signal.length + " != "
+                        + signals[0].length);
+            }
+        }
+        ComplexArray[] spectra = new ComplexArray[signals.length];
+        int i = 0;
+        for (; i + 1 < signals.length; i += 2) {
+            ComplexArray[] pair = forwardDFT(signals[i], signals[i + 1]);
+            spectra[i] = pair[0];
+            spectra[i + 1] = pair[1];
+        }
+        if (i < signals.length) {
+            spectra[i] = Fourier.forwardDFT(signals[i]);
+        }
+        return spectra;
+    }
+
+    private static double flush(double x) {
+        return (Math.abs(x) <= ComplexArray.TOL) ? 0.0 : x;
+    }
+
+    private PairedRealFFT() {
+        throw new AssertionError();
+    }
+}
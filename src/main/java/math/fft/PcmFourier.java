@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Forward transforms of integer or float PCM samples. The samples are
+ * converted (and scaled) directly into the working buffer of the transform,
+ * in the bit-reversed order the radix-2 kernels expect for power-of-two
+ * lengths. This saves the intermediate {@code double[]}, the defensive copy
+ * of {@link Fourier#forwardDFT(double[])} and its bit-reversal pass.
+ * <p>
+ * Every method reads {@code count} samples, {@code stride} samples apart,
+ * starting at {@code off}, so that one channel of interleaved multi-channel
+ * data can be transformed directly (stride = number of channels,
+ * off = channel index). Each sample is multiplied by {@code scale}, e.g.
+ * {@link Format#fullScale()} for samples in {@code [-1, 1)}.
+ */
+public final class PcmFourier {
+
+    /**
+     * Sample encodings of PCM data in a {@link ByteBuffer}.
+     */
+    public enum Format {
+        /** signed 16 bit integer */
+        PCM_16(2),
+        /** signed 24 bit integer, packed into 3 bytes */
+        PCM_24(3),
+        /** signed 32 bit integer */
+        PCM_32(4),
+        /** IEEE 754 32 bit float */
+        FLOAT_32(4);
+
+        private final int bytes;
+
+        Format(int bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * Returns the number of bytes per sample.
+         */
+        public int bytes() {
+            return bytes;
+        }
+
+        /**
+         * Returns the factor that maps the full integer range to
+         * {@code [-1, 1)} ({@code 1} for {@link #FLOAT_32}).
+         */
+        public double fullScale() {
+            switch (this) {
+            case PCM_16:
+                return 0x1.0p-15;
+            case PCM_24:
+                return 0x1.0p-23;
+            case PCM_32:
+                return 0x1.0p-31;
+            default:
+                return 1.0;
+            }
+        }
+    }
+
+    public static ComplexArray forwardDFT(short[] samples, int off, int count, int stride, double scale) {
+        checkRange(samples.length, off, count, stride);
+        double[] re = new double[count];
+        final boolean reversed = Fourier.bitReversedInput(count);
+        final int half = count >> 1;
+        for (int i = 0, j = 0, p = off; i < count; ++i, p += stride) {
+            re[j] = scale * samples[p];
+            j = reversed ? Fourier.nextBitReversed(j, half) : j + 1;
+        }
+        return Fourier.forwardPrepared(re);
+    }
+
+    /**
+     * Transforms integer samples, e.g. 24 or 32 bit PCM held in an
+     * {@code int[]}.
+     */
+    public static ComplexArray forwardDFT(int[] samples, int off, int count, int stride, double scale) {
+        checkRange(samples.length, off, count, stride);
+        double[] re = new double[count];
+        final boolean reversed = Fourier.bitReversedInput(count);
+        final int half = count >> 1;
+        for (int i = 0, j = 0, p = off; i < count; ++i, p += stride) {
+            re[j] = scale * samples[p];
+            j = reversed ? Fourier.nextBitReversed(j, half) : j + 1;
+        }
+        return Fourier.forwardPrepared(re);
+    }
+
+    public static ComplexArray forwardDFT(float[] samples, int off, int count, int stride, double scale) {
+        checkRange(samples.length, off, count, stride);
+        double[] re = new double[count];
+        final boolean reversed = Fourier.bitReversedInput(count);
+        final int half = count >> 1;
+        for (int i = 0, j = 0, p = off; i < count; ++i, p += stride) {
+            re[j] = scale * samples[p];
+            j = reversed ? Fourier.nextBitReversed(j, half) : j + 1;
+        }
+        return Fourier.forwardPrepared(re);
+    }
+
+    /**
+     * Transforms {@code count} samples of the given format read from
+     * {@code buffer} in the buffer's {@link ByteBuffer#order() byte order}.
+     * Sample {@code i} starts at byte
+     * {@code buffer.position() + (off + i * stride) * format.bytes()}. The
+     * buffer's position is not changed.
+     */
+    public static ComplexArray forwardDFT(ByteBuffer buffer, Format format, int off, int count, int stride,
+            double scale) {
+        final int bytes = format.bytes();
+        if (off < 0 || count < 0 || stride < 1
+                || (count > 0 && (long) off + (long) (count - 1) * stride >= buffer.remaining() / bytes)) {
+            throw new IllegalArgumentException("Invalid range: off = " + off + ", count = " + count + ", stride = "
+                    + stride + " for " + buffer.remaining() / bytes + " samples");
+        }
+        double[] re = new double[count];
+        decode(buffer, format, buffer.position() + off * bytes, stride * bytes, count, scale, re,
+                Fourier.bitReversedInput(count));
+        return Fourier.forwardPrepared(re);
+    }
+
+    /**
+     * Transforms little-endian PCM data in a {@code byte[]}, see
+     * {@link #forwardDFT(ByteBuffer, Format, int, int, int, double)}.
+     */
+    public static ComplexArray forwardDFT(byte[] pcm, Format format, int off, int count, int stride, double scale) {
+        return forwardDFT(ByteBuffer.wrap(pcm).order(ByteOrder.LITTLE_ENDIAN), format, off, count, stride, scale);
+    }
+
+    /**
+     * Converts {@code count} consecutive samples starting at byte {@code pos}
+     * of {@code buffer} (absolute reads in the buffer's byte order),
+     * multiplied by {@code scale}, into {@code dest[0..count)}.
+     */
+    static void decode(ByteBuffer buffer, Format format, int pos, int count, double scale, double[] dest) {
+        decode(buffer, format, pos, format.bytes(), count, scale, dest, false);
+    }
+
+    // converts the samples at pos, pos + step, ... into dest, either in
+    // natural or in bit-reversed order (count must then be a power of two)
+    private static void decode(ByteBuffer buffer, Format format, int pos, int step, int count, double scale,
+            double[] dest, boolean reversed) {
+        final int half = count >> 1;
+        switch (format) {
+        case PCM_16:
+            for (int i = 0, j = 0; i < count; ++i, pos += step) {
+                dest[j] = scale * buffer.getShort(pos);
+                j = reversed ? Fourier.nextBitReversed(j, half) : j + 1;
+            }
+            break;
+        case PCM_24:
+            final boolean little = buffer.order() == ByteOrder.LITTLE_ENDIAN;
+            for (int i = 0, j = 0; i < count; ++i, pos += step) {
+                int b0 = buffer.get(pos);
+                int b1 = buffer.get(pos + 1) & 0xff;
+                int b2 = buffer.get(pos + 2);
+                // the most significant byte carries the sign
+                int sample = little ? (b2 << 16) | (b1 << 8) | (b0 & 0xff) : (b0 << 16) | (b1 << 8) | (b2 & 0xff);
+                dest[j] = scale * sample;
+                j = reversed ? Fourier.nextBitReversed(j, half) : j + 1;
+            }
+            break;
+        case PCM_32:
+            for (int i = 0, j = 0; i < count; ++i, pos += step) {
+                dest[j] = scale * buffer.getInt(pos);
+                j = reversed ? Fourier.nextBitReversed(j, half) : j + 1;
+            }
+            break;
+        default:
+            for (int i = 0, j = 0; i < count; ++i, pos += step) {
+                dest[j] = scale * buffer.getFloat(pos);
+                j = reversed ? Fourier.nextBitReversed(j, half) : j + 1;
+            }
+            break;
+        }
+    }
+
+    private static void checkRange(int length, int off, int count, int stride) {
+        if (off < 0 || count < 0 || stride < 1 || (count > 0 && (long) off + (long) (count - 1) * stride >= length)) {
+            throw new IllegalArgumentException("Invalid range: off = " + off + ", count = " + count + ", stride = "
+                    + stride + " for " + length + " samples");
+        }
+    }
+
+    private PcmFourier() {
+        throw new AssertionError();
+    }
+}
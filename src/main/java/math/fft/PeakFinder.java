@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+/**
+ * Finds the strongest peaks of a spectrum in a single pass. The power
+ * {@code |X[k]|^2} of each bin is computed on the fly (no power array is
+ * allocated), local maxima above a threshold are collected in a bounded
+ * min-heap of the {@code maxPeaks} strongest ones, and their positions are
+ * refined to fractional bins.
+ * <p>
+ * A bin is a local maximum if its power is greater than that of its left
+ * and not less than that of its right neighbor (bins outside the spectrum
+ * count as zero). Of two local maxima closer than {@code minSeparation} bins
+ * only the stronger one is kept (this is applied along the scan, so of a
+ * chain of close maxima only the strongest survives).
+ * <p>
+ * Refinement:
+ * <ul>
+ * <li>{@link Interpolation#PARABOLIC}: fits a parabola through the log power
+ * of the peak bin and its neighbors, which is accurate for windowed spectra
+ * (e.g. Hann); the power is the vertex of the parabola</li>
+ * <li>{@link Interpolation#QUINN}: Quinn's second estimator, which uses the
+ * complex values and is accurate for unwindowed (rectangular) spectra; the
+ * power is that of the peak bin</li>
+ * </ul>
+ * Instances hold the heap and are not safe for concurrent use.
+ */
+public final class PeakFinder {
+
+    public enum Interpolation {
+        NONE, PARABOLIC, QUINN
+    }
+
+    private final int maxPeaks;
+    private final double threshold;
+    private final int minSeparation;
+    private final Interpolation interpolation;
+    // min-heap by power
+    private final int[] heapBin;
+    private final double[] heapPower;
+    private int size;
+
+    /**
+     * @param maxPeaks
+     *            the maximum number of peaks to report
+     * @param threshold
+     *            the minimum power {@code |X[k]|^2} of a peak bin
+     * @param minSeparation
+     *            the minimum distance in bins between reported peaks
+     *            ({@code 1} disables the check)
+     * @param interpolation
+     *            the refinement method
+     */
+    public PeakFinder(int maxPeaks, double threshold, int minSeparation, Interpolation interpolation) {
+        if (maxPeaks < 1 || minSeparation < 1) {
+            throw new IllegalArgumentException("Invalid maxPeaks " + maxPeaks + " / minSeparation " + minSeparation);
+        }
+        if (interpolation == null) {
+            throw new NullPointerException("interpolation");
+        }
+        this.maxPeaks = maxPeaks;
+        this.threshold = threshold;
+        this.minSeparation = minSeparation;
+        this.interpolation = interpolation;
+        heapBin = new int[maxPeaks];
+        heapPower = new double[maxPeaks];
+    }
+
+    public int find(ComplexArray spectrum, double[] bins, double[] powers) {
+        return find(spectrum.re(), spectrum.im(), 0, spectrum.re().length, bins, powers);
+    }
+
+    /**
+     * Searches bins {@code from} (inclusive) to {@code to} (exclusive) of the
+     * spectrum {@code re + i im} and stores the (fractional) bins and powers
+     * of the peaks found, strongest first, into {@code bins} and
+     * {@code powers} (both of length {@code >= maxPeaks}). Returns the number
+     * of peaks found.
+     */
+    public int find(double[] re, double[] im, int from, int to, double[] bins, double[] powers) {
+        final int n = re.length;
+        if (im.length != n) {
+            throw new IllegalArgumentException("Unequal dimensions: " + im.length + " != " + n);
+        }
+        if (from < 0 || to > n || from > to) {
+            throw new IllegalArgumentException("Invalid range [" + from + ", " + to + ") for length " + n);
+        }
+        if (bins.length < maxPeaks || powers.length < maxPeaks) {
+            throw new IllegalArgumentException("Output arrays shorter than " + maxPeaks);
+        }
+        size = 0;
+        // power of bins k - 1, k and k + 1
+        double left = (from > 0) ? power(re, im, from - 1) : 0.0;
+        double mid = (from < to) ? power(re, im, from) : 0.0;
+        int pendingBin = -1;
+        double pendingPower = 0.0;
+        for (int k = from; k < to; ++k) {
+            double right = (k + 1 < n) ? power(re, im, k + 1) : 0.0;
+            if (mid > left && mid >= right && mid >= threshold) {
+                if (pendingBin >= 0 && k - pendingBin < minSeparation) {
+                    if (mid > pendingPower) {
+                        pendingBin = k;
+                        pendingPower = mid;
+                    }
+                } else {
+                    if (pendingBin >= 0) {
+                        offer(pendingBin, pendingPower);
+                    }
+                    pendingBin = k;
+                    pendingPower = mid;
+                }
+            }
+            left = mid;
+            mid = right;
+        }
+        if (pendingBin >= 0) {
+            offer(pendingBin, pendingPower);
+        }
+        // drain the min-heap from the back so that the strongest comes first
+        final int count = size;
+        for (int i = count - 1; i >= 0; --i) {
+            int bin = heapBin[0];
+            double power = heapPower[0];
+            removeMin();
+            refine(re, im, bin, power, bins, powers, i);
+        }
+        return count;
+    }
+
+    private void refine(double[] re, double[] im, int k, double power, double[] bins, double[] powers, int i) {
+        final int n = re.length;
+        bins[i] = k;
+        powers[i] = power;
+        if (interpolation == Interpolation.NONE || k == 0 || k == n - 1) {
+            return;
+        }
+        if (interpolation == Interpolation.PARABOLIC) {
+            double a = power(re, im, k - 1);
+            double c = power(re, im, k + 1);
+            if (a <= 0.0 || c <= 0.0) {
+                return;
+            }
+            double la = Math.log(a);
+            double lb = Math.log(power);
+            double lc = Math.log(c);
+            double denom = la - 2.0 * lb + lc;
+            if (denom >= 0.0) {
+                return;
+            }
+            double delta = 0.5 * (la - lc) / denom;
+            bins[i] = k + delta;
+            powers[i] = Math.exp(lb - 0.25 * (la - lc) * delta);
+        } else {
+            // Quinn's second estimator
+            double br = re[k];
+            double bi = im[k];
+            double ap = (re[k + 1] * br + im[k + 1] * bi) / power;
+            double am = (re[k - 1] * br + im[k - 1] * bi) / power;
+            double dp = -ap / (1.0 - ap);
+            double dm = am / (1.0 - am);
+            double delta = 0.5 * (dp + dm) + tau(dp * dp) - tau(dm * dm);
+            if (Math.abs(delta) <= 1.0) {
+                bins[i] = k + delta;
+            }
+        }
+    }
+
+    private static final double SQRT_2_3 = Math.sqrt(2.0 / 3.0);
+    private static final double SQRT_6_24 = Math.sqrt(6.0) / 24.0;
+
+    private static double tau(double x) {
+        return 0.25 * Math.log(3.0 * x * x + 6.0 * x + 1.0)
+                - SQRT_6_24 * Math.log((x + 1.0 - SQRT_2_3) / (x + 1.0 + SQRT_2_3));
+    }
+
+    private static double power(double[] re, double[] im, int k) {
+        double r = re[k];
+        double i = im[k];
+        return r * r + i * i;
+    }
+
+    private void offer(int bin, double power) {
+        if (size < maxPeaks) {
+            int i = size++;
+            // sift up
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heapPower[parent] <= power) {
+                    break;
+                }
+                heapBin[i] = heapBin[parent];
+                heapPower[i] = heapPower[parent];
+                i = parent;
+            }
+            heapBin[i] = bin;
+            heapPower[i] = power;
+        } else if (power > heapPower[0]) {
+            siftDown(bin, power);
+        }
+    }
+
+    private void removeMin() {
+        int last = --size;
+        if (last > 0) {
+            siftDown(heapBin[last], heapPower[last]);
+        }
+    }
+
+    // places (bin, power) at the root and restores the heap property
+    private void siftDown(int bin, double power) {
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && heapPower[right] < heapPower[child]) {
+                child = right;
+            }
+            if (power <= heapPower[child]) {
+                break;
+            }
+            heapBin[i] = heapBin[child];
+            heapPower[i] = heapPower[child];
+            i = child;
+        }
+        heapBin[i] = bin;
+        heapPower[i] = power;
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import java.util.Arrays;
+
+/**
+ * Plan for pruned FFTs of a power-of-two length {@code n}: the input is
+ * known to be zero outside of a (cyclic) range of {@code inLength} samples
+ * starting at {@code inFrom}, and only a (cyclic) range of
+ * {@code outLength} bins starting at {@code outFrom} is wanted. Typical
+ * cases are heavily zero-padded inputs (interpolation) and narrow band
+ * outputs.
+ * <p>
+ * With {@code Lp} and {@code Kp} denoting the powers of two that are
+ * {@code >= inLength} and {@code >= outLength} respectively, the transform
+ * is either split into at most {@code n / Lp} FFTs of length {@code Lp}
+ * whose outputs interleave (input pruning, {@code O(n log Lp)}), or into at
+ * most {@code min(n / Kp, inLength)} FFTs of length {@code Kp} that are
+ * accumulated (output pruning, {@code O(inLength (Kp log Kp))} at worst),
+ * whichever is estimated to be cheaper. Pruning happens at the granularity
+ * of these sub-FFTs: sub-FFTs that only contribute unwanted bins or only see
+ * zero input are skipped together with the stages that would combine them,
+ * but each sub-FFT that runs is a full FFT (the zero padding from
+ * {@code inLength} to {@code Lp} and the bins from {@code outLength} to
+ * {@code Kp} are still computed). When nothing is pruned this degenerates
+ * to a single FFT of length {@code n}.
+ * <p>
+ * Instances cache scratch buffers and are not safe for concurrent use.
+ */
+public final class PrunedFFT {
+
+    private final int n;
+    private final int mask;
+    // cos(2 pi t / n) and sin(2 pi t / n) for 0 <= t < n
+    private final double[] cos;
+    private final double[] sin;
+    // scratch buffers indexed by log2 of their length
+    private final double[][] scratchRe;
+    private final double[][] scratchIm;
+    private final double[] accRe;
+    private final double[] accIm;
+
+    public PrunedFFT(int n) {
+        if (n < 1 || (n & (n - 1)) != 0) {
+            throw new IllegalArgumentException("n must be a power of two : " + n);
+        }
+        this.n = n;
+        this.mask = n - 1;
+        int logN = Integer.numberOfTrailingZeros(n);
+        cos = new double[n];
+        sin = new double[n];
+        for (int t = 0; t < n; ++t) {
+            double angle = 2.0 * Math.PI * t / n;
+            cos[t] = Math.cos(angle);
+            sin[t] = Math.sin(angle);
+        }
+        scratchRe = new double[logN + 1][];
+        scratchIm = new double[logN + 1][];
+        accRe = new double[n];
+        accIm = new double[n];
+        Metrics.recordPlan(4 * Metrics.arrayBytes(n));
+    }
+
+    public int length() {
+        return n;
+    }
+
+    /**
+     * Forward DFT of the first {@code nonZeroLength} samples of {@code data}
+     * zero-padded to length {@code n}. All {@code n} bins are returned.
+     */
+    public ComplexArray forwardDFT(double[] data, int nonZeroLength) {
+        ComplexArray dest = new ComplexArray(n);
+        transform(data, null, 0, nonZeroLength, 0, dest, false);
+        return dest;
+    }
+
+    /**
+     * Forward DFT of the length {@code n} sequence that equals
+     * {@code (re[j], im[j])} at index {@code (inFrom + j) mod n} for
+     * {@code 0 <= j < inLength} and zero elsewhere ({@code im} may be
+     * {@code null} for real data). Returns the {@code outLength} bins
+     * {@code (outFrom + r) mod n}, {@code 0 <= r < outLength}.
+     */
+    public ComplexArray forwardDFT(double[] re, double[] im, int inFrom, int inLength, int outFrom, int outLength) {
+        ComplexArray dest = new ComplexArray(checkRange(outFrom, outLength));
+        transform(re, im, inFrom, inLength, outFrom, dest, false);
+        return dest;
+    }
+
+    /**
+     * Like {@link #forwardDFT(double[], double[], int, int, int, int)} but
+     * writes the {@code dest.length()} requested bins into {@code dest}.
+     */
+    public void forwardDFT(double[] re, double[] im, int inFrom, int inLength, int outFrom, ComplexArray dest) {
+        transform(re, im, inFrom, inLength, outFrom, dest, false);
+    }
+
+    /**
+     * Inverse DFT (normalized by {@code 1/n}) of the length {@code n}
+     * spectrum that equals {@code freqs} at the bins
+     * {@code (inFrom + j) mod n} and zero elsewhere. E.g., the spectrum of a
+     * band-limited signal with bins {@code -b..b} is given by
+     * {@code inFrom = n - b} and {@code freqs.length() = 2b + 1}. Returns the
+     * {@code outLength} samples {@code (outFrom + r) mod n}.
+     */
+    public ComplexArray inverseDFT(ComplexArray freqs, int inFrom, int outFrom, int outLength) {
+        ComplexArray dest = new ComplexArray(checkRange(outFrom, outLength));
+        transform(freqs.re(), freqs.im(), inFrom, freqs.length(), outFrom, dest, true);
+        return dest;
+    }
+
+    /**
+     * Like {@link #inverseDFT(ComplexArray, int, int, int)} but writes the
+     * {@code dest.length()} requested samples into {@code dest}.
+     */
+    public void inverseDFT(ComplexArray freqs, int inFrom, int outFrom, ComplexArray dest) {
+        transform(freqs.re(), freqs.im(), inFrom, freqs.length(), outFrom, dest, true);
+    }
+
+    private void transform(double[] re, double[] im, int inFrom, int inLength, int outFrom, ComplexArray dest,
+            boolean inverse) {
+        checkRange(inFrom, inLength);
+        final int outLength = checkRange(outFrom, dest.length());
+        if (re.length < inLength || (im != null && im.length < inLength)) {
+            throw new IllegalArgumentException("input shorter than " + inLength);
+        }
+        final int n = this.n;
+        final int mask = this.mask;
+        final double sign = inverse ? 1.0 : -1.0;
+        final double[] cos = this.cos;
+        final double[] sin = this.sin;
+        final int L = inLength;
+        final int K = outLength;
+        final int s = inFrom & mask;
+        final int k0 = outFrom & mask;
+        final int logLp = ceilLog2(L);
+        final int logKp = ceilLog2(K);
+        final int Lp = 1 << logLp;
+        final int Kp = 1 << logKp;
+        // Z[r] = sum_{j<L} v[j] W^(jr) with v[j] = u[j] W^(j k0)
+        double[] zRe = accRe;
+        double[] zIm = accIm;
+        long costIn = (long) Math.min(n / Lp, K) * Lp * Math.max(logLp, 1);
+        long costOut = (long) Math.min(n / Kp, L) * (Kp * Math.max(logKp, 1) + K);
+        if (L == 0 || K == 0) {
+            Arrays.fill(zRe, 0, K, 0.0);
+            Arrays.fill(zIm, 0, K, 0.0);
+        } else if (costIn <= costOut) {
+            // input pruning: Z[p + P q] = FFT_Lp(v[j] W^(jp))[q]
+            final int P = n / Lp;
+            double[] tRe = scratchRe(logLp);
+            double[] tIm = scratchIm(logLp);
+            for (int p = 0, pEnd = Math.min(P, K); p < pEnd; ++p) {
+                for (int j = 0; j < L; ++j) {
+                    int t = (j * (k0 + p)) & mask;
+                    double x = re[j];
+                    double y = (im != null) ? im[j] : 0.0;
+                    double c = cos[t];
+                    double d = sign * sin[t];
+                    tRe[j] = x * c - y * d;
+                    tIm[j] = x * d + y * c;
+                }
+                Arrays.fill(tRe, L, Lp, 0.0);
+                Arrays.fill(tIm, L, Lp, 0.0);
+                fft(tRe, tIm, inverse);
+                for (int q = 0, r = p; r < K; ++q, r += P) {
+                    zRe[r] = tRe[q];
+                    zIm[r] = tIm[q];
+                }
+            }
+        } else {
+            // output pruning: Z[r] = sum_a W^(ar) FFT_Kp(v[P c + a])[r]
+            final int P = n / Kp;
+            double[] gRe = scratchRe(logKp);
+            double[] gIm = scratchIm(logKp);
+            Arrays.fill(zRe, 0, K, 0.0);
+            Arrays.fill(zIm, 0, K, 0.0);
+            for (int a = 0, aEnd = Math.min(P, L); a < aEnd; ++a) {
+                int c = 0;
+                for (int j = a; j < L; j += P, ++c) {
+                    int t = (j * k0) & mask;
+                    double x = re[j];
+                    double y = (im != null) ? im[j] : 0.0;
+                    double cs = cos[t];
+                    double sn = sign * sin[t];
+                    gRe[c] = x * cs - y * sn;
+                    gIm[c] = x * sn + y * cs;
+                }
+                Arrays.fill(gRe, c, Kp, 0.0);
+                Arrays.fill(gIm, c, Kp, 0.0);
+                fft(gRe, gIm, inverse);
+                for (int r = 0; r < K; ++r) {
+                    int t = (a * r) & mask;
+                    double cs = cos[t];
+                    double sn = sign * sin[t];
+                    double x = gRe[r];
+                    double y = gIm[r];
+                    zRe[r] += x * cs - y * sn;
+                    zIm[r] += x * sn + y * cs;
+                }
+            }
+        }
+        // Y[k0 + r] = W^(s (k0 + r)) Z[r]
+        double scale = inverse ? (1.0 / n) : 1.0;
+        double[] dest_re = dest.re();
+        double[] dest_im = dest.im();
+        for (int r = 0; r < K; ++r) {
+            int t = (s * (k0 + r)) & mask;
+            double cs = cos[t];
+            double sn = sign * sin[t];
+            double x = zRe[r];
+            double y = zIm[r];
+            double re_r = (x * cs - y * sn) * scale;
+            double im_r = (x * sn + y * cs) * scale;
+            dest_re[r] = (Math.abs(re_r) <= ComplexArray.TOL) ? 0.0 : re_r;
+            dest_im[r] = (Math.abs(im_r) <= ComplexArray.TOL) ? 0.0 : im_r;
+        }
+    }
+
+    // unnormalized FFT in either direction
+    private static void fft(double[] re, double[] im, boolean inverse) {
+        if (inverse) {
+            // IDFT(x) = swap(DFT(swap(x))) where swap exchanges re and im
+            Fourier.transform(im, re, false);
+        } else {
+            Fourier.transform(re, im, false);
+        }
+    }
+
+    private double[] scratchRe(int log) {
+        double[] scratch = scratchRe[log];
+        if (scratch == null) {
+            scratch = scratchRe[log] = new double[1 << log];
+        }
+        return scratch;
+    }
+
+    private double[] scratchIm(int log) {
+        double[] scratch = scratchIm[log];
+        if (scratch == null) {
+            scratch = scratchIm[log] = new double[1 << log];
+        }
+        return scratch;
+    }
+
+    private int checkRange(int from, int length) {
+        if (from < 0 || from >= n || length < 0 || length > n) {
+            throw new IllegalArgumentException(
+                    "Invalid range (" + from + ", " + length + ") for [0.." + (n - 1) + "] array");
+        }
+        return length;
+    }
+
+    private static int ceilLog2(int x) {
+        return (x <= 1) ? 0 : 32 - Integer.numberOfLeadingZeros(x - 1);
+    }
+}
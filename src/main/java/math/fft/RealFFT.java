@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+/**
+ * DFT of real data of even length {@code n} computed with a single complex
+ * FFT of length {@code n / 2}. Only the non-redundant half spectrum (bins
+ * {@code 0} to {@code n / 2} inclusive) is produced and consumed.
+ * <p>
+ * Instances hold scratch buffers and are not safe for concurrent use.
+ */
+final class RealFFT {
+
+    private final int n;
+    // cos(2 * pi * k / n) and sin(2 * pi * k / n) for 0 <= k <= n / 2
+    private final double[] cos;
+    private final double[] sin;
+    private final double[] zr;
+    private final double[] zi;
+
+    RealFFT(int n) {
+        if (n < 2 || (n & 1) != 0) {
+            throw new IllegalArgumentException("n must be even and >= 2 : " + n);
+        }
+        this.n = n;
+        int m = n / 2;
+        cos = new double[m + 1];
+        sin = new double[m + 1];
+        for (int k = 0; k <= m; ++k) {
+            double angle = 2.0 * Math.PI * k / n;
+            cos[k] = Math.cos(angle);
+            sin[k] = Math.sin(angle);
+        }
+        zr = new double[m];
+        zi = new double[m];
+        Metrics.recordPlan(2 * Metrics.arrayBytes(m + 1) + 2 * Metrics.arrayBytes(m));
+    }
+
+    int length() {
+        return n;
+    }
+
+    /**
+     * Computes bins {@code 0..n/2} of the DFT of {@code x[off..off+n)} into
+     * {@code re} and {@code im} (both of length {@code >= n/2 + 1}).
+     */
+    void forward(double[] x, int off, double[] re, double[] im) {
+        final int m = n / 2;
+        double[] zr = this.zr;
+        double[] zi = this.zi;
+        for (int j = 0; j < m; ++j) {
+            zr[j] = x[off + 2 * j];
+            zi[j] = x[off + 2 * j + 1];
+        }
+        Fourier.transform(zr, zi, false);
+        for (int k = 0; k <= m; ++k) {
+            int k1 = (k == m) ? 0 : k;
+            int k2 = (k == 0) ? 0 : m - k;
+            double a = zr[k1];
+            double b = zi[k1];
+            double c = zr[k2];
+            double d = zi[k2];
+            // even part E = (Z[k] + conj(Z[m-k])) / 2
+            double er = 0.5 * (a + c);
+            double ei = 0.5 * (b - d);
+            // odd part O = (Z[k] - conj(Z[m-k])) / 2i
+            double or = 0.5 * (b + d);
+            double oi = 0.5 * (c - a);
+            // X[k] = E + exp(-2 pi i k / n) * O
+            double cos_k = cos[k];
+            double sin_k = sin[k];
+            re[k] = er + cos_k * or + sin_k * oi;
+            im[k] = ei + cos_k * oi - sin_k * or;
+        }
+    }
+
+    /**
+     * Reconstructs {@code n} real samples into {@code x[off..off+n)} from the
+     * half spectrum in {@code re[0..n/2]} and {@code im[0..n/2]}. This is the
+     * exact inverse of {@link #forward(double[], int, double[], double[])}
+     * (including the {@code 1/n} normalization).
+     */
+    void inverse(double[] re, double[] im, double[] x, int off) {
+        final int m = n / 2;
+        double[] zr = this.zr;
+        double[] zi = this.zi;
+        for (int k = 0; k < m; ++k) {
+            double a = re[k];
+            double b = im[k];
+            double c = re[m - k];
+            double d = im[m - k];
+            // E = (X[k] + conj(X[m-k])) / 2
+            double er = 0.5 * (a + c);
+            double ei = 0.5 * (b - d);
+            // O = (X[k] - conj(X[m-k])) * exp(2 pi i k / n) / 2
+            double dr = a - c;
+            double di = b + d;
+            double cos_k = cos[k];
+            double sin_k = sin[k];
+            double or = 0.5 * (dr * cos_k - di * sin_k);
+            double oi = 0.5 * (dr * sin_k + di * cos_k);
+            // Z[k] = E + i * O
+            zr[k] = er - oi;
+            zi[k] = ei + or;
+        }
+        Fourier.transform(zr, zi, true);
+        for (int j = 0; j < m; ++j) {
+            x[off + 2 * j] = zr[j];
+            x[off + 2 * j + 1] = zi[j];
+        }
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import java.util.Arrays;
+
+/**
+ * FFT-based sample rate conversion of real signals.
+ * <p>
+ * {@link #resample(double[], int)} treats the whole signal as one period of
+ * a band-limited periodic signal: its spectrum is truncated (downsampling)
+ * or zero-padded (upsampling) to the new length and transformed back. The
+ * bin at the Nyquist frequency of the shorter length is split between the
+ * positive and negative frequency when upsampling and folded onto itself
+ * when downsampling, so that the result stays real and the round trip
+ * {@code N -> M -> N} with {@code M > N} is exact. Arbitrary lengths are
+ * supported, non-power-of-two lengths go through {@link Bluestein}.
+ * <p>
+ * {@link Streaming} converts continuous streams by a rational factor
+ * {@code up / down} with overlap-save blocks and a spectral taper.
+ */
+public final class Resampler {
+
+    /**
+     * Resamples {@code x} to {@code outLength} samples.
+     */
+    public static double[] resample(double[] x, int outLength) {
+        if (outLength < 0) {
+            throw new IllegalArgumentException("outLength < 0 : " + outLength);
+        }
+        final int n = x.length;
+        final int m = outLength;
+        if (n == 0 || m == 0) {
+            return new double[m];
+        }
+        ComplexArray X = Fourier.forwardDFT(x);
+        double[] xr = X.re();
+        double[] xi = X.im();
+        double[] yr = new double[m];
+        double[] yi = new double[m];
+        double scale = (double) m / n;
+        int h = Math.min(n, m);
+        // bins that exist in both spectra: 0 <= k < h/2 and their negatives
+        int half = (h - 1) / 2;
+        yr[0] = scale * xr[0];
+        yi[0] = scale * xi[0];
+        for (int k = 1; k <= half; ++k) {
+            yr[k] = scale * xr[k];
+            yi[k] = scale * xi[k];
+            yr[m - k] = scale * xr[n - k];
+            yi[m - k] = scale * xi[n - k];
+        }
+        if ((h & 1) == 0) {
+            int c = h / 2;
+            if (m > n) {
+                // split X[n/2] between +n/2 and -n/2
+                yr[c] = 0.5 * scale * xr[c];
+                yi[c] = 0.5 * scale * xi[c];
+                yr[m - c] = yr[c];
+                yi[m - c] = yi[c];
+            } else if (m < n) {
+                // fold +m/2 and -m/2 onto the new Nyquist bin
+                yr[c] = scale * (xr[c] + xr[n - c]);
+                yi[c] = scale * (xi[c] + xi[n - c]);
+            } else {
+                yr[c] = xr[c];
+                yi[c] = xi[c];
+            }
+        }
+        return Fourier.inverseDFT(new ComplexArray(yr, yi, false)).re();
+    }
+
+    /**
+     * Resamples {@code x} by the rational factor {@code up / down}, the
+     * result has {@code ceil(x.length * up / down)} samples.
+     */
+    public static double[] resample(double[] x, int up, int down) {
+        checkRatio(up, down);
+        long len = ((long) x.length * up + down - 1) / down;
+        if (len > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Result too large: " + len);
+        }
+        return resample(x, (int) len);
+    }
+
+    private static void checkRatio(int up, int down) {
+        if (up < 1 || down < 1) {
+            throw new IllegalArgumentException("Invalid ratio " + up + " / " + down);
+        }
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    /**
+     * Streaming sample rate conversion by {@code up / down} (the ratio is
+     * reduced to lowest terms). The input is cut into overlapping blocks of
+     * {@code down * (hop + 2 * overlap)} samples, each block is resampled
+     * spectrally to {@code up * (hop + 2 * overlap)} samples with real FFTs,
+     * and only the central {@code up * hop} output samples are kept. The
+     * spectrum is multiplied by a raised cosine taper towards the lower of
+     * the two Nyquist frequencies, which suppresses both the ringing at the
+     * block edges and (when downsampling) aliasing. The plans and buffers are
+     * allocated once; block lengths that are not powers of two go through
+     * {@link Bluestein}.
+     * <p>
+     * Instances are not safe for concurrent use.
+     */
+    public static final class Streaming {
+
+        private final int up;
+        private final int down;
+        private final int hop;
+        private final int overlap;
+        private final int inLength;
+        private final int outLength;
+        private final RealFFT forward;
+        private final RealFFT inverse;
+        // spectral weights (taper and gain) for bins 0..min(n,m)/2
+        private final double[] weights;
+        private final double[] buffer;
+        private final double[] xr;
+        private final double[] xi;
+        private final double[] yr;
+        private final double[] yi;
+        private final double[] out;
+        private int filled;
+        private long pending;
+
+        /**
+         * Creates a converter whose blocks advance by at least 2048 samples
+         * of the lower of the two rates (input samples when upsampling,
+         * output samples when downsampling; the higher rate side scales with
+         * the ratio), with an overlap of at least 256 such samples on either
+         * side and a taper over the top 5% of the pass band.
+         */
+        public Streaming(int up, int down) {
+            this(up, down, defaultOverlap(up, down) * 8, defaultOverlap(up, down), 0.05);
+        }
+
+        /**
+         * @param up
+         *            the upsampling factor
+         * @param down
+         *            the downsampling factor
+         * @param hop
+         *            the (even) number of units of {@code down} input resp.
+         *            {@code up} output samples per block
+         * @param overlap
+         *            the number of units discarded at either block edge
+         * @param taper
+         *            the fraction of the pass band covered by the raised
+         *            cosine taper, in {@code [0, 1]}
+         */
+        public Streaming(int up, int down, int hop, int overlap, double taper) {
+            checkRatio(up, down);
+            if (hop < 2 || (hop & 1) != 0 || overlap < 0) {
+                throw new IllegalArgumentException("Invalid hop " + hop + " / overlap " + overlap);
+            }
+            if (!(taper >= 0.0 && taper <= 1.0)) {
+                throw new IllegalArgumentException("taper must be in [0, 1] : " + taper);
+            }
+            int g = gcd(up, down);
+            this.up = up / g;
+            this.down = down / g;
+            this.hop = hop;
+            this.overlap = overlap;
+            int units = hop + 2 * overlap;
+            this.inLength = this.down * units;
+            this.outLength = this.up * units;
+            forward = new RealFFT(inLength);
+            inverse = new RealFFT(outLength);
+            int c = Math.min(inLength, outLength) / 2;
+            weights = new double[c + 1];
+            double scale = (double) outLength / inLength;
+            int taperBins = (int) Math.round(taper * c);
+            for (int k = 0; k <= c; ++k) {
+                double w = scale;
+                int into = k - (c - taperBins);
+                if (taperBins > 0 && into > 0) {
+                    w *= 0.5 * (1.0 + Math.cos(Math.PI * into / taperBins));
+                }
+                weights[k] = w;
+            }
+            buffer = new double[inLength];
+            xr = new double[inLength / 2 + 1];
+            xi = new double[inLength / 2 + 1];
+            yr = new double[outLength / 2 + 1];
+            yi = new double[outLength / 2 + 1];
+            out = new double[outLength];
+            reset();
+        }
+
+        private static int defaultOverlap(int up, int down) {
+            checkRatio(up, down);
+            int g = gcd(up, down);
+            int min = Math.min(up / g, down / g);
+            return (256 + min - 1) / min;
+        }
+
+        public int inputBlockLength() {
+            return inLength;
+        }
+
+        public int outputBlockLength() {
+            return outLength;
+        }
+
+        /**
+         * The number of input samples between a sample entering
+         * {@link #process} and the output around it being emitted at the
+         * latest.
+         */
+        public int latency() {
+            return down * (hop + overlap);
+        }
+
+        /**
+         * Feeds {@code len} samples and writes the output of every completed
+         * block to {@code dest} starting at {@code destOff}. Returns the
+         * number of samples written, a multiple of {@code up * hop}.
+         */
+        public int process(double[] in, int off, int len, double[] dest, int destOff) {
+            final int inHop = down * hop;
+            final int outHop = up * hop;
+            int written = 0;
+            pending += len;
+            while (len > 0) {
+                int chunk = Math.min(len, inLength - filled);
+                System.arraycopy(in, off, buffer, filled, chunk);
+                filled += chunk;
+                off += chunk;
+                len -= chunk;
+                if (filled == inLength) {
+                    emit(dest, destOff + written, outHop);
+                    written += outHop;
+                    pending -= inHop;
+                    System.arraycopy(buffer, inHop, buffer, 0, inLength - inHop);
+                    filled = inLength - inHop;
+                }
+            }
+            return written;
+        }
+
+        /**
+         * Pads the stream with zeros and writes the output for the remaining
+         * input, {@code ceil(pending * up / down)} samples in total over the
+         * lifetime of the stream (the stream is reset afterwards). Returns the
+         * number of samples written.
+         */
+        public int flush(double[] dest, int destOff) {
+            final int inHop = down * hop;
+            final int outHop = up * hop;
+            int written = 0;
+            while (pending > 0) {
+                Arrays.fill(buffer, filled, inLength, 0.0);
+                int count = (pending >= inHop) ? outHop : (int) ((pending * up + down - 1) / down);
+                emit(dest, destOff + written, count);
+                written += count;
+                pending -= Math.min(pending, inHop);
+                System.arraycopy(buffer, inHop, buffer, 0, inLength - inHop);
+                filled = Math.max(filled - inHop, 0);
+            }
+            reset();
+            return written;
+        }
+
+        public void reset() {
+            Arrays.fill(buffer, 0.0);
+            // the first block is preceded by overlap units of zeros
+            filled = down * overlap;
+            pending = 0L;
+        }
+
+        private void emit(double[] dest, int destOff, int count) {
+            forward.forward(buffer, 0, xr, xi);
+            double[] yr = this.yr;
+            double[] yi = this.yi;
+            double[] weights = this.weights;
+            int c = weights.length - 1;
+            Arrays.fill(yr, 0.0);
+            Arrays.fill(yi, 0.0);
+            for (int k = 0; k < c; ++k) {
+                yr[k] = weights[k] * xr[k];
+                yi[k] = weights[k] * xi[k];
+            }
+            if (outLength > inLength) {
+                // split the input Nyquist bin between +c and -c
+                yr[c] = 0.5 * weights[c] * xr[c];
+                yi[c] = 0.5 * weights[c] * xi[c];
+            } else if (outLength < inLength) {
+                // fold +c and -c onto the output Nyquist bin
+                yr[c] = 2.0 * weights[c] * xr[c];
+            } else {
+                yr[c] = weights[c] * xr[c];
+                yi[c] = weights[c] * xi[c];
+            }
+            inverse.inverse(yr, yi, out, 0);
+            System.arraycopy(out, up * overlap, dest, destOff, count);
+        }
+    }
+
+    private Resampler() {
+        throw new AssertionError();
+    }
+}
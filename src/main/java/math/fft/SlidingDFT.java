@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import java.util.Arrays;
+
+/**
+ * Sliding DFT that tracks a fixed set of frequency bins of the DFT of the
+ * last {@code n} samples of a stream. Each incoming sample updates every
+ * tracked bin in O(1) which makes this much cheaper than a full transform
+ * per sample (or per hop) when only a few bins are of interest.
+ * <p>
+ * The recursion is damped by a factor {@code r <= 1} to keep rounding errors
+ * from accumulating: the tracked value of bin {@code k} is
+ * {@code sum_{m=0}^{n-1} r^(n-m) x[m] exp(-2 pi i k m / n)} where
+ * {@code x[0]} is the oldest and {@code x[n-1]} the newest sample in the
+ * window. For {@code r = 1} this is exactly the DFT of the window, for
+ * {@code r} slightly below {@code 1} it deviates from the DFT by a relative
+ * error of at most {@code 1 - r^n}. Before {@code n} samples have been seen
+ * the window is implicitly zero-padded at its start.
+ * <p>
+ * Instances are not safe for concurrent use.
+ */
+public final class SlidingDFT {
+
+    /**
+     * Default damping factor. Small enough to bound rounding error growth,
+     * close enough to {@code 1} to be negligible for any practical window
+     * length.
+     */
+    public static final double DEFAULT_DAMPING = 1.0 - 0x1.0p-40;
+
+    private final int n;
+    private final int[] bins;
+    private final double damping;
+    // r^n
+    private final double dampingN;
+    // r * exp(2 pi i k / n) per tracked bin
+    private final double[] twRe;
+    private final double[] twIm;
+    private final double[] sRe;
+    private final double[] sIm;
+    // circular buffer of the last n samples
+    private final double[] window;
+    private int pos;
+
+    public SlidingDFT(int n, int[] bins) {
+        this(n, bins, DEFAULT_DAMPING);
+    }
+
+    public SlidingDFT(int n, int[] bins, double damping) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n < 1 : " + n);
+        }
+        if (!(damping > 0.0 && damping <= 1.0)) {
+            throw new IllegalArgumentException("damping must be in (0, 1] : " + damping);
+        }
+        this.n = n;
+        this.bins = bins.clone();
+        this.damping = damping;
+        this.dampingN = Math.pow(damping, n);
+        int count = bins.length;
+        twRe = new double[count];
+        twIm = new double[count];
+        for (int i = 0; i < count; ++i) {
+            int k = bins[i];
+            if (k < 0 || k >= n) {
+                throw new IllegalArgumentException("Invalid bin " + k + " for [0.." + (n - 1) + "] window");
+            }
+            double angle = 2.0 * Math.PI * k / n;
+            twRe[i] = damping * Math.cos(angle);
+            twIm[i] = damping * Math.sin(angle);
+        }
+        sRe = new double[count];
+        sIm = new double[count];
+        window = new double[n];
+    }
+
+    /**
+     * Pushes one sample into the window and updates all tracked bins.
+     */
+    public void update(double sample) {
+        double oldest = window[pos];
+        window[pos] = sample;
+        if (++pos == n) {
+            pos = 0;
+        }
+        double delta = sample - dampingN * oldest;
+        double[] twRe = this.twRe;
+        double[] twIm = this.twIm;
+        double[] sRe = this.sRe;
+        double[] sIm = this.sIm;
+        for (int i = 0; i < sRe.length; ++i) {
+            // S_k <- r exp(2 pi i k / n) (S_k + x_new - r^n x_old)
+            double re = sRe[i] + delta;
+            double im = sIm[i];
+            double wr = twRe[i];
+            double wi = twIm[i];
+            sRe[i] = re * wr - im * wi;
+            sIm[i] = re * wi + im * wr;
+        }
+    }
+
+    /**
+     * Pushes {@code samples[off..off+len)} into the window.
+     */
+    public void update(double[] samples, int off, int len) {
+        for (int i = off; i < off + len; ++i) {
+            update(samples[i]);
+        }
+    }
+
+    /**
+     * Returns the current values of the tracked bins in the order in which
+     * the bins were passed to the constructor.
+     */
+    public ComplexArray spectrum() {
+        ComplexArray dest = new ComplexArray(bins.length);
+        spectrum(dest);
+        return dest;
+    }
+
+    /**
+     * Copies the current values of the tracked bins into {@code dest}, which
+     * must have the same length as the array of tracked bins.
+     */
+    public void spectrum(ComplexArray dest) {
+        if (dest.length() != bins.length) {
+            throw new IllegalArgumentException("Unequal dimensions: " + dest.length() + " != " + bins.length);
+        }
+        double[] re = dest.re();
+        double[] im = dest.im();
+        for (int i = 0; i < bins.length; ++i) {
+            double re_i = sRe[i];
+            double im_i = sIm[i];
+            re[i] = (Math.abs(re_i) <= ComplexArray.TOL) ? 0.0 : re_i;
+            im[i] = (Math.abs(im_i) <= ComplexArray.TOL) ? 0.0 : im_i;
+        }
+    }
+
+    /**
+     * Clears the window and all tracked bins.
+     */
+    public void reset() {
+        Arrays.fill(window, 0.0);
+        Arrays.fill(sRe, 0.0);
+        Arrays.fill(sIm, 0.0);
+        pos = 0;
+    }
+
+    public int[] bins() {
+        return bins.clone();
+    }
+
+    public int windowLength() {
+        return n;
+    }
+
+    public double damping() {
+        return damping;
+    }
+}
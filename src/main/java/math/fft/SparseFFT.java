@@ -0,0 +1,406 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Sparse FFT for signals whose spectrum is dominated by at most {@code k}
+ * frequencies. Each round randomly permutes the spectrum (the time samples
+ * are read at {@code sigma * t + tau} for a random odd {@code sigma}) and
+ * hashes the {@code n} frequencies into {@code B ~ 4k} buckets by aliasing:
+ * subsampling the permuted signal with stride {@code n / B} and taking a
+ * {@code B}-point FFT sums all frequencies that are congruent modulo
+ * {@code B}. Repeating this for the time shifts {@code d = 1, 16, 256, ...}
+ * lets the phase rotation {@code exp(2 pi i f d / n)} of an isolated
+ * frequency {@code f} reveal its position digit by digit. A bucket is only
+ * accepted if two further, randomly shifted, aliasings are consistent with a
+ * single frequency as well. Frequencies found in earlier rounds are
+ * subtracted from the buckets (peeling), so that collisions get resolved by
+ * later rounds.
+ * <p>
+ * Since an odd multiplier preserves the congruence of two frequencies modulo
+ * a power of two, frequencies whose distance is a multiple of {@code B}
+ * collide in every round. Whenever a round makes no progress the number of
+ * buckets is therefore quadrupled.
+ * <p>
+ * A round reads {@code O(B log n)} samples and costs
+ * {@code O(B log B log n)} operations, independent of {@code n}. Buckets are
+ * significant if their energy exceeds a multiple of the median bucket energy
+ * (the noise floor). The full transform is computed instead, and its
+ * {@code k} largest coefficients are returned, if
+ * <ul>
+ * <li>significant buckets remain after {@value #MAX_ROUNDS} rounds or when
+ * the buckets can't be refined any further,</li>
+ * <li>more than {@code 2k} frequencies are found,</li>
+ * <li>the energy left after peeling is more than a quarter of the total
+ * energy (the spectrum is not sparse), or</li>
+ * <li>{@code n} is not a power of two large enough to be worth it.</li>
+ * </ul>
+ * Instances hold scratch buffers and are not safe for concurrent use.
+ */
+public final class SparseFFT {
+
+    static final int MAX_ROUNDS = 16;
+    // magnitude factor above the median bucket magnitude
+    private static final double NOISE_FACTOR = 8.0;
+    // energies below this fraction of the initial energy are treated as zero
+    private static final double RELATIVE_FLOOR = 1e-20;
+    // maximum relative mismatch of a shifted bucket against a single frequency
+    private static final double SINGLETON_TOLERANCE = 0.25;
+    // maximum fraction of the energy that may be left after peeling
+    private static final double RESIDUAL_FRACTION = 0.25;
+    private static final int VERIFY_SHIFTS = 2;
+    private static final int DIGIT_BITS = 4;
+    private static final int MIN_LENGTH = 1 << 10;
+
+    private final int n;
+    private final int k;
+    private final int buckets;
+    private final SplittableRandom random;
+    // scratch: bucket spectra per shift for the current bucket count
+    private double[][] zr;
+    private double[][] zi;
+    private boolean fellBack;
+
+    public SparseFFT(int n, int k) {
+        this(n, k, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * @param n
+     *            the transform length
+     * @param k
+     *            the number of dominant frequencies to look for
+     * @param seed
+     *            the seed for the random permutations
+     */
+    public SparseFFT(int n, int k, long seed) {
+        if (n < 1 || k < 1) {
+            throw new IllegalArgumentException("Invalid n " + n + " / k " + k);
+        }
+        this.n = n;
+        this.k = k;
+        int b = Integer.highestOneBit(Math.max(4 * k - 1, 8)) << 1;
+        // dense only if 0
+        buckets = (n < MIN_LENGTH || !isPowerOfTwo(n) || b > n / 16) ? 0 : b;
+        random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Finds the (up to) {@code k} largest coefficients of the unnormalized
+     * DFT of {@code re + i im} ({@code im} may be {@code null} for real
+     * input) and stores their bins and values, largest first, into
+     * {@code bins}, {@code coefRe} and {@code coefIm} (all of length
+     * {@code >= k}). Returns the number of coefficients found.
+     */
+    public int forward(double[] re, double[] im, int[] bins, double[] coefRe, double[] coefIm) {
+        if (re.length != n) {
+            throw new IllegalArgumentException("Unequal dimensions: " + re.length + " != " + n);
+        }
+        if (im != null && im.length != n) {
+            throw new IllegalArgumentException("Unequal dimensions: " + im.length + " != " + n);
+        }
+        if (bins.length < k || coefRe.length < k || coefIm.length < k) {
+            throw new IllegalArgumentException("Output arrays shorter than " + k);
+        }
+        if (buckets > 0) {
+            HashMap<Integer, double[]> found = sparse(re, im);
+            if (found != null) {
+                fellBack = false;
+                return select(found, bins, coefRe, coefIm);
+            }
+        }
+        fellBack = true;
+        return dense(re, im, bins, coefRe, coefIm);
+    }
+
+    /**
+     * Returns {@code true} if the last call of {@code forward} had to compute
+     * the full transform.
+     */
+    public boolean fellBack() {
+        return fellBack;
+    }
+
+    public int length() {
+        return n;
+    }
+
+    public int sparsity() {
+        return k;
+    }
+
+    /**
+     * Returns the initial number of buckets per round ({@code 0} if this
+     * plan always computes the full transform).
+     */
+    public int buckets() {
+        return buckets;
+    }
+
+    // returns bin -> {re, im} or null if the sparsity assumption failed
+    private HashMap<Integer, double[]> sparse(double[] re, double[] im) {
+        final int n = this.n;
+        final long mask = n - 1;
+        final double twoPiOverN = 2.0 * Math.PI / n;
+        HashMap<Integer, double[]> found = new HashMap<>();
+        int B = buckets;
+        double initial = -1.0;
+        for (int round = 0; round < MAX_ROUNDS; ++round) {
+            final int stride = n / B;
+            int locate = 1;
+            for (long d = 1; d < stride; d <<= DIGIT_BITS) {
+                ++locate;
+            }
+            final int[] shifts = new int[locate + VERIFY_SHIFTS];
+            for (int s = 1; s < locate; ++s) {
+                shifts[s] = 1 << (DIGIT_BITS * (s - 1));
+            }
+            for (int s = locate; s < shifts.length; ++s) {
+                shifts[s] = 1 + random.nextInt(n - 1);
+            }
+            if (zr == null || zr.length < shifts.length || zr[0].length != B) {
+                zr = new double[shifts.length][B];
+                zi = new double[shifts.length][B];
+            }
+            final double[][] zr = this.zr;
+            final double[][] zi = this.zi;
+            final double toBucket = (double) B / n;
+            final double fromBucket = (double) n / B;
+            long sigma = random.nextLong(n) | 1L;
+            long tau = random.nextLong(n);
+            long sigmaInv = inverse(sigma, mask);
+            // alias the permuted signal into the buckets
+            for (int s = 0; s < shifts.length; ++s) {
+                double[] br = zr[s];
+                double[] bi = zi[s];
+                long t = shifts[s];
+                for (int j = 0; j < B; ++j, t += stride) {
+                    int idx = (int) ((sigma * t + tau) & mask);
+                    br[j] = re[idx];
+                    bi[j] = (im == null) ? 0.0 : im[idx];
+                }
+                Fourier.transform(br, bi, false);
+            }
+            // peel off everything found so far
+            for (Map.Entry<Integer, double[]> e : found.entrySet()) {
+                long f = e.getKey();
+                double[] c = e.getValue();
+                long fp = (sigma * f) & mask;
+                double phase = twoPiOverN * ((f * tau) & mask);
+                double pr = toBucket * (c[0] * Math.cos(phase) - c[1] * Math.sin(phase));
+                double pi = toBucket * (c[0] * Math.sin(phase) + c[1] * Math.cos(phase));
+                int b = (int) (fp & (B - 1));
+                for (int s = 0; s < shifts.length; ++s) {
+                    double a = twoPiOverN * ((fp * shifts[s]) & mask);
+                    double cos = Math.cos(a);
+                    double sin = Math.sin(a);
+                    zr[s][b] -= pr * cos - pi * sin;
+                    zi[s][b] -= pr * sin + pi * cos;
+                }
+            }
+            // significance threshold from the noise floor
+            double[] energy = new double[B];
+            double total = 0.0;
+            for (int b = 0; b < B; ++b) {
+                double e = zr[0][b] * zr[0][b] + zi[0][b] * zi[0][b];
+                energy[b] = e;
+                total += e;
+            }
+            // estimate of the total spectral energy left
+            total *= fromBucket * fromBucket;
+            if (initial < 0.0) {
+                initial = total;
+            }
+            double[] sorted = energy.clone();
+            Arrays.sort(sorted);
+            double floor = RELATIVE_FLOOR * initial * toBucket * toBucket;
+            double threshold = Math.max(NOISE_FACTOR * NOISE_FACTOR * sorted[B / 2], floor);
+            boolean significant = false;
+            int progress = 0;
+            for (int b = 0; b < B; ++b) {
+                if (energy[b] <= threshold) {
+                    continue;
+                }
+                significant = true;
+                long fp = locate(b, B, stride, locate);
+                // average the shifted estimates of the permuted coefficient
+                double vr = 0.0;
+                double vi = 0.0;
+                boolean singleton = true;
+                double tol = SINGLETON_TOLERANCE * SINGLETON_TOLERANCE * energy[b];
+                for (int s = 0; s < shifts.length; ++s) {
+                    double a = twoPiOverN * ((fp * shifts[s]) & mask);
+                    double cos = Math.cos(a);
+                    double sin = Math.sin(a);
+                    // z_s * exp(-i a) must equal z_0
+                    double ur = zr[s][b] * cos + zi[s][b] * sin;
+                    double ui = zi[s][b] * cos - zr[s][b] * sin;
+                    double dr = ur - zr[0][b];
+                    double di = ui - zi[0][b];
+                    if (dr * dr + di * di > tol) {
+                        singleton = false;
+                        break;
+                    }
+                    vr += ur;
+                    vi += ui;
+                }
+                if (!singleton) {
+                    continue;
+                }
+                ++progress;
+                vr *= fromBucket / shifts.length;
+                vi *= fromBucket / shifts.length;
+                // undo the permutation: X[f] = X'[sigma f] exp(-2 pi i f tau / n)
+                long f = (sigmaInv * fp) & mask;
+                double phase = twoPiOverN * ((f * tau) & mask);
+                double cos = Math.cos(phase);
+                double sin = Math.sin(phase);
+                double xr = vr * cos + vi * sin;
+                double xi = vi * cos - vr * sin;
+                double[] c = found.get((int) f);
+                if (c == null) {
+                    found.put((int) f, new double[] { xr, xi });
+                } else {
+                    c[0] += xr;
+                    c[1] += xi;
+                }
+            }
+            if (!significant) {
+                if (total > RESIDUAL_FRACTION * initial) {
+                    return null;
+                }
+                // drop what has cancelled out
+                double limit = threshold * fromBucket * fromBucket;
+                for (Iterator<double[]> it = found.values().iterator(); it.hasNext();) {
+                    double[] c = it.next();
+                    if (c[0] * c[0] + c[1] * c[1] <= limit) {
+                        it.remove();
+                    }
+                }
+                return found;
+            }
+            if (found.size() > 2 * k) {
+                return null;
+            }
+            if (progress == 0) {
+                // permanent collisions: refine the buckets
+                B <<= 2;
+                if (B > n / 16) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    // position of the permuted frequency in bucket b
+    private long locate(int b, int B, int stride, int locate) {
+        final double r0 = zr[0][b];
+        final double i0 = zi[0][b];
+        // permuted frequency = b + B * q, 0 <= q < stride
+        double q = 0.0;
+        double p = stride;
+        for (int s = 1; s < locate; ++s) {
+            double d = 1 << (DIGIT_BITS * (s - 1));
+            // arg(z_d / z_0) = 2 pi d (b + B q) / n
+            double cr = zr[s][b] * r0 + zi[s][b] * i0;
+            double ci = zi[s][b] * r0 - zr[s][b] * i0;
+            double theta = Math.atan2(ci, cr) - 2.0 * Math.PI * (d * b / ((double) B * stride));
+            // q mod p, with p = stride / d
+            double base = theta / (2.0 * Math.PI) * p;
+            base -= p * Math.floor(base / p);
+            q = base + p * Math.rint((q - base) / p);
+            p /= (1 << DIGIT_BITS);
+        }
+        long qi = Math.floorMod((long) Math.rint(q), (long) stride);
+        return b + (long) B * qi;
+    }
+
+    private int select(HashMap<Integer, double[]> found, int[] bins, double[] coefRe, double[] coefIm) {
+        int size = found.size();
+        int[] keys = new int[size];
+        double[] mags = new double[size];
+        int i = 0;
+        for (Map.Entry<Integer, double[]> e : found.entrySet()) {
+            keys[i] = e.getKey();
+            double[] c = e.getValue();
+            mags[i++] = c[0] * c[0] + c[1] * c[1];
+        }
+        int count = 0;
+        while (count < k && count < size) {
+            int best = -1;
+            for (int j = 0; j < size; ++j) {
+                if (mags[j] >= 0.0 && (best < 0 || mags[j] > mags[best])) {
+                    best = j;
+                }
+            }
+            double[] c = found.get(keys[best]);
+            bins[count] = keys[best];
+            coefRe[count] = c[0];
+            coefIm[count] = c[1];
+            mags[best] = -1.0;
+            ++count;
+        }
+        return count;
+    }
+
+    private int dense(double[] re, double[] im, int[] bins, double[] coefRe, double[] coefIm) {
+        ComplexArray spectrum = (im == null) ? Fourier.forwardDFT(re) : Fourier.forwardDFT(re, im);
+        double[] xr = spectrum.re();
+        double[] xi = spectrum.im();
+        // insertion into the descending top-k
+        double[] top = new double[k];
+        int count = 0;
+        for (int f = 0; f < xr.length; ++f) {
+            double m = xr[f] * xr[f] + xi[f] * xi[f];
+            if (count == k && m <= top[k - 1]) {
+                continue;
+            }
+            int pos = (count < k) ? count++ : k - 1;
+            while (pos > 0 && top[pos - 1] < m) {
+                top[pos] = top[pos - 1];
+                bins[pos] = bins[pos - 1];
+                --pos;
+            }
+            top[pos] = m;
+            bins[pos] = f;
+        }
+        for (int i = 0; i < count; ++i) {
+            coefRe[i] = xr[bins[i]];
+            coefIm[i] = xi[bins[i]];
+        }
+        return count;
+    }
+
+    // multiplicative inverse of an odd number modulo mask + 1 (a power of two)
+    private static long inverse(long a, long mask) {
+        long x = a;
+        for (int i = 0; i < 6; ++i) {
+            x *= 2 - a * x;
+        }
+        return x & mask;
+    }
+
+    private static boolean isPowerOfTwo(int n) {
+        return (n > 0) && ((n & (n - 1)) == 0);
+    }
+}
@@ -0,0 +1,488 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary container for sequences of equally sized spectra (e.g. the frames
+ * of a spectrogram). A file consists of a {@value #HEADER_SIZE} byte header
+ * followed by the frames back to back, all little-endian:
+ * 
+ * <pre>
+ * offset  size  field
+ *      0     8  magic "FFTSPEC1"
+ *      8     4  version (1)
+ *     12     4  frame length (values per frame, e.g. number of bins)
+ *     16     8  frame count
+ *     24     4  hop (samples between frames, 0 if not applicable)
+ *     28     1  layout (0 = REAL, 1 = COMPLEX)
+ *     29     1  precision (0 = FLOAT64, 1 = FLOAT32, 2 = FLOAT16)
+ *     30     2  reserved
+ *     32     8  sample rate (float64, 0 if not applicable)
+ *     40    24  reserved
+ * </pre>
+ * 
+ * A {@link Layout#REAL} frame stores {@code frameLength} values (e.g.
+ * magnitudes or power), a {@link Layout#COMPLEX} frame stores
+ * {@code frameLength} interleaved {@code (re, im)} pairs. Frame {@code i}
+ * starts at byte {@code HEADER_SIZE + i * frameBytes}, so frames can be
+ * accessed randomly without parsing anything.
+ * <p>
+ * Files are written sequentially with a {@link Writer} and read through a
+ * memory mapping: {@link #frame(long)} returns a zero-copy view of a frame,
+ * the {@code readFrame} methods decode a frame into a caller-supplied array.
+ * Half precision values are converted with {@link #toHalf(double)} and
+ * {@link #fromHalf(short)} (IEEE 754 binary16, round to nearest even).
+ * <p>
+ * Readers are safe for concurrent use, writers are not.
+ */
+public final class SpectrumFile implements Closeable {
+
+    public static final int HEADER_SIZE = 64;
+
+    private static final byte[] MAGIC = "FFTSPEC1".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+    private static final int FRAME_COUNT_OFFSET = 16;
+
+    public enum Layout {
+        REAL(1), COMPLEX(2);
+
+        private final int values;
+
+        Layout(int values) {
+            this.values = values;
+        }
+    }
+
+    public enum Precision {
+        FLOAT64(8), FLOAT32(4), FLOAT16(2);
+
+        private final int bytes;
+
+        Precision(int bytes) {
+            this.bytes = bytes;
+        }
+
+        public int bytes() {
+            return bytes;
+        }
+    }
+
+    private final FileChannel channel;
+    private final int frameLength;
+    private final long frameCount;
+    private final int hop;
+    private final double sampleRate;
+    private final Layout layout;
+    private final Precision precision;
+    private final int frameBytes;
+    // the frames are mapped in chunks of at most 2 GB holding whole frames
+    private final long framesPerChunk;
+    private final MappedByteBuffer[] chunks;
+
+    private SpectrumFile(FileChannel channel) throws IOException {
+        this.channel = channel;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("Truncated header");
+            }
+        }
+        header.flip();
+        for (byte b : MAGIC) {
+            if (header.get() != b) {
+                throw new IOException("Not a spectrum file");
+            }
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version: " + version);
+        }
+        frameLength = header.getInt();
+        frameCount = header.getLong();
+        hop = header.getInt();
+        int layoutOrdinal = header.get();
+        int precisionOrdinal = header.get();
+        if (frameLength < 0 || frameCount < 0L || hop < 0 || layoutOrdinal < 0
+                || layoutOrdinal >= Layout.values().length || precisionOrdinal < 0
+                || precisionOrdinal >= Precision.values().length) {
+            throw new IOException("Corrupt header");
+        }
+        layout = Layout.values()[layoutOrdinal];
+        precision = Precision.values()[precisionOrdinal];
+        header.getShort();
+        sampleRate = header.getDouble();
+        if ((long) frameLength * layout.values * precision.bytes > Integer.MAX_VALUE) {
+            throw new IOException("Corrupt header");
+        }
+        frameBytes = frameBytes(frameLength, layout, precision);
+        // frameCount * frameBytes may overflow, compare by division instead
+        if (frameBytes > 0 && frameCount > (channel.size() - HEADER_SIZE) / frameBytes) {
+            throw new IOException("Truncated file: " + frameCount + " frames of " + frameBytes + " bytes expected");
+        }
+        framesPerChunk = (frameBytes == 0) ? Long.MAX_VALUE : Math.max(1, Integer.MAX_VALUE / frameBytes);
+        int chunkCount = (int) (frameCount / framesPerChunk + ((frameCount % framesPerChunk == 0L) ? 0 : 1));
+        chunks = new MappedByteBuffer[chunkCount];
+        for (int c = 0; c < chunkCount; ++c) {
+            long first = (long) c * framesPerChunk;
+            long frames = Math.min(framesPerChunk, frameCount - first);
+            chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * frameBytes,
+                    frames * frameBytes);
+        }
+    }
+
+    /**
+     * Opens an existing spectrum file for reading.
+     */
+    public static SpectrumFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new SpectrumFile(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates (or truncates) a spectrum file and returns a writer for it.
+     */
+    public static Writer create(Path path, Layout layout, Precision precision, int frameLength, int hop,
+            double sampleRate) throws IOException {
+        return new Writer(path, layout, precision, frameLength, hop, sampleRate);
+    }
+
+    public int frameLength() {
+        return frameLength;
+    }
+
+    public long frameCount() {
+        return frameCount;
+    }
+
+    public int hop() {
+        return hop;
+    }
+
+    public double sampleRate() {
+        return sampleRate;
+    }
+
+    public Layout layout() {
+        return layout;
+    }
+
+    public Precision precision() {
+        return precision;
+    }
+
+    /**
+     * Returns the number of bytes per frame.
+     */
+    public int frameBytes() {
+        return frameBytes;
+    }
+
+    /**
+     * Returns a read-only little-endian view of the encoded frame
+     * {@code index} without copying.
+     */
+    public ByteBuffer frame(long index) {
+        if (index < 0L || index >= frameCount) {
+            throw new IndexOutOfBoundsException("frame " + index + " of " + frameCount);
+        }
+        ByteBuffer chunk = chunks[(int) (index / framesPerChunk)].duplicate();
+        int start = (int) (index % framesPerChunk) * frameBytes;
+        chunk.position(start).limit(start + frameBytes);
+        return chunk.slice().asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Decodes frame {@code index} of a {@link Layout#REAL} file into
+     * {@code dest}.
+     */
+    public void readFrame(long index, double[] dest) {
+        if (layout != Layout.REAL) {
+            throw new IllegalStateException("Layout is " + layout);
+        }
+        checkLength(dest.length);
+        ByteBuffer frame = frame(index);
+        for (int i = 0; i < frameLength; ++i) {
+            dest[i] = get(frame, precision);
+        }
+    }
+
+    /**
+     * Decodes frame {@code index} of a {@link Layout#COMPLEX} file into
+     * {@code dest}.
+     */
+    public void readFrame(long index, ComplexArray dest) {
+        if (layout != Layout.COMPLEX) {
+            throw new IllegalStateException("Layout is " + layout);
+        }
+        checkLength(dest.length());
+        ByteBuffer frame = frame(index);
+        double[] re = dest.re();
+        double[] im = dest.im();
+        for (int i = 0; i < frameLength; ++i) {
+            re[i] = get(frame, precision);
+            im[i] = get(frame, precision);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void checkLength(int length) {
+        if (length != frameLength) {
+            throw new IllegalArgumentException("Unequal dimensions: " + length + " != " + frameLength);
+        }
+    }
+
+    /**
+     * Returns the (flipped) header of a file with the given properties.
+     */
+    static ByteBuffer header(Layout layout, Precision precision, int frameLength, long frameCount, int hop,
+            double sampleRate) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(MAGIC).putInt(VERSION).putInt(frameLength).putLong(frameCount).putInt(hop);
+        header.put((byte) layout.ordinal()).put((byte) precision.ordinal()).putShort((short) 0);
+        header.putDouble(sampleRate);
+        header.position(HEADER_SIZE);
+        header.flip();
+        return header;
+    }
+
+    static int frameBytes(int frameLength, Layout layout, Precision precision) {
+        long bytes = (long) frameLength * layout.values * precision.bytes;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Frame too large: " + bytes + " bytes");
+        }
+        return (int) bytes;
+    }
+
+    private static double get(ByteBuffer buffer, Precision precision) {
+        switch (precision) {
+        case FLOAT64:
+            return buffer.getDouble();
+        case FLOAT32:
+            return buffer.getFloat();
+        default:
+            return fromHalf(buffer.getShort());
+        }
+    }
+
+    private static void put(ByteBuffer buffer, Precision precision, double value) {
+        switch (precision) {
+        case FLOAT64:
+            buffer.putDouble(value);
+            break;
+        case FLOAT32:
+            buffer.putFloat((float) value);
+            break;
+        default:
+            buffer.putShort(toHalf(value));
+            break;
+        }
+    }
+
+    /**
+     * Encodes {@code count} values starting at {@code off} of {@code re} (and
+     * of {@code im}, interleaved, if it isn't {@code null}) into
+     * {@code dest}.
+     */
+    static void encode(double[] re, double[] im, int off, int count, Precision precision, ByteBuffer dest) {
+        if (im == null) {
+            for (int i = off; i < off + count; ++i) {
+                put(dest, precision, re[i]);
+            }
+        } else {
+            for (int i = off; i < off + count; ++i) {
+                put(dest, precision, re[i]);
+                put(dest, precision, im[i]);
+            }
+        }
+    }
+
+    /**
+     * Converts {@code value} to the nearest IEEE 754 half precision value
+     * (ties to even). Values beyond the half precision range become
+     * infinities, values below its subnormal range become signed zeros.
+     */
+    public static short toHalf(double value) {
+        // rounding the double to float first could round twice, so the
+        // rounding is done on the double's bits directly
+        long bits = Double.doubleToRawLongBits(value);
+        int sign = (int) (bits >>> 48) & 0x8000;
+        int exp = (int) (bits >>> 52) & 0x7ff;
+        long mantissa = bits & 0xfffffffffffffL;
+        if (exp == 0x7ff) {
+            // infinity or NaN (keep NaNs quiet and non-zero)
+            return (short) (sign | 0x7c00 | ((mantissa != 0L) ? 0x200 : 0));
+        }
+        int e = exp - 1023 + 15;
+        if (e >= 0x1f) {
+            return (short) (sign | 0x7c00);
+        }
+        long full;
+        int shift;
+        if (e <= 0) {
+            // subnormal half: 10 + e significant bits remain
+            if (e < -10) {
+                return (short) sign;
+            }
+            full = mantissa | (1L << 52);
+            shift = 42 + 1 - e;
+            e = 0;
+        } else {
+            full = mantissa;
+            shift = 42;
+        }
+        long half = full >>> shift;
+        long rest = full & ((1L << shift) - 1);
+        long halfway = 1L << (shift - 1);
+        if (rest > halfway || (rest == halfway && (half & 1L) != 0L)) {
+            // may carry into the exponent, which is still correct
+            ++half;
+        }
+        return (short) (sign | ((e << 10) + (int) half));
+    }
+
+    /**
+     * Converts an IEEE 754 half precision value to {@code double} (exact).
+     */
+    public static double fromHalf(short half) {
+        int h = half & 0xffff;
+        int exp = (h >>> 10) & 0x1f;
+        int mantissa = h & 0x3ff;
+        double value;
+        if (exp == 0) {
+            value = mantissa * 0x1.0p-24;
+        } else if (exp == 0x1f) {
+            value = (mantissa == 0) ? Double.POSITIVE_INFINITY : Double.NaN;
+        } else {
+            value = (1024 + mantissa) * Math.scalb(1.0, exp - 25);
+        }
+        return ((h & 0x8000) != 0) ? -value : value;
+    }
+
+    /**
+     * Sequential writer of a spectrum file. The frame count in the header is
+     * updated by {@link #close()}.
+     */
+    public static final class Writer implements Closeable {
+
+        private final FileChannel channel;
+        private final Layout layout;
+        private final Precision precision;
+        private final int frameLength;
+        private final ByteBuffer buffer;
+        private long frameCount;
+
+        private Writer(Path path, Layout layout, Precision precision, int frameLength, int hop, double sampleRate)
+                throws IOException {
+            if (frameLength < 0 || hop < 0) {
+                throw new IllegalArgumentException("Invalid frameLength " + frameLength + " / hop " + hop);
+            }
+            this.layout = layout;
+            this.precision = precision;
+            this.frameLength = frameLength;
+            this.buffer = ByteBuffer.allocateDirect(Math.max(frameBytes(frameLength, layout, precision), HEADER_SIZE))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            try {
+                buffer.clear();
+                buffer.put(header(layout, precision, frameLength, 0L, hop, sampleRate)).flip();
+                writeFully(buffer, 0L);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Appends a {@link Layout#REAL} frame.
+         */
+        public void append(double[] values) throws IOException {
+            if (layout != Layout.REAL) {
+                throw new IllegalStateException("Layout is " + layout);
+            }
+            checkLength(values.length);
+            write(values, null);
+        }
+
+        /**
+         * Appends a {@link Layout#COMPLEX} frame.
+         */
+        public void append(ComplexArray spectrum) throws IOException {
+            if (layout != Layout.COMPLEX) {
+                throw new IllegalStateException("Layout is " + layout);
+            }
+            checkLength(spectrum.length());
+            write(spectrum.re(), spectrum.im());
+        }
+
+        public long frameCount() {
+            return frameCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!channel.isOpen()) {
+                return;
+            }
+            try {
+                buffer.clear();
+                buffer.putLong(frameCount).flip();
+                writeFully(buffer, FRAME_COUNT_OFFSET);
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void write(double[] re, double[] im) throws IOException {
+            buffer.clear();
+            encode(re, im, 0, frameLength, precision, buffer);
+            buffer.flip();
+            writeFully(buffer, HEADER_SIZE + frameCount * buffer.limit());
+            ++frameCount;
+        }
+
+        private void writeFully(ByteBuffer src, long position) throws IOException {
+            while (src.hasRemaining()) {
+                position += channel.write(src, position);
+            }
+        }
+
+        private void checkLength(int length) {
+            if (length != frameLength) {
+                throw new IllegalArgumentException("Unequal dimensions: " + length + " != " + frameLength);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+/**
+ * Callback interface for observing the transforms computed by
+ * {@link Fourier} while {@link Metrics} are enabled (see there for which
+ * calls are counted). Listeners are invoked synchronously on the thread that computed
+ * the transform and should therefore return quickly.
+ */
+public interface TransformListener {
+
+    /**
+     * The code path that computed a transform.
+     */
+    enum Algorithm {
+        /** {@code N <= 1}: copy only */
+        TRIVIAL,
+        /** {@code N == 2}: hard-coded butterfly */
+        SIZE_2,
+        /** {@code 3 <= N <= 16}: straight-line codelet */
+        CODELET,
+        /** power-of-two {@code N >= 32}: radix-2 Cooley-Tukey */
+        RADIX_2,
+        /** all other sizes: Bluestein chirp-z */
+        BLUESTEIN
+    }
+
+    /**
+     * Called after a transform has been computed.
+     * 
+     * @param algorithm
+     *            the code path that was taken
+     * @param inverse
+     *            {@code true} for an inverse transform
+     * @param size
+     *            the transform length
+     * @param nanos
+     *            the elapsed wall-clock time in nanoseconds
+     * @param allocatedBytes
+     *            an estimate of the bytes allocated on the heap by the
+     *            transform (including its result)
+     */
+    void transformed(Algorithm algorithm, boolean inverse, int size, long nanos, long allocatedBytes);
+}
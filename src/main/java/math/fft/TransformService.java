@@ -0,0 +1,314 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous transforms with request coalescing. Concurrent requests of
+ * the same kind and length that arrive within a short window are collected
+ * into a batch which is executed as a single task on the supplied
+ * {@link Executor} (e.g. a fixed worker pool or, on newer JDKs, a virtual
+ * thread per task executor). A batch is dispatched as soon as it holds
+ * {@code maxBatchSize} requests or when {@code maxDelay} has passed since
+ * its first request, whichever comes first. Batches of real forward
+ * transforms are computed two at a time with {@link PairedRealFFT}.
+ * <p>
+ * At most {@code maxPending} requests can be in flight (queued or
+ * executing); further submissions block until earlier ones complete. The
+ * current and peak queue depth as well as batch statistics are available
+ * from the service.
+ * <p>
+ * Instances are thread-safe. {@link #close()} dispatches the batches that
+ * are still open and rejects later submissions, it doesn't shut down the
+ * executor. The batch timeouts of all instances share one daemon timer
+ * thread, so an instance that is dropped without {@code close()} holds no
+ * thread (but its open batches are only dispatched when they expire).
+ */
+public final class TransformService implements AutoCloseable {
+
+    // dispatches expired batches of all instances, its thread is a daemon
+    // and ends after a second without work
+    private static final ScheduledThreadPoolExecutor TIMER = timer();
+
+    private final Executor executor;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final int maxPending;
+    private final Semaphore permits;
+    // open batches by kind and length
+    private final HashMap<Long, Batch> open = new HashMap<>();
+    private boolean closed;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    /**
+     * @param executor
+     *            executes the batches
+     * @param maxBatchSize
+     *            the maximum number of requests per batch
+     * @param maxDelay
+     *            the maximum time a request waits for other requests to
+     *            join its batch, {@code 0} disables coalescing of requests
+     *            that don't arrive at the same time
+     * @param unit
+     *            the unit of {@code maxDelay}
+     * @param maxPending
+     *            the maximum number of requests in flight
+     */
+    public TransformService(Executor executor, int maxBatchSize, long maxDelay, TimeUnit unit, int maxPending) {
+        if (executor == null) {
+            throw new NullPointerException("executor");
+        }
+        if (maxBatchSize < 1 || maxDelay < 0L || maxPending < 1) {
+            throw new IllegalArgumentException("Invalid limits: maxBatchSize = " + maxBatchSize + ", maxDelay = "
+                    + maxDelay + ", maxPending = " + maxPending);
+        }
+        this.executor = executor;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+        this.maxPending = maxPending;
+        this.permits = new Semaphore(maxPending);
+    }
+
+    /**
+     * Asynchronous {@link Fourier#forwardDFT(double[])}. The array must not
+     * be modified until the returned future completes. Blocks while
+     * {@code maxPending} requests are in flight.
+     */
+    public CompletableFuture<ComplexArray> forwardDFT(double[] data) {
+        return submit(new Request(data, null), key(data.length, false));
+    }
+
+    /**
+     * Asynchronous {@link Fourier#inverseDFT(ComplexArray)}. The array must
+     * not be modified until the returned future completes. Blocks while
+     * {@code maxPending} requests are in flight.
+     */
+    public CompletableFuture<ComplexArray> inverseDFT(ComplexArray freqs) {
+        return submit(new Request(null, freqs), key(freqs.length(), true));
+    }
+
+    /**
+     * Returns the number of requests currently queued or executing.
+     */
+    public int queueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Returns the largest queue depth observed so far.
+     */
+    public int maxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    public int maxPending() {
+        return maxPending;
+    }
+
+    /**
+     * Returns the number of requests executed so far.
+     */
+    public long requestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * Returns the number of batches executed so far.
+     */
+    public long batchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * Returns the mean number of requests per executed batch.
+     */
+    public double averageBatchSize() {
+        long b = batches.sum();
+        return (b == 0L) ? 0.0 : (double) requests.sum() / b;
+    }
+
+    @Override
+    public void close() {
+        ArrayList<Batch> remaining;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            remaining = new ArrayList<>(open.values());
+            open.clear();
+        }
+        for (Batch batch : remaining) {
+            if (batch.timeout != null) {
+                batch.timeout.cancel(false);
+            }
+            dispatch(batch);
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor timer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "TransformService-timer");
+            t.setDaemon(true);
+            return t;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        timer.setKeepAliveTime(1L, TimeUnit.SECONDS);
+        timer.allowCoreThreadTimeOut(true);
+        return timer;
+    }
+
+    private static Long key(int length, boolean inverse) {
+        return ((long) length << 1) | (inverse ? 1L : 0L);
+    }
+
+    private CompletableFuture<ComplexArray> submit(Request request, Long key) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            request.future.completeExceptionally(e);
+            return request.future;
+        }
+        int depth = queueDepth.incrementAndGet();
+        maxQueueDepth.accumulateAndGet(depth, Math::max);
+        Batch full = null;
+        synchronized (this) {
+            if (closed) {
+                release(1);
+                request.future.completeExceptionally(new RejectedExecutionException("TransformService is closed"));
+                return request.future;
+            }
+            Batch batch = open.get(key);
+            if (batch == null) {
+                batch = new Batch((key.longValue() & 1L) != 0L);
+                if (maxBatchSize > 1 && maxDelayNanos > 0L) {
+                    open.put(key, batch);
+                    final Batch b = batch;
+                    batch.timeout = TIMER.schedule(() -> expire(key, b), maxDelayNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+            batch.requests.add(request);
+            if (batch.requests.size() >= maxBatchSize || batch.timeout == null) {
+                open.remove(key, batch);
+                full = batch;
+            }
+        }
+        if (full != null) {
+            if (full.timeout != null) {
+                full.timeout.cancel(false);
+            }
+            dispatch(full);
+        }
+        return request.future;
+    }
+
+    private void expire(Long key, Batch batch) {
+        synchronized (this) {
+            if (!open.remove(key, batch)) {
+                // already dispatched because it became full
+                return;
+            }
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch batch) {
+        try {
+            executor.execute(() -> execute(batch));
+        } catch (RejectedExecutionException e) {
+            for (Request request : batch.requests) {
+                request.future.completeExceptionally(e);
+            }
+            release(batch.requests.size());
+        }
+    }
+
+    private void execute(Batch batch) {
+        ArrayList<Request> list = batch.requests;
+        int i = 0;
+        try {
+            if (batch.inverse) {
+                for (; i < list.size(); ++i) {
+                    Request request = list.get(i);
+                    request.future.complete(Fourier.inverseDFT(request.freqs));
+                }
+            } else {
+                for (; i + 1 < list.size(); i += 2) {
+                    Request first = list.get(i);
+                    Request second = list.get(i + 1);
+                    ComplexArray[] pair = PairedRealFFT.forwardDFT(first.data, second.data);
+                    first.future.complete(pair[0]);
+                    second.future.complete(pair[1]);
+                }
+                if (i < list.size()) {
+                    Request last = list.get(i);
+                    last.future.complete(Fourier.forwardDFT(last.data));
+                    ++i;
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            for (; i < list.size(); ++i) {
+                list.get(i).future.completeExceptionally(e);
+            }
+        } finally {
+            requests.add(list.size());
+            batches.increment();
+            release(list.size());
+        }
+    }
+
+    private void release(int count) {
+        queueDepth.addAndGet(-count);
+        permits.release(count);
+    }
+
+    private static final class Request {
+        final double[] data;
+        final ComplexArray freqs;
+        final CompletableFuture<ComplexArray> future = new CompletableFuture<>();
+
+        Request(double[] data, ComplexArray freqs) {
+            this.data = data;
+            this.freqs = freqs;
+        }
+    }
+
+    private static final class Batch {
+        final boolean inverse;
+        final ArrayList<Request> requests = new ArrayList<>();
+        ScheduledFuture<?> timeout;
+
+        Batch(boolean inverse) {
+            this.inverse = inverse;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Welch's method for estimating the one-sided power spectral density of a
+ * real signal: the signal is split into overlapping segments, every segment
+ * is windowed and transformed with a real FFT, and the squared magnitudes
+ * are averaged. The power of each segment is accumulated directly into a
+ * single output array, no per-segment spectra are kept around. Segments can
+ * optionally be processed in parallel (each worker accumulates into its own
+ * array, the arrays are summed up at the end).
+ * <p>
+ * The estimate is scaled as a density (units^2 / Hz): bin {@code k} is
+ * {@code c_k / (fs * sum(w^2) * segments) * sum |X_k|^2} with {@code c_k = 1}
+ * for DC and Nyquist and {@code c_k = 2} otherwise. No detrending is applied.
+ * <p>
+ * Instances hold a plan and scratch buffers for the sequential path and are
+ * not safe for concurrent use.
+ */
+public final class Welch {
+
+    private final int segmentLength;
+    private final int step;
+    private final double[] window;
+    private final double sampleRate;
+    private final double scale;
+    private Accumulator sequential;
+
+    /**
+     * @param segmentLength
+     *            the (even) length of the segments and of the FFT
+     * @param overlap
+     *            the number of samples shared by consecutive segments,
+     *            {@code 0 <= overlap < segmentLength}
+     * @param window
+     *            the window applied to each segment
+     * @param sampleRate
+     *            the sample rate in Hz
+     */
+    public Welch(int segmentLength, int overlap, Window window, double sampleRate) {
+        this(segmentLength, overlap, window.coefficients(segmentLength), sampleRate);
+    }
+
+    public Welch(int segmentLength, int overlap, double[] window, double sampleRate) {
+        if (segmentLength < 2 || (segmentLength & 1) != 0) {
+            throw new IllegalArgumentException("segmentLength must be even and >= 2 : " + segmentLength);
+        }
+        if (overlap < 0 || overlap >= segmentLength) {
+            throw new IllegalArgumentException("Invalid overlap " + overlap + " for segment length " + segmentLength);
+        }
+        if (window.length != segmentLength) {
+            throw new IllegalArgumentException("Unequal dimensions: " + window.length + " != " + segmentLength);
+        }
+        if (!(sampleRate > 0.0)) {
+            throw new IllegalArgumentException("sampleRate must be > 0 : " + sampleRate);
+        }
+        this.segmentLength = segmentLength;
+        this.step = segmentLength - overlap;
+        this.window = window.clone();
+        this.sampleRate = sampleRate;
+        double energy = 0.0;
+        for (double w : window) {
+            energy += w * w;
+        }
+        this.scale = 1.0 / (sampleRate * energy);
+    }
+
+    /**
+     * Returns the number of segments that fit into a signal of the given
+     * length (trailing samples that don't fill a segment are ignored).
+     */
+    public int segments(int signalLength) {
+        return (signalLength < segmentLength) ? 0 : 1 + (signalLength - segmentLength) / step;
+    }
+
+    public double[] psd(double[] signal) {
+        return psd(signal, false);
+    }
+
+    /**
+     * Returns the {@code segmentLength / 2 + 1} bins of the PSD estimate of
+     * {@code signal}, optionally processing the segments in parallel.
+     */
+    public double[] psd(double[] signal, boolean parallel) {
+        final int segments = segments(signal.length);
+        if (segments == 0) {
+            throw new IllegalArgumentException("signal shorter than one segment: " + signal.length);
+        }
+        double[] power;
+        if (parallel && segments > 1) {
+            power = IntStream.range(0, segments).parallel()
+                    .collect(() -> new Accumulator(segmentLength), (acc, i) -> acc.add(signal, i * step, window),
+                            Accumulator::combine).power;
+        } else {
+            Accumulator acc = sequential;
+            if (acc == null) {
+                acc = sequential = new Accumulator(segmentLength);
+            }
+            acc.clear();
+            for (int i = 0; i < segments; ++i) {
+                acc.add(signal, i * step, window);
+            }
+            power = acc.power.clone();
+        }
+        final int half = segmentLength / 2;
+        double norm = scale / segments;
+        for (int k = 0; k <= half; ++k) {
+            double psd = ((k == 0 || k == half) ? 1.0 : 2.0) * norm * power[k];
+            power[k] = (psd <= ComplexArray.TOL) ? 0.0 : psd;
+        }
+        return power;
+    }
+
+    /**
+     * Returns the frequencies (in Hz) of the bins returned by
+     * {@link #psd(double[])}.
+     */
+    public double[] frequencies() {
+        double[] freqs = new double[segmentLength / 2 + 1];
+        for (int k = 0; k < freqs.length; ++k) {
+            freqs[k] = k * sampleRate / segmentLength;
+        }
+        return freqs;
+    }
+
+    public int segmentLength() {
+        return segmentLength;
+    }
+
+    private static final class Accumulator {
+        final RealFFT fft;
+        final double[] segment;
+        final double[] re;
+        final double[] im;
+        final double[] power;
+
+        Accumulator(int n) {
+            fft = new RealFFT(n);
+            segment = new double[n];
+            re = new double[n / 2 + 1];
+            im = new double[n / 2 + 1];
+            power = new double[n / 2 + 1];
+        }
+
+        void add(double[] signal, int off, double[] window) {
+            double[] segment = this.segment;
+            for (int j = 0; j < segment.length; ++j) {
+                segment[j] = window[j] * signal[off + j];
+            }
+            fft.forward(segment, 0, re, im);
+            double[] power = this.power;
+            for (int k = 0; k < power.length; ++k) {
+                double re_k = re[k];
+                double im_k = im[k];
+                power[k] += re_k * re_k + im_k * im_k;
+            }
+        }
+
+        void combine(Accumulator other) {
+            double[] power = this.power;
+            double[] otherPower = other.power;
+            for (int k = 0; k < power.length; ++k) {
+                power[k] += otherPower[k];
+            }
+        }
+
+        void clear() {
+            Arrays.fill(power, 0.0);
+        }
+    }
+}
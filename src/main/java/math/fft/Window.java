@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+/**
+ * Window functions for spectral analysis. The coefficients are periodic
+ * ("DFT-even"), i.e., they are the first {@code n} values of the symmetric
+ * window of length {@code n + 1}, which is the appropriate form for windows
+ * that are applied before a DFT of length {@code n}.
+ */
+public enum Window {
+
+    RECTANGULAR {
+        @Override
+        double value(int j, int n) {
+            return 1.0;
+        }
+    },
+    HANN {
+        @Override
+        double value(int j, int n) {
+            return 0.5 - 0.5 * Math.cos(2.0 * Math.PI * j / n);
+        }
+    },
+    HAMMING {
+        @Override
+        double value(int j, int n) {
+            return 0.54 - 0.46 * Math.cos(2.0 * Math.PI * j / n);
+        }
+    },
+    BLACKMAN {
+        @Override
+        double value(int j, int n) {
+            double x = 2.0 * Math.PI * j / n;
+            return 0.42 - 0.5 * Math.cos(x) + 0.08 * Math.cos(2.0 * x);
+        }
+    };
+
+    abstract double value(int j, int n);
+
+    /**
+     * Returns the {@code n} window coefficients.
+     */
+    public double[] coefficients(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n < 0 : " + n);
+        }
+        double[] w = new double[n];
+        for (int j = 0; j < n; ++j) {
+            w[j] = value(j, n);
+        }
+        return w;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Times the fused Bluestein inverse against the former implementation
+ * (forward transform followed by a scaling pass and an index reversal pass)
+ * for odd and prime sizes. The two saved O(n) sweeps are small next to the
+ * three length-m FFTs, so the difference is mostly within the noise.
+ */
+public class BluesteinInverseBenchmark {
+
+    private static final int[] SIZES = { 1009, 4099, 8191, 65537, 131071, 3 * 5 * 7 * 11 * 13 };
+    private static final int ROUNDS = 3;
+
+    @Test
+    public void testFusedInverse() {
+        for (int n : SIZES) {
+            ComplexArray freqs = new ComplexArray(TestUtils.randomData(n), TestUtils.randomData(n));
+            int reps = Math.max(1, 500_000 / n);
+            long best = Long.MAX_VALUE;
+            long bestOld = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; ++round) {
+                long start = System.nanoTime();
+                for (int i = 0; i < reps; ++i) {
+                    Bluestein.inverseDFT(freqs);
+                }
+                best = Math.min(best, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                for (int i = 0; i < reps; ++i) {
+                    unfusedInverseDFT(freqs);
+                }
+                bestOld = Math.min(bestOld, System.nanoTime() - start);
+            }
+            System.out.printf("%6d: fused %8.1f us vs. unfused %8.1f us per inverse%n", n, best / 1e3 / reps,
+                    bestOld / 1e3 / reps);
+            double err = TestUtils.log10RmsError(unfusedInverseDFT(freqs), Bluestein.inverseDFT(freqs));
+            assertTrue("n = " + n + " logerr = " + err, err < -12.0);
+        }
+    }
+
+    // the former implementation of Bluestein.inverseDFT
+    private static ComplexArray unfusedInverseDFT(ComplexArray freqs) {
+        ComplexArray inv = Bluestein.forwardDFT(freqs.re(), freqs.im());
+        double[] re = inv.re();
+        double[] im = inv.im();
+        final int n = re.length;
+        for (int i = 0; i < n; ++i) {
+            double re_i = re[i] / n;
+            double im_i = im[i] / n;
+            re[i] = (Math.abs(re_i) <= ComplexArray.TOL) ? 0.0 : re_i;
+            im[i] = (Math.abs(im_i) <= ComplexArray.TOL) ? 0.0 : im_i;
+        }
+        for (int i = 1; i <= n / 2; ++i) {
+            double re_tmp = re[n - i];
+            double im_tmp = im[n - i];
+            re[n - i] = re[i];
+            re[i] = re_tmp;
+            im[n - i] = im[i];
+            im[i] = im_tmp;
+        }
+        return inv;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Times BulkTransform on a 16 MiB PCM file against reading it through
+ * streams and transforming frame by frame on one thread.
+ */
+public class BulkTransformBenchmark {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path pcm16(short[] samples) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(2 * samples.length).order(ByteOrder.LITTLE_ENDIAN);
+        for (short s : samples) {
+            buf.putShort(s);
+        }
+        Path path = folder.newFile().toPath();
+        Files.write(path, buf.array());
+        return path;
+    }
+
+    @Test
+    public void testBenchmark() throws IOException {
+        int n = 1024;
+        int hop = 512;
+        short[] samples = BulkTransformTest.randomSamples(1 << 23, 3L);
+        Path in = pcm16(samples);
+        Path out = folder.newFile().toPath();
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        BulkTransform bulk = new BulkTransform(n, hop, PcmFourier.Format.PCM_16, Window.HANN,
+                SpectrumFile.Layout.COMPLEX, SpectrumFile.Precision.FLOAT32, threads);
+        double[] w = Window.HANN.coefficients(n);
+        for (int round = 0; round < 2; ++round) {
+            long t0 = System.nanoTime();
+            long frames = bulk.run(in, 0L, out, 44100.0);
+            long t1 = System.nanoTime();
+            // streams and single-threaded Fourier.forwardDFT
+            Path ref = folder.newFile().toPath();
+            try (InputStream is = new BufferedInputStream(Files.newInputStream(in), 1 << 16);
+                    SpectrumFile.Writer writer = SpectrumFile.create(ref, SpectrumFile.Layout.COMPLEX,
+                            SpectrumFile.Precision.FLOAT32, n / 2 + 1, hop, 44100.0)) {
+                DataInputStream dis = new DataInputStream(is);
+                double[] buf = new double[n];
+                double[] x = new double[n];
+                ComplexArray half = new ComplexArray(n / 2 + 1);
+                for (int j = 0; j < n; ++j) {
+                    buf[j] = Short.reverseBytes(dis.readShort());
+                }
+                for (long f = 0; f < frames; ++f) {
+                    for (int j = 0; j < n; ++j) {
+                        x[j] = w[j] * buf[j] * 0x1.0p-15;
+                    }
+                    ComplexArray spec = Fourier.forwardDFT(x);
+                    System.arraycopy(spec.re(), 0, half.re(), 0, n / 2 + 1);
+                    System.arraycopy(spec.im(), 0, half.im(), 0, n / 2 + 1);
+                    writer.append(half);
+                    if (f + 1 < frames) {
+                        System.arraycopy(buf, hop, buf, 0, n - hop);
+                        for (int j = n - hop; j < n; ++j) {
+                            buf[j] = Short.reverseBytes(dis.readShort());
+                        }
+                    }
+                }
+            }
+            long t2 = System.nanoTime();
+            if (round == 1) {
+                System.out.println("BulkTransform (" + threads + " threads, " + frames + " frames): "
+                        + (t1 - t0) / 1000000 + " ms, streams + forwardDFT: " + (t2 - t1) / 1000000 + " ms");
+            }
+            assertEquals(Files.size(ref), Files.size(out));
+        }
+    }
+}
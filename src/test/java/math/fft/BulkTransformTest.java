@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test for {@link BulkTransform}.
+ */
+public class BulkTransformTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path pcm16(int headerBytes, short[] samples) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(headerBytes + 2 * samples.length).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < headerBytes; ++i) {
+            buf.put((byte) 0x7f);
+        }
+        for (short s : samples) {
+            buf.putShort(s);
+        }
+        Path path = folder.newFile().toPath();
+        Files.write(path, buf.array());
+        return path;
+    }
+
+    static short[] randomSamples(int n, long seed) {
+        Random rnd = new Random(seed);
+        short[] samples = new short[n];
+        for (int i = 0; i < n; ++i) {
+            samples[i] = (short) rnd.nextInt();
+        }
+        return samples;
+    }
+
+    private static ComplexArray expected(short[] samples, int off, int n, double[] w) {
+        double[] x = new double[n];
+        for (int j = 0; j < n; ++j) {
+            x[j] = w[j] * samples[off + j] * 0x1.0p-15;
+        }
+        return Fourier.forwardDFT(x);
+    }
+
+    @Test
+    public void testComplexAgainstFourier() throws IOException {
+        int n = 256;
+        int hop = 100;
+        short[] samples = randomSamples(5000, 1L);
+        Path in = pcm16(44, samples);
+        Path out = folder.newFile().toPath();
+        BulkTransform bulk = new BulkTransform(n, hop, PcmFourier.Format.PCM_16, Window.HANN,
+                SpectrumFile.Layout.COMPLEX, SpectrumFile.Precision.FLOAT64, 3, 7);
+        long frames = bulk.run(in, 44L, out, 8000.0);
+        assertEquals(1 + (5000 - n) / hop, frames);
+        double[] w = Window.HANN.coefficients(n);
+        try (SpectrumFile file = SpectrumFile.open(out)) {
+            assertEquals(frames, file.frameCount());
+            assertEquals(n / 2 + 1, file.frameLength());
+            assertEquals(hop, file.hop());
+            assertEquals(8000.0, file.sampleRate(), 0.0);
+            ComplexArray frame = new ComplexArray(n / 2 + 1);
+            for (long f = 0; f < frames; ++f) {
+                file.readFrame(f, frame);
+                ComplexArray ref = expected(samples, (int) f * hop, n, w);
+                for (int k = 0; k <= n / 2; ++k) {
+                    assertEquals(ref.re()[k], frame.re()[k], 1e-10);
+                    assertEquals(ref.im()[k], frame.im()[k], 1e-10);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPowerFloat32() throws IOException {
+        int n = 128;
+        int hop = 128;
+        short[] samples = randomSamples(128 * 40 + 17, 2L);
+        Path in = pcm16(0, samples);
+        Path out = folder.newFile().toPath();
+        BulkTransform bulk = new BulkTransform(n, hop, PcmFourier.Format.PCM_16, Window.RECTANGULAR,
+                SpectrumFile.Layout.REAL, SpectrumFile.Precision.FLOAT32, 4, 6);
+        assertEquals(40L, bulk.run(in, 0L, out, 0.0));
+        double[] w = Window.RECTANGULAR.coefficients(n);
+        try (SpectrumFile file = SpectrumFile.open(out)) {
+            double[] power = new double[n / 2 + 1];
+            for (long f = 0; f < 40; ++f) {
+                file.readFrame(f, power);
+                double[] ref = expected(samples, (int) f * hop, n, w).absSquared();
+                for (int k = 0; k <= n / 2; ++k) {
+                    assertEquals(ref[k], power[k], 1e-6 * Math.max(1.0, ref[k]));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testShortInput() throws IOException {
+        Path in = pcm16(0, new short[100]);
+        Path out = folder.newFile().toPath();
+        BulkTransform bulk = new BulkTransform(256, 64, PcmFourier.Format.PCM_16, Window.HANN,
+                SpectrumFile.Layout.COMPLEX, SpectrumFile.Precision.FLOAT32, 2);
+        assertEquals(0L, bulk.run(in, 0L, out, 0.0));
+        try (SpectrumFile file = SpectrumFile.open(out)) {
+            assertEquals(0L, file.frameCount());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import org.junit.Test;
+
+/**
+ * Times a critically sampled 256 channel channelizer.
+ */
+public class ChannelizerBenchmark {
+
+    @Test
+    public void testSpeed() {
+        int m = 256;
+        Channelizer channelizer = new Channelizer(m, m, Channelizer.prototype(m, 16));
+        double[] re = TestUtils.randomData(1 << 20);
+        double[] im = TestUtils.randomData(1 << 20);
+        int blocks = channelizer.blocks(re.length);
+        double[][] outRe = new double[m][blocks];
+        double[][] outIm = new double[m][blocks];
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; ++i) {
+            channelizer.reset();
+            channelizer.process(re, im, 0, re.length, outRe, outIm, 0);
+        }
+        long elapsed = (System.nanoTime() - start) / 5;
+        System.out.println("channelizer " + m + " channels, " + re.length + " samples: " + (elapsed / 1_000_000)
+                + " ms");
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link Channelizer}.
+ */
+public class ChannelizerTest {
+
+    @Test
+    public void testCriticallySampledMatchesDefinition() {
+        checkAgainstDefinition(16, 16, 8, false);
+        checkAgainstDefinition(5, 5, 3, true);
+    }
+
+    @Test
+    public void testOversampledMatchesDefinition() {
+        checkAgainstDefinition(16, 8, 8, false);
+        checkAgainstDefinition(12, 3, 4, true);
+    }
+
+    private static void checkAgainstDefinition(int m, int d, int tapsPerChannel, boolean realInput) {
+        double[] h = Channelizer.prototype(m, tapsPerChannel);
+        int total = 40 * m + 7;
+        double[] re = TestUtils.randomData(total);
+        double[] im = realInput ? null : TestUtils.randomData(total);
+        Channelizer channelizer = new Channelizer(m, d, h);
+        int maxBlocks = total / d;
+        double[][] outRe = new double[m][maxBlocks];
+        double[][] outIm = new double[m][maxBlocks];
+        int blocks = 0;
+        // feed irregular chunks
+        for (int off = 0, chunk = 1; off < total; off += chunk, chunk = (chunk * 5 + 1) % 37 + 1) {
+            int len = Math.min(chunk, total - off);
+            int expected = channelizer.blocks(len);
+            int written = channelizer.process(re, im, off, len, outRe, outIm, blocks);
+            assertEquals(expected, written);
+            blocks += written;
+        }
+        assertEquals(maxBlocks, blocks);
+        for (int n = 0; n < blocks; ++n) {
+            int t = (n + 1) * d - 1;
+            for (int k = 0; k < m; ++k) {
+                double sumRe = 0.0;
+                double sumIm = 0.0;
+                for (int l = 0; l < h.length && l <= t; ++l) {
+                    double angle = -2.0 * Math.PI * k * ((t - l) % m) / m;
+                    double xr = re[t - l];
+                    double xi = (im == null) ? 0.0 : im[t - l];
+                    sumRe += h[l] * (xr * Math.cos(angle) - xi * Math.sin(angle));
+                    sumIm += h[l] * (xr * Math.sin(angle) + xi * Math.cos(angle));
+                }
+                assertEquals(sumRe, outRe[k][n], 1e-12);
+                assertEquals(sumIm, outIm[k][n], 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void testToneLandsInItsChannel() {
+        int m = 64;
+        int channel = 10;
+        Channelizer channelizer = new Channelizer(m, m / 2, Channelizer.prototype(m, 12));
+        int total = 200 * m;
+        double[] re = new double[total];
+        double[] im = new double[total];
+        for (int t = 0; t < total; ++t) {
+            double angle = 2.0 * Math.PI * channel * t / m + 0.3;
+            re[t] = Math.cos(angle);
+            im[t] = Math.sin(angle);
+        }
+        int blocks = channelizer.blocks(total);
+        double[][] outRe = new double[m][blocks];
+        double[][] outIm = new double[m][blocks];
+        channelizer.process(re, im, 0, total, outRe, outIm, 0);
+        // after the filter has settled the tone shows up at baseband with unit gain
+        for (int n = 30; n < blocks; ++n) {
+            assertEquals(Math.cos(0.3), outRe[channel][n], 1e-6);
+            assertEquals(Math.sin(0.3), outIm[channel][n], 1e-6);
+            for (int k = 0; k < m; ++k) {
+                if (Math.abs(k - channel) > 1) {
+                    assertEquals(0.0, Math.hypot(outRe[k][n], outIm[k][n]), 1e-3);
+                }
+            }
+        }
+    }
+}
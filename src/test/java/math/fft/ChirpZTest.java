@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link ChirpZ}.
+ */
+public class ChirpZTest {
+
+    @Test
+    public void testFullBandEqualsDFT() {
+        for (int n : new int[] { 1, 2, 5, 64, 331, 1000 }) {
+            double[] re = TestUtils.randomData(n);
+            double[] im = TestUtils.randomData(n);
+            ComplexArray data = new ComplexArray(re, im);
+            ChirpZ czt = new ChirpZ(n, n, 1.0, 0.0, 1.0, 2.0 * Math.PI / n);
+            ComplexArray expected = data.naiveForwardDFT();
+            assertTrue("n = " + n, TestUtils.log10RmsError(expected, czt.transform(data)) < -10.0);
+            // cached chirp spectra must not be disturbed by a previous call
+            assertTrue("n = " + n, TestUtils.log10RmsError(expected, czt.transform(data)) < -10.0);
+        }
+    }
+
+    @Test
+    public void testSpiralContour() {
+        int n = 40;
+        int m = 23;
+        double startRadius = 1.1;
+        double startAngle = 0.3;
+        double stepRadius = 0.995;
+        double stepAngle = 0.05;
+        double[] re = TestUtils.randomData(n);
+        double[] im = TestUtils.randomData(n);
+        ComplexArray actual = new ChirpZ(n, m, startRadius, startAngle, stepRadius, stepAngle)
+                .transform(new ComplexArray(re, im));
+        for (int k = 0; k < m; ++k) {
+            // z_k^(-j) = |z_k|^(-j) exp(-i j arg(z_k))
+            double radius = startRadius * Math.pow(stepRadius, k);
+            double angle = startAngle + k * stepAngle;
+            double x = 0.0;
+            double y = 0.0;
+            for (int j = 0; j < n; ++j) {
+                double mag = Math.pow(radius, -j);
+                double c = mag * Math.cos(-j * angle);
+                double s = mag * Math.sin(-j * angle);
+                x += re[j] * c - im[j] * s;
+                y += re[j] * s + im[j] * c;
+            }
+            TestUtils.assertRelativelyEquals(x, actual.re()[k], 1e-9);
+            TestUtils.assertRelativelyEquals(y, actual.im()[k], 1e-9);
+        }
+    }
+
+    @Test
+    public void testZoom() {
+        int n = 4096;
+        double fs = 8000.0;
+        double carrier = 1234.5;
+        double[] signal = new double[n];
+        for (int j = 0; j < n; ++j) {
+            signal[j] = Math.cos(2.0 * Math.PI * carrier * j / fs) + 0.1 * Math.sin(2.0 * Math.PI * 1236.0 * j / fs);
+        }
+        int m = 200;
+        ChirpZ zoom = ChirpZ.zoom(n, m, 1184.5, 1284.5, fs);
+        ComplexArray band = zoom.transform(signal);
+        double[] freqs = zoom.frequencies(fs);
+        double[] power = band.absSquared();
+        int argMax = 0;
+        for (int k = 0; k < m; ++k) {
+            double f = freqs[k];
+            double x = 0.0;
+            double y = 0.0;
+            for (int j = 0; j < n; ++j) {
+                double angle = -2.0 * Math.PI * f * j / fs;
+                x += signal[j] * Math.cos(angle);
+                y += signal[j] * Math.sin(angle);
+            }
+            assertEquals(x, band.re()[k], 1e-7);
+            assertEquals(y, band.im()[k], 1e-7);
+            if (power[k] > power[argMax]) {
+                argMax = k;
+            }
+        }
+        assertEquals(carrier, freqs[argMax], 0.5);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import org.junit.Test;
+
+/**
+ * Compares the codelet path of {@link Fourier} with Bluestein for a tiny
+ * transform size.
+ */
+public class CodeletsBenchmark {
+
+    @Test
+    public void testTinyTransformThroughput() {
+        int n = 12;
+        int reps = 200_000;
+        double[] data = TestUtils.randomData(n);
+        for (int warmup = 0; warmup < 3; ++warmup) {
+            double sink = 0.0;
+            long start = System.nanoTime();
+            for (int i = 0; i < reps; ++i) {
+                sink += Fourier.forwardDFT(data).re()[1];
+            }
+            long end = System.nanoTime();
+            long start2 = System.nanoTime();
+            for (int i = 0; i < reps; ++i) {
+                sink += Bluestein.forwardDFT(data, null).re()[1];
+            }
+            long end2 = System.nanoTime();
+            System.out.printf("%d x size %d: codelet %d ms vs. Bluestein %d ms (%s)%n", reps, n,
+                    (end - start) / 1_000_000, (end2 - start2) / 1_000_000, sink != 0.0);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Test for the small sizes that are handled by {@link Codelets} and the
+ * power-of-two sizes that use them as leaf kernels.
+ */
+public class CodeletsTest {
+
+    @Test
+    public void testSmallSizes() {
+        for (int n = 1; n <= 128; ++n) {
+            double[] real = TestUtils.randomData(n);
+            double[] imag = TestUtils.randomData(n);
+            ComplexArray data = new ComplexArray(real, imag);
+
+            double errFwd = TestUtils.log10RmsError(data.naiveForwardDFT(), Fourier.forwardDFT(real, imag));
+            double errReal = TestUtils.log10RmsError(ComplexArray.naiveForwarDFT(real), Fourier.forwardDFT(real));
+            double errInv = TestUtils.log10RmsError(data.naiveInverseDFT(), Fourier.inverseDFT(data));
+            assertTrue("forward " + n, errFwd < -13.0);
+            assertTrue("real " + n, errReal < -13.0);
+            assertTrue("inverse " + n, errInv < -13.0);
+        }
+    }
+
+    @Test
+    public void testLargePowersOfTwo() {
+        for (int n = 256; n <= 8192; n <<= 1) {
+            double[] real = TestUtils.randomData(n);
+            double[] imag = TestUtils.randomData(n);
+            ComplexArray data = new ComplexArray(real, imag);
+            assertTrue("forward " + n,
+                    TestUtils.log10RmsError(data.naiveForwardDFT(), Fourier.forwardDFT(real, imag)) < -11.0);
+            assertTrue("inverse " + n,
+                    TestUtils.log10RmsError(data.naiveInverseDFT(), Fourier.inverseDFT(data)) < -11.0);
+        }
+    }
+}
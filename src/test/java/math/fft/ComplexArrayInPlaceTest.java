@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests for the allocation-free {@link ComplexArray} operations.
+ */
+public class ComplexArrayInPlaceTest {
+
+    private static ComplexArray random(int n) {
+        return new ComplexArray(TestUtils.randomData(n), TestUtils.randomData(n), false);
+    }
+
+    private static ComplexArray copy(ComplexArray a) {
+        return new ComplexArray(a.re(), a.im(), true);
+    }
+
+    @Test
+    public void testMultiplyMatchesElementwiseProduct() {
+        ComplexArray a = random(1000);
+        ComplexArray b = random(1000);
+        ComplexArray expected = ComplexArray.elementwiseProduct(a, b);
+        // aliasing the destination with an operand must work
+        ComplexArray dest = copy(a);
+        ComplexArray.multiply(dest, b, dest);
+        assertArrayEquals(expected.re(), dest.re(), 0.0);
+        assertArrayEquals(expected.im(), dest.im(), 0.0);
+    }
+
+    @Test
+    public void testMultiplyConjugate() {
+        ComplexArray a = random(257);
+        ComplexArray b = random(257);
+        ComplexArray dest = new ComplexArray(257);
+        ComplexArray.multiplyConjugate(a, b, dest);
+        for (int i = 0; i < 257; ++i) {
+            double re = a.re()[i] * b.re()[i] + a.im()[i] * b.im()[i];
+            double im = a.im()[i] * b.re()[i] - a.re()[i] * b.im()[i];
+            assertEquals(re, dest.re()[i], 1e-15);
+            assertEquals(im, dest.im()[i], 1e-15);
+        }
+    }
+
+    @Test
+    public void testAddScaleAbsArg() {
+        ComplexArray a = random(100);
+        ComplexArray b = random(100);
+        ComplexArray sum = new ComplexArray(100);
+        ComplexArray.add(a, b, sum);
+        sum.scaleInPlace(-2.0);
+        double[] abs = new double[100];
+        double[] arg = new double[100];
+        double[] power = new double[100];
+        double[] db = new double[100];
+        sum.abs(abs);
+        sum.arg(arg);
+        sum.absSquared(power);
+        sum.magnitudeDb(db, -300.0);
+        for (int i = 0; i < 100; ++i) {
+            double re = -2.0 * (a.re()[i] + b.re()[i]);
+            double im = -2.0 * (a.im()[i] + b.im()[i]);
+            assertEquals(re, sum.re()[i], 0.0);
+            assertEquals(im, sum.im()[i], 0.0);
+            assertEquals(Math.hypot(re, im), abs[i], 1e-15);
+            assertEquals(Math.atan2(im, re), arg[i], 0.0);
+            assertEquals(re * re + im * im, power[i], 1e-14);
+            assertEquals(20.0 * Math.log10(Math.hypot(re, im)), db[i], 1e-12);
+        }
+        assertArrayEquals(sum.absSquaredScaled(), scaled(sum), 0.0);
+    }
+
+    private static double[] scaled(ComplexArray a) {
+        double[] dest = new double[a.length()];
+        a.absSquaredScaled(dest);
+        return dest;
+    }
+
+    @Test
+    public void testMagnitudeDbFloor() {
+        ComplexArray a = new ComplexArray(new double[] { 0.0, 1.0, 1e-10 });
+        double[] db = new double[3];
+        a.magnitudeDb(db, -120.0);
+        assertArrayEquals(new double[] { -120.0, 0.0, -120.0 }, db, 1e-12);
+    }
+
+    @Test
+    public void testShiftInPlaceMatchesShift() {
+        for (int n = 0; n <= 12; ++n) {
+            ComplexArray a = random(n);
+            ComplexArray expected = a.fftshift();
+            ComplexArray actual = copy(a);
+            actual.fftshiftInPlace();
+            assertArrayEquals(expected.re(), actual.re(), 0.0);
+            assertArrayEquals(expected.im(), actual.im(), 0.0);
+            expected = a.ifftshift();
+            actual = copy(a);
+            actual.ifftshiftInPlace();
+            assertArrayEquals(expected.re(), actual.re(), 0.0);
+            assertArrayEquals(expected.im(), actual.im(), 0.0);
+        }
+    }
+
+    @Test
+    public void testRotate() {
+        ComplexArray a = new ComplexArray(new double[] { 1, 2, 3, 4, 5 });
+        a.rotateInPlace(2);
+        assertArrayEquals(new double[] { 4, 5, 1, 2, 3 }, a.re(), 0.0);
+        a.rotateInPlace(-7);
+        assertArrayEquals(new double[] { 1, 2, 3, 4, 5 }, a.re(), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnequalDimensions() {
+        ComplexArray.multiply(random(4), random(4), new ComplexArray(5));
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Test for {@link ComplexView}.
+ */
+public class ComplexViewTest {
+
+    private static ComplexArray random(int n) {
+        return new ComplexArray(TestUtils.randomData(n), TestUtils.randomData(n), false);
+    }
+
+    @Test
+    public void testSliceDecimateConjugateScale() {
+        ComplexArray a = random(20);
+        ComplexView v = a.slice(3, 18).decimate(3).conjugate().scale(2.0);
+        assertEquals(5, v.length());
+        for (int i = 0; i < v.length(); ++i) {
+            int j = 3 + 3 * i;
+            assertEquals(2.0 * a.re()[j], v.re(i), 0.0);
+            assertEquals(-2.0 * a.im()[j], v.im(i), 0.0);
+        }
+        // nested slices and double conjugation
+        ComplexView w = v.slice(1, 4).conjugate().decimate(2);
+        assertEquals(2, w.length());
+        assertEquals(2.0 * a.re()[6], w.re(0), 0.0);
+        assertEquals(2.0 * a.im()[12], w.im(1), 0.0);
+        // views see later changes
+        a.re()[6] = 42.0;
+        assertEquals(84.0, w.re(0), 0.0);
+        assertEquals(0, a.slice(4, 4).decimate(5).length());
+    }
+
+    @Test
+    public void testCopyTo() {
+        ComplexArray a = random(11);
+        ComplexView v = a.view().decimate(2).conjugate();
+        ComplexArray c = v.toComplexArray();
+        assertEquals(6, c.length());
+        for (int i = 0; i < 6; ++i) {
+            assertEquals(a.re()[2 * i], c.re()[i], 0.0);
+            assertEquals(-a.im()[2 * i], c.im()[i], 0.0);
+        }
+    }
+
+    @Test
+    public void testTransformsOfViews() {
+        ComplexArray a = random(1000);
+        ComplexView band = a.slice(100, 356).scale(0.5);
+        ComplexArray copy = band.toComplexArray();
+        ComplexArray expected = Fourier.forwardDFT(copy.re(), copy.im());
+        ComplexArray actual = Fourier.forwardDFT(band);
+        assertArrayEquals(expected.re(), actual.re(), 1e-12);
+        assertArrayEquals(expected.im(), actual.im(), 1e-12);
+        // Bluestein length with stride
+        ComplexView odd = a.view().decimate(3).conjugate();
+        ComplexArray inv = Fourier.inverseDFT(odd);
+        ComplexArray ref = Fourier.inverseDFT(odd.toComplexArray());
+        assertTrue(TestUtils.log10RmsError(ref, inv) < -14.0);
+    }
+
+    @Test
+    public void testArithmetic() {
+        ComplexArray a = random(30);
+        ComplexArray b = random(30);
+        ComplexView va = a.slice(0, 10).scale(3.0);
+        ComplexView vb = b.view().decimate(3).conjugate();
+        ComplexArray ca = va.toComplexArray();
+        ComplexArray cb = vb.toComplexArray();
+        ComplexArray expected = new ComplexArray(10);
+        ComplexArray actual = new ComplexArray(10);
+        ComplexArray.multiply(ca, cb, expected);
+        ComplexView.multiply(va, vb, actual);
+        assertArrayEquals(expected.re(), actual.re(), 1e-14);
+        assertArrayEquals(expected.im(), actual.im(), 1e-14);
+        ComplexArray.multiplyConjugate(ca, cb, expected);
+        ComplexView.multiplyConjugate(va, vb, actual);
+        assertArrayEquals(expected.re(), actual.re(), 1e-14);
+        assertArrayEquals(expected.im(), actual.im(), 1e-14);
+        ComplexArray.add(ca, cb, expected);
+        ComplexView.add(va, vb, actual);
+        assertArrayEquals(expected.re(), actual.re(), 1e-14);
+        assertArrayEquals(expected.im(), actual.im(), 1e-14);
+        double[] p = new double[10];
+        va.absSquared(p);
+        assertArrayEquals(ca.absSquared(), p, 1e-14);
+        double sum = 0.0;
+        for (double x : p) {
+            sum += x;
+        }
+        assertEquals(sum, va.energy(), 1e-12);
+    }
+
+    @Test
+    public void testInPlaceIntoViewedArray() {
+        ComplexArray a = random(40);
+        ComplexArray b = random(40);
+        ComplexArray expected = new ComplexArray(40);
+        ComplexArray.multiplyConjugate(a, b, expected);
+        ComplexArray.scale(expected, 2.0, expected);
+        ComplexView.multiply(a.view().scale(2.0), b.view().conjugate(), a);
+        assertArrayEquals(expected.re(), a.re(), 1e-14);
+        assertArrayEquals(expected.im(), a.im(), 1e-14);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import org.junit.Test;
+
+/**
+ * Times the sparse-kernel constant-Q transform against direct correlation
+ * with the temporal kernels.
+ */
+public class ConstantQBenchmark {
+
+    @Test
+    public void testBenchmark() {
+        ConstantQ cq = new ConstantQ(ConstantQTest.FS, 55.0, 72, 12);
+        int n = cq.fftLength();
+        int hop = 256;
+        double[] x = TestUtils.randomData(n + 200 * hop);
+        int frames = cq.frames(x.length, hop);
+        double[][] re = new double[frames][72];
+        double[][] im = new double[frames][72];
+        double[] nr = new double[72];
+        double[] ni = new double[72];
+        for (int round = 0; round < 2; ++round) {
+            long t0 = System.nanoTime();
+            cq.process(x, hop, re, im);
+            long t1 = System.nanoTime();
+            for (int f = 0; f < frames; ++f) {
+                ConstantQTest.naive(cq, x, f * hop, nr, ni);
+            }
+            long t2 = System.nanoTime();
+            if (round == 1) {
+                System.out.println("ConstantQ N = " + n + ", " + cq.nonZeros() + " kernel values, " + frames
+                        + " frames: " + (t1 - t0) / 1000000 + " ms, direct correlation: " + (t2 - t1) / 1000000
+                        + " ms");
+            }
+        }
+    }
+}
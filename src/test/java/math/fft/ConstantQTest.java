@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test for {@link ConstantQ}.
+ */
+public class ConstantQTest {
+
+    static final double FS = 8000.0;
+
+    // direct correlation with the centered temporal kernels
+    static void naive(ConstantQ cq, double[] x, int off, double[] re, double[] im) {
+        int n = cq.fftLength();
+        double[] f = cq.frequencies();
+        for (int k = 0; k < f.length; ++k) {
+            int len = Math.min((int) Math.ceil(cq.q() * FS / f[k]), n);
+            int start = (n - len) / 2;
+            double sum = 0.0;
+            for (int l = 0; l < len; ++l) {
+                sum += Window.HAMMING.value(l, len);
+            }
+            double sr = 0.0;
+            double si = 0.0;
+            for (int l = 0; l < len; ++l) {
+                double w = Window.HAMMING.value(l, len) / sum;
+                double phase = 2.0 * Math.PI * f[k] / FS * (start + l - n / 2);
+                sr += x[off + start + l] * w * Math.cos(phase);
+                si -= x[off + start + l] * w * Math.sin(phase);
+            }
+            re[k] = sr;
+            im[k] = si;
+        }
+    }
+
+    @Test
+    public void testAgainstDirectCorrelation() {
+        ConstantQ cq = new ConstantQ(FS, 110.0, 48, 12, Window.HAMMING, 0.0);
+        int n = cq.fftLength();
+        double[] x = TestUtils.randomData(n + 100);
+        double[] re = new double[48];
+        double[] im = new double[48];
+        double[] expRe = new double[48];
+        double[] expIm = new double[48];
+        cq.transform(x, 50, re, im, 0);
+        naive(cq, x, 50, expRe, expIm);
+        for (int k = 0; k < 48; ++k) {
+            // only the (negligible) negative frequency part of the kernels is missing
+            assertEquals(expRe[k], re[k], 2e-3);
+            assertEquals(expIm[k], im[k], 2e-3);
+        }
+    }
+
+    @Test
+    public void testSinusoids() {
+        ConstantQ cq = new ConstantQ(FS, 55.0, 60, 12);
+        double[] f = cq.frequencies();
+        int n = cq.fftLength();
+        double[] re = new double[60];
+        double[] im = new double[60];
+        for (int k : new int[] { 5, 24, 59 }) {
+            double[] x = new double[n];
+            for (int t = 0; t < n; ++t) {
+                x[t] = 0.8 * Math.cos(2.0 * Math.PI * f[k] * t / FS + 0.3);
+            }
+            cq.transform(x, 0, re, im, 0);
+            int best = 0;
+            for (int b = 1; b < 60; ++b) {
+                if (Math.hypot(re[b], im[b]) > Math.hypot(re[best], im[best])) {
+                    best = b;
+                }
+            }
+            assertEquals(k, best);
+            assertEquals(0.4, Math.hypot(re[k], im[k]), 0.01);
+        }
+        // sparse: far fewer values than a dense kernel matrix
+        assertTrue(cq.nonZeros() < 60 * (n / 2 + 1) / 10);
+    }
+
+    @Test
+    public void testKernelCacheIsBounded() {
+        ConstantQ.clearCache();
+        assertEquals(0, ConstantQ.cachedKernels());
+        ConstantQ first = new ConstantQ(FS, 1000.0, 4, 12);
+        for (int i = 1; i < ConstantQ.MAX_CACHED_KERNELS + 5; ++i) {
+            new ConstantQ(FS, 1000.0 + i, 4, 12);
+            assertTrue(ConstantQ.cachedKernels() <= ConstantQ.MAX_CACHED_KERNELS);
+        }
+        assertEquals(ConstantQ.MAX_CACHED_KERNELS, ConstantQ.cachedKernels());
+        ConstantQ.clearCache();
+        assertEquals(0, ConstantQ.cachedKernels());
+        // evicted kernels keep working and are recomputed identically
+        double[] x = TestUtils.randomData(first.fftLength());
+        double[] re1 = new double[4];
+        double[] im1 = new double[4];
+        double[] re2 = new double[4];
+        double[] im2 = new double[4];
+        first.transform(x, 0, re1, im1, 0);
+        new ConstantQ(FS, 1000.0, 4, 12).transform(x, 0, re2, im2, 0);
+        assertEquals(1, ConstantQ.cachedKernels());
+        assertArrayEquals(re1, re2, 0.0);
+        assertArrayEquals(im1, im2, 0.0);
+    }
+
+    @Test
+    public void testStreamingMatchesBatch() {
+        ConstantQ cq = new ConstantQ(FS, 100.0, 36, 12);
+        int n = cq.fftLength();
+        int hop = n / 4;
+        double[] x = TestUtils.randomData(5 * n + 123);
+        int frames = cq.frames(x.length, hop);
+        double[][] re = new double[frames][36];
+        double[][] im = new double[frames][36];
+        assertEquals(frames, cq.process(x, hop, re, im));
+        ConstantQ.Streaming stream = new ConstantQ.Streaming(new ConstantQ(FS, 100.0, 36, 12), hop);
+        double[][] sre = new double[frames][36];
+        double[][] sim = new double[frames][36];
+        Random rnd = new Random(5);
+        int row = 0;
+        for (int off = 0; off < x.length;) {
+            int len = Math.min(1 + rnd.nextInt(700), x.length - off);
+            row += stream.process(x, off, len, sre, sim, row);
+            off += len;
+        }
+        assertEquals(frames, row);
+        for (int f = 0; f < frames; ++f) {
+            assertArrayEquals(re[f], sre[f], 0.0);
+            assertArrayEquals(im[f], sim[f], 0.0);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Times sequential and parallel accumulation of an 8 channel
+ * cross-spectral matrix against full complex transforms and products.
+ */
+public class CrossSpectralMatrixBenchmark {
+
+    @Test
+    public void testBenchmark() {
+        int M = 8;
+        int n = 1024;
+        double[][] x = CrossSpectralMatrixTest.signals(M, 1 << 17, 4L);
+        CrossSpectralMatrix csm = new CrossSpectralMatrix(M, n, 512, Window.HANN, 1.0);
+        double[] w = Window.HANN.coefficients(n);
+        double sink = 0.0;
+        for (int round = 0; round < 3; ++round) {
+            csm.reset();
+            long t0 = System.nanoTime();
+            csm.accumulate(x, false);
+            long t1 = System.nanoTime();
+            csm.reset();
+            csm.accumulate(x, true);
+            long tp = System.nanoTime();
+            int segments = csm.segments(x[0].length);
+            ComplexArray[][] sums = new ComplexArray[M][M];
+            for (int i = 0; i < M; ++i) {
+                for (int j = 0; j < M; ++j) {
+                    sums[i][j] = new ComplexArray(n);
+                }
+            }
+            for (int s = 0; s < segments; ++s) {
+                ComplexArray[] spectra = new ComplexArray[M];
+                for (int c = 0; c < M; ++c) {
+                    double[] seg = new double[n];
+                    for (int j = 0; j < n; ++j) {
+                        seg[j] = w[j] * x[c][s * 512 + j];
+                    }
+                    spectra[c] = Fourier.forwardDFT(seg);
+                }
+                ComplexArray product = new ComplexArray(n);
+                for (int i = 0; i < M; ++i) {
+                    for (int j = 0; j < M; ++j) {
+                        ComplexArray.multiplyConjugate(spectra[i], spectra[j], product);
+                        ComplexArray.add(sums[i][j], product, sums[i][j]);
+                    }
+                }
+            }
+            long t2 = System.nanoTime();
+            sink += sums[0][1].re()[3];
+            if (round == 2) {
+                System.out.println("CrossSpectralMatrix " + M + " channels, " + segments + " segments: "
+                        + (t1 - t0) / 1000000 + " ms sequential, " + (tp - t1) / 1000000 + " ms parallel, naive: "
+                        + (t2 - tp) / 1000000 + " ms");
+            }
+        }
+        assertFalse(Double.isNaN(sink));
+    }
+}
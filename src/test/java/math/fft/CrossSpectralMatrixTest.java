@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import java.lang.ref.WeakReference;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test for {@link CrossSpectralMatrix}.
+ */
+public class CrossSpectralMatrixTest {
+
+    static double[][] signals(int channels, int length, long seed) {
+        Random rnd = new Random(seed);
+        double[] common = new double[length];
+        for (int t = 0; t < length; ++t) {
+            common[t] = rnd.nextGaussian();
+        }
+        double[][] x = new double[channels][length];
+        for (int c = 0; c < channels; ++c) {
+            for (int t = 0; t < length; ++t) {
+                // delayed common component plus independent noise
+                x[c][t] = ((t >= c) ? common[t - c] : 0.0) + 0.5 * c * rnd.nextGaussian();
+            }
+        }
+        return x;
+    }
+
+    @Test
+    public void testAgainstNaive() {
+        int M = 4;
+        int n = 128;
+        int overlap = 64;
+        double fs = 1000.0;
+        double[][] x = signals(M, 3000, 1L);
+        CrossSpectralMatrix csm = new CrossSpectralMatrix(M, n, overlap, Window.HANN, fs);
+        csm.accumulate(x);
+        int segments = csm.segments(3000);
+        assertEquals(segments, csm.segmentCount());
+        double[] w = Window.HANN.coefficients(n);
+        double energy = 0.0;
+        for (double v : w) {
+            energy += v * v;
+        }
+        // naive: forwardDFT per channel and segment, then multiplyConjugate
+        ComplexArray[][] sums = new ComplexArray[M][M];
+        for (int i = 0; i < M; ++i) {
+            for (int j = 0; j < M; ++j) {
+                sums[i][j] = new ComplexArray(n);
+            }
+        }
+        for (int s = 0; s < segments; ++s) {
+            ComplexArray[] spectra = new ComplexArray[M];
+            for (int c = 0; c < M; ++c) {
+                double[] seg = new double[n];
+                for (int j = 0; j < n; ++j) {
+                    seg[j] = w[j] * x[c][s * (n - overlap) + j];
+                }
+                spectra[c] = Fourier.forwardDFT(seg);
+            }
+            for (int i = 0; i < M; ++i) {
+                for (int j = 0; j < M; ++j) {
+                    ComplexArray.add(sums[i][j], ComplexArray.elementwiseProduct(spectra[i],
+                            new ComplexArray(spectra[j].re(), negate(spectra[j].im()), false)), sums[i][j]);
+                }
+            }
+        }
+        ComplexArray csd = new ComplexArray(n / 2 + 1);
+        for (int i = 0; i < M; ++i) {
+            for (int j = 0; j < M; ++j) {
+                csm.csd(i, j, csd);
+                for (int k = 0; k <= n / 2; ++k) {
+                    double norm = ((k == 0 || k == n / 2) ? 1.0 : 2.0) / (fs * energy * segments);
+                    assertEquals(norm * sums[i][j].re()[k], csd.re()[k], 1e-12);
+                    assertEquals(norm * sums[i][j].im()[k], csd.im()[k], 1e-12);
+                }
+            }
+        }
+        // the diagonal matches Welch
+        double[] psd = new double[n / 2 + 1];
+        for (int c = 0; c < M; ++c) {
+            csm.psd(c, psd);
+            assertArrayEquals(new Welch(n, overlap, Window.HANN, fs).psd(x[c]), psd, 1e-12);
+        }
+    }
+
+    private static double[] negate(double[] a) {
+        double[] b = new double[a.length];
+        for (int i = 0; i < a.length; ++i) {
+            b[i] = -a[i];
+        }
+        return b;
+    }
+
+    @Test
+    public void testParallelAndIncremental() {
+        int M = 5;
+        int n = 512;
+        double[][] x = signals(M, 40000, 2L);
+        CrossSpectralMatrix seq = new CrossSpectralMatrix(M, n, 256, Window.HAMMING, 1.0);
+        CrossSpectralMatrix par = new CrossSpectralMatrix(M, n, 256, Window.HAMMING, 1.0);
+        seq.accumulate(x);
+        seq.accumulate(x);
+        par.accumulate(x, true);
+        par.accumulate(x, true);
+        assertEquals(seq.segmentCount(), par.segmentCount());
+        double[] ar = new double[M * M];
+        double[] ai = new double[M * M];
+        double[] br = new double[M * M];
+        double[] bi = new double[M * M];
+        for (int k = 0; k < seq.bins(); k += 17) {
+            seq.matrix(k, ar, ai);
+            par.matrix(k, br, bi);
+            assertArrayEquals(ar, br, 1e-12);
+            assertArrayEquals(ai, bi, 1e-12);
+            // Hermitian
+            for (int i = 0; i < M; ++i) {
+                assertEquals(0.0, ai[i * M + i], 0.0);
+                for (int j = 0; j < M; ++j) {
+                    assertEquals(ar[i * M + j], ar[j * M + i], 0.0);
+                    assertEquals(ai[i * M + j], -ai[j * M + i], 0.0);
+                }
+            }
+        }
+        seq.reset();
+        assertEquals(0L, seq.segmentCount());
+    }
+
+    @Test
+    public void testNotRetainedAfterUse() {
+        double[][] x = signals(2, 4096, 5L);
+        CrossSpectralMatrix csm = new CrossSpectralMatrix(2, 256, 128, Window.HANN, 1.0);
+        csm.accumulate(x);
+        csm.accumulate(x, true);
+        WeakReference<CrossSpectralMatrix> ref = new WeakReference<>(csm);
+        csm = null;
+        for (int i = 0; i < 50 && ref.get() != null; ++i) {
+            System.gc();
+            Thread.yield();
+        }
+        assertNull(ref.get());
+    }
+
+    @Test
+    public void testCoherence() {
+        int n = 256;
+        double[][] x = signals(3, 100000, 3L);
+        x[2] = x[0].clone();
+        CrossSpectralMatrix csm = new CrossSpectralMatrix(3, n, 128, Window.HANN, 1.0);
+        csm.accumulate(x, true);
+        double[] coh = new double[csm.bins()];
+        csm.coherence(0, 2, coh);
+        for (int k = 0; k < coh.length; ++k) {
+            assertEquals(1.0, coh[k], 1e-9);
+        }
+        // channel 1: delayed by one sample plus noise of variance 0.25
+        csm.coherence(1, 0, coh);
+        double mean = 0.0;
+        for (double c : coh) {
+            mean += c / coh.length;
+        }
+        assertEquals(0.8, mean, 0.05);
+    }
+}
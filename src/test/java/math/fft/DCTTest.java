@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link DCT} and {@link MDCT} against the naive O(n^2) definitions.
+ */
+public class DCTTest {
+
+    private static final int[] SIZES = { 2, 4, 6, 8, 10, 16, 30, 64, 100, 256, 1024 };
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void testDCT2() {
+        for (int n : SIZES) {
+            double[] x = TestUtils.randomData(n);
+            double[] expected = new double[n];
+            for (int k = 0; k < n; ++k) {
+                for (int j = 0; j < n; ++j) {
+                    expected[k] += x[j] * Math.cos(Math.PI * (2 * j + 1) * k / (2.0 * n));
+                }
+            }
+            assertArrayEquals("n = " + n, expected, new DCT(n).dct2(x), DELTA);
+        }
+    }
+
+    @Test
+    public void testDCT3() {
+        for (int n : SIZES) {
+            double[] x = TestUtils.randomData(n);
+            double[] expected = new double[n];
+            for (int k = 0; k < n; ++k) {
+                expected[k] = x[0] / 2.0;
+                for (int j = 1; j < n; ++j) {
+                    expected[k] += x[j] * Math.cos(Math.PI * j * (2 * k + 1) / (2.0 * n));
+                }
+            }
+            assertArrayEquals("n = " + n, expected, new DCT(n).dct3(x), DELTA);
+        }
+    }
+
+    @Test
+    public void testDCT4() {
+        for (int n : SIZES) {
+            double[] x = TestUtils.randomData(n);
+            double[] expected = new double[n];
+            for (int k = 0; k < n; ++k) {
+                for (int j = 0; j < n; ++j) {
+                    expected[k] += x[j] * Math.cos(Math.PI * (2 * j + 1) * (2 * k + 1) / (4.0 * n));
+                }
+            }
+            assertArrayEquals("n = " + n, expected, new DCT(n).dct4(x), DELTA);
+        }
+    }
+
+    @Test
+    public void testDST() {
+        for (int n : SIZES) {
+            double[] x = TestUtils.randomData(n);
+            double[] dst2 = new double[n];
+            double[] dst3 = new double[n];
+            double[] dst4 = new double[n];
+            for (int k = 0; k < n; ++k) {
+                dst3[k] = ((k % 2 == 0) ? 0.5 : -0.5) * x[n - 1];
+                for (int j = 0; j < n; ++j) {
+                    dst2[k] += x[j] * Math.sin(Math.PI * (2 * j + 1) * (k + 1) / (2.0 * n));
+                    dst4[k] += x[j] * Math.sin(Math.PI * (2 * j + 1) * (2 * k + 1) / (4.0 * n));
+                    if (j < n - 1) {
+                        dst3[k] += x[j] * Math.sin(Math.PI * (j + 1) * (2 * k + 1) / (2.0 * n));
+                    }
+                }
+            }
+            DCT plan = new DCT(n);
+            assertArrayEquals("n = " + n, dst2, plan.dst2(x), DELTA);
+            assertArrayEquals("n = " + n, dst3, plan.dst3(x), DELTA);
+            assertArrayEquals("n = " + n, dst4, plan.dst4(x), DELTA);
+        }
+    }
+
+    @Test
+    public void testInPlaceRoundTrip() {
+        for (int n : SIZES) {
+            DCT plan = new DCT(n);
+            double[] x = TestUtils.randomData(n);
+            double[] y = x.clone();
+            plan.dct2InPlace(y);
+            plan.dct3InPlace(y);
+            plan.dct4InPlace(y);
+            plan.dct4InPlace(y);
+            double scale = (2.0 / n) * (2.0 / n);
+            for (int i = 0; i < n; ++i) {
+                assertEquals(x[i], y[i] * scale, DELTA);
+            }
+        }
+    }
+
+    @Test
+    public void testMDCT() {
+        for (int n : SIZES) {
+            double[] x = TestUtils.randomData(2 * n);
+            double[] expected = new double[n];
+            for (int k = 0; k < n; ++k) {
+                for (int j = 0; j < 2 * n; ++j) {
+                    expected[k] += x[j] * Math.cos(Math.PI / n * (j + 0.5 + n / 2.0) * (k + 0.5));
+                }
+            }
+            MDCT mdct = new MDCT(n);
+            double[] coeffs = mdct.forward(x);
+            assertArrayEquals("n = " + n, expected, coeffs, DELTA);
+
+            double[] y = mdct.inverse(coeffs);
+            for (int j = 0; j < 2 * n; ++j) {
+                double expected_j = 0.0;
+                for (int k = 0; k < n; ++k) {
+                    expected_j += coeffs[k] * Math.cos(Math.PI / n * (j + 0.5 + n / 2.0) * (k + 0.5));
+                }
+                assertEquals("n = " + n, expected_j / n, y[j], DELTA);
+            }
+        }
+    }
+
+    @Test
+    public void testMDCTPerfectReconstruction() {
+        int n = 64;
+        int blocks = 8;
+        double[] window = new double[2 * n];
+        for (int j = 0; j < 2 * n; ++j) {
+            window[j] = Math.sqrt(2.0) * Math.sin(Math.PI * (j + 0.5) / (2 * n));
+        }
+        double[] signal = TestUtils.randomData((blocks + 1) * n);
+        double[] output = new double[signal.length];
+        double[] frame = new double[2 * n];
+        double[] coeffs = new double[n];
+        MDCT mdct = new MDCT(n);
+        for (int b = 0; b < blocks; ++b) {
+            for (int j = 0; j < 2 * n; ++j) {
+                frame[j] = window[j] * signal[b * n + j];
+            }
+            mdct.forward(frame, 0, coeffs);
+            mdct.inverse(coeffs, frame, 0);
+            for (int j = 0; j < 2 * n; ++j) {
+                output[b * n + j] += window[j] * frame[j];
+            }
+        }
+        // the first and the last half block are not fully overlapped
+        for (int i = n; i < blocks * n; ++i) {
+            assertEquals(signal[i], output[i], DELTA);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Times FFT multiplication of two 4M bit numbers against
+ * {@link BigInteger#multiply(BigInteger)}.
+ */
+public class FFTMultiplyBenchmark {
+
+    private static final Random rng = new Random(20261019L);
+
+    @Test
+    public void testSpeed() {
+        BigInteger a = new BigInteger(1 << 22, rng);
+        BigInteger b = new BigInteger(1 << 22, rng);
+        BigInteger expected = null;
+        BigInteger actual = null;
+        long jdk = Long.MAX_VALUE;
+        long fft = Long.MAX_VALUE;
+        for (int i = 0; i < 3; ++i) {
+            long start = System.nanoTime();
+            expected = a.multiply(b);
+            jdk = Math.min(jdk, System.nanoTime() - start);
+            start = System.nanoTime();
+            actual = FFTMultiply.multiply(a, b);
+            fft = Math.min(fft, System.nanoTime() - start);
+        }
+        assertEquals(expected, actual);
+        System.out.println("4M bit product: BigInteger " + (jdk / 1_000_000) + " ms, FFT " + (fft / 1_000_000)
+                + " ms");
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link FFTMultiply}.
+ */
+public class FFTMultiplyTest {
+
+    private static final Random rng = new Random(20261019L);
+
+    @Test
+    public void testPolynomial() {
+        for (int[] sizes : new int[][] { { 1, 1 }, { 5, 3 }, { 33, 40 }, { 100, 1000 }, { 1025, 4000 } }) {
+            double[] a = TestUtils.randomData(sizes[0]);
+            double[] b = TestUtils.randomData(sizes[1]);
+            double[] expected = direct(a, b);
+            assertArrayEquals(expected, FFTMultiply.multiply(a, b), 1e-10);
+            assertArrayEquals(direct(a, a), FFTMultiply.square(a), 1e-10);
+        }
+        assertEquals(0, FFTMultiply.multiply(new double[0], new double[] { 1.0 }).length);
+    }
+
+    @Test
+    public void testBigIntegerRandom() {
+        for (int bits : new int[] { 1, 100, 5000, 65536, 300000, 2000000 }) {
+            BigInteger a = new BigInteger(bits, rng);
+            BigInteger b = new BigInteger(bits / 2 + 7, rng).negate();
+            assertEquals(a.multiply(b), FFTMultiply.multiply(a, b, false));
+            assertEquals(a.multiply(a), FFTMultiply.multiply(a, a, true));
+            assertEquals(a.multiply(b), FFTMultiply.multiply(a, b));
+        }
+    }
+
+    @Test
+    public void testBigIntegerWorstCase() {
+        // all limbs at their maximum value maximize the convolution coefficients
+        for (int bits : new int[] { 4096, 1 << 18, 1 << 22 }) {
+            BigInteger a = BigInteger.ONE.shiftLeft(bits).subtract(BigInteger.ONE);
+            assertEquals(a.multiply(a), FFTMultiply.square(a));
+        }
+    }
+
+    @Test
+    public void testLimbBitsShrinkWithSize() {
+        int previous = Integer.MAX_VALUE;
+        for (int bits = 1 << 10; bits <= 1 << 26; bits <<= 2) {
+            int limbBits = FFTMultiply.limbBits(bits, bits);
+            assertTrue(limbBits <= previous);
+            previous = limbBits;
+        }
+        assertEquals(16, FFTMultiply.limbBits(1000, 1000));
+    }
+
+    private static double[] direct(double[] a, double[] b) {
+        double[] c = new double[a.length + b.length - 1];
+        for (int i = 0; i < a.length; ++i) {
+            for (int j = 0; j < b.length; ++j) {
+                c[i + j] += a[i] * b[j];
+            }
+        }
+        return c;
+    }
+}
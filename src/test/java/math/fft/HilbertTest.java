@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link Hilbert}.
+ */
+public class HilbertTest {
+
+    @Test
+    public void testCosineGivesComplexExponential() {
+        for (int n : new int[] { 64, 100, 1024 }) {
+            int bin = 7;
+            double[] x = new double[n];
+            for (int j = 0; j < n; ++j) {
+                x[j] = Math.cos(2.0 * Math.PI * bin * j / n);
+            }
+            ComplexArray z = new Hilbert(n).analytic(x);
+            for (int j = 0; j < n; ++j) {
+                assertEquals(x[j], z.re()[j], 1e-12);
+                assertEquals(Math.sin(2.0 * Math.PI * bin * j / n), z.im()[j], 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void testEnvelopeAndFrequency() {
+        int n = 4096;
+        double fs = 4096.0;
+        double[] x = new double[n];
+        double[] expected = new double[n];
+        for (int j = 0; j < n; ++j) {
+            expected[j] = 1.0 + 0.5 * Math.cos(2.0 * Math.PI * 3 * j / n);
+            x[j] = expected[j] * Math.cos(2.0 * Math.PI * 200 * j / n);
+        }
+        Hilbert hilbert = new Hilbert(n);
+        double[] envelope = new double[n];
+        hilbert.envelope(x, envelope);
+        assertArrayEquals(expected, envelope, 1e-10);
+
+        double[] freq = new double[n - 1];
+        hilbert.instantaneousFrequency(x, fs, freq);
+        for (double f : freq) {
+            assertEquals(200.0, f, 1e-6);
+        }
+        double[] phase = new double[n];
+        hilbert.instantaneousPhase(x, phase);
+        assertEquals(0.0, phase[0], 1e-12);
+        double[] h = new double[n];
+        hilbert.hilbert(x, h);
+        assertEquals(Math.atan2(h[1], x[1]), phase[1], 1e-12);
+    }
+
+    @Test
+    public void testStreamingMatchesWholeSignal() {
+        int total = 20000;
+        double fs = 8000.0;
+        double[] x = new double[total];
+        for (int j = 0; j < total; ++j) {
+            double t = j / fs;
+            x[j] = (1.0 + 0.3 * Math.sin(2.0 * Math.PI * 5.3 * t)) * Math.cos(2.0 * Math.PI * 1234.5 * t);
+        }
+        Hilbert.Streaming stream = new Hilbert.Streaming(1024, 512);
+        double[] envelope = new double[total];
+        int pos = 0;
+        // feed irregular chunks
+        for (int off = 0, chunk = 1; off < total; off += chunk, chunk = (chunk * 7 + 3) % 1500 + 1) {
+            int len = Math.min(chunk, total - off);
+            pos += stream.processEnvelope(x, off, len, envelope, pos);
+        }
+        assertTrue(total - pos <= stream.latency());
+        pos += stream.flushEnvelope(envelope, pos);
+        assertEquals(total, pos);
+        // compare with the expected envelope away from the ends of the signal
+        for (int j = 1000; j < total - 1000; ++j) {
+            double t = j / fs;
+            assertEquals(1.0 + 0.3 * Math.sin(2.0 * Math.PI * 5.3 * t), envelope[j], 5e-3);
+        }
+    }
+
+    @Test
+    public void testStreamingAnalytic() {
+        int n = 256;
+        double[] x = new double[4 * n];
+        for (int j = 0; j < x.length; ++j) {
+            x[j] = Math.cos(2.0 * Math.PI * 16 * j / n);
+        }
+        Hilbert.Streaming stream = new Hilbert.Streaming(n, 0);
+        double[] re = new double[x.length];
+        double[] im = new double[x.length];
+        int written = stream.process(x, 0, x.length, re, im, 0);
+        assertEquals(x.length, written);
+        assertEquals(0, stream.flush(re, im, written));
+        for (int j = 0; j < x.length; ++j) {
+            assertEquals(x[j], re[j], 1e-12);
+            assertEquals(Math.sin(2.0 * Math.PI * 16 * j / n), im[j], 1e-12);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Times the MFCC pipeline against a straightforward per-frame
+ * implementation.
+ */
+public class MFCCBenchmark {
+
+    @Test
+    public void testBenchmark() {
+        int n = 512;
+        double fs = 16000.0;
+        double[] signal = TestUtils.randomData(16000 * 5);
+        MFCC mfcc = new MFCC(n, fs, 40, 13, 0.0, 8000.0, Window.HAMMING);
+        double[] w = Window.HAMMING.coefficients(n);
+        int hop = 160;
+        int frames = mfcc.frames(signal.length, hop);
+        double[][] out = new double[frames][13];
+        double sink = 0.0;
+        for (int warm = 0; warm < 3; ++warm) {
+            long t0 = System.nanoTime();
+            mfcc.process(signal, hop, out);
+            long t1 = System.nanoTime();
+            for (int f = 0; f < frames; ++f) {
+                sink += MFCCTest.naive(signal, f * hop, n, fs, 40, 13, 0.0, 8000.0, w)[1];
+            }
+            long t2 = System.nanoTime();
+            if (warm == 2) {
+                System.out.println("MFCC " + frames + " frames: " + (t1 - t0) / 1000000 + " ms, naive: "
+                        + (t2 - t1) / 1000000 + " ms");
+            }
+        }
+        assertFalse(Double.isNaN(sink));
+    }
+}
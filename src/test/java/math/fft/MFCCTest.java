@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Test for {@link MFCC}.
+ */
+public class MFCCTest {
+
+    // dense reference pipeline: forwardDFT, absSquaredScaled, matrix, log, DCT
+    static double[] naive(double[] x, int off, int n, double fs, int filters, int coeffs, double lo,
+            double hi, double[] w) {
+        double[] frame = new double[n];
+        for (int j = 0; j < n; ++j) {
+            frame[j] = w[j] * x[off + j];
+        }
+        double[] power = Fourier.forwardDFT(frame).absSquaredScaled();
+        double[] edges = new double[filters + 2];
+        for (int m = 0; m < edges.length; ++m) {
+            double mel = MFCC.hzToMel(lo) + (MFCC.hzToMel(hi) - MFCC.hzToMel(lo)) * m / (filters + 1);
+            edges[m] = MFCC.melToHz(mel);
+        }
+        double[] logE = new double[filters];
+        for (int m = 0; m < filters; ++m) {
+            double sum = 0.0;
+            for (int k = 0; k <= n / 2; ++k) {
+                double f = k * fs / n;
+                double up = (f - edges[m]) / (edges[m + 1] - edges[m]);
+                double down = (edges[m + 2] - f) / (edges[m + 2] - edges[m + 1]);
+                sum += Math.max(0.0, Math.min(up, down)) * power[k];
+            }
+            logE[m] = Math.log(Math.max(sum, 1e-10));
+        }
+        double[] c = new double[coeffs];
+        for (int k = 0; k < coeffs; ++k) {
+            double norm = Math.sqrt((k == 0 ? 1.0 : 2.0) / filters);
+            for (int m = 0; m < filters; ++m) {
+                c[k] += norm * Math.cos(Math.PI * k * (m + 0.5) / filters) * logE[m];
+            }
+        }
+        return c;
+    }
+
+    @Test
+    public void testAgainstNaive() {
+        int n = 512;
+        double fs = 16000.0;
+        int filters = 27;
+        int coeffs = 13;
+        double[] signal = TestUtils.randomData(8000);
+        for (int t = 0; t < signal.length; ++t) {
+            signal[t] += Math.sin(2.0 * Math.PI * 440.0 * t / fs);
+        }
+        MFCC mfcc = new MFCC(n, fs, filters, coeffs, 20.0, 8000.0, Window.HAMMING);
+        int hop = 160;
+        int frames = mfcc.frames(signal.length, hop);
+        assertEquals(1 + (8000 - 512) / 160, frames);
+        double[][] out = new double[frames][coeffs];
+        assertEquals(frames, mfcc.process(signal, hop, out));
+        double[] w = Window.HAMMING.coefficients(n);
+        for (int f = 0; f < frames; f += 7) {
+            double[] expected = naive(signal, f * hop, n, fs, filters, coeffs, 20.0, 8000.0, w);
+            assertArrayEquals(expected, out[f], 1e-9);
+        }
+    }
+
+    @Test
+    public void testMelEnergiesOfTone() {
+        int n = 1024;
+        double fs = 8000.0;
+        MFCC mfcc = new MFCC(n, fs, 20, 10, 0.0, 4000.0, Window.HANN);
+        double[] x = new double[n];
+        for (int t = 0; t < n; ++t) {
+            x[t] = Math.cos(2.0 * Math.PI * 1000.0 * t / fs);
+        }
+        double[] e = new double[20];
+        mfcc.melEnergies(x, 0, e, 0);
+        double[] centers = mfcc.centerFrequencies();
+        int best = 0;
+        for (int m = 1; m < e.length; ++m) {
+            if (e[m] > e[best]) {
+                best = m;
+            }
+        }
+        double distance = Double.MAX_VALUE;
+        for (double c : centers) {
+            distance = Math.min(distance, Math.abs(c - 1000.0));
+        }
+        assertEquals(distance, Math.abs(centers[best] - 1000.0), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyCoefficients() {
+        new MFCC(256, 8000.0, 10, 11, 0.0, 4000.0, Window.HANN);
+    }
+}
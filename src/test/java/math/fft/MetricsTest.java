@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Test;
+
+import math.fft.TransformListener.Algorithm;
+
+/**
+ * Tests for {@link Metrics}.
+ */
+public class MetricsTest {
+
+    @After
+    public void tearDown() {
+        Metrics.disable();
+        Metrics.reset();
+        Metrics.unregisterMBean();
+    }
+
+    @Test
+    public void testDisabledRecordsNothing() {
+        Metrics.disable();
+        Metrics.reset();
+        Fourier.forwardDFT(TestUtils.randomData(64));
+        new DCT(16);
+        for (Algorithm alg : Algorithm.values()) {
+            assertEquals(0L, Metrics.count(alg));
+        }
+        assertEquals(0L, Metrics.plansCreated());
+    }
+
+    @Test
+    public void testCountsPerAlgorithm() {
+        Metrics.reset();
+        Metrics.enable();
+        AtomicInteger inverses = new AtomicInteger();
+        TransformListener listener = (algorithm, inverse, size, nanos, allocatedBytes) -> {
+            assertEquals(Fourier.algorithm(size), algorithm);
+            assertTrue(nanos >= 0L);
+            assertTrue(allocatedBytes > 0L);
+            if (inverse) {
+                inverses.incrementAndGet();
+            }
+        };
+        Metrics.addListener(listener);
+        try {
+            Fourier.forwardDFT(TestUtils.randomData(1));
+            Fourier.forwardDFT(TestUtils.randomData(2));
+            Fourier.forwardDFT(TestUtils.randomData(7));
+            Fourier.forwardDFT(TestUtils.randomData(1024));
+            ComplexArray spectrum = Fourier.forwardDFT(TestUtils.randomData(1000));
+            Fourier.inverseDFT(spectrum);
+        } finally {
+            Metrics.removeListener(listener);
+        }
+        assertEquals(1L, Metrics.count(Algorithm.TRIVIAL));
+        assertEquals(1L, Metrics.count(Algorithm.SIZE_2));
+        assertEquals(1L, Metrics.count(Algorithm.CODELET));
+        assertEquals(1L, Metrics.count(Algorithm.RADIX_2));
+        assertEquals(1L, Metrics.count(Algorithm.RADIX_2, 10));
+        assertEquals(2L, Metrics.count(Algorithm.BLUESTEIN));
+        assertEquals(2L, Metrics.count(Algorithm.BLUESTEIN, 9));
+        assertEquals(1, inverses.get());
+        long histogramTotal = 0L;
+        for (long count : Metrics.latencyHistogram(Algorithm.BLUESTEIN)) {
+            histogramTotal += count;
+        }
+        assertEquals(2L, histogramTotal);
+        assertTrue(Metrics.allocatedBytes(Algorithm.BLUESTEIN) > Metrics.allocatedBytes(Algorithm.RADIX_2));
+
+        new DCT(64);
+        assertTrue(Metrics.plansCreated() >= 1L);
+        assertTrue(Metrics.planBytes() > 64 * 8);
+    }
+
+    @Test
+    public void testInPlaceAndPackageEntryPoints() {
+        Metrics.reset();
+        Metrics.enable();
+        double[] re = TestUtils.randomData(1000);
+        double[] im = TestUtils.randomData(1000);
+        Fourier.transform(re, im, false);
+        Fourier.transform(re, im, true);
+        Fourier.forwardDFT(TestUtils.randomData(64), TestUtils.randomData(64));
+        // the convolutions inside Bluestein are not counted separately
+        assertEquals(2L, Metrics.count(Algorithm.BLUESTEIN));
+        assertEquals(1L, Metrics.count(Algorithm.RADIX_2));
+        assertTrue(Metrics.allocatedBytes(Algorithm.BLUESTEIN) > 0L);
+
+        Metrics.reset();
+        new RealFFT(128).forward(TestUtils.randomData(128), 0, new double[65], new double[65]);
+        assertEquals(1L, Metrics.count(Algorithm.RADIX_2, 6));
+        assertEquals(0L, Metrics.allocatedBytes(Algorithm.RADIX_2));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMXBean() throws Exception {
+        ObjectName name = Metrics.registerMBean();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertTrue(server.isRegistered(name));
+        server.setAttribute(name, new javax.management.Attribute("Enabled", Boolean.TRUE));
+        assertTrue(Metrics.isEnabled());
+        Metrics.reset();
+        Fourier.forwardDFT(TestUtils.randomData(256));
+        Fourier.forwardDFT(TestUtils.randomData(256));
+        Object counts = server.getAttribute(name, "Counts");
+        assertTrue(counts instanceof javax.management.openmbean.TabularData);
+        MetricsMXBean proxy = javax.management.JMX.newMXBeanProxy(server, name, MetricsMXBean.class);
+        Map<String, Long> map = proxy.getCounts();
+        assertEquals(Long.valueOf(2L), map.get(Algorithm.RADIX_2.name()));
+        assertEquals(Long.valueOf(2L), proxy.getCountsBySize().get(Algorithm.RADIX_2.name() + "/256"));
+        proxy.reset();
+        assertEquals(0L, Metrics.count(Algorithm.RADIX_2));
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Times a type 1 NUFFT against direct summation.
+ */
+public class NUFFTBenchmark {
+
+    @Test
+    public void testSpeed() {
+        int modes = 4096;
+        int n = 20000;
+        double[] x = NUFFTTest.randomPoints(n);
+        double[] c = TestUtils.randomData(n);
+        NUFFT plan = new NUFFT(modes, 1e-9);
+        ComplexArray fast = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; ++i) {
+            fast = plan.type1(x, c, null);
+        }
+        long nufft = (System.nanoTime() - start) / 10;
+        start = System.nanoTime();
+        ComplexArray slow = NUFFTTest.directType1(x, c, null, modes);
+        long direct = System.nanoTime() - start;
+        assertTrue(NUFFTTest.relativeError(slow, fast) <= 1e-8);
+        System.out.println("type 1, " + n + " points, " + modes + " modes: NUFFT " + (nufft / 1_000) + " us, direct "
+                + (direct / 1_000) + " us");
+    }
+}
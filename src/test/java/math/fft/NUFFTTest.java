@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link NUFFT}.
+ */
+public class NUFFTTest {
+
+    private static final Random rng = new Random(38L);
+
+    @Test
+    public void testType1AgainstDirectSum() {
+        for (double tol : new double[] { 1e-3, 1e-6, 1e-9, 1e-12 }) {
+            for (int modes : new int[] { 1, 7, 64, 301 }) {
+                int n = 500;
+                double[] x = randomPoints(n);
+                double[] cRe = TestUtils.randomData(n);
+                double[] cIm = TestUtils.randomData(n);
+                ComplexArray actual = new NUFFT(modes, tol).type1(x, cRe, cIm);
+                ComplexArray expected = directType1(x, cRe, cIm, modes);
+                assertTrue(tol + " / " + modes, relativeError(expected, actual) <= 10.0 * tol);
+            }
+        }
+    }
+
+    @Test
+    public void testType2AgainstDirectSum() {
+        for (double tol : new double[] { 1e-3, 1e-6, 1e-9, 1e-12 }) {
+            for (int modes : new int[] { 1, 8, 100, 256 }) {
+                double[] x = randomPoints(700);
+                ComplexArray coeffs = new ComplexArray(TestUtils.randomData(modes), TestUtils.randomData(modes));
+                ComplexArray actual = new NUFFT(modes, tol).type2(x, coeffs);
+                ComplexArray expected = directType2(x, coeffs);
+                assertTrue(tol + " / " + modes, relativeError(expected, actual) <= 10.0 * tol);
+            }
+        }
+    }
+
+    @Test
+    public void testUniformPointsGiveDFT() {
+        int n = 128;
+        double[] x = new double[n];
+        for (int j = 0; j < n; ++j) {
+            // points outside [0, 2 pi) are wrapped
+            x[j] = 2.0 * Math.PI * j / n - 4.0 * Math.PI;
+        }
+        double[] data = TestUtils.randomData(n);
+        ComplexArray expected = Fourier.forwardDFT(data).fftshift();
+        ComplexArray actual = new NUFFT(n, 1e-12).type1(x, data, null);
+        assertArrayEquals(expected.re(), actual.re(), 1e-9);
+        assertArrayEquals(expected.im(), actual.im(), 1e-9);
+    }
+
+    static double[] randomPoints(int n) {
+        // jittered samples
+        double[] x = new double[n];
+        for (int j = 0; j < n; ++j) {
+            x[j] = 2.0 * Math.PI * (j + 0.8 * rng.nextDouble()) / n;
+        }
+        return x;
+    }
+
+    static ComplexArray directType1(double[] x, double[] cRe, double[] cIm, int modes) {
+        double[] re = new double[modes];
+        double[] im = new double[modes];
+        for (int i = 0; i < modes; ++i) {
+            int k = i - modes / 2;
+            for (int j = 0; j < x.length; ++j) {
+                double cos = Math.cos(k * x[j]);
+                double sin = -Math.sin(k * x[j]);
+                double b = (cIm == null) ? 0.0 : cIm[j];
+                re[i] += cRe[j] * cos - b * sin;
+                im[i] += cRe[j] * sin + b * cos;
+            }
+        }
+        return new ComplexArray(re, im, false);
+    }
+
+    private static ComplexArray directType2(double[] x, ComplexArray coeffs) {
+        int modes = coeffs.length();
+        double[] re = new double[x.length];
+        double[] im = new double[x.length];
+        for (int j = 0; j < x.length; ++j) {
+            for (int i = 0; i < modes; ++i) {
+                int k = i - modes / 2;
+                double cos = Math.cos(k * x[j]);
+                double sin = Math.sin(k * x[j]);
+                re[j] += coeffs.re()[i] * cos - coeffs.im()[i] * sin;
+                im[j] += coeffs.re()[i] * sin + coeffs.im()[i] * cos;
+            }
+        }
+        return new ComplexArray(re, im, false);
+    }
+
+    static double relativeError(ComplexArray expected, ComplexArray actual) {
+        double err = 0.0;
+        double norm = 0.0;
+        for (int i = 0; i < expected.length(); ++i) {
+            double dr = expected.re()[i] - actual.re()[i];
+            double di = expected.im()[i] - actual.im()[i];
+            err += dr * dr + di * di;
+            norm += expected.re()[i] * expected.re()[i] + expected.im()[i] * expected.im()[i];
+        }
+        return Math.sqrt(err / norm);
+    }
+}
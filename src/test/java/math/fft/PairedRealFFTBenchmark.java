@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import org.junit.Test;
+
+/**
+ * Times paired against separate forward transforms of many real signals.
+ */
+public class PairedRealFFTBenchmark {
+
+    @Test
+    public void testThroughput() {
+        int n = 4096;
+        int count = 2000;
+        double[][] signals = new double[count][];
+        for (int i = 0; i < count; ++i) {
+            signals[i] = TestUtils.randomData(n);
+        }
+        for (int warmup = 0; warmup < 3; ++warmup) {
+            separate(signals);
+            PairedRealFFT.forwardDFT(signals);
+        }
+        long start = System.nanoTime();
+        separate(signals);
+        long separate = System.nanoTime() - start;
+        start = System.nanoTime();
+        PairedRealFFT.forwardDFT(signals);
+        long paired = System.nanoTime() - start;
+        System.out.println("separate: " + (separate / 1_000_000) + " ms, paired: " + (paired / 1_000_000) + " ms");
+    }
+
+    private static void separate(double[][] signals) {
+        for (double[] signal : signals) {
+            Fourier.forwardDFT(signal);
+        }
+    }
+}
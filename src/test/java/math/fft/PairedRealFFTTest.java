@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link PairedRealFFT}.
+ */
+public class PairedRealFFTTest {
+
+    private static final int[] SIZES = { 1, 2, 3, 5, 8, 12, 16, 100, 1024, 1000, 4097 };
+
+    @Test
+    public void testForwardMatchesSeparateTransforms() {
+        for (int n : SIZES) {
+            double[] x = TestUtils.randomData(n);
+            double[] y = TestUtils.randomData(n);
+            ComplexArray[] pair = PairedRealFFT.forwardDFT(x, y);
+            assertClose(Fourier.forwardDFT(x), pair[0], 1e-10);
+            assertClose(Fourier.forwardDFT(y), pair[1], 1e-10);
+        }
+    }
+
+    @Test
+    public void testInverseRoundTrip() {
+        for (int n : SIZES) {
+            double[] x = TestUtils.randomData(n);
+            double[] y = TestUtils.randomData(n);
+            ComplexArray[] pair = PairedRealFFT.forwardDFT(x, y);
+            double[][] xy = PairedRealFFT.inverseDFT(pair[0], pair[1]);
+            assertArrayEquals(x, xy[0], 1e-10);
+            assertArrayEquals(y, xy[1], 1e-10);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchUnequalPairs() {
+        double[] a = TestUtils.randomData(4);
+        double[] b = TestUtils.randomData(4);
+        double[] c = TestUtils.randomData(8);
+        double[] d = TestUtils.randomData(8);
+        PairedRealFFT.forwardDFT(new double[][] { a, b, c, d });
+    }
+
+    @Test
+    public void testEmpty() {
+        ComplexArray[] pair = PairedRealFFT.forwardDFT(new double[0], new double[0]);
+        assertEquals(2, pair.length);
+        assertEquals(0, pair[0].length());
+        assertEquals(0, pair[1].length());
+        double[][] xy = PairedRealFFT.inverseDFT(pair[0], pair[1]);
+        assertEquals(0, xy[0].length);
+        assertEquals(0, xy[1].length);
+        ComplexArray[] spectra = PairedRealFFT.forwardDFT(new double[][] { {}, {}, {} });
+        for (ComplexArray spectrum : spectra) {
+            assertEquals(0, spectrum.length());
+        }
+    }
+
+    @Test
+    public void testBatch() {
+        double[][] signals = new double[5][];
+        for (int i = 0; i < signals.length; ++i) {
+            signals[i] = TestUtils.randomData(384);
+        }
+        ComplexArray[] spectra = PairedRealFFT.forwardDFT(signals);
+        for (int i = 0; i < signals.length; ++i) {
+            assertClose(Fourier.forwardDFT(signals[i]), spectra[i], 1e-10);
+        }
+    }
+
+    private static void assertClose(ComplexArray expected, ComplexArray actual, double delta) {
+        assertArrayEquals(expected.re(), actual.re(), delta);
+        assertArrayEquals(expected.im(), actual.im(), delta);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Times the fused PCM transform against converting each frame to
+ * {@code double[]} first.
+ */
+public class PcmFourierBenchmark {
+
+    private static final Random rng = new Random(42L);
+
+    @Test
+    public void testSpeed() {
+        int n = 4096;
+        int frames = 2000;
+        short[] pcm = new short[n * 2];
+        for (int i = 0; i < pcm.length; ++i) {
+            pcm[i] = (short) rng.nextInt();
+        }
+        long separate = Long.MAX_VALUE;
+        long fused = Long.MAX_VALUE;
+        for (int round = 0; round < 5; ++round) {
+            long start = System.nanoTime();
+            for (int f = 0; f < frames; ++f) {
+                double[] x = new double[n];
+                for (int i = 0; i < n; ++i) {
+                    x[i] = pcm[2 * i] * 0x1.0p-15;
+                }
+                Fourier.forwardDFT(x);
+            }
+            separate = Math.min(separate, System.nanoTime() - start);
+            start = System.nanoTime();
+            for (int f = 0; f < frames; ++f) {
+                PcmFourier.forwardDFT(pcm, 0, n, 2, 0x1.0p-15);
+            }
+            fused = Math.min(fused, System.nanoTime() - start);
+        }
+        System.out.println("PCM16 stereo frames of " + n + ": convert + forwardDFT " + (separate / 1_000_000)
+                + " ms, fused " + (fused / 1_000_000) + " ms");
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import org.junit.Test;
+
+import math.fft.PcmFourier.Format;
+
+/**
+ * Tests for {@link PcmFourier}.
+ */
+public class PcmFourierTest {
+
+    private static final Random rng = new Random(42L);
+    private static final int[] SIZES = { 0, 1, 2, 7, 16, 32, 256, 1000, 4096 };
+
+    @Test
+    public void testArrays() {
+        for (int n : SIZES) {
+            int channels = 2;
+            short[] shorts = new short[n * channels];
+            int[] ints = new int[n * channels];
+            float[] floats = new float[n * channels];
+            for (int i = 0; i < shorts.length; ++i) {
+                shorts[i] = (short) rng.nextInt();
+                ints[i] = rng.nextInt(1 << 24) - (1 << 23);
+                floats[i] = rng.nextFloat() - 0.5f;
+            }
+            double[] expected = new double[n];
+            for (int i = 0; i < n; ++i) {
+                expected[i] = shorts[2 * i + 1] * Format.PCM_16.fullScale();
+            }
+            assertClose(expected, PcmFourier.forwardDFT(shorts, 1, n, channels, Format.PCM_16.fullScale()));
+            for (int i = 0; i < n; ++i) {
+                expected[i] = ints[2 * i] * Format.PCM_24.fullScale();
+            }
+            assertClose(expected, PcmFourier.forwardDFT(ints, 0, n, channels, Format.PCM_24.fullScale()));
+            for (int i = 0; i < n; ++i) {
+                expected[i] = 2.0 * floats[2 * i + 1];
+            }
+            assertClose(expected, PcmFourier.forwardDFT(floats, 1, n, channels, 2.0));
+        }
+    }
+
+    @Test
+    public void testByteBuffers() {
+        for (Format format : Format.values()) {
+            for (ByteOrder order : new ByteOrder[] { ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN }) {
+                for (int n : SIZES) {
+                    int channels = 3;
+                    int channel = 2;
+                    int header = 5;
+                    ByteBuffer buffer = ByteBuffer.allocate(header + n * channels * format.bytes()).order(order);
+                    buffer.position(header);
+                    double[] expected = new double[n];
+                    for (int i = 0; i < n * channels; ++i) {
+                        double value = write(buffer, format, order);
+                        if (i % channels == channel) {
+                            expected[i / channels] = value * format.fullScale();
+                        }
+                    }
+                    buffer.position(header);
+                    ComplexArray actual = PcmFourier.forwardDFT(buffer, format, channel, n, channels,
+                            format.fullScale());
+                    assertEquals(header, buffer.position());
+                    assertClose(expected, actual);
+                    if (order == ByteOrder.LITTLE_ENDIAN) {
+                        byte[] bytes = new byte[buffer.capacity() - header];
+                        System.arraycopy(buffer.array(), header, bytes, 0, bytes.length);
+                        assertClose(expected,
+                                PcmFourier.forwardDFT(bytes, format, channel, n, channels, format.fullScale()));
+                    }
+                }
+            }
+        }
+    }
+
+    // writes a random sample at the current position and returns its value
+    private static double write(ByteBuffer buffer, Format format, ByteOrder order) {
+        switch (format) {
+        case PCM_16:
+            short s = (short) rng.nextInt();
+            buffer.putShort(s);
+            return s;
+        case PCM_24:
+            int v = rng.nextInt(1 << 24) - (1 << 23);
+            if (order == ByteOrder.LITTLE_ENDIAN) {
+                buffer.put((byte) v).put((byte) (v >> 8)).put((byte) (v >> 16));
+            } else {
+                buffer.put((byte) (v >> 16)).put((byte) (v >> 8)).put((byte) v);
+            }
+            return v;
+        case PCM_32:
+            int i = rng.nextInt();
+            buffer.putInt(i);
+            return i;
+        default:
+            float f = rng.nextFloat() * 2.0f - 1.0f;
+            buffer.putFloat(f);
+            return f;
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRangeCheck() {
+        PcmFourier.forwardDFT(new short[10], 1, 6, 2, 1.0);
+    }
+
+    private static void assertClose(double[] x, ComplexArray actual) {
+        ComplexArray expected = Fourier.forwardDFT(x);
+        assertArrayEquals(expected.re(), actual.re(), 1e-9);
+        assertArrayEquals(expected.im(), actual.im(), 1e-9);
+    }
+}
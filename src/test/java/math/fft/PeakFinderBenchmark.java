@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Times the fused peak search against {@code absSquared()} followed by a
+ * scan for the maximum.
+ */
+public class PeakFinderBenchmark {
+
+    @Test
+    public void testBenchmark() {
+        int n = 1 << 16;
+        Random rnd = new Random(1);
+        double[] re = new double[n];
+        double[] im = new double[n];
+        for (int i = 0; i < n; ++i) {
+            re[i] = rnd.nextGaussian();
+            im[i] = rnd.nextGaussian();
+        }
+        ComplexArray spec = new ComplexArray(re, im, false);
+        PeakFinder pf = new PeakFinder(16, 0.0, 1, PeakFinder.Interpolation.PARABOLIC);
+        double[] bins = new double[16];
+        double[] powers = new double[16];
+        int rounds = 200;
+        double sink = 0.0;
+        for (int warm = 0; warm < 2; ++warm) {
+            long t0 = System.nanoTime();
+            for (int r = 0; r < rounds; ++r) {
+                double[] p = spec.absSquared();
+                double max = 0.0;
+                for (int i = 1; i < n - 1; ++i) {
+                    if (p[i] > p[i - 1] && p[i] >= p[i + 1] && p[i] > max) {
+                        max = p[i];
+                    }
+                }
+                sink += max;
+            }
+            long t1 = System.nanoTime();
+            for (int r = 0; r < rounds; ++r) {
+                pf.find(spec, bins, powers);
+                sink += powers[0];
+            }
+            long t2 = System.nanoTime();
+            if (warm == 1) {
+                System.out.println("absSquared + scan: " + (t1 - t0) / (rounds * 1000) + " us, PeakFinder: "
+                        + (t2 - t1) / (rounds * 1000) + " us");
+            }
+        }
+        assertTrue(sink > 0.0);
+    }
+}
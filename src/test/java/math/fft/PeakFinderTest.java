@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test for {@link PeakFinder}.
+ */
+public class PeakFinderTest {
+
+    private static double[] tones(int n, double[] bins, double[] amps, double[] window) {
+        double[] x = new double[n];
+        for (int t = 0; t < n; ++t) {
+            double s = 0.0;
+            for (int i = 0; i < bins.length; ++i) {
+                s += amps[i] * Math.cos(2.0 * Math.PI * bins[i] * t / n + 0.3 * i);
+            }
+            x[t] = (window == null) ? s : s * window[t];
+        }
+        return x;
+    }
+
+    @Test
+    public void testQuinnRectangular() {
+        int n = 1024;
+        double[] freqs = { 50.3, 120.7, 300.45 };
+        double[] amps = { 1.0, 0.5, 0.25 };
+        ComplexArray spec = Fourier.forwardDFT(tones(n, freqs, amps, null));
+        PeakFinder pf = new PeakFinder(3, 1.0, 1, PeakFinder.Interpolation.QUINN);
+        double[] bins = new double[3];
+        double[] powers = new double[3];
+        int count = pf.find(spec.re(), spec.im(), 0, n / 2 + 1, bins, powers);
+        assertEquals(3, count);
+        for (int i = 0; i < 3; ++i) {
+            assertEquals(freqs[i], bins[i], 0.02);
+        }
+        assertTrue(powers[0] > powers[1] && powers[1] > powers[2]);
+    }
+
+    @Test
+    public void testParabolicHann() {
+        int n = 2048;
+        double[] freqs = { 200.25, 77.6 };
+        double[] amps = { 2.0, 1.0 };
+        double[] w = Window.HANN.coefficients(n);
+        ComplexArray spec = Fourier.forwardDFT(tones(n, freqs, amps, w));
+        PeakFinder pf = new PeakFinder(2, 1.0, 1, PeakFinder.Interpolation.PARABOLIC);
+        double[] bins = new double[2];
+        double[] powers = new double[2];
+        int count = pf.find(spec.re(), spec.im(), 0, n / 2 + 1, bins, powers);
+        assertEquals(2, count);
+        assertEquals(freqs[0], bins[0], 0.05);
+        assertEquals(freqs[1], bins[1], 0.05);
+        // Hann coherent gain 1/2: peak amplitude A * n / 4
+        double expected = 2.0 * n / 4.0;
+        assertEquals(1.0, Math.sqrt(powers[0]) / expected, 0.05);
+    }
+
+    @Test
+    public void testTopKMatchesBruteForce() {
+        Random rnd = new Random(42);
+        int n = 777;
+        double[] re = new double[n];
+        double[] im = new double[n];
+        for (int i = 0; i < n; ++i) {
+            re[i] = rnd.nextGaussian();
+            im[i] = rnd.nextGaussian();
+        }
+        ComplexArray spec = new ComplexArray(re, im, false);
+        double[] p = spec.absSquared();
+        int k = 10;
+        double threshold = 1.5;
+        double[] candidates = new double[n];
+        int c = 0;
+        for (int i = 0; i < n; ++i) {
+            double left = (i > 0) ? p[i - 1] : 0.0;
+            double right = (i < n - 1) ? p[i + 1] : 0.0;
+            if (p[i] > left && p[i] >= right && p[i] >= threshold) {
+                candidates[c++] = p[i];
+            }
+        }
+        double[] sorted = Arrays.copyOf(candidates, c);
+        Arrays.sort(sorted);
+        PeakFinder pf = new PeakFinder(k, threshold, 1, PeakFinder.Interpolation.NONE);
+        double[] bins = new double[k];
+        double[] powers = new double[k];
+        int count = pf.find(spec, bins, powers);
+        assertEquals(Math.min(k, c), count);
+        for (int i = 0; i < count; ++i) {
+            assertEquals(sorted[c - 1 - i], powers[i], 0.0);
+            assertEquals(p[(int) bins[i]], powers[i], 0.0);
+        }
+        // reuse yields the same result
+        double[] bins2 = new double[k];
+        assertEquals(count, pf.find(spec, bins2, new double[k]));
+        assertArrayEquals(bins, bins2, 0.0);
+    }
+
+    @Test
+    public void testThresholdAndSeparation() {
+        int n = 64;
+        double[] re = new double[n];
+        double[] im = new double[n];
+        re[10] = 3.0;
+        re[13] = 5.0;
+        re[30] = 2.0;
+        re[40] = 0.5;
+        double[] bins = new double[4];
+        double[] powers = new double[4];
+        PeakFinder all = new PeakFinder(4, 1.0, 1, PeakFinder.Interpolation.NONE);
+        assertEquals(3, all.find(re, im, 0, n, bins, powers));
+        assertArrayEquals(new double[] { 13.0, 10.0, 30.0 }, Arrays.copyOf(bins, 3), 0.0);
+        PeakFinder separated = new PeakFinder(4, 1.0, 5, PeakFinder.Interpolation.NONE);
+        assertEquals(2, separated.find(re, im, 0, n, bins, powers));
+        assertArrayEquals(new double[] { 13.0, 30.0 }, Arrays.copyOf(bins, 2), 0.0);
+        assertArrayEquals(new double[] { 25.0, 4.0 }, Arrays.copyOf(powers, 2), 0.0);
+        // restricted range
+        assertEquals(1, all.find(re, im, 20, n, bins, powers));
+        assertEquals(30.0, bins[0], 0.0);
+    }
+}
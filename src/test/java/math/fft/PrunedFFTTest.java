@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link PrunedFFT} against full transforms of the zero-padded
+ * data.
+ */
+public class PrunedFFTTest {
+
+    @Test
+    public void testZeroPaddedInput() {
+        int n = 1 << 14;
+        PrunedFFT plan = new PrunedFFT(n);
+        for (int len : new int[] { 1, 3, 1000, 1024, 5000, n }) {
+            double[] data = TestUtils.randomData(len);
+            double[] padded = new double[n];
+            System.arraycopy(data, 0, padded, 0, len);
+            ComplexArray expected = Fourier.forwardDFT(padded);
+            assertTrue("len = " + len, TestUtils.log10RmsError(expected, plan.forwardDFT(data, len)) < -10.0);
+        }
+    }
+
+    @Test
+    public void testBands() {
+        int n = 1 << 12;
+        PrunedFFT plan = new PrunedFFT(n);
+        int[][] cases = { { 0, n, 100, 37 }, { 4000, 300, 0, n }, { 7, 500, 3900, 400 }, { 0, 20, 2000, 1 },
+                { 1000, 3000, 1, 4000 }, { 0, 1, 0, 1 } };
+        for (int[] c : cases) {
+            int inFrom = c[0];
+            int inLength = c[1];
+            int outFrom = c[2];
+            int outLength = c[3];
+            double[] re = TestUtils.randomData(inLength);
+            double[] im = TestUtils.randomData(inLength);
+            double[] fullRe = new double[n];
+            double[] fullIm = new double[n];
+            for (int j = 0; j < inLength; ++j) {
+                fullRe[(inFrom + j) % n] = re[j];
+                fullIm[(inFrom + j) % n] = im[j];
+            }
+            ComplexArray full = Fourier.forwardDFT(fullRe, fullIm);
+            ComplexArray band = plan.forwardDFT(re, im, inFrom, inLength, outFrom, outLength);
+            assertBand(full, outFrom, band);
+
+            ComplexArray fullInv = Fourier.inverseDFT(new ComplexArray(fullRe, fullIm));
+            ComplexArray bandInv = plan.inverseDFT(new ComplexArray(re, im), inFrom, outFrom, outLength);
+            assertBand(fullInv, outFrom, bandInv);
+        }
+    }
+
+    @Test
+    public void testBandLimitedInterpolation() {
+        int n = 1 << 16;
+        int b = 500;
+        double[] re = TestUtils.randomData(2 * b + 1);
+        double[] im = TestUtils.randomData(2 * b + 1);
+        PrunedFFT plan = new PrunedFFT(n);
+
+        ComplexArray pruned = plan.inverseDFT(new ComplexArray(re, im), n - b, 0, n);
+
+        double[] fullRe = new double[n];
+        double[] fullIm = new double[n];
+        for (int j = 0; j < 2 * b + 1; ++j) {
+            fullRe[(n - b + j) % n] = re[j];
+            fullIm[(n - b + j) % n] = im[j];
+        }
+        ComplexArray full = Fourier.inverseDFT(new ComplexArray(fullRe, fullIm));
+        assertTrue(TestUtils.log10RmsError(full, pruned) < -10.0);
+    }
+
+    private static void assertBand(ComplexArray full, int outFrom, ComplexArray band) {
+        int n = full.length();
+        for (int r = 0; r < band.length(); ++r) {
+            int k = (outFrom + r) % n;
+            assertEquals(full.re()[k], band.re()[r], 1e-9);
+            assertEquals(full.im()[k], band.im()[r], 1e-9);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link Resampler}.
+ */
+public class ResamplerTest {
+
+    // band-limited periodic test signal sampled at n points per period
+    private static double signal(double t, int n) {
+        double phase = 2.0 * Math.PI * t / n;
+        return 0.5 + Math.cos(3.0 * phase + 0.1) - 0.7 * Math.sin(17.0 * phase) + 0.2 * Math.cos(40.0 * phase);
+    }
+
+    @Test
+    public void testWholeSignal() {
+        for (int[] nm : new int[][] { { 100, 100 }, { 1000, 1089 }, { 441, 480 }, { 480, 441 }, { 127, 256 },
+                { 256, 101 } }) {
+            int n = nm[0];
+            int m = nm[1];
+            double[] x = new double[n];
+            for (int t = 0; t < n; ++t) {
+                x[t] = signal(t, n);
+            }
+            double[] y = Resampler.resample(x, m);
+            assertEquals(m, y.length);
+            for (int s = 0; s < m; ++s) {
+                assertEquals(n + " -> " + m, signal(s * (double) n / m, n), y[s], 1e-10);
+            }
+        }
+    }
+
+    @Test
+    public void testRationalLength() {
+        double[] x = TestUtils.randomData(1000);
+        assertEquals(1089, Resampler.resample(x, 160, 147).length);
+        assertEquals(334, Resampler.resample(x, 1, 3).length);
+    }
+
+    @Test
+    public void testRoundTripAndNyquist() {
+        double[] x = TestUtils.randomData(96);
+        double[] back = Resampler.resample(Resampler.resample(x, 150), 96);
+        assertArrayEquals(x, back, 1e-12);
+        // the Nyquist component of 8 samples is split symmetrically
+        double[] nyquist = { 1, -1, 1, -1, 1, -1, 1, -1 };
+        double[] up = Resampler.resample(nyquist, 16);
+        for (int s = 0; s < 16; ++s) {
+            assertEquals(Math.cos(Math.PI * s / 2.0), up[s], 1e-12);
+        }
+        // and folded when downsampling to 6 samples
+        double[] down = Resampler.resample(new double[] { 1, 0, -1, 0, 1, 0, -1, 0, 1, 0, -1, 0 }, 6);
+        assertArrayEquals(new double[] { 1, -1, 1, -1, 1, -1 }, down, 1e-12);
+    }
+
+    @Test
+    public void testStreaming() {
+        double fs = 44100.0;
+        double f = 1000.0;
+        int total = 100000;
+        double[] x = new double[total];
+        for (int t = 0; t < total; ++t) {
+            x[t] = Math.sin(2.0 * Math.PI * f * t / fs);
+        }
+        Resampler.Streaming stream = new Resampler.Streaming(48000, 44100);
+        int expectedLength = (int) (((long) total * 160 + 146) / 147);
+        double[] y = new double[expectedLength + stream.outputBlockLength()];
+        int pos = 0;
+        for (int off = 0, chunk = 1; off < total; off += chunk, chunk = (chunk * 13 + 7) % 3000 + 1) {
+            int len = Math.min(chunk, total - off);
+            pos += stream.process(x, off, len, y, pos);
+        }
+        pos += stream.flush(y, pos);
+        assertEquals(expectedLength, pos);
+        for (int s = 2000; s < expectedLength - 2000; ++s) {
+            assertEquals(Math.sin(2.0 * Math.PI * f * s / 48000.0), y[s], 1e-4);
+        }
+    }
+
+    @Test
+    public void testStreamingChunkingInvariance() {
+        double[] x = TestUtils.randomData(30000);
+        Resampler.Streaming a = new Resampler.Streaming(2, 3);
+        Resampler.Streaming b = new Resampler.Streaming(2, 3);
+        double[] ya = new double[20000 + a.outputBlockLength()];
+        double[] yb = new double[20000 + b.outputBlockLength()];
+        int pa = a.process(x, 0, x.length, ya, 0);
+        pa += a.flush(ya, pa);
+        int pb = 0;
+        for (int off = 0; off < x.length; off += 777) {
+            pb += b.process(x, off, Math.min(777, x.length - off), yb, pb);
+        }
+        pb += b.flush(yb, pb);
+        assertEquals(20000, pa);
+        assertEquals(pa, pb);
+        assertArrayEquals(ya, yb, 0.0);
+    }
+}
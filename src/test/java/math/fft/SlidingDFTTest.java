@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link SlidingDFT} and {@link Goertzel}.
+ */
+public class SlidingDFTTest {
+
+    @Test
+    public void testSlidingMatchesFullTransform() {
+        int n = 256;
+        int[] bins = { 0, 1, 7, 64, 128, 200, 255 };
+        SlidingDFT sdft = new SlidingDFT(n, bins, 1.0);
+        double[] signal = TestUtils.randomData(5 * n + 17);
+        for (int i = 0; i < signal.length; ++i) {
+            sdft.update(signal[i]);
+            if (i >= n - 1 && i % 97 == 0) {
+                double[] window = new double[n];
+                System.arraycopy(signal, i - n + 1, window, 0, n);
+                assertBinsEqual(Fourier.forwardDFT(window), bins, sdft.spectrum(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testDefaultDamping() {
+        int n = 1000;
+        int[] bins = { 3, 50, 499 };
+        SlidingDFT sdft = new SlidingDFT(n, bins);
+        double[] signal = TestUtils.randomData(100 * n);
+        sdft.update(signal, 0, signal.length);
+        double[] window = new double[n];
+        System.arraycopy(signal, signal.length - n, window, 0, n);
+        // the damped window weights x[m] with r^(n-m) instead of 1, so each
+        // bin deviates from the DFT by at most (1 - r^n) * sum |x[m]|
+        double sumAbs = 0.0;
+        for (double x : window) {
+            sumAbs += Math.abs(x);
+        }
+        double bias = (1.0 - Math.pow(SlidingDFT.DEFAULT_DAMPING, n)) * sumAbs;
+        assertBinsEqual(Fourier.forwardDFT(window), bins, sdft.spectrum(), bias + 1e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGoertzelEmptyData() {
+        Goertzel.forwardDFT(new double[0], new double[] { 0.0 });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGoertzelEmptyDataAbsSquared() {
+        Goertzel.absSquared(new double[0], new double[] { 0.0 });
+    }
+
+    @Test
+    public void testGoertzelIntegerBins() {
+        int n = 317;
+        double[] data = TestUtils.randomData(n);
+        double[] bins = { 0.0, 1.0, 42.0, 158.0, 316.0 };
+        ComplexArray expected = Fourier.forwardDFT(data);
+        ComplexArray actual = Goertzel.forwardDFT(data, bins);
+        double[] power = Goertzel.absSquared(data, bins);
+        double[] expectedPower = expected.absSquared();
+        for (int i = 0; i < bins.length; ++i) {
+            int k = (int) bins[i];
+            assertEquals(expected.re()[k], actual.re()[i], 1e-9);
+            assertEquals(expected.im()[k], actual.im()[i], 1e-9);
+            assertEquals(expectedPower[k], power[i], 1e-8);
+        }
+    }
+
+    @Test
+    public void testGoertzelFractionalBins() {
+        int n = 500;
+        double[] data = TestUtils.randomData(n);
+        double[] bins = { 0.25, 10.5, 99.9 };
+        ComplexArray actual = Goertzel.forwardDFT(data, bins);
+        for (int i = 0; i < bins.length; ++i) {
+            double re = 0.0;
+            double im = 0.0;
+            for (int j = 0; j < n; ++j) {
+                double angle = -2.0 * Math.PI * bins[i] * j / n;
+                re += data[j] * Math.cos(angle);
+                im += data[j] * Math.sin(angle);
+            }
+            assertEquals(re, actual.re()[i], 1e-9);
+            assertEquals(im, actual.im()[i], 1e-9);
+        }
+    }
+
+    private static void assertBinsEqual(ComplexArray full, int[] bins, ComplexArray tracked, double delta) {
+        for (int i = 0; i < bins.length; ++i) {
+            assertEquals(full.re()[bins[i]], tracked.re()[i], delta);
+            assertEquals(full.im()[bins[i]], tracked.im()[i], delta);
+        }
+    }
+}
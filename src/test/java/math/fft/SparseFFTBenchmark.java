@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Times the sparse FFT against a dense transform for 16 tones in
+ * {@code 2^22} samples.
+ */
+public class SparseFFTBenchmark {
+
+    @Test
+    public void testBenchmark() {
+        int n = 1 << 22;
+        int k = 16;
+        Random rnd = new Random(6);
+        int[] bins = new int[k];
+        double[] cr = new double[k];
+        double[] ci = new double[k];
+        for (int i = 0; i < k; ++i) {
+            bins[i] = rnd.nextInt(n);
+            cr[i] = n;
+        }
+        double[] re = new double[n];
+        double[] im = new double[n];
+        for (int t = 0; t < n; ++t) {
+            for (int i = 0; i < k; ++i) {
+                double a = 2.0 * Math.PI * (((long) bins[i] * t) % n) / n;
+                re[t] += Math.cos(a);
+                im[t] += Math.sin(a);
+            }
+        }
+        SparseFFT sfft = new SparseFFT(n, k, 7L);
+        int[] outBins = new int[k];
+        double[] outRe = new double[k];
+        double[] outIm = new double[k];
+        long sparse = Long.MAX_VALUE;
+        long dense = Long.MAX_VALUE;
+        for (int r = 0; r < 3; ++r) {
+            long t0 = System.nanoTime();
+            assertEquals(k, sfft.forward(re, im, outBins, outRe, outIm));
+            long t1 = System.nanoTime();
+            ComplexArray full = Fourier.forwardDFT(re, im);
+            long t2 = System.nanoTime();
+            assertFalse(sfft.fellBack());
+            assertEquals(n, full.re()[outBins[0]], 1e-6 * n);
+            sparse = Math.min(sparse, t1 - t0);
+            dense = Math.min(dense, t2 - t1);
+        }
+        System.out.println("n = 2^22, k = " + k + ": sparse " + sparse / 1000 + " us, dense " + dense / 1000 + " us");
+    }
+}
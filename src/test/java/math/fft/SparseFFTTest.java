@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test for {@link SparseFFT}.
+ */
+public class SparseFFTTest {
+
+    // signal with the given unnormalized DFT coefficients plus white noise
+    private static double[][] signal(int n, int[] bins, double[] cr, double[] ci, double noise, Random rnd) {
+        double[] re = new double[n];
+        double[] im = new double[n];
+        for (int t = 0; t < n; ++t) {
+            double sr = 0.0;
+            double si = 0.0;
+            for (int i = 0; i < bins.length; ++i) {
+                double a = 2.0 * Math.PI * (((long) bins[i] * t) % n) / n;
+                double c = Math.cos(a);
+                double s = Math.sin(a);
+                sr += cr[i] * c - ci[i] * s;
+                si += cr[i] * s + ci[i] * c;
+            }
+            re[t] = sr / n + noise * rnd.nextGaussian();
+            im[t] = si / n + noise * rnd.nextGaussian();
+        }
+        return new double[][] { re, im };
+    }
+
+    private static void check(int n, int k, double noise, double relTol, long seed) {
+        Random rnd = new Random(seed);
+        int[] bins = new int[k];
+        double[] cr = new double[k];
+        double[] ci = new double[k];
+        HashMap<Integer, Integer> index = new HashMap<>();
+        for (int i = 0; i < k; ++i) {
+            do {
+                bins[i] = rnd.nextInt(n);
+            } while (index.containsKey(bins[i]));
+            index.put(bins[i], i);
+            double mag = n * (1.0 + rnd.nextDouble());
+            double phase = 2.0 * Math.PI * rnd.nextDouble();
+            cr[i] = mag * Math.cos(phase);
+            ci[i] = mag * Math.sin(phase);
+        }
+        double[][] x = signal(n, bins, cr, ci, noise, rnd);
+        SparseFFT sfft = new SparseFFT(n, k, seed);
+        int[] outBins = new int[k];
+        double[] outRe = new double[k];
+        double[] outIm = new double[k];
+        int count = sfft.forward(x[0], x[1], outBins, outRe, outIm);
+        assertFalse(sfft.fellBack());
+        assertEquals(k, count);
+        for (int i = 0; i < count; ++i) {
+            Integer j = index.get(outBins[i]);
+            assertNotNull("unexpected bin " + outBins[i], j);
+            double err = Math.hypot(outRe[i] - cr[j], outIm[i] - ci[j]);
+            assertTrue("bin " + outBins[i] + " error " + err, err <= relTol * Math.hypot(cr[j], ci[j]));
+            if (i > 0) {
+                assertTrue(Math.hypot(outRe[i], outIm[i]) <= Math.hypot(outRe[i - 1], outIm[i - 1]));
+            }
+        }
+    }
+
+    @Test
+    public void testExactlySparse() {
+        check(1 << 16, 10, 0.0, 1e-9, 1L);
+        check(1 << 18, 50, 0.0, 1e-9, 2L);
+    }
+
+    @Test
+    public void testNoisy() {
+        check(1 << 17, 20, 0.05, 1e-2, 3L);
+    }
+
+    @Test
+    public void testFallbackForDenseSignal() {
+        int n = 1 << 14;
+        int k = 8;
+        double[] re = TestUtils.randomData(n);
+        SparseFFT sfft = new SparseFFT(n, k, 4L);
+        int[] bins = new int[k];
+        double[] outRe = new double[k];
+        double[] outIm = new double[k];
+        assertEquals(k, sfft.forward(re, null, bins, outRe, outIm));
+        assertTrue(sfft.fellBack());
+        ComplexArray full = Fourier.forwardDFT(re);
+        double[] power = full.absSquared();
+        double[] sorted = power.clone();
+        java.util.Arrays.sort(sorted);
+        for (int i = 0; i < k; ++i) {
+            assertEquals(sorted[n - 1 - i], power[bins[i]], 0.0);
+            assertEquals(full.re()[bins[i]], outRe[i], 0.0);
+            assertEquals(full.im()[bins[i]], outIm[i], 0.0);
+        }
+    }
+
+    @Test
+    public void testNotPowerOfTwo() {
+        int n = 3000;
+        double[] re = new double[n];
+        for (int t = 0; t < n; ++t) {
+            re[t] = Math.cos(2.0 * Math.PI * 123 * t / n);
+        }
+        SparseFFT sfft = new SparseFFT(n, 2, 5L);
+        assertEquals(0, sfft.buckets());
+        int[] bins = new int[2];
+        double[] outRe = new double[2];
+        double[] outIm = new double[2];
+        assertEquals(2, sfft.forward(re, null, bins, outRe, outIm));
+        assertTrue(sfft.fellBack());
+        assertEquals(n / 2.0, outRe[0], 1e-8);
+        assertEquals(123 + 2877, bins[0] + bins[1]);
+    }
+}
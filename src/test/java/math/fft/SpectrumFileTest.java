@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import math.fft.SpectrumFile.Layout;
+import math.fft.SpectrumFile.Precision;
+
+/**
+ * Tests for {@link SpectrumFile}.
+ */
+public class SpectrumFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testComplexRoundTrip() throws IOException {
+        Path path = new File(folder.getRoot(), "complex.spec").toPath();
+        int n = 256;
+        ComplexArray[] frames = new ComplexArray[50];
+        try (SpectrumFile.Writer writer = SpectrumFile.create(path, Layout.COMPLEX, Precision.FLOAT64, n, 128,
+                48000.0)) {
+            for (int i = 0; i < frames.length; ++i) {
+                frames[i] = Fourier.forwardDFT(TestUtils.randomData(n));
+                writer.append(frames[i]);
+            }
+            assertEquals(frames.length, writer.frameCount());
+        }
+        try (SpectrumFile file = SpectrumFile.open(path)) {
+            assertEquals(n, file.frameLength());
+            assertEquals(frames.length, file.frameCount());
+            assertEquals(128, file.hop());
+            assertEquals(48000.0, file.sampleRate(), 0.0);
+            assertEquals(Layout.COMPLEX, file.layout());
+            assertEquals(Precision.FLOAT64, file.precision());
+            assertEquals(2 * 8 * n, file.frameBytes());
+            ComplexArray dest = new ComplexArray(n);
+            // random access, backwards
+            for (int i = frames.length - 1; i >= 0; --i) {
+                file.readFrame(i, dest);
+                assertArrayEquals(frames[i].re(), dest.re(), 0.0);
+                assertArrayEquals(frames[i].im(), dest.im(), 0.0);
+            }
+            // zero-copy view
+            ByteBuffer frame = file.frame(7);
+            assertEquals(file.frameBytes(), frame.remaining());
+            assertEquals(frames[7].im()[3], frame.getDouble(8 * (2 * 3 + 1)), 0.0);
+        }
+    }
+
+    @Test
+    public void testRealReducedPrecision() throws IOException {
+        for (Precision precision : new Precision[] { Precision.FLOAT32, Precision.FLOAT16 }) {
+            Path path = new File(folder.getRoot(), precision + ".spec").toPath();
+            int n = 129;
+            double[][] frames = new double[20][];
+            try (SpectrumFile.Writer writer = SpectrumFile.create(path, Layout.REAL, precision, n, 0, 0.0)) {
+                for (int i = 0; i < frames.length; ++i) {
+                    frames[i] = Fourier.forwardDFT(TestUtils.randomData(2 * (n - 1))).absSquared();
+                    double[] half = new double[n];
+                    System.arraycopy(frames[i], 0, half, 0, n);
+                    frames[i] = half;
+                    writer.append(half);
+                }
+            }
+            double relative = (precision == Precision.FLOAT32) ? 0x1.0p-24 : 0x1.0p-11;
+            try (SpectrumFile file = SpectrumFile.open(path)) {
+                assertEquals(n * precision.bytes(), file.frameBytes());
+                double[] dest = new double[n];
+                for (int i = 0; i < frames.length; ++i) {
+                    file.readFrame(i, dest);
+                    for (int k = 0; k < n; ++k) {
+                        assertEquals(frames[i][k], dest[k], relative * Math.abs(frames[i][k]) + 0x1.0p-24);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testHalfConversion() {
+        // every half value survives a round trip
+        for (int h = 0; h < 0x10000; ++h) {
+            double value = SpectrumFile.fromHalf((short) h);
+            if (Double.isNaN(value)) {
+                assertTrue(Double.isNaN(SpectrumFile.fromHalf(SpectrumFile.toHalf(value))));
+            } else {
+                assertEquals(h, SpectrumFile.toHalf(value) & 0xffff);
+            }
+        }
+        assertEquals(1.0, SpectrumFile.fromHalf(SpectrumFile.toHalf(1.0)), 0.0);
+        assertEquals(65504.0, SpectrumFile.fromHalf(SpectrumFile.toHalf(65519.99)), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, SpectrumFile.fromHalf(SpectrumFile.toHalf(65520.0)), 0.0);
+        assertEquals(0x1.0p-24, SpectrumFile.fromHalf(SpectrumFile.toHalf(0x1.8p-25)), 0.0);
+        assertEquals(0.0, SpectrumFile.fromHalf(SpectrumFile.toHalf(0x1.0p-25)), 0.0);
+        // ties round to even: 1 + 2^-11 lies halfway between 1 and 1 + 2^-10
+        assertEquals(1.0, SpectrumFile.fromHalf(SpectrumFile.toHalf(1.0 + 0x1.0p-11)), 0.0);
+        assertEquals(1.0 + 0x1.0p-9, SpectrumFile.fromHalf(SpectrumFile.toHalf(1.0 + 0x1.8p-10)), 0.0);
+        assertEquals(-2.0, SpectrumFile.fromHalf(SpectrumFile.toHalf(-2.0)), 0.0);
+    }
+
+    @Test
+    public void testCorruptHeader() throws IOException {
+        // frameLength at 12, frameCount at 16, hop at 24, layout at 28, precision at 29
+        assertCorrupt(header(4, 2L).put(28, (byte) 2));
+        assertCorrupt(header(4, 2L).put(28, (byte) -1));
+        assertCorrupt(header(4, 2L).put(29, (byte) 3));
+        assertCorrupt(header(4, 2L).putInt(12, -4));
+        assertCorrupt(header(4, 2L).putLong(16, -1L));
+        assertCorrupt(header(4, 2L).putInt(24, -1));
+        assertCorrupt(header(Integer.MAX_VALUE, 0L));
+        // frameCount * frameBytes overflows to a small value
+        assertCorrupt(header(4, Long.MIN_VALUE / -32 + 1));
+        // a valid header with its frames opens fine
+        Path path = write(header(4, 2L), 64);
+        try (SpectrumFile file = SpectrumFile.open(path)) {
+            assertEquals(2L, file.frameCount());
+        }
+    }
+
+    private static ByteBuffer header(int frameLength, long frameCount) {
+        return SpectrumFile.header(Layout.COMPLEX, Precision.FLOAT32, frameLength, frameCount, 1, 1.0);
+    }
+
+    private Path write(ByteBuffer header, int frameBytes) throws IOException {
+        byte[] bytes = new byte[SpectrumFile.HEADER_SIZE + frameBytes];
+        header.get(bytes, 0, SpectrumFile.HEADER_SIZE);
+        Path path = folder.newFile().toPath();
+        java.nio.file.Files.write(path, bytes);
+        return path;
+    }
+
+    private void assertCorrupt(ByteBuffer header) throws IOException {
+        Path path = write(header, 64);
+        try (SpectrumFile file = SpectrumFile.open(path)) {
+            fail("opened a file with a corrupt header, frame count " + file.frameCount());
+        } catch (IOException expected) {
+            // expected
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testNotASpectrumFile() throws IOException {
+        File file = folder.newFile("garbage.spec");
+        java.nio.file.Files.write(file.toPath(), new byte[100]);
+        SpectrumFile.open(file.toPath()).close();
+    }
+}
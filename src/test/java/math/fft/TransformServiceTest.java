@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link TransformService}.
+ */
+public class TransformServiceTest {
+
+    @Test
+    public void testConcurrentRequestsAreCoalesced() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        ExecutorService clients = Executors.newFixedThreadPool(16);
+        int count = 2000;
+        int maxBatchSize = 32;
+        // the workers are held back until all requests are submitted and the
+        // delay never expires, so only full batches and close() dispatch
+        try (TransformService service = new TransformService(task -> workers.execute(() -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            task.run();
+        }), maxBatchSize, 1, TimeUnit.HOURS, count)) {
+            List<double[]> inputs = new ArrayList<>();
+            List<CompletableFuture<CompletableFuture<ComplexArray>>> submissions = new ArrayList<>();
+            CountDownLatch start = new CountDownLatch(1);
+            int shorter = 0;
+            for (int i = 0; i < count; ++i) {
+                double[] data = TestUtils.randomData((i % 3 == 0) ? 100 : 256);
+                shorter += (data.length == 100) ? 1 : 0;
+                inputs.add(data);
+                submissions.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return service.forwardDFT(data);
+                }, clients));
+            }
+            start.countDown();
+            List<CompletableFuture<ComplexArray>> results = new ArrayList<>();
+            for (int i = 0; i < count; ++i) {
+                results.add(submissions.get(i).get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(count, service.queueDepth());
+            service.close();
+            gate.countDown();
+            for (int i = 0; i < count; ++i) {
+                ComplexArray actual = results.get(i).get(10, TimeUnit.SECONDS);
+                ComplexArray expected = Fourier.forwardDFT(inputs.get(i));
+                assertArrayEquals(expected.re(), actual.re(), 1e-10);
+                assertArrayEquals(expected.im(), actual.im(), 1e-10);
+            }
+            // the statistics are updated after the futures complete
+            workers.shutdown();
+            assertTrue(workers.awaitTermination(10, TimeUnit.SECONDS));
+            long expectedBatches = (shorter + maxBatchSize - 1) / maxBatchSize
+                    + (count - shorter + maxBatchSize - 1) / maxBatchSize;
+            assertEquals(count, service.requestCount());
+            assertEquals(expectedBatches, service.batchCount());
+            assertEquals(count, service.maxQueueDepth());
+            assertEquals(0, service.queueDepth());
+        } finally {
+            clients.shutdown();
+            workers.shutdown();
+        }
+    }
+
+    @Test
+    public void testInverseAndClose() throws Exception {
+        ExecutorService workers = Executors.newSingleThreadExecutor();
+        try {
+            TransformService service = new TransformService(workers, 100, 1, TimeUnit.HOURS, 10);
+            ComplexArray freqs = Fourier.forwardDFT(TestUtils.randomData(60));
+            CompletableFuture<ComplexArray> future = service.inverseDFT(freqs);
+            // the batch is neither full nor expired, close() dispatches it
+            assertFalse(future.isDone());
+            service.close();
+            ComplexArray expected = Fourier.inverseDFT(freqs);
+            assertArrayEquals(expected.re(), future.get(10, TimeUnit.SECONDS).re(), 0.0);
+            CompletableFuture<ComplexArray> rejected = service.forwardDFT(new double[4]);
+            assertTrue(rejected.isCompletedExceptionally());
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    @Test
+    public void testBackpressure() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        ExecutorService pool = Executors.newCachedThreadPool();
+        // an executor that holds back every batch until the gate opens
+        try (TransformService service = new TransformService(task -> pool.execute(() -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            task.run();
+        }), 1, 0, TimeUnit.MILLISECONDS, 3)) {
+            List<CompletableFuture<ComplexArray>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; ++i) {
+                futures.add(service.forwardDFT(new double[] { i, 1.0 }));
+            }
+            assertEquals(3, service.queueDepth());
+            CompletableFuture<CompletableFuture<ComplexArray>> blocked = CompletableFuture
+                    .supplyAsync(() -> service.forwardDFT(new double[] { 5.0, 1.0 }), pool);
+            Thread.sleep(100);
+            // the fourth submission waits for a permit
+            assertFalse(blocked.isDone());
+            gate.countDown();
+            ComplexArray last = blocked.get(10, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS);
+            assertArrayEquals(new double[] { 6.0, 4.0 }, last.re(), 0.0);
+            for (int i = 0; i < 3; ++i) {
+                assertArrayEquals(new double[] { i + 1.0, i - 1.0 }, futures.get(i).get().re(), 0.0);
+            }
+            assertEquals(3, service.maxQueueDepth());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
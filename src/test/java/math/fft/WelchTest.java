@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link Welch}.
+ */
+public class WelchTest {
+
+    @Test
+    public void testWhiteNoiseLevel() {
+        double fs = 1000.0;
+        double sigma = 0.5;
+        Random rng = new Random(42);
+        double[] signal = new double[1 << 18];
+        for (int i = 0; i < signal.length; ++i) {
+            signal[i] = sigma * rng.nextGaussian();
+        }
+        Welch welch = new Welch(512, 256, Window.HANN, fs);
+        double[] psd = welch.psd(signal);
+        assertEquals(257, psd.length);
+        // one-sided white noise density is 2 sigma^2 / fs
+        double mean = 0.0;
+        for (int k = 1; k < 256; ++k) {
+            mean += psd[k];
+        }
+        mean /= 255;
+        assertEquals(2.0 * sigma * sigma / fs, mean, 0.02 * (2.0 * sigma * sigma / fs));
+    }
+
+    @Test
+    public void testSinusoidPower() {
+        double fs = 8000.0;
+        int n = 1024;
+        double f = 1000.0; // exactly on bin 128
+        double amplitude = 2.0;
+        double[] signal = new double[50 * n];
+        for (int i = 0; i < signal.length; ++i) {
+            signal[i] = amplitude * Math.sin(2.0 * Math.PI * f * i / fs);
+        }
+        Welch welch = new Welch(n, n / 2, Window.RECTANGULAR, fs);
+        double[] psd = welch.psd(signal);
+        double[] freqs = welch.frequencies();
+        assertEquals(f, freqs[128], 0.0);
+        // integrating the density over the peak yields the signal power A^2 / 2
+        assertEquals(amplitude * amplitude / 2.0, psd[128] * fs / n, 1e-9);
+        assertEquals(0.0, psd[100], 1e-12);
+    }
+
+    @Test
+    public void testParallelEqualsSequential() {
+        double[] signal = TestUtils.randomData(1_000_003);
+        Welch welch = new Welch(4096, 3072, Window.BLACKMAN, 48000.0);
+        assertEquals(welch.segments(signal.length), 1 + (signal.length - 4096) / 1024);
+        double[] sequential = welch.psd(signal, false);
+        double[] parallel = welch.psd(signal, true);
+        for (int k = 0; k < sequential.length; ++k) {
+            TestUtils.assertRelativelyEquals(sequential[k], parallel[k], 1e-10);
+        }
+        // plan reuse must not carry over state between calls
+        assertArrayEquals(sequential, welch.psd(signal, false), 0.0);
+    }
+}
@@ -0,0 +1,377 @@
+#!/usr/bin/env python3
+#
+# Copyright 2026 Stefan Zobel
+#
+# Licensed under the Apache License, Version 2.0 (the "License");
+# you may not use this file except in compliance with the License.
+# You may obtain a copy of the License at
+#
+#     http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+#
+# Generates src/main/java/math/fft/Codelets.java. Run from the project root:
+#
+#     python3 tools/codelets.py
+#
+# The DFT of each size is expanded symbolically into straight-line code:
+# Cooley-Tukey decimation in time (radix 4 where possible, otherwise the
+# smallest prime factor) down to primes, primes by the symmetric pair
+# decomposition X[j], X[n-j] = A_j -/+ i B_j. Multiplications by 0, +-1,
+# +-i and the 45 degree twiddles are simplified, constants are evaluated
+# with 60 digit decimal arithmetic and rounded to double once.
+
+import os
+
+import math
+from decimal import Decimal, getcontext
+getcontext().prec = 60
+
+def _pi():
+    getcontext().prec += 2
+    three = Decimal(3)
+    lasts, t, s, n, na, d, da = 0, three, 3, 1, 0, 0, 24
+    while s != lasts:
+        lasts = s
+        n, na = n + na, na + 8
+        d, da = d + da, da + 32
+        t = (t * n) / d
+        s += t
+    getcontext().prec -= 2
+    return +s
+
+PI = _pi()
+
+def _cos(x):
+    getcontext().prec += 2
+    i, lasts, s, fact, num, sign = 0, 0, 1, 1, 1, 1
+    while s != lasts:
+        lasts = s
+        i += 2
+        fact *= i * (i - 1)
+        num *= x * x
+        sign *= -1
+        s += num / fact * sign
+    getcontext().prec -= 2
+    return +s
+
+def _sin(x):
+    getcontext().prec += 2
+    i, lasts, s, fact, num, sign = 1, 0, x, 1, x, 1
+    while s != lasts:
+        lasts = s
+        i += 2
+        fact *= i * (i - 1)
+        num *= x * x
+        sign *= -1
+        s += num / fact * sign
+    getcontext().prec -= 2
+    return +s
+
+def cos2pi(num, den):
+    # cos(2 pi num / den), correctly rounded
+    return float(_cos(2 * PI * num / den))
+
+def sin2pi(num, den):
+    return float(_sin(2 * PI * num / den))
+
+EPS = 1e-15
+
+class Term:
+    def __init__(self, name, neg=False):
+        self.name = name; self.neg = neg
+    def negate(self):
+        return Term(self.name, not self.neg)
+
+ZERO = None  # zero term
+
+class Emitter:
+    def __init__(self):
+        self.lines = []
+        self.count = 0
+        self.consts = {}
+    def const(self, v):
+        v = abs(v)
+        key = repr(v)
+        if key not in self.consts:
+            self.consts[key] = 'KP' + ('%.9f' % v)[2:]
+        return self.consts[key]
+    def tmp(self, expr):
+        name = 't%d' % self.count
+        self.count += 1
+        self.lines.append('double %s = %s;' % (name, expr))
+        return Term(name)
+    def lin(self, terms):
+        # terms: list of (coef, Term or None); coef +-1 or float
+        parts = []
+        for coef, t in terms:
+            if t is None or coef == 0.0:
+                continue
+            sign = -1 if (coef < 0) != t.neg else 1
+            mag = abs(coef)
+            if abs(mag - 1.0) < EPS:
+                s = t.name
+            else:
+                s = '%s * %s' % (self.const(mag), t.name)
+            parts.append((sign, s))
+        if not parts:
+            return None
+        if len(parts) == 1 and parts[0][1].startswith('t') and ' ' not in parts[0][1]:
+            return Term(parts[0][1], parts[0][0] < 0)
+        if len(parts) == 1 and ' ' not in parts[0][1]:
+            return Term(parts[0][1], parts[0][0] < 0)
+        # put a positive term first if possible
+        parts.sort(key=lambda p: p[0] < 0)
+        neg = False
+        if parts[0][0] < 0:
+            neg = True
+            parts = [(-sg, s) for sg, s in parts]
+        expr = parts[0][1]
+        for sg, s in parts[1:]:
+            expr += (' + ' if sg > 0 else ' - ') + s
+        t = self.tmp(expr)
+        return Term(t.name, neg)
+
+def add(e, a, b): return e.lin([(1, a), (1, b)])
+def sub(e, a, b): return e.lin([(1, a), (-1, b)])
+
+def cadd(e, x, y): return (add(e, x[0], y[0]), add(e, x[1], y[1]))
+def csub(e, x, y): return (sub(e, x[0], y[0]), sub(e, x[1], y[1]))
+def cmul_negi(x):  # multiply by -i : (a+ib)(-i) = b - ia
+    return (x[1], None if x[0] is None else x[0].negate())
+def cmul_posi(x):  # multiply by i : (a+ib) i = -b + ia
+    return (None if x[1] is None else x[1].negate(), x[0])
+
+def twiddle(e, x, c, s):
+    # multiply x by c + i s
+    if abs(s) < EPS:
+        if abs(c - 1) < EPS: return x
+        if abs(c + 1) < EPS: return (neg(x[0]), neg(x[1]))
+    if abs(c) < EPS:
+        if abs(s + 1) < EPS: return cmul_negi(x)
+        if abs(s - 1) < EPS: return cmul_posi(x)
+    if abs(abs(c) - abs(s)) < EPS:
+        sg = 1 if (s > 0) == (c > 0) else -1
+        r = e.lin([(1, x[0]), (-sg, x[1])])
+        i = e.lin([(1, x[1]), (sg, x[0])])
+        return (e.lin([(c, r)]), e.lin([(c, i)]))
+    r = e.lin([(c, x[0]), (-s, x[1])])
+    i = e.lin([(c, x[1]), (s, x[0])])
+    return (r, i)
+
+def neg(t): return None if t is None else t.negate()
+
+def smallest_factor(n):
+    for p in range(2, n + 1):
+        if n % p == 0: return p
+
+def dft(e, x):
+    n = len(x)
+    if n == 1: return x
+    if n == 2: return [cadd(e, x[0], x[1]), csub(e, x[0], x[1])]
+    if n == 4:
+        a = cadd(e, x[0], x[2]); b = csub(e, x[0], x[2])
+        c = cadd(e, x[1], x[3]); d = csub(e, x[1], x[3])
+        return [cadd(e, a, c), cadd(e, b, cmul_negi(d)), csub(e, a, c), csub(e, b, cmul_negi(d))]
+    p = smallest_factor(n)
+    if p == n:
+        h = (n - 1) // 2
+        t = [None] + [cadd(e, x[k], x[n - k]) for k in range(1, h + 1)]
+        u = [None] + [csub(e, x[k], x[n - k]) for k in range(1, h + 1)]
+        X = [None] * n
+        X[0] = (e.lin([(1, x[0][0])] + [(1, t[k][0]) for k in range(1, h + 1)]),
+                e.lin([(1, x[0][1])] + [(1, t[k][1]) for k in range(1, h + 1)]))
+        for j in range(1, h + 1):
+            cs = [cos2pi(j * k, n) for k in range(h + 1)]
+            sn = [sin2pi(j * k, n) for k in range(h + 1)]
+            Ar = e.lin([(1, x[0][0])] + [(cs[k], t[k][0]) for k in range(1, h + 1)])
+            Ai = e.lin([(1, x[0][1])] + [(cs[k], t[k][1]) for k in range(1, h + 1)])
+            Br = e.lin([(sn[k], u[k][0]) for k in range(1, h + 1)])
+            Bi = e.lin([(sn[k], u[k][1]) for k in range(1, h + 1)])
+            # X_j = A - iB, X_{n-j} = A + iB
+            X[j] = (add(e, Ar, Bi), sub(e, Ai, Br))
+            X[n - j] = (sub(e, Ar, Bi), add(e, Ai, Br))
+        return X
+    # Cooley-Tukey DIT with radix r
+    if n % 4 == 0 and n > 4:
+        r = 4
+    else:
+        r = p
+    m = n // r
+    Y = [dft(e, [x[r * j + q] for j in range(m)]) for q in range(r)]
+    X = [None] * n
+    for k in range(m):
+        z = []
+        for q in range(r):
+            z.append(twiddle(e, Y[q][k], cos2pi(q * k, n), -sin2pi(q * k, n)))
+        Z = dft(e, z)
+        for l in range(r):
+            X[k + m * l] = Z[l]
+    return X
+
+def term_src(t):
+    if t is None: return '0.0'
+    return ('-' if t.neg else '') + t.name
+
+def codelet(n, perm=None, name=None, doc=None):
+    e = Emitter()
+    x = []
+    load = []
+    for i in range(n):
+        src = perm(i) if perm else i
+        load.append('double xr%d = re[off + %d];' % (i, src) if src else 'double xr%d = re[off];' % i)
+        load.append('double xi%d = im[off + %d];' % (i, src) if src else 'double xi%d = im[off];' % i)
+        x.append((Term('xr%d' % i), Term('xi%d' % i)))
+    X = dft(e, x)
+    store = []
+    for k in range(n):
+        idx = 'off + %d' % k if k else 'off'
+        store.append('re[%s] = %s;' % (idx, term_src(X[k][0])))
+        store.append('im[%s] = %s;' % (idx, term_src(X[k][1])))
+    return e, load, store
+
+def combine(n):
+    # combine two natural-order halves of length n/2 at off and off + n/2
+    e = Emitter()
+    h = n // 2
+    load = []; store = []
+    for r in range(h):
+        load.append('double gr%d = re[off + %d];' % (r, r) if r else 'double gr0 = re[off];')
+        load.append('double gi%d = im[off + %d];' % (r, r) if r else 'double gi0 = im[off];')
+        load.append('double hr%d = re[off + %d];' % (r, h + r))
+        load.append('double hi%d = im[off + %d];' % (r, h + r))
+    for r in range(h):
+        g = (Term('gr%d' % r), Term('gi%d' % r))
+        hh = (Term('hr%d' % r), Term('hi%d' % r))
+        w = twiddle(e, hh, cos2pi(r, n), -sin2pi(r, n))
+        a = cadd(e, g, w); b = csub(e, g, w)
+        idx = 'off + %d' % r if r else 'off'
+        store.append('re[%s] = %s;' % (idx, term_src(a[0])))
+        store.append('im[%s] = %s;' % (idx, term_src(a[1])))
+        store.append('re[off + %d] = %s;' % (h + r, term_src(b[0])))
+        store.append('im[off + %d] = %s;' % (h + r, term_src(b[1])))
+    return e, load, store
+
+def bitrev4(i):
+    return int('{:04b}'.format(i)[::-1], 2)
+
+allconsts = {}
+methods = []
+def method(sig, doc, e, load, store):
+    allconsts.update(e.consts)
+    body = load + e.lines + store
+    adds = sum(l.count(' + ') + l.count(' - ') for l in e.lines)
+    muls = sum(l.count(' * ') for l in e.lines)
+    s = '    /**\n'
+    for d in doc:
+        s += '     * %s\n' % d
+    s += '     * (%d additions, %d multiplications)\n' % (adds, muls)
+    s += '     */\n'
+    s += '    %s {\n' % sig
+    for l in body:
+        s += '        %s\n' % l
+    s += '    }\n'
+    methods.append(s)
+
+for n in range(3, 17):
+    e, load, store = codelet(n)
+    method('static void dft%d(double[] re, double[] im, int off)' % n,
+           ['In-place forward DFT of length %d at {@code off}.' % n], e, load, store)
+e, load, store = codelet(16, perm=bitrev4)
+method('static void leaf16(double[] re, double[] im, int off)',
+       ['In-place forward DFT of length 16 at {@code off} whose input is in',
+        'bit-reversed order (as left behind by a bit-reversal shuffle of the',
+        'enclosing power-of-two transform) and whose output is in natural order.'], e, load, store)
+for n in (32, 64):
+    e, load, store = combine(n)
+    method('static void combine%d(double[] re, double[] im, int off)' % n,
+           ['Combines the two natural-order DFTs of length %d at {@code off} and' % (n // 2),
+            '{@code off + %d} (even and odd samples) into a DFT of length %d.' % (n // 2, n)], e, load, store)
+
+
+PROLOGUE = """/*
+ * Copyright 2026 Stefan Zobel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package math.fft;
+
+/**
+ * Straight-line (fully unrolled) DFT kernels for small sizes. This file is
+ * generated by {@code tools/codelets.py} (run {@code python3 tools/codelets.py}
+ * from the project root) and must not be edited by hand. The generator
+ * expands the Cooley-Tukey (radix-4, 2, 3, 5) and, for prime sizes, the
+ * symmetric real/imaginary pair decomposition symbolically, with all
+ * trivial twiddle factor multiplications eliminated. Each kernel loads its
+ * inputs once, works in local variables only and stores its outputs once.
+ * <p>
+ * All kernels compute the unnormalized forward DFT in place. The inverse
+ * (unnormalized) DFT is obtained by calling a kernel with {@code re} and
+ * {@code im} swapped.
+ * <p>
+ * {@link #leaf16(double[], double[], int)},
+ * {@link #combine32(double[], double[], int)} and
+ * {@link #combine64(double[], double[], int)} are the leaf stages of the
+ * power-of-two transforms in {@link Fourier}. Sizes 32 and 64 are built from
+ * them instead of being unrolled completely to keep every kernel well below
+ * the JIT's size limit for compiled methods.
+ */
+final class Codelets {
+
+    static final int MIN_SIZE = 3;
+    static final int MAX_SIZE = 16;
+
+    //@formatter:off"""
+
+SWITCH = """
+    static boolean supports(int n) {
+        return n >= MIN_SIZE && n <= MAX_SIZE;
+    }
+
+    /**
+     * In-place forward DFT of {@code re} and {@code im}, whose length
+     * {@code n} must satisfy {@link #supports(int)}.
+     */
+    static void forward(double[] re, double[] im, int n) {
+        //@formatter:off
+        switch (n) {
+%s        default:
+            throw new IllegalArgumentException("no codelet for size " + n);
+        }
+        //@formatter:on
+    }
+"""
+
+EPILOGUE = """
+    private Codelets() {
+        throw new AssertionError();
+    }
+}
+"""
+
+byname = {}
+for v, name in allconsts.items():
+    assert byname.get(name, v) == v, (name, v, byname[name])
+    byname[name] = v
+const_lines = ['    private static final double %s = %s;' % (name, byname[name]) for name in sorted(byname)]
+cases = ''.join('        case %d: dft%d(re, im, 0); break;\n' % (n, n) for n in range(3, 17))
+java = (PROLOGUE + '\n' + '\n'.join(const_lines) + '\n    //@formatter:on\n' + SWITCH % cases + '\n'
+        + '\n'.join(methods) + EPILOGUE)
+root = os.path.join(os.path.dirname(os.path.abspath(__file__)), os.pardir)
+path = os.path.join(root, 'src', 'main', 'java', 'math', 'fft', 'Codelets.java')
+with open(path, 'w', newline='\r\n') as f:
+    f.write(java)